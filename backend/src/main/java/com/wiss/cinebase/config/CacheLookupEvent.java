@@ -0,0 +1,50 @@
+package com.wiss.cinebase.config;
+
+// Quelle: JDK Flight Recorder (jdk.jfr) - eigene Events
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * JFR-Event: Lookup im Second-Level-Cache (z.B. User per Natural-ID bei jedem authentifizierten Request).
+ * ! Ohne den Schlüssel des Lookups (z.B. Username = Personendaten), die ID des gefundenen Objekts genügt.
+ */
+@Name(CacheLookupEvent.NAME)
+@Label("Cache-Lookup")
+@Category({"Cinebase", "Cache"})
+@Description("Lookup im Second-Level-Cache, bei Fehlzugriff inkl. Datenbankabfrage")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    public static final String NAME = "cinebase.CacheLookup";
+
+    @Label("Cache-Region")
+    public String region;
+
+    @Label("ID")
+    @Description("ID des gefundenen Objekts, 0 = nicht gefunden")
+    public long entityId;
+
+    @Label("Treffer")
+    @Description("true = ohne Datenbankzugriff aus dem Cache aufgelöst")
+    public boolean hit;
+
+    /**
+     * Beendet die Messung und schreibt das Event, falls die Aufzeichnung es verlangt.
+     * @param hit Wird nur ausgewertet, wenn das Event geschrieben wird
+     */
+    public void finish(String region, Long entityId, BooleanSupplier hit) {
+        end();
+        if (shouldCommit()) {
+            this.region = region;
+            this.entityId = entityId != null ? entityId : 0;
+            this.hit = hit.getAsBoolean();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Konfiguration des TSV-Katalogimports (Präfix "catalog-import", Profil "catalog-import").
+ * @param file TSV-Datei mit Kopfzeile (z.B. title.basics.tsv), '\N' = kein Wert
+ * @param chunkSize Grösse eines Chunks (wird einzeln gemappt, geparst und in einer Transaktion geladen), max. 2 GB
+ * @param threads Anzahl paralleler Chunks (0 = Anzahl CPU-Kerne)
+ * @param batchSize Zeilen pro JDBC-Batch (nur ohne PostgreSQL COPY)
+ * @param typeFilter Nur Zeilen mit diesem Wert in columns.type laden (leer = alle)
+ * @param defaultGenre Genre, wenn die Zeile keines hat
+ * @param defaultDirector Regisseur, wenn die Datei keine Regie-Spalte hat oder der Wert fehlt
+ * @param columns Spaltennamen der Kopfzeile
+ */
+@ConfigurationProperties(prefix = "catalog-import")
+public record CatalogImportProperties(
+        Path file,
+        DataSize chunkSize,
+        int threads,
+        int batchSize,
+        String typeFilter,
+        String defaultGenre,
+        String defaultDirector,
+        Columns columns
+) {
+
+    /**
+     * Zuordnung der TSV-Spalten (Namen aus der Kopfzeile) zur Tabelle movies.
+     * Leere Namen = Spalte nicht vorhanden. Bei mehreren Genres ("Drama,Romance") zählt das erste.
+     */
+    public record Columns(String type, String title, String year, String genres, String director, String rating) {
+    }
+}
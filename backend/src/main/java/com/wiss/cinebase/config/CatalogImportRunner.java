@@ -0,0 +1,38 @@
+package com.wiss.cinebase.config;
+
+// Importiert den Service des TSV-Katalogimports.
+import com.wiss.cinebase.service.CatalogImportService;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * CLI-Modus des TSV-Katalogimports.
+ * Aktiv nur im Profil "catalog-import" (Einstellungen in application-catalog-import.properties). Beispiel:
+ * java -jar cinebase-backend.jar --spring.profiles.active=catalog-import --catalog-import.file=title.basics.tsv
+ * Nach einem Abbruch denselben Befehl erneut starten: Bereits geladene Chunks werden übersprungen.
+ */
+@Configuration
+@Profile("catalog-import")
+@EnableConfigurationProperties(CatalogImportProperties.class)
+public class CatalogImportRunner {
+
+    @Bean
+    CommandLineRunner importCatalog(CatalogImportService importService, CatalogImportProperties properties) {
+        return args -> {
+            if (properties.file() == null) {
+                throw new IllegalArgumentException("catalog-import.file ist nicht gesetzt");
+            }
+            CatalogImportService.ImportReport report = importService.load(properties);
+
+            long rowsPerMinute = report.rows() * 60_000 / Math.max(1, report.durationMs());
+            System.out.println("Katalogimport abgeschlossen: " + report.rows() + " Filme aus "
+                    + (report.chunks() - report.resumedChunks()) + " von " + report.chunks() + " Chunks geladen, "
+                    + report.invalidRows() + " ungültige Zeilen übersprungen (" + report.durationMs() + " ms, "
+                    + rowsPerMinute + " Zeilen/Minute).");
+        };
+    }
+}
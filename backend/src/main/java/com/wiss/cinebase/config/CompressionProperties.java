@@ -0,0 +1,29 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Vorkomprimierte Filmliste (Präfix "cinebase.compression"), siehe CatalogResponseCache.
+ * Alle übrigen Antworten komprimiert Tomcat bei Bedarf mit gzip (server.compression.*).
+ * @param catalogCacheEnabled GET /api/movies aus dem Cache beantworten (false = jeder Aufruf baut die Liste neu).
+ * @param catalogCacheTtl So lange gilt ein gecachter Body höchstens. Filmänderungen verwerfen ihn sofort,
+ *                        neue Reviews nicht (Durchschnittsbewertungen in der Liste sind bis zu ttl alt).
+ * @param minResponseSize Kleinere Bodies werden nicht komprimiert (Overhead grösser als die Ersparnis).
+ * @param gzipLevel gzip-Stufe 1-9 (einmal pro Cache-Eintrag, daher standardmässig die höchste).
+ * @param brotliEnabled Zusätzlich eine Brotli-Variante erzeugen (Content-Encoding: br), falls die native Bibliothek lädt.
+ * @param brotliQuality Brotli-Qualität 0-11 (ab 10 um ein Vielfaches langsamer, lohnt sich nur mit langer ttl).
+ */
+@ConfigurationProperties(prefix = "cinebase.compression")
+public record CompressionProperties(
+        boolean catalogCacheEnabled,
+        Duration catalogCacheTtl,
+        DataSize minResponseSize,
+        int gzipLevel,
+        boolean brotliEnabled,
+        int brotliQuality
+) {
+}
@@ -0,0 +1,28 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Konfiguration des adaptiven Concurrency Limiters (Präfix "concurrency-limit").
+ * @param enabled Limiter aktiv?
+ * @param initialLimit Start-Limit für gleichzeitige Requests.
+ * @param minLimit Untere Grenze des gelernten Limits.
+ * @param maxLimit Obere Grenze des gelernten Limits.
+ * @param smoothing Gewichtung neuer Messungen (0..1), dämpft Schwankungen.
+ * @param rttTolerance Toleranz: so viel langsamer als die Basis-Latenz dürfen die letzten Requests im Schnitt sein, ohne das Limit zu senken.
+ * @param writeShare Anteil des Limits, den Schreibzugriffe belegen dürfen (Rest bleibt für Lesezugriffe reserviert).
+ * @param exportShare Anteil des Limits für teure Exporte.
+ */
+@ConfigurationProperties(prefix = "concurrency-limit")
+public record ConcurrencyLimitProperties(
+        boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double smoothing,
+        double rttTolerance,
+        double writeShare,
+        double exportShare
+) {
+}
@@ -0,0 +1,96 @@
+package com.wiss.cinebase.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Begrenzt die gleichzeitig ausgeliehenen Datenbankverbindungen mit einer Semaphore (siehe ConnectionGuardDataSource).
+ * Aktiv mit cinebase.db-guard.enabled=true (Profil "vthreads"). Gewrappt wird wie bei der SQL-Statistik
+ * nur die Bean "dataSource".
+ */
+@Configuration
+@EnableConfigurationProperties(ConnectionGuardProperties.class)
+public class ConnectionGuardConfig {
+
+    // Hikari-Standard, falls spring.datasource.hikari.maximum-pool-size nicht gesetzt ist
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // ! static: BeanPostProcessor müssen vor allen anderen Beans existieren.
+    @Bean
+    static BeanPostProcessor connectionGuardDataSourcePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("cinebase.db-guard.enabled", Boolean.class, false);
+        int permits = environment.getProperty("cinebase.db-guard.permits", Integer.class, 0);
+        Duration acquireTimeout = environment.getProperty("cinebase.db-guard.acquire-timeout", Duration.class,
+                Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && beanName.equals("dataSource") && bean instanceof DataSource dataSource
+                        && !(bean instanceof ConnectionGuardDataSource)) {
+                    int limit = permits > 0 ? permits : poolSize(dataSource, environment);
+                    System.out.println("DB-Guard aktiv: max. " + limit + " gleichzeitige Verbindungen, Timeout "
+                            + acquireTimeout.toMillis() + " ms");
+                    return new ConnectionGuardDataSource(dataSource, limit, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Freie Plätze, Wartende und Timeouts der Semaphore (nur wenn der Guard aktiv ist).
+     */
+    @Bean
+    public MeterBinder connectionGuardMetrics(DataSource dataSource) {
+        return registry -> {
+            ConnectionGuardDataSource guard = unwrapGuard(dataSource);
+            if (guard == null) {
+                return;
+            }
+            Gauge.builder("cinebase.db.guard.permits", guard, ConnectionGuardDataSource::getMaxPermits)
+                    .description("Maximal gleichzeitig ausgeliehene Verbindungen")
+                    .register(registry);
+            Gauge.builder("cinebase.db.guard.available", guard, ConnectionGuardDataSource::getAvailablePermits)
+                    .description("Freie Plätze der Semaphore")
+                    .register(registry);
+            Gauge.builder("cinebase.db.guard.waiting", guard, ConnectionGuardDataSource::getWaiting)
+                    .description("Threads, die auf eine Verbindung warten")
+                    .register(registry);
+            FunctionCounter.builder("cinebase.db.guard.timeouts", guard, ConnectionGuardDataSource::getTimeouts)
+                    .register(registry);
+        };
+    }
+
+    // Poolgrösse des Hikari-Pools (beim Routing: spring.datasource.hikari.*, also der Primary-Pool)
+    private static int poolSize(DataSource dataSource, Environment environment) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // Kein Hikari erreichbar -> Konfiguration verwenden
+        }
+        return environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, DEFAULT_POOL_SIZE);
+    }
+
+    private static ConnectionGuardDataSource unwrapGuard(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConnectionGuardDataSource.class)
+                    ? dataSource.unwrap(ConnectionGuardDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
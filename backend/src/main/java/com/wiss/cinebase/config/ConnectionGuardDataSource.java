@@ -0,0 +1,117 @@
+package com.wiss.cinebase.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource-Wrapper, der die gleichzeitig ausgeliehenen Verbindungen mit einer fairen Semaphore begrenzt.
+ * Mit Virtual Threads gibt es kein Limit mehr durch den Tomcat-Thread-Pool (200 Threads): Tausende Requests
+ * können gleichzeitig eine Verbindung verlangen. Die Semaphore sorgt dafür, dass
+ * - der Hikari-Pool der Engpass bleibt, die Wartenden aber in FIFO-Reihenfolge bedient werden,
+ * - ein Request nach acquireTimeout mit einer klaren Exception abbricht statt im Pool zu hängen,
+ * - die Warteschlange als Metrik sichtbar ist (cinebase.db.guard.*).
+ * ! Semaphore statt synchronized: Wartende Virtual Threads geben ihren Carrier-Thread frei.
+ * Die Freigabe erfolgt genau einmal beim Schliessen der Verbindung (auch bei mehrfachem close()).
+ */
+public class ConnectionGuardDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutNanos;
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public ConnectionGuardDataSource(DataSource target, int maxPermits, Duration acquireTimeout) {
+        super(target);
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException("Keine Datenbankverbindung frei nach "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms (" + maxPermits + " Verbindungen, "
+                        + permits.getQueueLength() + " Wartende)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Warten auf Datenbankverbindung unterbrochen", e);
+        }
+    }
+
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Anzahl Verbindungen, die noch ohne Warten ausgeliehen werden können.
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Anzahl Threads, die gerade auf eine Verbindung warten (Schätzung laut Semaphore).
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    /**
+     * Abgebrochene Anfragen (acquireTimeout überschritten) seit dem Start.
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+}
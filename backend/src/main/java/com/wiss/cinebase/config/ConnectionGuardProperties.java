@@ -0,0 +1,20 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Konfiguration der Semaphore vor dem Verbindungspool (Präfix "cinebase.db-guard"), siehe ConnectionGuardConfig.
+ * @param enabled DataSource mit der Semaphore wrappen (Profil "vthreads").
+ * @param permits So viele Verbindungen dürfen gleichzeitig ausgeliehen sein, 0 = maximum-pool-size des Hikari-Pools.
+ * @param acquireTimeout So lange wartet ein Request höchstens auf eine Freigabe, danach SQLTransientConnectionException.
+ */
+@ConfigurationProperties(prefix = "cinebase.db-guard")
+public record ConnectionGuardProperties(
+        boolean enabled,
+        int permits,
+        Duration acquireTimeout
+) {
+}
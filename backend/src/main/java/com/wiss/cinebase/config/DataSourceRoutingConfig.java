@@ -0,0 +1,77 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - DataSource Konfiguration (HikariCP)
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/Write-Routing der Datenbankverbindungen.
+ * Aktiv nur mit cinebase.datasource.routing-enabled=true:
+ * - Primary: die bisherige spring.datasource (alle Schreibzugriffe, Flyway-Migrationen).
+ * - Replikas: cinebase.datasource.replicas[n].url/username/password (alle @Transactional(readOnly = true)).
+ * MovieService und ReviewService markieren ihre Lesemethoden bereits mit readOnly = true.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@ConditionalOnProperty(name = "cinebase.datasource.routing-enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Primary-Pool, konfiguriert wie bisher über spring.datasource.* und spring.datasource.hikari.*.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Routing zwischen Primary und Replikas (schließt die Replika-Pools beim Herunterfahren).
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, DataSourceRoutingProperties properties) {
+        List<DataSource> replicas = new ArrayList<>();
+        List<DataSourceRoutingProperties.Replica> configured = properties.replicas() != null ? properties.replicas() : List.of();
+        for (int i = 0; i < configured.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = configured.get(i);
+            HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            replicaDataSource.setPoolName("replica-" + i);
+            replicaDataSource.setReadOnly(true);
+            replicas.add(replicaDataSource);
+        }
+
+        return new ReadWriteRoutingDataSource(
+                primaryDataSource, replicas, properties.replicaRetrySeconds(),
+                new ReadYourWritesTracker(properties.readYourWritesSeconds()));
+    }
+
+    /**
+     * Die DataSource, die JPA, JdbcTemplate und Flyway verwenden.
+     * ! Lazy: Verbindung erst beim ersten Statement holen, wenn readOnly bereits bekannt ist.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,28 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Konfiguration des Read/Write-Routings (Präfix "cinebase.datasource").
+ * @param routingEnabled Routing aktiv? Ohne Replikas bleibt es bei der einzelnen spring.datasource.
+ * @param replicas Lese-Replikas (readOnly-Transaktionen werden reihum auf diese verteilt).
+ * @param readYourWritesSeconds So lange nach einem Schreibzugriff liest ein User weiterhin vom Primary (0 = aus).
+ * @param replicaRetrySeconds Wartezeit, bevor eine ausgefallene Replika erneut versucht wird.
+ */
+@ConfigurationProperties(prefix = "cinebase.datasource")
+public record DataSourceRoutingProperties(
+        boolean routingEnabled,
+        List<Replica> replicas,
+        long readYourWritesSeconds,
+        long replicaRetrySeconds
+) {
+
+    /**
+     * Verbindungsdaten einer Replika.
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.wiss.cinebase.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Erzeugt ein ServiceCallEvent (JFR) pro Aufruf einer öffentlichen Methode von MovieService und ReviewService.
+ * ! Höchste Priorität: Der Aspekt umschliesst die Transaktion, die Dauer enthält also auch Commit und Flush.
+ * Ohne laufende Aufzeichnung wird nur isEnabled() geprüft.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FlightRecorderAspect {
+
+    @Around("execution(public * com.wiss.cinebase.service.MovieService.*(..))"
+            + " || execution(public * com.wiss.cinebase.service.ReviewService.*(..))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        boolean failed = true;
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.finish(joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(), firstId(joinPoint.getArgs()), failed);
+        }
+    }
+
+    // Erstes Long-Argument = Film- bzw. Review-ID (z.B. getMovieById(id), getReviewsByMovie(movieId))
+    private static Long firstId(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        return null;
+    }
+}
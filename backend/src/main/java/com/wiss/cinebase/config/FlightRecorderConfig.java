@@ -0,0 +1,12 @@
+package com.wiss.cinebase.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aktiviert die JFR-Aufzeichnung der eigenen Events (FlightRecorderService, FlightRecorderAspect).
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+}
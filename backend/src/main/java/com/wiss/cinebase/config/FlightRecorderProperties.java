@@ -0,0 +1,26 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Konfiguration der JFR-Aufzeichnung (Präfix "cinebase.jfr"), siehe FlightRecorderService.
+ * @param startOnStartup Aufzeichnung beim Start beginnen (Dauerbetrieb als Ringpuffer).
+ * @param settings Name der JFR-Konfiguration: "default" (Dauerbetrieb, ca. 1% Overhead) oder "profile" (mehr Details).
+ * @param maxAge Ältere Daten werden verworfen.
+ * @param maxSize Obergrenze der Aufzeichnung auf der Festplatte (ältere Daten werden verworfen).
+ * @param dumpDir Ablage der Dumps (.jfr) von /api/admin/jfr/stop und /api/admin/jfr/dump.
+ */
+@ConfigurationProperties(prefix = "cinebase.jfr")
+public record FlightRecorderProperties(
+        boolean startOnStartup,
+        String settings,
+        Duration maxAge,
+        DataSize maxSize,
+        Path dumpDir
+) {
+}
@@ -0,0 +1,18 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Grenzen pro HTTP/2-Verbindung (Präfix "cinebase.http2"), nur wirksam mit server.http2.enabled=true.
+ * @param maxConcurrentStreams Offene Streams (Requests), die ein Client gleichzeitig auf einer Verbindung haben darf.
+ * @param maxConcurrentStreamExecution Davon gleichzeitig in Worker-Threads bearbeitet, der Rest wartet in der Verbindung.
+ *                                     ! Tomcat-Standard ist 20: Ein Client mit nur einer Verbindung (z.B. Reverse Proxy,
+ *                                     Lasttest) wäre damit auf 20 parallele Requests begrenzt.
+ */
+@ConfigurationProperties(prefix = "cinebase.http2")
+public record Http2Properties(
+        int maxConcurrentStreams,
+        int maxConcurrentStreamExecution
+) {
+}
@@ -0,0 +1,32 @@
+package com.wiss.cinebase.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Kompression und HTTP/2 des eingebetteten Tomcat.
+ * - gzip für dynamische Antworten: server.compression.* (Spring Boot)
+ * - Vorkomprimierte Filmliste (gzip/Brotli): cinebase.compression.*, siehe CatalogResponseCache
+ * - HTTP/2: server.http2.enabled=true. Ohne TLS spricht Tomcat h2c (Upgrade von HTTP/1.1 oder Prior Knowledge).
+ */
+@Configuration
+@EnableConfigurationProperties({CompressionProperties.class, Http2Properties.class})
+public class HttpTransportConfig {
+
+    // Spring Boot registriert das Http2Protocol vor den Customizern, hier werden nur die Stream-Grenzen gesetzt
+    @Bean
+    TomcatConnectorCustomizer http2StreamLimits(Http2Properties properties) {
+        return connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(properties.maxConcurrentStreams());
+                    http2.setMaxConcurrentStreamExecution(properties.maxConcurrentStreamExecution());
+                }
+            }
+        };
+    }
+}
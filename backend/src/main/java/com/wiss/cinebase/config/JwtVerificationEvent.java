@@ -0,0 +1,38 @@
+package com.wiss.cinebase.config;
+
+// Quelle: JDK Flight Recorder (jdk.jfr) - eigene Events
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: Prüfung des Bearer-Tokens im JwtAuthenticationFilter (Token lesen, User laden, Signatur + Ablauf prüfen).
+ * Misst nur die Prüfung, nicht den restlichen Request. Die Felder setzt der Filter direkt während der Prüfung.
+ * ! Kein Username (Personendaten in Dumps, die z.B. an Support weitergegeben werden): Die User-ID genügt zur Zuordnung.
+ * ! Ohne laufende Aufzeichnung kostet ein Event praktisch nichts (begin/end sind dann leer, commit schreibt nichts).
+ */
+@Name(JwtVerificationEvent.NAME)
+@Label("JWT-Prüfung")
+@Category({"Cinebase", "Security"})
+@Description("Prüfung des Bearer-Tokens pro Request")
+@StackTrace(false) // Stacktraces sind der teuerste Teil eines Events und hier immer gleich
+public class JwtVerificationEvent extends Event {
+
+    public static final String NAME = "cinebase.JwtVerification";
+
+    // Ergebnis der Prüfung
+    public static final String AUTHENTICATED = "AUTHENTICATED";
+    public static final String INVALID = "INVALID";
+    public static final String SKIPPED = "SKIPPED"; // Request war bereits authentifiziert
+    public static final String ERROR = "ERROR";     // z.B. abgelaufener oder manipulierter Token
+
+    @Label("User-ID")
+    @Description("0 = User nicht geladen")
+    public long userId;
+
+    @Label("Ergebnis")
+    public String outcome = ERROR;
+}
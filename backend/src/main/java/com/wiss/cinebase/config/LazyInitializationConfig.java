@@ -0,0 +1,38 @@
+package com.wiss.cinebase.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+
+/**
+ * Ausnahmen von spring.main.lazy-initialization=true (Profil fast-start).
+ * Eine Lazy-Bean entsteht beim ersten Zugriff, d.h. meist im ersten Request. Für Beans, die jeder Request braucht,
+ * würde das die Startzeit nur in den ersten Request verschieben (z.B. Hibernate-Bootstrap mehrere Sekunden).
+ * Eager bleiben deshalb:
+ * - DataSource und EntityManagerFactory (inkl. Flyway-Migration, die davor läuft)
+ * - Security-Filterkette sowie Handler-Mappings/-Adapter von Spring MVC
+ * - alle Controller und damit die Services, Mapper und Repositories, von denen sie abhängen
+ * Lazy werden z.B. Actuator-Endpunkte, Springdoc, JFR-Steuerung und nur per Profil genutzte Runner.
+ * ! @Scheduled-Beans bleiben ohnehin eager (eigener Filter von Spring Boot).
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    // ! static: Der Filter wird vom BeanFactoryPostProcessor gelesen, bevor die übrigen Beans existieren.
+    @Bean
+    static LazyInitializationExcludeFilter requestPathLazyInitializationExcludeFilter() {
+        LazyInitializationExcludeFilter infrastructure = LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, EntityManagerFactory.class, SecurityFilterChain.class,
+                HandlerMapping.class, HandlerAdapter.class);
+        return (beanName, beanDefinition, beanType) -> infrastructure.isExcluded(beanName, beanDefinition, beanType)
+                || (beanType != null && AnnotatedElementUtils.hasAnnotation(beanType, Controller.class));
+    }
+}
@@ -0,0 +1,50 @@
+package com.wiss.cinebase.config;
+
+// Quelle: JDK Flight Recorder (jdk.jfr) - eigene Events
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: Konvertierung Entity <-> DTO in MovieMapper bzw. ReviewMapper.
+ * ! Listen erzeugen EIN Event (mit Anzahl), nicht eines pro Element.
+ */
+@Name(MapperConversionEvent.NAME)
+@Label("Mapper-Konvertierung")
+@Category({"Cinebase", "Mapper"})
+@Description("Entity <-> DTO")
+@StackTrace(false)
+public class MapperConversionEvent extends Event {
+
+    public static final String NAME = "cinebase.MapperConversion";
+
+    @Label("Mapper")
+    public String mapper;
+
+    @Label("Konvertierung")
+    public String conversion;
+
+    @Label("ID")
+    @Description("ID des konvertierten Objekts, 0 = Liste oder noch ohne ID")
+    public long entityId;
+
+    @Label("Anzahl")
+    public int count;
+
+    /**
+     * Beendet die Messung und schreibt das Event, falls die Aufzeichnung es verlangt.
+     */
+    public void finish(String mapper, String conversion, Long entityId, int count) {
+        end();
+        if (shouldCommit()) {
+            this.mapper = mapper;
+            this.conversion = conversion;
+            this.entityId = entityId != null ? entityId : 0;
+            this.count = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.wiss.cinebase.config;
+
+import com.wiss.cinebase.security.AdaptiveConcurrencyLimiter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Metriken für /actuator/prometheus (Micrometer).
+ * Automatisch von Spring Boot: http.server.requests (pro URI-Template), HikariCP, Hibernate, JVM (GC, Allokation, Threads).
+ * Hier ergänzt:
+ * - @Timed an den Services (Metrik "cinebase.service", Tags class + method).
+ * - Zustand des adaptiven Concurrency Limiters.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Name der Service-Timer (siehe @Timed an MovieService, ReviewService, AppUserService, JwtService)
+    public static final String SERVICE_TIMER = "cinebase.service";
+
+    /**
+     * Wertet @Timed aus. Ohne diesen Aspekt wären die Annotationen wirkungslos.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Limit, belegte Plätze und abgewiesene Requests pro Priorität (Load Shedding sichtbar machen).
+     */
+    @Bean
+    public MeterBinder concurrencyLimiterMetrics(AdaptiveConcurrencyLimiter limiter) {
+        return registry -> {
+            Gauge.builder("cinebase.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Aktuell gelerntes Concurrency Limit")
+                    .register(registry);
+            Gauge.builder("cinebase.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Gleichzeitig laufende Requests")
+                    .register(registry);
+            FunctionCounter.builder("cinebase.concurrency.accepted", limiter, AdaptiveConcurrencyLimiter::getAccepted)
+                    .register(registry);
+            for (AdaptiveConcurrencyLimiter.Priority priority : AdaptiveConcurrencyLimiter.Priority.values()) {
+                FunctionCounter.builder("cinebase.concurrency.rejected", limiter, l -> l.getRejected(priority))
+                        .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.wiss.cinebase.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Schreibt Spans als OTLP/JSON in eine lokale Datei (kein externes Tracing-Backend nötig).
+ * Format: Eine Zeile pro Export = ein ExportTraceServiceRequest (wie OtlpJsonLoggingSpanExporter).
+ * Lesbar z.B. mit dem "otlpjsonfile"-Receiver des OpenTelemetry Collectors oder jq.
+ * ! TraceRequestMarshaler ist eine interne Klasse des OTLP-Exporters, liefert aber genau das offizielle JSON-Format.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    // ! Ohne diese Einstellung schliesst der Generator nach jedem Trace die Datei
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final Path file;
+    private final long maxFileBytes;
+    private OutputStream out;
+
+    public OtlpJsonFileSpanExporter(Path file, long maxFileBytes) {
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            OutputStream stream = stream();
+            try (JsonGenerator generator = JSON.createGenerator(stream)) {
+                TraceRequestMarshaler.create(spans).writeJsonTo(generator);
+            }
+            stream.write('\n');
+            stream.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            System.err.println("Traces konnten nicht geschrieben werden (" + file + "): " + e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    // Öffnet die Datei beim ersten Export bzw. nach dem Rotieren
+    private OutputStream stream() throws IOException {
+        if (out != null && Files.size(file) >= maxFileBytes) {
+            out.close();
+            out = null;
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (out == null) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            out = new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        }
+        return out;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess(); // export() schreibt jede Zeile sofort
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            } finally {
+                out = null;
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,46 @@
+package com.wiss.cinebase.config;
+
+import com.wiss.cinebase.entity.Role;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Konfiguration des Rate Limitings (Präfix "ratelimit" in application.properties).
+ * Pro Endpunkt-Gruppe wird ein eigenes Limit definiert:
+ * - auth: Login & Registrierung (Schutz vor Brute Force).
+ * - catalogRead: Lesezugriffe auf Filme und Reviews.
+ * - reviewWrite: Schreibzugriffe auf Reviews.
+ * Diese Werte gelten für anonyme Requests und für Rollen ohne eigenen Eintrag.
+ * @param roles Limits pro Rolle (z.B. ratelimit.roles.admin.catalog-read.capacity), nicht gesetzte Gruppen erben.
+ */
+@ConfigurationProperties(prefix = "ratelimit")
+public record RateLimitProperties(
+        boolean enabled,
+        Limit auth,
+        Limit catalogRead,
+        Limit reviewWrite,
+        Map<Role, GroupLimits> roles,
+        long idleEvictionSeconds
+) {
+
+    public RateLimitProperties {
+        roles = roles == null ? Map.of() : Map.copyOf(roles);
+    }
+
+    /**
+     * Limit einer Gruppe.
+     * @param capacity Maximale Anzahl Requests im Burst.
+     * @param refillPerSecond Nachfüllrate (Requests pro Sekunde im Dauerbetrieb).
+     */
+    public record Limit(int capacity, double refillPerSecond) {
+    }
+
+    /**
+     * Limits einer Rolle, null = Standardwert der Gruppe.
+     */
+    public record GroupLimits(Limit auth, Limit catalogRead, Limit reviewWrite) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.wiss.cinebase.config;
+
+// Importiert Spring-Klassen für Routing und Transaktionsstatus.
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DataSource, die readOnly-Transaktionen auf Replikas und alles andere auf den Primary leitet.
+ * Auswahl der Replika: Round Robin, ausgefallene Replikas werden für eine Wartezeit übersprungen.
+ * Ist keine Replika verfügbar, wird vom Primary gelesen.
+ * Read-your-writes: Das Fenster öffnet sich erst nach dem Commit einer Transaktion, die tatsächlich
+ * geschrieben hat (Statement ausser SELECT). Lesende Transaktionen ohne readOnly-Flag und anonyme Requests zählen nicht.
+ * ! Muss in einen LazyConnectionDataSourceProxy gewickelt werden: Erst dann wird die Verbindung
+ * beim ersten SQL-Statement geholt, wenn das readOnly-Flag der Transaktion bereits gesetzt ist.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    // Von allen Request-Threads gelesen und geschrieben -> AtomicLongArray statt long[]
+    private final AtomicLongArray unhealthyUntil;
+    private final long retryNanos;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                      long replicaRetrySeconds, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.unhealthyUntil = new AtomicLongArray(replicas.size());
+        this.retryNanos = TimeUnit.SECONDS.toNanos(replicaRetrySeconds);
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(ConnectionSource source) throws SQLException {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Schreibende Transaktion -> Primary. Fenster für Read-your-writes erst nach einem Schreibzugriff öffnen.
+            Connection connection = source.get(primary);
+            if (username != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                return trackWrites(connection, username);
+            }
+            return connection;
+        }
+        if (username != null && readYourWrites.mustReadFromPrimary(username)) {
+            return source.get(primary);
+        }
+        return getReplicaConnection(source);
+    }
+
+    // Round Robin über alle gesunden Replikas; Fehler markieren die Replika als ungesund.
+    private Connection getReplicaConnection(ConnectionSource source) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, size));
+        for (int attempt = 0; attempt < size; attempt++) {
+            int index = (start + attempt) % size;
+            long retryAt = unhealthyUntil.get(index);
+            if (retryAt != 0 && System.nanoTime() - retryAt < 0) {
+                continue; // Noch in der Wartezeit nach einem Fehler
+            }
+            try {
+                Connection connection = source.get(replicas.get(index));
+                unhealthyUntil.set(index, 0);
+                return connection;
+            } catch (SQLException e) {
+                unhealthyUntil.set(index, System.nanoTime() + retryNanos);
+            }
+        }
+        return source.get(primary);
+    }
+
+    /**
+     * Registriert beim ersten schreibenden Statement einen Callback, der nach dem Commit das Fenster öffnet.
+     * Nach einem Rollback bleibt der User auf den Replikas.
+     */
+    private Connection trackWrites(Connection connection, String username) {
+        AtomicBoolean written = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isWrite(method.getName(), args) && written.compareAndSet(false, true)) {
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                            @Override
+                            public void afterCommit() {
+                                readYourWrites.recordWrite(username);
+                            }
+                        });
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    // createStatement ohne SQL zählt vorsichtshalber als Schreibzugriff
+    private static boolean isWrite(String method, Object[] args) {
+        return switch (method) {
+            case "prepareStatement", "prepareCall" -> !((String) args[0]).stripLeading().regionMatches(true, 0, "select", 0, 6);
+            case "createStatement" -> true;
+            default -> false;
+        };
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // Replikas werden hier erzeugt und nicht als Beans verwaltet -> selbst schließen.
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
@@ -0,0 +1,44 @@
+package com.wiss.cinebase.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merkt sich pro User den Zeitpunkt des letzten Schreibzugriffs ("Read-your-writes").
+ * Replikas hinken dem Primary leicht hinterher. Ohne dieses Fenster würde ein Journalist
+ * sein soeben abgegebenes Review in der Liste eventuell noch nicht sehen.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowSeconds) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+    }
+
+    /**
+     * Registriert einen Schreibzugriff des Users.
+     */
+    public void recordWrite(String username) {
+        if (windowNanos > 0) {
+            lastWrites.put(username, System.nanoTime());
+        }
+    }
+
+    /**
+     * Prüft, ob der User innerhalb des Fensters geschrieben hat (dann muss er vom Primary lesen).
+     */
+    public boolean mustReadFromPrimary(String username) {
+        Long lastWrite = lastWrites.get(username);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        // Abgelaufene Einträge gleich entfernen, damit die Map nicht wächst.
+        lastWrites.remove(username, lastWrite);
+        return false;
+    }
+}
@@ -0,0 +1,14 @@
+package com.wiss.cinebase.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aktiviert die Wartung der reviews-Partitionen (ReviewPartitionService.maintain, Cron in application.properties).
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReviewPartitionProperties.class)
+public class ReviewPartitionConfig {
+}
@@ -0,0 +1,20 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Konfiguration der Jahrgangs-Partitionen von reviews (Präfix "cinebase.reviews.partitioning").
+ * @param retainedEditions Anzahl Jahrgänge in der Datenbank inkl. des aktuellen (ältere werden archiviert)
+ * @param createAhead Anzahl zukünftiger Jahrgänge, deren Partition im Voraus angelegt wird
+ * @param archiveDir Verzeichnis der archivierten Jahrgänge (gzip-komprimiertes NDJSON)
+ */
+@ConfigurationProperties(prefix = "cinebase.reviews.partitioning")
+public record ReviewPartitionProperties(
+        int retainedEditions,
+        int createAhead,
+        Path archiveDir
+) {
+}
@@ -0,0 +1,70 @@
+package com.wiss.cinebase.config;
+
+// Quelle: JCache (JSR-107) mit Caffeine als Implementierung
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Second-Level-Cache für Hibernate (JCache mit Caffeine).
+ * Die Regionen werden hier mit den Werten aus cinebase.cache.regions.* angelegt und
+ * Hibernate als fertiger CacheManager übergeben (hibernate.javax.cache.cache_manager).
+ * Aktiviert wird der Cache selbst in application.properties (hibernate.cache.*).
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    // ! Hibernate merkt sich hier, wann eine Tabelle zuletzt geändert wurde, und verwirft danach veraltete
+    // Query-Ergebnisse. Diese Region darf NIE verdrängt werden, sonst liefert der Query-Cache veraltete Listen.
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Eigener CacheManager pro ApplicationContext (eindeutige URI),
+     * damit sich mehrere Kontexte in derselben JVM (z.B. Tests) nicht die Regionen teilen.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("cinebase:hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        Map<String, SecondLevelCacheProperties.Region> regions =
+                properties.regions() != null ? properties.regions() : Map.of();
+        regions.forEach((name, region) -> cacheManager.createCache(name, configurationFor(region)));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    /**
+     * Übergibt den CacheManager an Hibernate (statt ihn von Hibernate selbst erzeugen zu lassen).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> configurationFor(SecondLevelCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (region.maxSize() > 0) {
+            configuration.setMaximumSize(OptionalLong.of(region.maxSize()));
+        }
+        if (region.expireAfterWrite() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.expireAfterWrite().toNanos()));
+        }
+        return configuration;
+    }
+}
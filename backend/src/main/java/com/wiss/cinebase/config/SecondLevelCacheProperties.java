@@ -0,0 +1,28 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Konfiguration des Hibernate Second-Level-Caches (Präfix "cinebase.cache").
+ * Pro Cache-Region (Name wie in @Cache(region = ...) bzw. im Query-Hint) werden Größe und Ablaufzeit definiert:
+ * - movies: Movie-Entities (findById bei jedem addReview).
+ * - app-users: AppUser-Entities.
+ * - app-users-by-username: Natural-ID-Auflösung username -> id (bei jedem authentifizierten Request).
+ * - movie-catalog-queries: Ergebnisse von MovieRepository.findAll (Katalog), findByGenre und findByCreatedBy_Id.
+ * @param regions Regionen nach Name.
+ */
+@ConfigurationProperties(prefix = "cinebase.cache")
+public record SecondLevelCacheProperties(Map<String, Region> regions) {
+
+    /**
+     * Einstellungen einer Region.
+     * @param maxSize Maximale Anzahl Einträge (darüber verdrängt Caffeine selten genutzte Einträge).
+     * @param expireAfterWrite Einträge verfallen spätestens nach dieser Zeit (null = nie).
+     */
+    public record Region(long maxSize, Duration expireAfterWrite) {
+    }
+}
@@ -1,9 +1,13 @@
 package com.wiss.cinebase.config;
 
 // Quelle: Block 02B - Custom Security Filter
+import com.wiss.cinebase.security.CostAwareBCryptPasswordEncoder;
 import com.wiss.cinebase.security.JwtAuthenticationFilter;
+import com.wiss.cinebase.security.RateLimitFilter;
 
 // Quelle: Spring Core Container
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,8 +20,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -27,6 +31,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -39,13 +44,30 @@ import java.util.List;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity // Wichtig: Ermöglicht die Nutzung von @PreAuthorize("hasRole('ADMIN')") direkt an Controller-Methoden.
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class})
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsService userDetailsService;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, UserDetailsService userDetailsService) {
+    // BCrypt-Kostenfaktor als Policy (siehe CostAwareBCryptPasswordEncoder).
+    @Value("${security.bcrypt.strength:12}")
+    private int bcryptStrength;
+
+    // Gleichzeitige BCrypt-Berechnungen (0 = CPU-Kerne - 1), wichtig mit Virtual Threads
+    @Value("${security.bcrypt.max-concurrent:0}")
+    private int bcryptMaxConcurrent;
+
+    // Maximale Wartezeit auf eine freie BCrypt-Berechnung, danach 503 + Retry-After
+    @Value("${security.bcrypt.acquire-timeout:5s}")
+    private Duration bcryptAcquireTimeout;
+
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          RateLimitFilter rateLimitFilter,
+                          UserDetailsService userDetailsService) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.userDetailsService = userDetailsService;
     }
 
@@ -70,6 +92,12 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
 
+                        // Monitoring: Health (Load Balancer / Kubernetes) und Prometheus-Scrape ohne Token,
+                        // die übrigen Actuator-Endpunkte (z.B. /actuator/metrics) nur für ADMIN.
+                        // ! In Produktion /actuator/prometheus nur im internen Netz erreichbar machen (management.server.port).
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // ANPASSUNG CINEBASE:
                         // Der Lesezugriff auf Filme und Reviews ist öffentlich (auch für Gäste/nicht eingeloggte User).
                         // Schreibzugriffe (Create, Update, Delete) werden spezifisch im Controller per @PreAuthorize geregelt.
@@ -89,7 +117,10 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
 
                 // 6. Filter-Reihenfolge: Der JwtAuthenticationFilter wird VOR dem Standard-Login-Filter ausgeführt.
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // 7. Rate Limiting direkt NACH dem JWT-Filter (benötigt den authentifizierten User als Schlüssel).
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -102,8 +133,9 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:5173")); // Erlaubte Frontend URL
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS")); // Erlaubte HTTP-Methoden
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")); // Erlaubte HTTP-Methoden
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-Match"));
+        configuration.setExposedHeaders(List.of("ETag")); // ! Sonst kann das Frontend den ETag nicht lesen (für If-Match)
         configuration.setAllowCredentials(true); // Erlaubt Credentials (Cookies/Auth-Header)
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -114,10 +146,11 @@ public class SecurityConfig {
     /**
      * Konfiguration der Passwort-Verschlüsselung.
      * BCrypt fügt automatisch einen Salt hinzu (Schutz vor Rainbow Tables).
+     * ! Hashes mit abweichendem Kostenfaktor werden beim nächsten Login transparent neu gehasht.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Stärke 12 (Standard ist oft 10, 12 bietet höhere Sicherheit)
+        return new CostAwareBCryptPasswordEncoder(bcryptStrength, bcryptMaxConcurrent, bcryptAcquireTimeout); // Standard 12 (konfigurierbar via security.bcrypt.strength)
     }
 
     /**
@@ -128,6 +161,10 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Hash-Upgrade auch für den Standard-Login-Flow von Spring Security aktivieren.
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            authProvider.setUserDetailsPasswordService(passwordService);
+        }
         return authProvider;
     }
 
@@ -0,0 +1,50 @@
+package com.wiss.cinebase.config;
+
+// Quelle: JDK Flight Recorder (jdk.jfr) - eigene Events
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-Event: Aufruf einer öffentlichen Methode von MovieService oder ReviewService (inkl. Transaktion).
+ * Ausgelöst von FlightRecorderAspect.
+ */
+@Name(ServiceCallEvent.NAME)
+@Label("Service-Aufruf")
+@Category({"Cinebase", "Service"})
+@Description("Öffentliche Methode von MovieService bzw. ReviewService")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    public static final String NAME = "cinebase.ServiceCall";
+
+    @Label("Service")
+    public String service;
+
+    @Label("Methode")
+    public String method;
+
+    @Label("ID")
+    @Description("Erstes ID-Argument (Film- bzw. Review-ID), 0 = ohne ID")
+    public long entityId;
+
+    @Label("Fehlgeschlagen")
+    public boolean failed;
+
+    /**
+     * Beendet die Messung und schreibt das Event, falls die Aufzeichnung es verlangt.
+     */
+    public void finish(String service, String method, Long entityId, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.service = service;
+            this.method = method;
+            this.entityId = entityId != null ? entityId : 0;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.wiss.cinebase.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Erzeugt einen Span pro Aufruf einer öffentlichen Service-Methode (z.B. "MovieService.getAllMovies").
+ * Im Trace liegt der Span zwischen HTTP/Security-Filter und den SQL-Spans, so wird sichtbar,
+ * wie viel Zeit im Service selbst (Mapping, Hibernate) und wie viel in der Datenbank vergeht.
+ * ! Direkt über den Tracer statt @Observed: @Observed würde zusätzlich Timer erzeugen (die gibt es schon über @Timed).
+ * Registriert in TracingConfig; innerhalb des JFR-Aspekts, ausserhalb der Transaktion.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServiceTracingAspect {
+
+    private final Tracer tracer;
+
+    public ServiceTracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(public * com.wiss.cinebase.service..*(..)) && @within(org.springframework.stereotype.Service)")
+    public Object traceServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> service = joinPoint.getSignature().getDeclaringType();
+        Span span = tracer.nextSpan()
+                .name(service.getSimpleName() + "." + joinPoint.getSignature().getName())
+                .tag("code.namespace", service.getName())
+                .tag("code.function", joinPoint.getSignature().getName())
+                .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
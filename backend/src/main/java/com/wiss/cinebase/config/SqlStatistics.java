@@ -0,0 +1,100 @@
+package com.wiss.cinebase.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Zähler für SQL-Statements, gelesene Zeilen und Datenbankzeit des aktuellen Threads.
+ * Gefüllt von SqlStatisticsDataSource, geöffnet pro HTTP-Request (SqlStatisticsFilter) oder pro Test (MaxSqlStatements).
+ * Verschachtelte Bereiche zählen nach oben mit: Ein Test sieht auch die Statements der Requests, die er auslöst.
+ * Verwendung:
+ *   try (SqlStatistics statistics = SqlStatistics.start()) { ...; statistics.statements(); }
+ */
+public final class SqlStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatistics parent;
+    private int statements;
+    private long rows;
+    private long dbNanos;
+    // SQL -> Anzahl Ausführungen (gleiches PreparedStatement mit anderen Parametern = gleicher Schlüssel)
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+
+    private SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Öffnet einen Messbereich für den aktuellen Thread.
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * true, wenn im aktuellen Thread gemessen wird (sonst werden Verbindungen nicht instrumentiert).
+     */
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static void recordExecution(String sql, long nanos) {
+        for (SqlStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.statements++;
+            statistics.dbNanos += nanos;
+            statistics.executions.merge(sql != null ? sql : "?", 1, Integer::sum);
+        }
+    }
+
+    static void recordRow(long nanos) {
+        for (SqlStatistics statistics = CURRENT.get(); statistics != null; statistics = statistics.parent) {
+            statistics.rows++;
+            statistics.dbNanos += nanos;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rowsFetched() {
+        return rows;
+    }
+
+    public long dbMillis() {
+        return dbNanos / 1_000_000;
+    }
+
+    /**
+     * Statements, die mindestens threshold-mal ausgeführt wurden (typisches Muster von N+1-Abfragen).
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * Alle Statements mit Anzahl Ausführungen (in der Reihenfolge der ersten Ausführung).
+     */
+    public Map<String, Integer> executions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    @Override
+    public void close() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
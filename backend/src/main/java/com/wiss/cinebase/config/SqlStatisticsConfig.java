@@ -0,0 +1,36 @@
+package com.wiss.cinebase.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Instrumentiert die DataSource der Anwendung für die SQL-Statistik (siehe SqlStatisticsFilter).
+ * Gewrappt wird nur die Bean "dataSource" (Hikari-Pool bzw. der Routing-Proxy aus DataSourceRoutingConfig),
+ * damit jedes Statement genau einmal gezählt wird.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlStatisticsProperties.class)
+public class SqlStatisticsConfig {
+
+    // ! static: BeanPostProcessor müssen vor allen anderen Beans existieren.
+    @Bean
+    static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(Environment environment) {
+        // Standard aus (Proxy pro Connection, Statement und ResultSet), aktiv im Profil "dev" und in den Tests
+        boolean enabled = environment.getProperty("cinebase.sql-statistics.enabled", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && beanName.equals("dataSource") && bean instanceof DataSource dataSource
+                        && !(bean instanceof SqlStatisticsDataSource)) {
+                    return new SqlStatisticsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
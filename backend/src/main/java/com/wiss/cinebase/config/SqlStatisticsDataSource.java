@@ -0,0 +1,101 @@
+package com.wiss.cinebase.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource-Wrapper, der Statements, gelesene Zeilen und Datenbankzeit in SqlStatistics zählt.
+ * Erfasst alles, was über die DataSource läuft (Hibernate, JdbcTemplate, eigene JDBC-Loader).
+ * ! Ohne offenen Messbereich (SqlStatistics.start) wird die Verbindung unverändert durchgereicht: kein Overhead
+ * z.B. für Imports und Scheduler. unwrap/isWrapperFor gehen an den Pool (HikariDataSource, PGConnection).
+ */
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    public SqlStatisticsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    private static Connection instrument(Connection connection) {
+        if (!SqlStatistics.isActive()) {
+            return connection;
+        }
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement/prepareCall: SQL steht fest, createStatement: SQL kommt mit execute(sql)
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return instrument(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private static Statement instrument(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return proxy(type, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? instrument(resultSet) : result;
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? instrument(resultSet) : result;
+            } finally {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                SqlStatistics.recordExecution(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static ResultSet instrument(ResultSet resultSet) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            if (!method.getName().equals("next")) {
+                return invoke(resultSet, method, args);
+            }
+            // Beim Streaming (fetchSize) fällt ein Teil der Datenbankzeit erst in next() an
+            long start = System.nanoTime();
+            Object hasRow = invoke(resultSet, method, args);
+            if (Boolean.TRUE.equals(hasRow)) {
+                SqlStatistics.recordRow(System.nanoTime() - start);
+            }
+            return hasRow;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
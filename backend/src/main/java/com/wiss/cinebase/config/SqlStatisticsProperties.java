@@ -0,0 +1,22 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Konfiguration der SQL-Statistik pro Request (Präfix "cinebase.sql-statistics").
+ * @param enabled DataSource instrumentieren und pro Request zählen? (Standard aus, Profil "dev" und Tests an)
+ * @param responseHeaders Zähler als X-SQL-* Header zurückgeben (nur Entwicklung, Profil "dev").
+ * @param logStatements Requests mit mehr Statements werden geloggt.
+ * @param logDbMillis Requests mit mehr Datenbankzeit (ms) werden geloggt.
+ * @param repeatedThreshold Ab so vielen Ausführungen desselben Statements gilt ein Request als N+1-Verdacht (wird geloggt).
+ */
+@ConfigurationProperties(prefix = "cinebase.sql-statistics")
+public record SqlStatisticsProperties(
+        boolean enabled,
+        boolean responseHeaders,
+        int logStatements,
+        long logDbMillis,
+        int repeatedThreshold
+) {
+}
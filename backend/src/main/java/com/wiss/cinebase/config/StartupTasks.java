@@ -0,0 +1,85 @@
+package com.wiss.cinebase.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Startaufgaben im Hintergrund (z.B. verzögerte Basisdaten, danach das JIT-Warm-up), siehe cinebase.seed.mode=deferred.
+ * - Laufen nacheinander im Task-Executor von Spring Boot (applicationTaskExecutor, mit Virtual Threads im Profil vthreads)
+ *   statt in einem eigenen Thread: Der Executor wird beim Herunterfahren beendet.
+ * - Ein Fehler wird mit Stacktrace ausgegeben, die folgenden Aufgaben entfallen (kein Warm-up ohne Basisdaten).
+ * - Readiness (Health-Gruppe readiness, Komponente startupTasks): OUT_OF_SERVICE, solange Aufgaben laufen,
+ *   DOWN nach einem Fehler. Ein Load Balancer schickt also erst Requests, wenn die Daten da sind.
+ * ! Ohne Hintergrundaufgaben (cinebase.seed.mode=startup) ist die Komponente immer UP.
+ */
+@Component
+public class StartupTasks implements HealthIndicator {
+
+    private final TaskExecutor executor;
+    // Nur beim Start aufgerufen, ReentrantLock statt synchronized wie im Rest der Anwendung (kein Pinning)
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private volatile CompletableFuture<Void> last = CompletableFuture.completedFuture(null);
+    private volatile String running;
+    private volatile Throwable failure;
+
+    public StartupTasks(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Hängt eine Aufgabe an. Sie startet, sobald die vorherige erfolgreich beendet ist.
+     * @param name Für Log und Health-Details, z.B. "Basisdaten"
+     * @return Fertig, wenn die Aufgabe gelaufen ist (bzw. wegen eines früheren Fehlers entfällt)
+     */
+    public CompletableFuture<Void> submit(String name, Runnable task) {
+        submitLock.lock();
+        try {
+            last = last.thenRunAsync(() -> run(name, task), executor);
+            return last;
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    /**
+     * true, solange noch eine Aufgabe läuft oder wartet.
+     */
+    public boolean isPending() {
+        return !last.isDone();
+    }
+
+    @Override
+    public Health health() {
+        if (failure != null) {
+            return Health.down(failure).build();
+        }
+        if (isPending()) {
+            String name = running;
+            return name != null ? Health.outOfService().withDetail("running", name).build() : Health.outOfService().build();
+        }
+        return Health.up().build();
+    }
+
+    private void run(String name, Runnable task) {
+        running = name;
+        long start = System.nanoTime();
+        try {
+            task.run();
+            System.out.println("Startaufgabe '" + name + "' abgeschlossen in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            System.err.println("Startaufgabe '" + name + "' fehlgeschlagen, Readiness bleibt DOWN: " + e);
+            e.printStackTrace();
+            throw e;
+        } finally {
+            running = null;
+        }
+    }
+}
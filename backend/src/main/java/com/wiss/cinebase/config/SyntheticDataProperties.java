@@ -0,0 +1,41 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Konfiguration des synthetischen Datengenerators (Präfix "datagen", Profil "datagen").
+ * @param seed Startwert: gleicher Seed = identischer Datensatz
+ * @param users Anzahl User
+ * @param movies Anzahl Filme
+ * @param reviews Angestrebte Anzahl Reviews
+ * @param genres Anzahl Genres
+ * @param popularitySkew Zipf-Exponent der Film-Popularität (0 = gleichverteilt)
+ * @param activitySkew Zipf-Exponent der User-Aktivität
+ * @param adminShare Anteil ADMIN-Konten
+ * @param end Zeitpunkt der jüngsten Review
+ * @param days Zeitspanne der Daten in Tagen
+ * @param password Klartext-Passwort aller generierten User (wird EINMAL gehasht)
+ * @param batchSize Zeilen pro JDBC-Batch (nur ohne PostgreSQL COPY)
+ * @param exportDir Verzeichnis für die Datensatz-Beschreibung der Benchmarks (leer = kein Export)
+ */
+@ConfigurationProperties(prefix = "datagen")
+public record SyntheticDataProperties(
+        long seed,
+        int users,
+        int movies,
+        long reviews,
+        int genres,
+        double popularitySkew,
+        double activitySkew,
+        double adminShare,
+        LocalDateTime end,
+        int days,
+        String password,
+        int batchSize,
+        Path exportDir
+) {
+}
@@ -0,0 +1,51 @@
+package com.wiss.cinebase.config;
+
+// Importiert Generator und Loader der synthetischen Benchmark-Daten.
+import com.wiss.cinebase.service.SyntheticDataGenerator;
+import com.wiss.cinebase.service.SyntheticDataLoader;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * CLI-Modus des synthetischen Datengenerators.
+ * Aktiv nur im Profil "datagen" (Einstellungen in application-datagen.properties). Beispiel:
+ * java -jar cinebase-backend.jar --spring.profiles.active=datagen --datagen.users=1000000 --datagen.reviews=50000000
+ * Mit --datagen.export-dir=... werden Beschreibung und Schlüssellisten für die Benchmarks geschrieben.
+ * Im Profil "perf" (application-perf.properties) lädt derselbe Runner den Datensatz in die eingebettete
+ * Datenbank, danach läuft der Server für die Lasttests (../loadtest) weiter.
+ */
+@Configuration
+@Profile({"datagen", "perf"})
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+public class SyntheticDataRunner {
+
+    // ! Vor dem DataInitializer: Legt Hibernate zuerst Filme an, hält es einen ID-Block (pooled-lo) aus der
+    // Sequenz, die der Loader danach zurücksetzt -> Kollision mit den geladenen IDs beim nächsten INSERT.
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    CommandLineRunner generateSyntheticData(SyntheticDataLoader loader, SyntheticDataProperties properties) {
+        return args -> {
+            SyntheticDataGenerator.Settings settings = new SyntheticDataGenerator.Settings(
+                    properties.seed(), properties.users(), properties.movies(), properties.reviews(), properties.genres(),
+                    properties.popularitySkew(), properties.activitySkew(), properties.adminShare(),
+                    properties.end(), properties.days());
+
+            System.out.println("Synthetische Daten (Seed " + settings.seed() + "): " + settings.users() + " User, "
+                    + settings.movies() + " Filme, " + settings.reviews() + " Reviews ...");
+            SyntheticDataLoader.LoadReport report = loader.load(
+                    settings, properties.password(), properties.batchSize(), properties.exportDir());
+
+            long rows = report.users() + report.movies() + report.reviews();
+            long rowsPerMinute = rows * 60_000 / Math.max(1, report.durationMs());
+            System.out.println("Datengenerierung abgeschlossen (" + (report.copy() ? "COPY" : "JDBC-Batch") + "): "
+                    + report.users() + " User, " + report.movies() + " Filme, " + report.reviews() + " Reviews in "
+                    + report.durationMs() + " ms (" + rowsPerMinute + " Zeilen/Minute).");
+        };
+    }
+}
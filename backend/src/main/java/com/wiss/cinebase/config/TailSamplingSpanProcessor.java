@@ -0,0 +1,212 @@
+package com.wiss.cinebase.config;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tail-Sampling: Die Entscheidung fällt erst, wenn der ganze Trace bekannt ist (Wurzel-Span beendet).
+ * Behalten werden langsame Traces (Wurzel >= slowThreshold), Traces mit Fehlern und zufällig sampleRatio der übrigen.
+ * ! Head-Sampling (management.tracing.sampling.probability) muss dafür 1.0 sein, sonst fehlen die langsamen Requests.
+ * Ablauf:
+ * - Beendete Spans werden pro Trace-ID gepuffert (als unveränderliche SpanData).
+ * - Endet der lokale Wurzel-Span (ohne oder mit entferntem Parent), wird entschieden und der Puffer freigegeben.
+ * - Behaltene Traces exportiert ein eigener Thread (der Request wartet nicht auf die Datei).
+ * Spans, die nach ihrer Wurzel enden (asynchrone Arbeit), werden verworfen.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    // Tag "outcome" des HTTP-Spans (http.server.requests): 5xx ohne Exception (vom GlobalExceptionHandler beantwortet)
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    // Behaltene Traces, die noch geschrieben werden müssen (darüber werden Traces verworfen statt den Request zu bremsen, Zähler rejected)
+    private static final int EXPORT_QUEUE_SIZE = 1000;
+
+    private final SpanExporter exporter;
+    private final TracingProperties properties;
+    private final long slowThresholdNanos;
+    private final long traceTimeoutNanos;
+    private final Map<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor exportExecutor;
+
+    private final AtomicLong kept = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public TailSamplingSpanProcessor(SpanExporter exporter, TracingProperties properties) {
+        this.exporter = exporter;
+        this.properties = properties;
+        this.slowThresholdNanos = properties.slowThreshold().toNanos();
+        this.traceTimeoutNanos = properties.traceTimeout().toNanos();
+        this.exportExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPORT_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "trace-export");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // Warteschlange voll: siehe onEnd
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        // Entscheidung erst in onEnd
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        String traceId = span.getSpanContext().getTraceId();
+
+        if (!isLocalRoot(span.getParentSpanContext())) {
+            PendingTrace trace = pending.get(traceId);
+            if (trace == null) {
+                trace = startTrace(traceId);
+            }
+            if (trace != null) {
+                trace.add(span, properties.maxSpansPerTrace());
+            }
+            return;
+        }
+
+        // Wurzel beendet: ganzer Trace bekannt
+        PendingTrace trace = pending.remove(traceId);
+        boolean error = trace != null && trace.hasError();
+        if (shouldKeep(span, error)) {
+            List<SpanData> spans = trace != null ? trace.finish(span.toSpanData()) : List.of(span.toSpanData());
+            try {
+                exportExecutor.execute(() -> exporter.export(spans));
+                kept.incrementAndGet();
+            } catch (RejectedExecutionException e) {
+                // Behalten, aber der Export kommt nicht nach: eigener Zähler, nicht mit dem Sampling vermischt
+                rejected.incrementAndGet();
+            }
+        } else {
+            dropped.incrementAndGet();
+        }
+        if (pending.size() > properties.maxPendingTraces() / 2) {
+            evictExpired();
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return properties.enabled(); // false: Das SDK ruft onEnd gar nicht erst auf
+    }
+
+    // Erster beendeter Span eines Traces (meist das erste SQL-Statement): Puffer anlegen, falls Platz ist
+    private PendingTrace startTrace(String traceId) {
+        if (pending.size() >= properties.maxPendingTraces()) {
+            evictExpired();
+            if (pending.size() >= properties.maxPendingTraces()) {
+                return null;
+            }
+        }
+        return pending.computeIfAbsent(traceId, id -> new PendingTrace(System.nanoTime()));
+    }
+
+    private boolean shouldKeep(ReadableSpan root, boolean error) {
+        if (root.getLatencyNanos() >= slowThresholdNanos) {
+            return true;
+        }
+        if (properties.keepErrors() && (error || root.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR
+                || "SERVER_ERROR".equals(root.getAttribute(OUTCOME)))) {
+            return true;
+        }
+        return properties.sampleRatio() > 0 && ThreadLocalRandom.current().nextDouble() < properties.sampleRatio();
+    }
+
+    // Traces, deren Wurzel nie endet (z.B. abgebrochene Requests), blockieren sonst den Puffer
+    private void evictExpired() {
+        long now = System.nanoTime();
+        pending.entrySet().removeIf(entry -> now - entry.getValue().startedNanos > traceTimeoutNanos);
+    }
+
+    private static boolean isLocalRoot(SpanContext parent) {
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    /**
+     * Anzahl Traces seit dem Start:
+     * - kept: behalten und zum Export angenommen
+     * - dropped: vom Tail-Sampling verworfen (schnell, ohne Fehler, nicht zufällig ausgewählt)
+     * - rejected: behalten, aber verloren, weil die Export-Warteschlange voll war (Exporter zu langsam)
+     */
+    public long getKept() {
+        return kept.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        exportExecutor.shutdown();
+        try {
+            exportExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return exporter.shutdown();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporter.flush();
+    }
+
+    // Gepufferte Spans eines Traces (mehrere Threads möglich, daher synchronisiert)
+    private static final class PendingTrace {
+        private final long startedNanos;
+        private final List<SpanData> spans = new ArrayList<>();
+        private boolean error;
+
+        PendingTrace(long startedNanos) {
+            this.startedNanos = startedNanos;
+        }
+
+        synchronized void add(ReadableSpan span, int maxSpans) {
+            if (spans.size() < maxSpans) {
+                SpanData data = span.toSpanData();
+                error |= data.getStatus().getStatusCode() == StatusCode.ERROR;
+                spans.add(data);
+            }
+        }
+
+        synchronized boolean hasError() {
+            return error;
+        }
+
+        synchronized List<SpanData> finish(SpanData root) {
+            spans.add(root);
+            return List.copyOf(spans);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.wiss.cinebase.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.tracing.Tracer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing mit OpenTelemetry (über Micrometer Tracing), ohne externes Backend.
+ * Spans entstehen für:
+ * - HTTP-Requests (http.server.requests) und die Spring-Security-Filterkette: automatisch durch Spring Boot.
+ * - Service-Methoden: ServiceTracingAspect.
+ * - Jedes SQL-Statement: datasource-micrometer (jdbc.includes=query in application.properties).
+ * Export: TailSamplingSpanProcessor entscheidet pro Trace und schreibt behaltene Traces als OTLP/JSON in eine Datei.
+ * Spring Boot übernimmt jede SpanProcessor-Bean in den SdkTracerProvider.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public ServiceTracingAspect serviceTracingAspect(Tracer tracer) {
+        return new ServiceTracingAspect(tracer);
+    }
+
+    /**
+     * Tail-Sampling + Datei-Export (cinebase.tracing.*). Ohne cinebase.tracing.enabled wird nichts geschrieben.
+     */
+    @Bean
+    public TailSamplingSpanProcessor tailSamplingSpanProcessor(TracingProperties properties) {
+        OtlpJsonFileSpanExporter exporter = new OtlpJsonFileSpanExporter(
+                properties.file(), properties.maxFileSize().toBytes());
+        return new TailSamplingSpanProcessor(exporter, properties);
+    }
+
+    /**
+     * Behaltene bzw. verworfene Traces (Kontrolle, ob die Sampling-Regeln passen).
+     * decision="rejected": behalten, aber wegen voller Export-Warteschlange verloren (kein Sampling-Entscheid).
+     */
+    @Bean
+    public MeterBinder tailSamplingMetrics(TailSamplingSpanProcessor processor) {
+        return registry -> {
+            FunctionCounter.builder("cinebase.tracing.traces", processor, TailSamplingSpanProcessor::getKept)
+                    .tag("decision", "kept")
+                    .register(registry);
+            FunctionCounter.builder("cinebase.tracing.traces", processor, TailSamplingSpanProcessor::getDropped)
+                    .tag("decision", "dropped")
+                    .register(registry);
+            FunctionCounter.builder("cinebase.tracing.traces", processor, TailSamplingSpanProcessor::getRejected)
+                    .tag("decision", "rejected")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Konfiguration des Tail-Samplings und der Trace-Datei (Präfix "cinebase.tracing"), siehe TracingConfig.
+ * @param enabled Traces in die Datei schreiben.
+ * @param file Zieldatei (OTLP/JSON, ein ExportTraceServiceRequest pro Zeile).
+ * @param maxFileSize Bei dieser Grösse wird die Datei nach file.1 verschoben (nur eine alte Datei wird behalten).
+ * @param slowThreshold Traces, deren Wurzel-Span mindestens so lange dauert, werden immer behalten.
+ * @param sampleRatio Anteil der übrigen (schnellen, fehlerfreien) Traces, der trotzdem behalten wird (0.0 - 1.0).
+ * @param keepErrors Traces mit einem fehlerhaften Span immer behalten.
+ * @param maxPendingTraces So viele unvollständige Traces werden höchstens gepuffert (darüber werden neue verworfen).
+ * @param maxSpansPerTrace Weitere Spans eines Traces werden verworfen (Schutz bei N+1 mit tausenden Statements).
+ * @param traceTimeout Traces, deren Wurzel-Span nach dieser Zeit nicht beendet ist, werden aus dem Puffer entfernt.
+ */
+@ConfigurationProperties(prefix = "cinebase.tracing")
+public record TracingProperties(
+        boolean enabled,
+        Path file,
+        DataSize maxFileSize,
+        Duration slowThreshold,
+        double sampleRatio,
+        boolean keepErrors,
+        int maxPendingTraces,
+        int maxSpansPerTrace,
+        Duration traceTimeout
+) {
+}
@@ -0,0 +1,48 @@
+package com.wiss.cinebase.config;
+
+// Importiert DTOs und Service der Bulk-Provisionierung.
+import com.wiss.cinebase.dto.ProvisioningResultDTO;
+import com.wiss.cinebase.dto.ProvisioningRowResultDTO;
+import com.wiss.cinebase.service.UserProvisioningService;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * CLI-Modus der Bulk-Provisionierung.
+ * Aktiv nur, wenn die Property 'provisioning.file' gesetzt ist. Beispiel:
+ * java -jar cinebase-backend.jar --provisioning.file=journalisten.csv --spring.main.web-application-type=none
+ * Das Format wird anhand der Dateiendung erkannt (.csv oder .ndjson/.jsonl).
+ */
+@Configuration
+@ConditionalOnProperty(name = "provisioning.file")
+public class UserProvisioningRunner {
+
+    @Bean
+    CommandLineRunner provisionUsersFromFile(UserProvisioningService provisioningService,
+                                             Environment environment) {
+        return args -> {
+            Path file = Path.of(environment.getRequiredProperty("provisioning.file"));
+            UserProvisioningService.Format format = UserProvisioningService.Format.detect(file.getFileName().toString());
+
+            ProvisioningResultDTO result = provisioningService.provision(
+                    provisioningService.parse(Files.readString(file), format));
+
+            // Nur abgelehnte Zeilen ausgeben, die erfolgreichen sind im Zähler enthalten.
+            for (ProvisioningRowResultDTO row : result.getRows()) {
+                if (!UserProvisioningService.STATUS_CREATED.equals(row.getStatus())) {
+                    System.out.println("Zeile " + row.getLine() + " (" + row.getUsername() + "): "
+                            + row.getStatus() + " - " + row.getMessage());
+                }
+            }
+            System.out.println("Provisionierung abgeschlossen: " + result.getCreated() + " von " + result.getTotal()
+                    + " Benutzern angelegt (" + result.getDurationMs() + " ms).");
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.wiss.cinebase.config;
+
+// Quelle: Spring Boot - Typsichere Konfiguration
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Konfiguration des JIT-Warm-ups vor der Readiness (Präfix "cinebase.warmup"), siehe WarmupRunner.
+ * @param enabled Warm-up beim Start ausführen (nur mit Webserver, nicht in CLI-Modi).
+ * @param catalogIterations Neuaufbau der Filmliste (MovieService.getAllMovies + CatalogResponseCache: JSON, gzip, Brotli).
+ * @param catalogCacheIterations GET /api/movies aus dem Cache (CatalogResponseCache.get, Accept-Encoding aushandeln).
+ * @param detailIterations Aufrufe der Filmdetails (MovieService.getMovieById, reihum über die Filme der Liste).
+ * @param jwtIterations JWT-Prüfungen wie im JwtAuthenticationFilter (Username lesen + validieren).
+ * @param serializationIterations JSON-Serialisierungen der Filmliste und eines Films (ObjectMapper von Spring MVC).
+ * @param maxDuration Obergrenze für das ganze Warm-up: Danach wird abgebrochen und der Start fortgesetzt.
+ */
+@ConfigurationProperties(prefix = "cinebase.warmup")
+public record WarmupProperties(
+        boolean enabled,
+        int catalogIterations,
+        int catalogCacheIterations,
+        int detailIterations,
+        int jwtIterations,
+        int serializationIterations,
+        Duration maxDuration
+) {
+}
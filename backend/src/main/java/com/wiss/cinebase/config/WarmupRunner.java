@@ -0,0 +1,63 @@
+package com.wiss.cinebase.config;
+
+import com.wiss.cinebase.service.WarmupService;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * JIT-Warm-up beim Start (cinebase.warmup.*), siehe WarmupService.
+ * Readiness: Spring Boot meldet ACCEPTING_TRAFFIC erst, wenn alle Runner fertig sind.
+ * Bis dahin antwortet /actuator/health/readiness mit 503 OUT_OF_SERVICE, der Load Balancer schickt noch keine Requests.
+ * ! Der Port ist schon offen: Wer die Readiness nicht prüft, erreicht die Anwendung auch während des Warm-ups.
+ * Laufen noch Startaufgaben im Hintergrund (cinebase.seed.mode=deferred), folgt das Warm-up als weitere Startaufgabe:
+ * erst nach den Basisdaten (sonst liefe es auf einem leeren Katalog), die Readiness bleibt bis dahin OUT_OF_SERVICE.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupRunner {
+
+    // Als letzter Runner: nach den Basisdaten (DataInitializer) bzw. dem synthetischen Datensatz
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    CommandLineRunner warmUpHotPaths(WarmupService warmupService, WarmupProperties properties,
+                                     StartupTasks startupTasks, ApplicationContext context) {
+        return args -> {
+            // CLI-Modi (web-application-type=none) beenden sich nach den Runnern, dort bringt ein Warm-up nichts
+            if (!properties.enabled() || !(context instanceof WebServerApplicationContext)) {
+                return;
+            }
+            if (startupTasks.isPending()) {
+                System.out.println("JIT-Warm-up nach den Startaufgaben im Hintergrund ...");
+                startupTasks.submit("JIT-Warm-up", () -> {
+                    try {
+                        warmUp(warmupService, properties);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return;
+            }
+            System.out.println("JIT-Warm-up vor der Readiness ...");
+            warmUp(warmupService, properties);
+        };
+    }
+
+    private static void warmUp(WarmupService warmupService, WarmupProperties properties) throws IOException {
+        WarmupService.WarmupReport report = warmupService.warmUp(properties);
+        for (WarmupService.Step step : report.steps()) {
+            System.out.printf("  %-20s %6d Iterationen %7d ms%n", step.name(), step.iterations(), step.durationMs());
+        }
+        System.out.println("JIT-Warm-up abgeschlossen in " + report.durationMs() + " ms"
+                + (report.aborted() ? " (abgebrochen: cinebase.warmup.max-duration erreicht)" : ""));
+    }
+}
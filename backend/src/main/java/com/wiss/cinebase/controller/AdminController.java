@@ -0,0 +1,139 @@
+package com.wiss.cinebase.controller;
+
+// Importiert die DTOs für die Betriebskennzahlen.
+import com.wiss.cinebase.dto.CacheRegionStatsDTO;
+import com.wiss.cinebase.dto.ConcurrencyStatsDTO;
+import com.wiss.cinebase.dto.FlightRecordingDTO;
+import com.wiss.cinebase.dto.ReviewArchiveDTO;
+// Importiert den Limiter (Betriebskennzahlen).
+import com.wiss.cinebase.security.AdaptiveConcurrencyLimiter;
+import com.wiss.cinebase.security.AdaptiveConcurrencyLimiter.Priority;
+import com.wiss.cinebase.service.CacheStatisticsService;
+import com.wiss.cinebase.service.FlightRecorderService;
+import com.wiss.cinebase.service.ReviewPartitionService;
+
+// Importiert Swagger-Annotationen für die API-Dokumentation.
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+// Importiert Spring Web & Security.
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * REST Controller für Betriebs- und Wartungsfunktionen.
+ * Zugriff: Nur ADMIN.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Admin", description = "Betrieb und Wartung")
+public class AdminController {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final ReviewPartitionService reviewPartitionService;
+    private final FlightRecorderService flightRecorderService;
+
+    public AdminController(AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           CacheStatisticsService cacheStatisticsService,
+                           ReviewPartitionService reviewPartitionService,
+                           FlightRecorderService flightRecorderService) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.reviewPartitionService = reviewPartitionService;
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    /**
+     * Liefert das aktuell gelernte Concurrency-Limit und die Anzahl abgewiesener Requests.
+     */
+    @GetMapping("/concurrency")
+    @Operation(summary = "Kennzahlen des Concurrency Limiters", description = "Gelerntes Limit, laufende und abgewiesene Requests.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ConcurrencyStatsDTO> getConcurrencyStats() {
+        return ResponseEntity.ok(new ConcurrencyStatsDTO(
+                concurrencyLimiter.getLimit(),
+                concurrencyLimiter.getInFlight(),
+                concurrencyLimiter.getAccepted(),
+                concurrencyLimiter.getRejected(Priority.READ),
+                concurrencyLimiter.getRejected(Priority.WRITE),
+                concurrencyLimiter.getRejected(Priority.EXPORT)
+        ));
+    }
+
+    /**
+     * Liefert Treffer, Fehlzugriffe und Trefferquote pro Second-Level-Cache-Region.
+     */
+    @GetMapping("/cache")
+    @Operation(summary = "Kennzahlen des Second-Level-Caches", description = "Treffer und Trefferquote pro Cache-Region.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStats());
+    }
+
+    /**
+     * Archiviert abgelaufene Review-Jahrgänge sofort (sonst täglich per Cron).
+     */
+    @PostMapping("/reviews/archive")
+    @Operation(summary = "Alte Review-Jahrgänge archivieren", description = "Detacht abgelaufene Partitionen, exportiert sie komprimiert und löscht sie.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ReviewArchiveDTO>> archiveReviews() throws Exception {
+        return ResponseEntity.ok(reviewPartitionService.archiveExpiredEditions());
+    }
+
+    /**
+     * Zustand der laufenden JFR-Aufzeichnung (404, wenn keine läuft).
+     */
+    @GetMapping("/jfr")
+    @Operation(summary = "Zustand der JFR-Aufzeichnung", description = "Konfiguration, Startzeit und bisherige Grösse.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingDTO> getFlightRecording() {
+        return ResponseEntity.ok(flightRecorderService.status());
+    }
+
+    /**
+     * Startet eine JFR-Aufzeichnung inkl. der eigenen Events cinebase.* (läuft bereits eine, bleibt diese bestehen).
+     */
+    @PostMapping("/jfr/start")
+    @Operation(summary = "JFR-Aufzeichnung starten", description = "settings: default (Dauerbetrieb) oder profile (mehr Details, mehr Overhead).")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingDTO> startFlightRecording(
+            @RequestParam(required = false) String settings) throws Exception {
+        return ResponseEntity.ok(flightRecorderService.start(settings));
+    }
+
+    /**
+     * Beendet die JFR-Aufzeichnung und schreibt sie ins Dump-Verzeichnis (cinebase.jfr.dump-dir).
+     */
+    @PostMapping("/jfr/stop")
+    @Operation(summary = "JFR-Aufzeichnung beenden", description = "Schreibt die Aufzeichnung als .jfr-Datei auf den Server.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingDTO> stopFlightRecording() throws Exception {
+        return ResponseEntity.ok(flightRecorderService.stop());
+    }
+
+    /**
+     * Lädt den bisherigen Inhalt der laufenden Aufzeichnung herunter (die Aufzeichnung läuft weiter).
+     * Auswertung z.B. mit FlightRecordingSummarizer oder JDK Mission Control.
+     */
+    @GetMapping("/jfr/dump")
+    @Operation(summary = "JFR-Aufzeichnung herunterladen", description = "Momentaufnahme der laufenden Aufzeichnung als .jfr-Datei.")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> dumpFlightRecording() throws Exception {
+        Path file = flightRecorderService.dump();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -10,6 +10,9 @@ import com.wiss.cinebase.dto.RegisterResponseDTO;
 import com.wiss.cinebase.entity.AppUser;
 import com.wiss.cinebase.entity.Role;
 
+// Überlast beim Passwort-Hashing (503 über den GlobalExceptionHandler).
+import com.wiss.cinebase.exception.PasswordHashingBusyException;
+
 // Importiert Services für die Geschäftslogik.
 import com.wiss.cinebase.service.AppUserService;
 import com.wiss.cinebase.service.JwtService;
@@ -22,8 +25,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
 // Importiert Spring Web Annotationen für REST-Controller.
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -86,6 +91,9 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             // Validation Error (z.B. Username existiert bereits).
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (PasswordHashingBusyException e) {
+            // Kein BCrypt-Platz frei -> GlobalExceptionHandler antwortet mit 503 statt 500
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Registrierung fehlgeschlagen"));
@@ -134,6 +142,9 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
 
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException | PasswordHashingBusyException e) {
+            // Pool bzw. BCrypt-Plätze erschöpft -> GlobalExceptionHandler antwortet mit 503 statt 500
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Login fehlgeschlagen: " + e.getMessage()));
@@ -0,0 +1,62 @@
+package com.wiss.cinebase.controller;
+
+// Importiert das DTO und den Service.
+import com.wiss.cinebase.dto.GenreDTO;
+import com.wiss.cinebase.service.GenreService;
+
+// Importiert Swagger-Annotationen für die API-Dokumentation.
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import jakarta.validation.Valid;
+
+// Importiert Spring Web & Security.
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller für die Genre-Nachschlagetabelle.
+ * Lesen: ADMIN und USER. Umbenennen/Zusammenführen: Nur ADMIN.
+ */
+@RestController
+@RequestMapping("/api/genres")
+@Tag(name = "Genres", description = "Genres des Filmkatalogs")
+public class GenreController {
+
+    private final GenreService genreService;
+
+    public GenreController(GenreService genreService) {
+        this.genreService = genreService;
+    }
+
+    /**
+     * Liefert alle Genres (aus dem In-Memory-Wörterbuch, ohne DB-Zugriff).
+     */
+    @GetMapping
+    @Operation(summary = "Alle Genres abrufen", description = "Gibt alle Genres mit ID und Name zurück.")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<GenreDTO>> getAllGenres() {
+        return ResponseEntity.ok(genreService.getAllGenres());
+    }
+
+    /**
+     * Benennt ein Genre um. Ist der neue Name bereits vergeben, werden die Genres zusammengeführt.
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Genre umbenennen / zusammenführen",
+            description = "Ändert den Namen eines Genres. Existiert der Name bereits, werden alle Filme auf dieses Genre umgehängt.")
+    @ApiResponse(responseCode = "200", description = "Genre umbenannt (bzw. resultierendes Ziel-Genre)")
+    @ApiResponse(responseCode = "404", description = "Genre nicht gefunden")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GenreDTO> renameGenre(
+            @Parameter(description = "ID des Genres", required = true)
+            @PathVariable Short id,
+            @Valid @RequestBody GenreDTO genreDTO) {
+        return ResponseEntity.ok(genreService.renameGenre(id, genreDTO.getName()));
+    }
+}
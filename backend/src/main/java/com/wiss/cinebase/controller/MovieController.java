@@ -1,13 +1,22 @@
 package com.wiss.cinebase.controller;
 
 // Importiert das DTO für den Film-Datentransfer.
+import com.wiss.cinebase.dto.MovieBulkDeleteRequestDTO;
+import com.wiss.cinebase.dto.MovieBulkDeleteResultDTO;
 import com.wiss.cinebase.dto.MovieDTO;
+import com.wiss.cinebase.dto.MoviePatchDTO;
+import com.wiss.cinebase.exception.MovieVersionMismatchException;
+import com.wiss.cinebase.exception.PreconditionRequiredException;
 // Importiert den Service für die Geschäftslogik.
+import com.wiss.cinebase.service.CatalogResponseCache;
 import com.wiss.cinebase.service.MovieService;
 
 // Importiert Swagger-Annotationen für die API-Dokumentation (Block 05B).
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -15,13 +24,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
 // Importiert Spring Web Annotationen.
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 // Importiert Security Annotationen für Method Security (Block 02B/06B).
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * REST Controller für die Verwaltung von Filmen (CRUD).
@@ -36,9 +46,11 @@ import java.util.List;
 public class MovieController {
 
     private final MovieService movieService;
+    private final CatalogResponseCache catalogResponseCache;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, CatalogResponseCache catalogResponseCache) {
         this.movieService = movieService;
+        this.catalogResponseCache = catalogResponseCache;
     }
 
     /**
@@ -47,11 +59,30 @@ public class MovieController {
      */
     @GetMapping
     @Operation(summary = "Alle Filme abrufen", description = "Gibt eine Liste aller verfügbaren Filme zurück.")
-    @ApiResponse(responseCode = "200", description = "Erfolgreich abgerufen")
+    @ApiResponse(responseCode = "200", description = "Erfolgreich abgerufen",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = MovieDTO.class))))
+    @ApiResponse(responseCode = "406", description = "Accept-Encoding schliesst alle vorhandenen Varianten aus")
     // ! Security: Erzwingt Login. Auch wenn SecurityConfig "permitAll" sagt, gewinnt hier die Annotation.
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<List<MovieDTO>> getAllMovies() {
-        return ResponseEntity.ok(movieService.getAllMovies());
+    public ResponseEntity<byte[]> getAllMovies(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Fertig serialisiert und vorkomprimiert (siehe CatalogResponseCache), Tomcat komprimiert nicht nochmals
+        CatalogResponseCache.Body body = catalogResponseCache.get(movieService::getAllMovies);
+        CatalogResponseCache.Encoding encoding = body.negotiate(acceptEncoding);
+        if (encoding == null) {
+            // z.B. "identity;q=0" und der Body ist zu klein für eine komprimierte Variante
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding.token() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        }
+        return response.body(body.bytes(encoding));
     }
 
     /**
@@ -66,7 +97,9 @@ public class MovieController {
     public ResponseEntity<MovieDTO> getMovieById(
             @Parameter(description = "ID des Films", required = true)
             @PathVariable Long id) {
-        return ResponseEntity.ok(movieService.getMovieById(id));
+        MovieDTO movie = movieService.getMovieById(id);
+        // ETag = Version des Films (Grundlage für PUT/PATCH mit If-Match)
+        return ResponseEntity.ok().eTag(toETag(movie.getVersion())).body(movie);
     }
 
     /**
@@ -82,23 +115,56 @@ public class MovieController {
     public ResponseEntity<MovieDTO> createMovie(
             @Valid @RequestBody MovieDTO movieDTO) {
         MovieDTO createdMovie = movieService.createMovie(movieDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdMovie);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(toETag(createdMovie.getVersion())).body(createdMovie);
     }
 
     /**
      * Aktualisiert einen bestehenden Film.
+     * ! Wie bei PATCH ist If-Match mit dem ETag aus GET Pflicht (kein stilles Überschreiben fremder Änderungen).
      * Zugriff: Nur ADMIN.
      */
     @PutMapping("/{id}")
-    @Operation(summary = "Film aktualisieren", description = "Aktualisiert die Daten eines bestehenden Films.")
-    @ApiResponse(responseCode = "200", description = "Film erfolgreich aktualisiert")
+    @Operation(summary = "Film aktualisieren",
+            description = "Aktualisiert die Daten eines bestehenden Films. Erfordert den ETag aus GET im Header If-Match.")
+    @ApiResponse(responseCode = "200", description = "Film erfolgreich aktualisiert (neuer ETag im Header)")
     @ApiResponse(responseCode = "404", description = "Film nicht gefunden")
+    @ApiResponse(responseCode = "412", description = "Film wurde inzwischen geändert (ETag veraltet)")
+    @ApiResponse(responseCode = "428", description = "Header If-Match fehlt")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<MovieDTO> updateMovie(
             @Parameter(description = "ID des Films", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag des Films aus GET /api/movies/{id}")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody MovieDTO movieDTO) {
-        return ResponseEntity.ok(movieService.updateMovie(id, movieDTO));
+        MovieDTO updatedMovie = movieService.updateMovie(id, parseIfMatch(id, ifMatch), movieDTO);
+        return ResponseEntity.ok().eTag(toETag(updatedMovie.getVersion())).body(updatedMovie);
+    }
+
+    /**
+     * Ändert einzelne Felder eines Films (nur die gesendeten, "description": null entfernt die Beschreibung).
+     * ! Optimistic Locking über HTTP: Der Client sendet den ETag aus GET als If-Match.
+     * Hat ein anderer Admin den Film inzwischen geändert, antwortet der Server mit 412 statt zu überschreiben.
+     * Zugriff: Nur ADMIN.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/json", "application/merge-patch+json"})
+    @Operation(summary = "Film teilweise aktualisieren",
+            description = "Ändert nur die gesendeten Felder (null entfernt die Beschreibung). Erfordert den ETag aus GET im Header If-Match.")
+    @ApiResponse(responseCode = "204", description = "Film aktualisiert (neuer ETag im Header)")
+    @ApiResponse(responseCode = "400", description = "Ungültige Werte oder Pflichtfeld auf null gesetzt")
+    @ApiResponse(responseCode = "404", description = "Film nicht gefunden")
+    @ApiResponse(responseCode = "412", description = "Film wurde inzwischen geändert (ETag veraltet)")
+    @ApiResponse(responseCode = "428", description = "Header If-Match fehlt")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> patchMovie(
+            @Parameter(description = "ID des Films", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "ETag des Films aus GET /api/movies/{id}")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody MoviePatchDTO patch) {
+        long newVersion = movieService.patchMovie(id, parseIfMatch(id, ifMatch), patch);
+        // ! Kein erneutes Laden: Die Antwort enthält nur den neuen ETag.
+        return ResponseEntity.noContent().eTag(toETag(newVersion)).build();
     }
 
     /**
@@ -116,4 +182,40 @@ public class MovieController {
         movieService.deleteMovie(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Löscht mehrere Filme (inkl. Reviews) in einem Request.
+     * Zugriff: Nur ADMIN.
+     */
+    @PostMapping("/bulk-delete")
+    @Operation(summary = "Mehrere Filme löschen", description = "Entfernt bis zu 1000 Filme samt Reviews. Unbekannte IDs werden ignoriert.")
+    @ApiResponse(responseCode = "200", description = "Filme gelöscht (Anzahl im Ergebnis)")
+    @ApiResponse(responseCode = "400", description = "Leere oder zu lange ID-Liste")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MovieBulkDeleteResultDTO> deleteMovies(
+            @Valid @RequestBody MovieBulkDeleteRequestDTO request) {
+        return ResponseEntity.ok(movieService.deleteMovies(request.getIds()));
+    }
+
+    // Starker ETag aus der Version, z.B. "3".
+    private static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Liest die Version aus If-Match. "*" wird bewusst nicht akzeptiert (würde jede Version überschreiben).
+    // Schwache (W/"3") oder unlesbare ETags passen nie zur aktuellen Version -> 412.
+    private static long parseIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            throw new PreconditionRequiredException();
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new MovieVersionMismatchException(id);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new MovieVersionMismatchException(id);
+        }
+    }
+}
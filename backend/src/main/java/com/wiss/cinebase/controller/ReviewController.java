@@ -1,8 +1,10 @@
 package com.wiss.cinebase.controller;
 
-// Importiert das Review DTO.
+// Importiert die Review DTOs.
+import com.wiss.cinebase.dto.ReviewArchiveDTO;
 import com.wiss.cinebase.dto.ReviewDTO;
-// Importiert den Review Service.
+// Importiert die Review Services.
+import com.wiss.cinebase.service.ReviewArchiveService;
 import com.wiss.cinebase.service.ReviewService;
 
 // Importiert Swagger Annotationen.
@@ -11,6 +13,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 // Importiert Validierung.
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 // Importiert Spring Web & Security.
 import org.springframework.http.ResponseEntity;
@@ -34,9 +38,11 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final ReviewArchiveService reviewArchiveService;
 
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, ReviewArchiveService reviewArchiveService) {
         this.reviewService = reviewService;
+        this.reviewArchiveService = reviewArchiveService;
     }
 
     /**
@@ -54,13 +60,21 @@ public class ReviewController {
 
     /**
      * Lädt alle Bewertungen für einen bestimmten Film.
+     * Optional nur aus einem Festival-Jahrgang (?edition=2025), das liest nur dessen Partition.
+     * ! Ein Jahrgang ausserhalb 1888-9999 ergibt 400 statt einer DateTimeException (500) im Service.
      * Zugriff: Jeder eingeloggte User.
      */
     @GetMapping("/movie/{movieId}")
-    @Operation(summary = "Bewertungen eines Films laden")
+    @Operation(summary = "Bewertungen eines Films laden", description = "Optional gefiltert auf einen Jahrgang (Kalenderjahr).")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<ReviewDTO>> getReviewsByMovie(@PathVariable Long movieId) {
-        return ResponseEntity.ok(reviewService.getReviewsByMovie(movieId));
+    public ResponseEntity<List<ReviewDTO>> getReviewsByMovie(@PathVariable Long movieId,
+                                                             @RequestParam(required = false)
+                                                             @Min(value = 1888, message = "Jahrgang muss mindestens 1888 sein")
+                                                             @Max(value = 9999, message = "Jahrgang darf maximal 9999 sein")
+                                                             Integer edition) {
+        return ResponseEntity.ok(edition == null
+                ? reviewService.getReviewsByMovie(movieId)
+                : reviewService.getReviewsByMovie(movieId, edition));
     }
 
     /**
@@ -73,4 +87,26 @@ public class ReviewController {
     public ResponseEntity<Double> getAverageRating(@PathVariable Long movieId) {
         return ResponseEntity.ok(reviewService.getAverageRating(movieId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Listet die archivierten Jahrgänge (aus der Datenbank ausgelagert, siehe ReviewPartitionService).
+     * Zugriff: Jeder eingeloggte User.
+     */
+    @GetMapping("/archive")
+    @Operation(summary = "Archivierte Jahrgänge auflisten")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<ReviewArchiveDTO>> getArchives() {
+        return ResponseEntity.ok(reviewArchiveService.listArchives());
+    }
+
+    /**
+     * Lädt die archivierten Bewertungen eines Films aus einem Jahrgang.
+     * Zugriff: Jeder eingeloggte User.
+     */
+    @GetMapping("/archive/{edition}/movie/{movieId}")
+    @Operation(summary = "Archivierte Bewertungen eines Films laden", description = "Liest aus dem komprimierten Archiv des Jahrgangs.")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<ReviewDTO>> getArchivedReviewsByMovie(@PathVariable int edition, @PathVariable Long movieId) {
+        return ResponseEntity.ok(reviewArchiveService.getArchivedReviewsByMovie(edition, movieId));
+    }
+}
@@ -0,0 +1,61 @@
+package com.wiss.cinebase.controller;
+
+// Importiert die DTOs für Eingabe und Bericht.
+import com.wiss.cinebase.dto.ProvisioningResultDTO;
+import com.wiss.cinebase.dto.ProvisioningRowDTO;
+
+// Importiert den Service für die Bulk-Provisionierung.
+import com.wiss.cinebase.service.UserProvisioningService;
+
+// Importiert Swagger-Annotationen für die API-Dokumentation.
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+// Importiert Spring Web & Security.
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller für die Bulk-Provisionierung von Benutzerkonten.
+ * Einsatz: Akkreditierung mehrerer hundert Journalisten vor einem Festival.
+ * Zugriff: Nur ADMIN.
+ */
+@RestController
+@RequestMapping("/api/users")
+@Tag(name = "Users", description = "Benutzerverwaltung (Bulk-Provisionierung)")
+public class UserProvisioningController {
+
+    private final UserProvisioningService provisioningService;
+
+    public UserProvisioningController(UserProvisioningService provisioningService) {
+        this.provisioningService = provisioningService;
+    }
+
+    /**
+     * Legt viele Benutzer in einem Aufruf an.
+     * Akzeptiert CSV (Header: username,email,password[,role]) oder NDJSON (ein JSON-Objekt pro Zeile).
+     * @return Bericht mit dem Ergebnis jeder einzelnen Zeile.
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Benutzer in großer Zahl anlegen", description = "Provisioniert Benutzer aus CSV oder NDJSON und liefert einen Bericht pro Zeile.")
+    @ApiResponse(responseCode = "200", description = "Bericht pro Zeile (CREATED, DUPLICATE, INVALID, FAILED)")
+    @ApiResponse(responseCode = "400", description = "Eingabe nicht lesbar")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkProvision(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           @RequestBody String body) {
+        try {
+            List<ProvisioningRowDTO> rows = provisioningService.parse(body, UserProvisioningService.Format.detect(contentType));
+            ProvisioningResultDTO result = provisioningService.provision(rows);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            // Syntaxfehler in der Eingabe (z.B. fehlende CSV-Spalte oder ungültiges JSON).
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.wiss.cinebase.dto;
+
+/**
+ * Kennzahlen einer Second-Level-Cache-Region (Monitoring).
+ */
+public class CacheRegionStatsDTO {
+    private String region;     // Name der Region (z.B. "movies")
+    private long hits;         // Treffer seit Start
+    private long misses;       // Fehlzugriffe seit Start (-> DB-Abfrage)
+    private long puts;         // Einträge, die in den Cache geschrieben wurden
+    private double hitRatio;   // hits / (hits + misses), 0 ohne Zugriffe
+
+    public CacheRegionStatsDTO(String region, long hits, long misses, long puts) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.hitRatio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+
+    // Getter
+
+    public String getRegion() { return region; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getPuts() { return puts; }
+    public double getHitRatio() { return hitRatio; }
+}
@@ -0,0 +1,32 @@
+package com.wiss.cinebase.dto;
+
+/**
+ * Momentaufnahme des adaptiven Concurrency Limiters (Monitoring).
+ */
+public class ConcurrencyStatsDTO {
+    private int limit;             // Aktuell gelerntes Limit
+    private int inFlight;          // Gerade laufende Requests
+    private long accepted;         // Angenommene Requests seit Start
+    private long rejectedReads;    // Abgewiesene Lesezugriffe (503)
+    private long rejectedWrites;   // Abgewiesene Schreibzugriffe (503)
+    private long rejectedExports;  // Abgewiesene Exporte (503)
+
+    public ConcurrencyStatsDTO(int limit, int inFlight, long accepted,
+                               long rejectedReads, long rejectedWrites, long rejectedExports) {
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.accepted = accepted;
+        this.rejectedReads = rejectedReads;
+        this.rejectedWrites = rejectedWrites;
+        this.rejectedExports = rejectedExports;
+    }
+
+    // Getter
+
+    public int getLimit() { return limit; }
+    public int getInFlight() { return inFlight; }
+    public long getAccepted() { return accepted; }
+    public long getRejectedReads() { return rejectedReads; }
+    public long getRejectedWrites() { return rejectedWrites; }
+    public long getRejectedExports() { return rejectedExports; }
+}
@@ -0,0 +1,33 @@
+package com.wiss.cinebase.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Zustand der JFR-Aufzeichnung (Admin-Endpunkte /api/admin/jfr).
+ */
+public class FlightRecordingDTO {
+    private long id;                  // ID der Aufzeichnung in der JVM
+    private String state;             // RUNNING, STOPPED, ...
+    private String settings;          // JFR-Konfiguration (default / profile)
+    private LocalDateTime startedAt;
+    private long sizeBytes;           // Bisher aufgezeichnete Daten (Ringpuffer, siehe cinebase.jfr.max-size)
+    private String file;              // Geschriebener Dump (nur bei stop), sonst null
+
+    public FlightRecordingDTO(long id, String state, String settings, LocalDateTime startedAt, long sizeBytes, String file) {
+        this.id = id;
+        this.state = state;
+        this.settings = settings;
+        this.startedAt = startedAt;
+        this.sizeBytes = sizeBytes;
+        this.file = file;
+    }
+
+    // Getter
+
+    public long getId() { return id; }
+    public String getState() { return state; }
+    public String getSettings() { return settings; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public long getSizeBytes() { return sizeBytes; }
+    public String getFile() { return file; }
+}
@@ -0,0 +1,35 @@
+package com.wiss.cinebase.dto;
+
+// Quelle: Block 06A - Form Validation Basics
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO für Genres (Nachschlagetabelle genres).
+ * Beim Umbenennen wird nur der Name ausgewertet.
+ */
+public class GenreDTO {
+
+    private Short id;
+
+    @NotBlank(message = "Der Genre-Name darf nicht leer sein")
+    @Size(max = 255, message = "Der Genre-Name darf maximal 255 Zeichen lang sein")
+    private String name;
+
+    // Default Konstruktor für JSON-Deserialisierung (Jackson)
+    public GenreDTO() {
+    }
+
+    public GenreDTO(Short id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    // Getter und Setter
+
+    public Short getId() { return id; }
+    public void setId(Short id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
@@ -0,0 +1,36 @@
+package com.wiss.cinebase.dto;
+
+// Quelle: Block 06A - Form Validation Basics
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO für das Löschen mehrerer Filme in einem Request (Admin).
+ */
+public class MovieBulkDeleteRequestDTO {
+
+    // ! Obergrenze schützt vor riesigen IN-Listen und sehr langen Transaktionen.
+    @NotEmpty(message = "Mindestens eine Film-ID ist erforderlich")
+    @Size(max = 1000, message = "Maximal 1000 Filme pro Request")
+    private List<@NotNull(message = "Film-ID darf nicht leer sein") Long> ids;
+
+    // Default Konstruktor für JSON-Deserialisierung (Jackson)
+    public MovieBulkDeleteRequestDTO() {}
+
+    public MovieBulkDeleteRequestDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // --- Getter & Setter ---
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
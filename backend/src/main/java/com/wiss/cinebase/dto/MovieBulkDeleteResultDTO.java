@@ -0,0 +1,22 @@
+package com.wiss.cinebase.dto;
+
+/**
+ * Ergebnis eines Bulk-Deletes von Filmen.
+ */
+public class MovieBulkDeleteResultDTO {
+    private int requested;       // Anzahl (eindeutiger) angefragter IDs
+    private int deletedMovies;   // Tatsächlich gelöschte Filme (unbekannte IDs werden ignoriert)
+    private int deletedReviews;  // Mitgelöschte Reviews
+
+    public MovieBulkDeleteResultDTO(int requested, int deletedMovies, int deletedReviews) {
+        this.requested = requested;
+        this.deletedMovies = deletedMovies;
+        this.deletedReviews = deletedReviews;
+    }
+
+    // Getter
+
+    public int getRequested() { return requested; }
+    public int getDeletedMovies() { return deletedMovies; }
+    public int getDeletedReviews() { return deletedReviews; }
+}
@@ -20,6 +20,9 @@ public class MovieDTO {
 
     private Long id;
 
+    // Version für Optimistic Locking (entspricht dem ETag, wird vom Server gesetzt)
+    private Long version;
+
     // Validierung: Verhindert das Speichern unvollständiger Datensätze.
     @NotBlank(message = "Der Filmtitel darf nicht leer sein")
     private String title;
@@ -64,6 +67,9 @@ public class MovieDTO {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
 
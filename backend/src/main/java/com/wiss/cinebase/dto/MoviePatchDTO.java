@@ -0,0 +1,77 @@
+package com.wiss.cinebase.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Quelle: Block 06A - Form Validation Basics
+import jakarta.validation.constraints.AssertFalse;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO für Teil-Updates eines Films (PATCH /api/movies/{id}).
+ * ! Alle Felder sind optional: Nicht gesendete Felder bleiben unverändert.
+ * Ein gesendetes null entfernt den Wert (JSON Merge Patch, RFC 7396). Das ist nur bei der Beschreibung erlaubt,
+ * die übrigen Felder sind Pflichtfelder (400).
+ * Deshalb Wrapper-Typen (Integer, Double) statt int/double.
+ * Die Regeln entsprechen MovieDTO, gelten aber nur für gesendete Felder.
+ */
+public class MoviePatchDTO {
+
+    // @Pattern statt @NotBlank: null ist erlaubt, ein leerer Text nicht.
+    @Pattern(regexp = ".*\\S.*", message = "Der Filmtitel darf nicht leer sein")
+    private String title;
+
+    @Size(max = 1000, message = "Die Beschreibung darf maximal 1000 Zeichen lang sein")
+    private String description;
+
+    @Pattern(regexp = ".*\\S.*", message = "Genre darf nicht leer sein")
+    private String genre;
+
+    @Min(value = 1888, message = "Filme können erst ab 1888 existieren")
+    private Integer releaseYear;
+
+    @Pattern(regexp = ".*\\S.*", message = "Regisseur darf nicht leer sein")
+    private String director;
+
+    @Min(value = 0, message = "Rating muss mindestens 0 sein")
+    @Max(value = 10, message = "Rating darf maximal 10 sein")
+    private Double rating;
+
+    // Jackson ruft Setter nur für gesendete Felder auf -> "nicht gesendet" und "null" sind unterscheidbar
+    private boolean descriptionSent;
+    private boolean requiredFieldCleared;
+
+    // Default Konstruktor für JSON-Deserialisierung (Jackson)
+    public MoviePatchDTO() {
+    }
+
+    // Getter und Setter
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; requiredFieldCleared |= title == null; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; this.descriptionSent = true; }
+
+    public String getGenre() { return genre; }
+    public void setGenre(String genre) { this.genre = genre; requiredFieldCleared |= genre == null; }
+
+    public Integer getReleaseYear() { return releaseYear; }
+    public void setReleaseYear(Integer releaseYear) { this.releaseYear = releaseYear; requiredFieldCleared |= releaseYear == null; }
+
+    public String getDirector() { return director; }
+    public void setDirector(String director) { this.director = director; requiredFieldCleared |= director == null; }
+
+    public Double getRating() { return rating; }
+    public void setRating(Double rating) { this.rating = rating; requiredFieldCleared |= rating == null; }
+
+    // true, wenn "description" gesendet wurde (auch als null = Beschreibung entfernen)
+    @JsonIgnore
+    public boolean isDescriptionSent() { return descriptionSent; }
+
+    @JsonIgnore
+    @AssertFalse(message = "Titel, Genre, Erscheinungsjahr, Regisseur und Rating können nicht entfernt werden")
+    public boolean isRequiredFieldCleared() { return requiredFieldCleared; }
+}
@@ -0,0 +1,31 @@
+package com.wiss.cinebase.dto;
+
+import java.util.List;
+
+/**
+ * Gesamtbericht einer Bulk-Provisionierung.
+ * Enthält die Zähler pro Status sowie das Ergebnis jeder einzelnen Zeile.
+ */
+public class ProvisioningResultDTO {
+    private int total;
+    private int created;
+    private int rejected;
+    private long durationMs;
+    private List<ProvisioningRowResultDTO> rows;
+
+    public ProvisioningResultDTO(int total, int created, int rejected, long durationMs, List<ProvisioningRowResultDTO> rows) {
+        this.total = total;
+        this.created = created;
+        this.rejected = rejected;
+        this.durationMs = durationMs;
+        this.rows = rows;
+    }
+
+    // Getter
+
+    public int getTotal() { return total; }
+    public int getCreated() { return created; }
+    public int getRejected() { return rejected; }
+    public long getDurationMs() { return durationMs; }
+    public List<ProvisioningRowResultDTO> getRows() { return rows; }
+}
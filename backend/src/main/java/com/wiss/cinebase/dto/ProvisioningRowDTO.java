@@ -0,0 +1,27 @@
+package com.wiss.cinebase.dto;
+
+/**
+ * DTO für eine Zeile der Bulk-Provisionierung (CSV oder NDJSON).
+ * Übernimmt die Validierungsregeln der normalen Registrierung (RegisterRequestDTO)
+ * und ergänzt die optionale Rolle (Standard: USER).
+ */
+public class ProvisioningRowDTO extends RegisterRequestDTO {
+
+    // Optional: "ADMIN" oder "USER". Leer = USER (Journalist).
+    private String role;
+
+    // Default Konstruktor für JSON-Deserialisierung
+    public ProvisioningRowDTO() {}
+
+    public ProvisioningRowDTO(String username, String email, String password, String role) {
+        setUsername(username);
+        setEmail(email);
+        setPassword(password);
+        this.role = role;
+    }
+
+    // Getter und Setter
+
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+}
@@ -0,0 +1,26 @@
+package com.wiss.cinebase.dto;
+
+/**
+ * Ergebnis für eine einzelne Zeile der Bulk-Provisionierung.
+ * Status-Werte: CREATED, DUPLICATE, INVALID, FAILED.
+ */
+public class ProvisioningRowResultDTO {
+    private int line;          // Zeilennummer in der Eingabe (1-basiert, ohne CSV-Header)
+    private String username;
+    private String status;
+    private String message;    // Fehlerbeschreibung oder null
+
+    public ProvisioningRowResultDTO(int line, String username, String status, String message) {
+        this.line = line;
+        this.username = username;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getter
+
+    public int getLine() { return line; }
+    public String getUsername() { return username; }
+    public String getStatus() { return status; }
+    public String getMessage() { return message; }
+}
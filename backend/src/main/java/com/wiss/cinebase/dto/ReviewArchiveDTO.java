@@ -0,0 +1,22 @@
+package com.wiss.cinebase.dto;
+
+/**
+ * Archivierter Jahrgang von Reviews (Dateien im Archivverzeichnis).
+ */
+public class ReviewArchiveDTO {
+    private int edition;      // Jahrgang (Kalenderjahr von created_at)
+    private int files;        // Anzahl Archivdateien (mehr als 1, wenn der Jahrgang nach der Archivierung erneut befüllt wurde)
+    private long sizeBytes;   // Komprimierte Grösse aller Dateien
+
+    public ReviewArchiveDTO(int edition, int files, long sizeBytes) {
+        this.edition = edition;
+        this.files = files;
+        this.sizeBytes = sizeBytes;
+    }
+
+    // Getter
+
+    public int getEdition() { return edition; }
+    public int getFiles() { return files; }
+    public long getSizeBytes() { return sizeBytes; }
+}
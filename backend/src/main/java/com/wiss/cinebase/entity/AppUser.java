@@ -7,10 +7,15 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 // Importiert die Jakarta Persistence API für das ORM-Mapping (@Entity, @Id, etc.).
 import jakarta.persistence.*;
 
+// Second-Level-Cache & Natural ID (Hibernate-spezifisch, siehe SecondLevelCacheConfig).
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 // Quelle: Block 02B - Spring Security
 // Importiert Schnittstellen für die Sicherheitslogik (Berechtigungen, User-Details).
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 // Importiert Java Utility Klassen für Listen-Strukturen.
@@ -27,11 +32,19 @@ import java.util.List;
  */
 @Entity
 @Table(name = "app_users")
+// ! Second-Level-Cache: Der User wird bei jedem authentifizierten Request und jedem Schreibzugriff geladen.
+// Zusammen mit dem Natural-ID-Cache (username -> id) ist das nach dem ersten Laden ohne DB-Zugriff möglich.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "app-users")
+@NaturalIdCache(region = "app-users-by-username")
 // ! WICHTIG: Implementiert UserDetails für die Integration in Spring Security.
 public class AppUser implements UserDetails {
 
+    // ! Sequenz statt IDENTITY: Hibernate reserviert 50 IDs pro Abfrage (pooled-lo Optimizer)
+    // und kann INSERTs dadurch per JDBC-Batch bündeln (siehe V4__id_sequences).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_users_seq")
+    @SequenceGenerator(name = "app_users_seq", sequenceName = "app_users_seq", allocationSize = 50)
     private Long id;
 
     // ! Optimistic Locking (verhindert, dass sich 2 Admins gegenseitig überschreiben).
@@ -42,6 +55,9 @@ public class AppUser implements UserDetails {
 
     // Feld muss gefüllt sein (Pflichtfeld).
     // Keine zwei User mit demselben Namen erlaubt.
+    // ! Natural ID: Fachlicher Schlüssel, wird nach der Registrierung nicht mehr geändert.
+    // Lookup über AppUserRepository.findByUsername (Session.bySimpleNaturalId).
+    @NaturalId
     @Column(nullable = false, unique = true, length = 50)
     private String username;
 
@@ -90,10 +106,11 @@ public class AppUser implements UserDetails {
     /**
      * Gibt die Berechtigungen (Rollen) des Benutzers zurück.
      * ! Konvention: Spring Security erwartet das Präfix "ROLE_" für Rollen-Checks.
+     * ! Performance: Liefert die vorberechnete Liste der Rolle (siehe Role), keine Allokation pro Aufruf.
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        return role.getAuthorities();
     }
 
     @Override
@@ -0,0 +1,41 @@
+package com.wiss.cinebase.entity;
+
+import com.wiss.cinebase.service.GenreDictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Bildet Movie.genre (Name) auf die Spalte movies.genre_id (SMALLINT, FK auf genres) ab.
+ * Quelle: JPA Attribute Converter
+ * ! Die Filme speichern nur noch 2 Bytes statt des Genre-Textes. Beim Laden liefert das
+ * GenreDictionary immer dieselbe String-Instanz pro Genre (keine Kopien pro Film im Speicher).
+ * Hibernate lässt den Converter von Spring erzeugen (Spring Boot: SpringBeanContainer), daher Konstruktor-Injektion.
+ */
+@Converter
+public class GenreConverter implements AttributeConverter<String, Short> {
+
+    private final GenreDictionary genreDictionary;
+
+    public GenreConverter(GenreDictionary genreDictionary) {
+        this.genreDictionary = genreDictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(String name) {
+        if (name == null) {
+            return null;
+        }
+        Short id = genreDictionary.idOf(name);
+        if (id == null) {
+            // ! Neue Genres werden vorher über GenreService.resolveOrCreate angelegt.
+            throw new IllegalArgumentException("Unbekanntes Genre: " + name);
+        }
+        return id;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short id) {
+        return id != null ? genreDictionary.nameOf(id) : null;
+    }
+}
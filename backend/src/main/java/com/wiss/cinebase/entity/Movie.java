@@ -7,6 +7,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 // JPA-Annotationen für das Datenbank-Mapping.
 import jakarta.persistence.*;
 
+// Second-Level-Cache (Hibernate-spezifisch, siehe SecondLevelCacheConfig).
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 // Import für Listen-Strukturen (OneToMany Beziehungen).
 import java.util.ArrayList;
 import java.util.List;
@@ -19,13 +23,27 @@ import java.util.List;
  * - Dies ermöglicht Rückverfolgbarkeit und rollenbasierte Datenfilterung.
  */
 @Entity
-@Table(name = "movies")
+// ! Second-Level-Cache: findById (z.B. bei jedem addReview) trifft nach dem ersten Laden nicht mehr die DB.
+// READ_WRITE: Änderungen über Hibernate aktualisieren den Cache nach dem Commit (keine veralteten Filme).
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies")
+// ! Indizes werden von den Flyway-Migrationen angelegt (V2__query_indexes.sql).
+@Table(name = "movies", indexes = {
+        @Index(name = "idx_movies_genre", columnList = "genre_id"),
+        @Index(name = "idx_movies_created_by", columnList = "created_by_user_id")
+})
 public class Movie {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_seq")
+    @SequenceGenerator(name = "movies_seq", sequenceName = "movies_seq", allocationSize = 50) // Siehe AppUser (pooled-lo)
     private Long id;
 
+    // ! Optimistic Locking (wie bei AppUser): Verhindert, dass sich 2 Admins gegenseitig überschreiben.
+    // Wird als ETag ausgeliefert und bei PATCH über If-Match geprüft (V5__movie_version).
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
@@ -33,7 +51,10 @@ public class Movie {
     @Column(length = 1000)
     private String description;
 
-    @Column(nullable = false)
+    // ! Normalisiert (V6__genre_lookup): In der DB steht nur die ID aus der Tabelle genres (SMALLINT).
+    // Der GenreConverter übersetzt in beide Richtungen, für Java bleibt es der Genre-Name.
+    @Convert(converter = GenreConverter.class)
+    @Column(name = "genre_id", nullable = false)
     private String genre;
 
     // Mapping in der Datenbank auf 'release_year' (Snake-Case) von Java-Variable 'releaseYear' (Camel-Case).
@@ -62,6 +83,7 @@ public class Movie {
     // ! Definition der Reviews-Beziehung
     // Ein Film hat viele Reviews.
     // cascade = CascadeType.ALL: Löscht man den Film, werden automatisch alle Reviews mitgelöscht.
+    // ! MovieService löscht trotzdem set-basiert (bulkDeleteByMovieIds), weil der Cascade jedes Review einzeln lädt.
     // orphanRemoval = true: Entfernt man ein Review aus der Liste, verschwindet es auch aus der DB.
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore // ! Reviews separat laden (Lazy Loading), nicht automatisch mitsenden.
@@ -132,6 +154,14 @@ public class Movie {
         this.director = director;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public double getRating() {
         return rating;
     }
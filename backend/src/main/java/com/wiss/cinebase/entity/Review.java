@@ -14,11 +14,16 @@ import java.time.LocalDateTime;
  * Es ist die Verbindungstabelle zwischen User und Film mit Zusatzdaten (Rating, Kommentar).
  */
 @Entity
-@Table(name = "reviews")
+// ! Indizes und Unique Constraint werden von den Flyway-Migrationen angelegt (V2__query_indexes.sql);
+// die Annotationen dokumentieren sie am Mapping.
+@Table(name = "reviews",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reviews_user_movie", columnNames = {"user_id", "movie_id"}),
+        indexes = @Index(name = "idx_reviews_movie_rating", columnList = "movie_id, rating"))
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50) // Siehe AppUser (pooled-lo)
     private Long id;
 
     // Beziehung 1: Der Verfasser der Review.
@@ -1,14 +1,45 @@
 package com.wiss.cinebase.entity;
 
+// Quelle: Block 02B - Spring Security
+// Importiert die Schnittstellen für Berechtigungen (Authorities).
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 /**
  * Definition der Benutzerrollen im System.
  * Quelle: Block 01A - User Entity & Rollen
  * Verwendung:
  * - ADMIN: Darf Filme erstellen, bearbeiten, löschen (Festivalleitung).
  * - USER: Darf Filme sehen und Reviews schreiben (Presse/Journalisten).
+ * Rolle -> Authority Registry:
+ * Jede Rolle hält ihre Authorities als vorberechnete, unveränderliche Liste.
+ * ! Performance: AppUser.getAuthorities() wird von Spring Security mehrmals pro Request aufgerufen.
+ * Statt bei jedem Aufruf eine neue Liste und einen "ROLE_" + name() String zu erzeugen,
+ * wird immer dieselbe Instanz zurückgegeben (keine Allokation).
  */
 // ! Exportiert das Enum für die globale Verwendung in Entities und Security-Logik.
 public enum Role {
     ADMIN,
-    USER
-}
\ No newline at end of file
+    USER;
+
+    // ! Konvention: Spring Security erwartet das Präfix "ROLE_" für Rollen-Checks (hasRole/hasAnyRole).
+    private final String authority = ("ROLE_" + name()).intern();
+
+    private final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(authority));
+
+    /**
+     * Name der Authority (z.B. "ROLE_ADMIN"), interniert.
+     */
+    public String getAuthority() {
+        return authority;
+    }
+
+    /**
+     * Unveränderliche, vorberechnete Authorities dieser Rolle.
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
@@ -0,0 +1,11 @@
+package com.wiss.cinebase.exception;
+
+/**
+ * Benutzerdefinierte Exception, wenn keine JFR-Aufzeichnung läuft (stop/dump).
+ * ! Der GlobalExceptionHandler fängt diese Exception ab und wandelt sie in einen HTTP 404 Status um.
+ */
+public class FlightRecordingNotFoundException extends RuntimeException {
+    public FlightRecordingNotFoundException() {
+        super("Es läuft keine JFR-Aufzeichnung. Zuerst POST /api/admin/jfr/start aufrufen.");
+    }
+}
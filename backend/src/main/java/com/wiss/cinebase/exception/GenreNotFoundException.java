@@ -0,0 +1,11 @@
+package com.wiss.cinebase.exception;
+
+/**
+ * Benutzerdefinierte Exception für nicht gefundene Genres.
+ * ! Der GlobalExceptionHandler fängt diese Exception ab und wandelt sie in einen HTTP 404 Status um.
+ */
+public class GenreNotFoundException extends RuntimeException {
+    public GenreNotFoundException(Short id) {
+        super("Genre mit der ID " + id + " wurde nicht gefunden.");
+    }
+}
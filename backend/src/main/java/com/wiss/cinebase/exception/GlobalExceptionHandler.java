@@ -3,6 +3,10 @@ package com.wiss.cinebase.exception;
 // Importiert das Fehler-DTO für die einheitliche JSON-Antwort.
 import com.wiss.cinebase.dto.ErrorResponseDTO;
 
+// Importiert Exceptions beim Holen einer Datenbankverbindung (Pool bzw. ConnectionGuardDataSource erschöpft).
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
 // Importiert HTTP-Statuscodes (404, 401, 500 etc.).
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +18,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 // Importiert Validierungs-Exceptions und Hilfsklassen.
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 // Importiert Annotationen für die globale Fehlerbehandlung.
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -22,6 +27,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 // Importiert WebRequest, um Details zur aufgerufenen URL zu erhalten.
 import org.springframework.web.context.request.WebRequest;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -67,6 +73,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Behandelt Validierungsfehler an einzelnen Parametern (z.B. @Min an einem @RequestParam).
+     * Beispiel: GET /api/reviews/movie/1?edition=0.
+     * @return HTTP 400 Bad Request mit den fehlerhaften Parametern.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleParameterValidationErrors(
+            HandlerMethodValidationException ex, WebRequest request) {
+
+        StringBuilder message = new StringBuilder("Validierung fehlgeschlagen: ");
+        ex.getAllValidationResults().forEach(result -> result.getResolvableErrors().forEach(error ->
+                message.append(result.getMethodParameter().getParameterName()).append(" ")
+                        .append(error.getDefaultMessage()).append("; ")));
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "VALIDATION_ERROR",
+                message.toString(),
+                HttpStatus.BAD_REQUEST.value(),
+                extractPath(request)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Behandelt die spezifische MovieNotFoundException.
      * ! Wichtig für REST: Gibt 404 (Not Found) zurück, statt generischem 500er Fehler.
@@ -84,6 +114,91 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Behandelt unbekannte Genre-IDs (Umbenennen/Zusammenführen).
+     * @return HTTP 404 Not Found.
+     */
+    @ExceptionHandler(GenreNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleGenreNotFound(
+            GenreNotFoundException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "GENRE_NOT_FOUND",
+                ex.getMessage(),
+                HttpStatus.NOT_FOUND.value(),
+                extractPath(request)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Behandelt Jahrgänge ohne Review-Archiv.
+     * @return HTTP 404 Not Found.
+     */
+    @ExceptionHandler(ReviewArchiveNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleReviewArchiveNotFound(
+            ReviewArchiveNotFoundException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "REVIEW_ARCHIVE_NOT_FOUND",
+                ex.getMessage(),
+                HttpStatus.NOT_FOUND.value(),
+                extractPath(request)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Behandelt stop/dump ohne laufende JFR-Aufzeichnung.
+     * @return HTTP 404 Not Found.
+     */
+    @ExceptionHandler(FlightRecordingNotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleFlightRecordingNotFound(
+            FlightRecordingNotFoundException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "FLIGHT_RECORDING_NOT_FOUND",
+                ex.getMessage(),
+                HttpStatus.NOT_FOUND.value(),
+                extractPath(request)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Behandelt veraltete ETags bei bedingten Updates (PUT/PATCH mit If-Match).
+     * @return HTTP 412 Precondition Failed.
+     */
+    @ExceptionHandler(MovieVersionMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleVersionMismatch(
+            MovieVersionMismatchException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "PRECONDITION_FAILED",
+                ex.getMessage(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                extractPath(request)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Behandelt bedingte Updates ohne If-Match-Header.
+     * @return HTTP 428 Precondition Required.
+     */
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePreconditionRequired(
+            PreconditionRequiredException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "PRECONDITION_REQUIRED",
+                ex.getMessage(),
+                HttpStatus.PRECONDITION_REQUIRED.value(),
+                extractPath(request)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_REQUIRED);
+    }
+
     /**
      * Behandelt Login-Fehler (Falsches Passwort oder unbekannter User).
      * ! Security: Gibt keine Details preis ("Benutzer nicht gefunden" vs "Passwort falsch"), um User Enumeration zu verhindern.
@@ -101,6 +216,55 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    /**
+     * Behandelt eine erschöpfte Datenbankverbindung (Hikari connection-timeout bzw. cinebase.db-guard.acquire-timeout).
+     * ! Überlast, kein Fehler der Anwendung: 503 + Retry-After wie beim Load Shedding (ConcurrencyLimitFilter).
+     * Andere Verbindungsfehler (z.B. Datenbank nicht erreichbar) bleiben beim Catch-All (500).
+     * @return HTTP 503 Service Unavailable.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponseDTO> handleConnectionUnavailable(
+            Exception ex, WebRequest request) {
+
+        Throwable cause = ex;
+        while (cause != null && !(cause instanceof SQLTransientConnectionException)) {
+            cause = cause.getCause();
+        }
+        if (cause == null) {
+            return handleGeneralException(ex, request);
+        }
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "DATABASE_BUSY",
+                "Der Server ist ausgelastet. Bitte in Kürze erneut versuchen.",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                extractPath(request)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Behandelt einen Login-Sturm: Innert security.bcrypt.acquire-timeout wurde kein BCrypt-Platz frei.
+     * ! Überlast wie bei der Datenbankverbindung: 503 + Retry-After, damit der Client später erneut versucht.
+     * @return HTTP 503 Service Unavailable.
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePasswordHashingBusy(
+            PasswordHashingBusyException ex, WebRequest request) {
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "AUTH_BUSY",
+                "Zu viele gleichzeitige Anmeldungen. Bitte in Kürze erneut versuchen.",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                extractPath(request)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(errorResponse);
+    }
+
     /**
      * General Exception Handler ("Catch-All").
      * Fängt alle anderen, unerwarteten Fehler ab (z.B. NullPointer, Datenbankverbindung weg).
@@ -0,0 +1,12 @@
+package com.wiss.cinebase.exception;
+
+/**
+ * Wird geworfen, wenn der If-Match-Header (ETag) nicht mehr der aktuellen Version des Films entspricht.
+ * Ein anderer Admin hat den Film in der Zwischenzeit geändert (verhindert "Lost Updates").
+ * ! Der GlobalExceptionHandler wandelt sie in einen HTTP 412 (Precondition Failed) Status um.
+ */
+public class MovieVersionMismatchException extends RuntimeException {
+    public MovieVersionMismatchException(Long id) {
+        super("Film mit der ID " + id + " wurde inzwischen geändert. Bitte neu laden und erneut versuchen.");
+    }
+}
@@ -0,0 +1,11 @@
+package com.wiss.cinebase.exception;
+
+/**
+ * Wird geworfen, wenn innert security.bcrypt.acquire-timeout kein Platz für eine BCrypt-Berechnung frei wird.
+ * ! Der GlobalExceptionHandler wandelt sie in einen HTTP 503 (Service Unavailable) mit Retry-After um.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
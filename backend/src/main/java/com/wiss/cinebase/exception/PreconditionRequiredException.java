@@ -0,0 +1,11 @@
+package com.wiss.cinebase.exception;
+
+/**
+ * Wird geworfen, wenn eine bedingte Änderung ohne If-Match-Header gesendet wird.
+ * ! Der GlobalExceptionHandler wandelt sie in einen HTTP 428 (Precondition Required) Status um.
+ */
+public class PreconditionRequiredException extends RuntimeException {
+    public PreconditionRequiredException() {
+        super("Der Header If-Match (ETag des Films) ist erforderlich.");
+    }
+}
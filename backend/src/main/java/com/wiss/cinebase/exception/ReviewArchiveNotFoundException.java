@@ -0,0 +1,11 @@
+package com.wiss.cinebase.exception;
+
+/**
+ * Benutzerdefinierte Exception für Jahrgänge ohne Archiv.
+ * ! Der GlobalExceptionHandler fängt diese Exception ab und wandelt sie in einen HTTP 404 Status um.
+ */
+public class ReviewArchiveNotFoundException extends RuntimeException {
+    public ReviewArchiveNotFoundException(int edition) {
+        super("Für den Jahrgang " + edition + " existiert kein Review-Archiv.");
+    }
+}
@@ -5,6 +5,9 @@ import com.wiss.cinebase.dto.MovieDTO;
 // Importiert die Entity-Klasse für Filme.
 import com.wiss.cinebase.entity.Movie;
 
+// JFR-Event für Konvertierungen (siehe FlightRecorderService)
+import com.wiss.cinebase.config.MapperConversionEvent;
+
 // Importiert Listen-Utilities.
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,6 +19,9 @@ import java.util.stream.Collectors;
  */
 public class MovieMapper {
 
+    // Name im JFR-Event (MapperConversionEvent)
+    private static final String MAPPER = "MovieMapper";
+
     /**
      * Konvertiert eine Database-Entity in ein API-DTO.
      * @param movie Die zu konvertierende Entity.
@@ -25,10 +31,22 @@ public class MovieMapper {
         if (movie == null) {
             return null;
         }
+        MapperConversionEvent event = new MapperConversionEvent();
+        event.begin();
+        MovieDTO dto = convert(movie);
+        event.finish(MAPPER, "toDTO", movie.getId(), 1);
+        return dto;
+    }
+
+    // Eigentliche Konvertierung ohne JFR-Event (toDTOList misst die ganze Liste als ein Event)
+    private static MovieDTO convert(Movie movie) {
+        if (movie == null) {
+            return null;
+        }
 
         // ! Das Feld averageRating wird hier noch nicht gesetzt (Standard 0.0).
         // ! Dies erfolgt nachträglich im MovieService durch eine separate Datenbankabfrage.
-        return new MovieDTO(
+        MovieDTO dto = new MovieDTO(
                 movie.getId(),
                 movie.getTitle(),
                 movie.getDescription(),
@@ -37,6 +55,8 @@ public class MovieMapper {
                 movie.getDirector(),
                 movie.getRating()
         );
+        dto.setVersion(movie.getVersion());
+        return dto;
     }
 
     /**
@@ -53,7 +73,9 @@ public class MovieMapper {
         // ! Die ID wird von der Datenbank generiert.
         // ! Der User (createdBy) wird im MovieService aus dem SecurityContext geholt.
         // Der Mapper kümmert sich ausschließlich um die reinen Datenfelder.
-        return new Movie(
+        MapperConversionEvent event = new MapperConversionEvent();
+        event.begin();
+        Movie movie = new Movie(
                 dto.getTitle(),
                 dto.getDescription(),
                 dto.getGenre(),
@@ -62,6 +84,8 @@ public class MovieMapper {
                 dto.getRating(),
                 null // User wird im Service gesetzt
         );
+        event.finish(MAPPER, "toEntity", dto.getId(), 1);
+        return movie;
     }
 
     /**
@@ -71,8 +95,12 @@ public class MovieMapper {
      * @return Liste der DTOs.
      */
     public static List<MovieDTO> toDTOList(List<Movie> movies) {
-        return movies.stream()
-                .map(MovieMapper::toDTO)
+        MapperConversionEvent event = new MapperConversionEvent();
+        event.begin();
+        List<MovieDTO> dtos = movies.stream()
+                .map(MovieMapper::convert)
                 .collect(Collectors.toList());
+        event.finish(MAPPER, "toDTOList", null, dtos.size());
+        return dtos;
     }
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import com.wiss.cinebase.dto.ReviewDTO;
 // Importiert die Entity-Klasse für Reviews.
 import com.wiss.cinebase.entity.Review;
 
+// JFR-Event für Konvertierungen (siehe FlightRecorderService)
+import com.wiss.cinebase.config.MapperConversionEvent;
+
 // Importiert Listen-Utilities.
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,6 +18,9 @@ import java.util.stream.Collectors;
  */
 public class ReviewMapper {
 
+    // Name im JFR-Event (MapperConversionEvent)
+    private static final String MAPPER = "ReviewMapper";
+
     /**
      * Wandelt eine Datenbank-Entity in ein API-DTO um.
      * Löst die Objekt-Beziehungen (User, Movie) in einfache IDs/Strings auf,
@@ -25,6 +31,17 @@ public class ReviewMapper {
     public static ReviewDTO toDTO(Review review) {
         if (review == null) return null;
 
+        MapperConversionEvent event = new MapperConversionEvent();
+        event.begin();
+        ReviewDTO dto = convert(review);
+        event.finish(MAPPER, "toDTO", review.getId(), 1);
+        return dto;
+    }
+
+    // Eigentliche Konvertierung ohne JFR-Event (toDTOList misst die ganze Liste als ein Event)
+    private static ReviewDTO convert(Review review) {
+        if (review == null) return null;
+
         return new ReviewDTO(
                 review.getId(),
                 review.getUser().getUsername(), // ! Setzt den Namen des Autors statt des ganzen Objekts.
@@ -43,11 +60,14 @@ public class ReviewMapper {
     public static Review toEntity(ReviewDTO dto) {
         if (dto == null) return null;
 
+        MapperConversionEvent event = new MapperConversionEvent();
+        event.begin();
         Review review = new Review();
         review.setRating(dto.getRating());
         review.setComment(dto.getComment());
         // ! ID, CreatedAt, User und Movie werden im Service gesetzt/verwaltet.
         // Der Mapper überträgt nur den Nutzdaten-Teil.
+        event.finish(MAPPER, "toEntity", dto.getId(), 1);
 
         return review;
     }
@@ -59,8 +79,12 @@ public class ReviewMapper {
      * @return Liste der DTOs.
      */
     public static List<ReviewDTO> toDTOList(List<Review> reviews) {
-        return reviews.stream()
-                .map(ReviewMapper::toDTO)
+        MapperConversionEvent event = new MapperConversionEvent();
+        event.begin();
+        List<ReviewDTO> dtos = reviews.stream()
+                .map(ReviewMapper::convert)
                 .collect(Collectors.toList());
+        event.finish(MAPPER, "toDTOList", null, dtos.size());
+        return dtos;
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.wiss.cinebase.repository;
+
+import com.wiss.cinebase.entity.AppUser;
+
+import java.util.Optional;
+
+/**
+ * Repository-Fragment für den Natural-ID-Lookup auf AppUser.username.
+ * Quelle: Spring Data JPA - Custom Repository Implementations
+ * Die Implementierung (AppUserNaturalIdRepositoryImpl) wird von Spring Data automatisch
+ * über das Suffix "Impl" gefunden und in AppUserRepository eingebunden.
+ */
+public interface AppUserNaturalIdRepository {
+
+    // Optional verhindert NullPointerExceptions, falls der User nicht existiert.
+    Optional<AppUser> findByUsername(String username);
+}
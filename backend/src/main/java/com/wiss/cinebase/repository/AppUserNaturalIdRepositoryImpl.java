@@ -0,0 +1,84 @@
+package com.wiss.cinebase.repository;
+
+import com.wiss.cinebase.config.CacheLookupEvent;
+import com.wiss.cinebase.entity.AppUser;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Natural-ID-Lookup statt abgeleiteter Query (SELECT * FROM app_users WHERE username = ?).
+ * ! Performance: Eine normale Query umgeht den Second-Level-Cache immer. bySimpleNaturalId
+ * löst username -> id über den Natural-ID-Cache auf und lädt den User danach aus dem Entity-Cache.
+ * Erst wenn beides fehlt, wird die DB abgefragt (und der Cache befüllt).
+ * Jeder Lookup erzeugt ein CacheLookupEvent (JFR), da er bei jedem authentifizierten Request läuft.
+ */
+class AppUserNaturalIdRepositoryImpl implements AppUserNaturalIdRepository {
+
+    // Region aus @NaturalIdCache an AppUser
+    private static final String NATURAL_ID_REGION = "app-users-by-username";
+
+    // Geteilter, transaktionsgebundener EntityManager (wird von Spring Data bereitgestellt).
+    private final EntityManager entityManager;
+
+    // ! Höchstens ein Zähler pro Session: Hibernate kann Listener nicht wieder entfernen, ein neuer pro Lookup
+    // würde sich in langen Sessions ansammeln. Schwache Schlüssel, der Eintrag fällt mit der Session weg.
+    private final Map<SessionImplementor, StatementCounter> counters = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public AppUserNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AppUser> findByUsername(String username) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheLookupEvent event = new CacheLookupEvent();
+        if (!event.isEnabled()) {
+            return load(session, username);
+        }
+        // Kein eigener Cache-Zugriff vor dem Lookup: Die Session meldet ihre JDBC-Statements,
+        // ein Treffer ist ein Lookup ohne Statement (Zähler nur in Sessions, in denen das Event aufgezeichnet wird).
+        StatementCounter statements = counters.computeIfAbsent(session.unwrap(SessionImplementor.class), sessionImpl -> {
+            StatementCounter counter = new StatementCounter();
+            sessionImpl.getEventListenerManager().addListener(counter);
+            return counter;
+        });
+        int before = statements.count();
+        event.begin();
+        Optional<AppUser> user = load(session, username);
+        int executed = statements.count() - before;
+        event.finish(NATURAL_ID_REGION, user.map(AppUser::getId).orElse(null), () -> executed == 0);
+        return user;
+    }
+
+    private static Optional<AppUser> load(Session session, String username) {
+        return session.bySimpleNaturalId(AppUser.class).loadOptional(username);
+    }
+
+    /**
+     * Zählt die JDBC-Statements einer Session (fortlaufend, ein Lookup vergleicht den Stand davor und danach).
+     */
+    private static final class StatementCounter implements SessionEventListener {
+
+        // Eine Session wird nur von einem Thread benutzt
+        private int statements;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements++;
+        }
+
+        int count() {
+            return statements;
+        }
+    }
+}
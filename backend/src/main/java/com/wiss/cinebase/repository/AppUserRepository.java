@@ -4,8 +4,14 @@ package com.wiss.cinebase.repository;
 import com.wiss.cinebase.entity.AppUser;
 // Quelle: Block 04A - Spring Data JPA
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,19 +23,44 @@ import java.util.Optional;
  * die passenden SQL-Queries (Query Derivation).
  */
 @Repository
-public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+public interface AppUserRepository extends JpaRepository<AppUser, Long>, AppUserNaturalIdRepository {
 
-    // Generiert: SELECT * FROM app_users WHERE username = ?
-    // Optional verhindert NullPointerExceptions, falls der User nicht existiert.
-    Optional<AppUser> findByUsername(String username);
+    // ! findByUsername(String) kommt aus AppUserNaturalIdRepository (Natural-ID-Lookup über den Second-Level-Cache).
 
     // Generiert: SELECT * FROM app_users WHERE email = ?
     Optional<AppUser> findByEmail(String email);
 
+    // ! Performance: Login mit EINER Abfrage statt findByUsername + findByEmail.
+    // Beide Spalten sind UNIQUE (und damit indexiert) -> die DB nutzt einen BitmapOr über beide Indizes.
+    // Liefert max. 2 Treffer (wenn ein Username zufällig der Email eines anderen Users entspricht);
+    // der Username-Treffer wird durch die Sortierung bevorzugt.
+    // ! Eigene Transaktion: Der Login (AppUserService.authenticateUser) läuft ohne Transaktion. Ohne diese Annotation
+    // bliebe die Verbindung bis zum Ende von BCrypt belegt (deklarierte Query-Methoden sind nicht transaktional).
+    @Transactional(readOnly = true)
+    @Query("SELECT u FROM AppUser u WHERE u.username = :login OR u.email = :login " +
+            "ORDER BY CASE WHEN u.username = :login THEN 0 ELSE 1 END")
+    List<AppUser> findByUsernameOrEmail(@Param("login") String login);
+
+    // ! Hash-Upgrade nach dem Login in EINEM Statement (kein merge() der losgelösten Entity mit vorherigem SELECT):
+    // UPDATE app_users SET password = ?, version = version + 1 WHERE id = ? AND password = ?
+    // Liefert 0, wenn das Passwort inzwischen geändert wurde (die neuere Änderung bleibt erhalten).
+    // Wie bei MovieRepository.patchIfVersionMatches leert Hibernate danach die Cache-Region "app-users".
+    @Transactional
+    @Modifying
+    @Query("UPDATE AppUser u SET u.password = :newPassword, u.version = u.version + 1 " +
+            "WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
+
     // ! Performance-Optimierung: Prüft nur auf Existenz, lädt nicht die ganze Entity.
     // Generiert: SELECT COUNT(*) > 0 FROM app_users WHERE username = ?
     boolean existsByUsername(String username);
 
     // Generiert: SELECT COUNT(*) > 0 FROM app_users WHERE email = ?
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // ! Bulk-Provisionierung: Eindeutigkeitsprüfung für einen ganzen Batch in EINER Abfrage.
+    // Generiert: SELECT * FROM app_users WHERE username IN (...) OR email IN (...)
+    List<AppUser> findByUsernameInOrEmailIn(Collection<String> usernames, Collection<String> emails);
+}
@@ -0,0 +1,17 @@
+package com.wiss.cinebase.repository;
+
+import com.wiss.cinebase.entity.Movie;
+
+import java.util.List;
+
+/**
+ * Repository-Fragment für die Suche nach Genre-Namen.
+ * Quelle: Spring Data JPA - Custom Repository Implementations
+ * Die Implementierung (MovieGenreRepositoryImpl) wird von Spring Data automatisch
+ * über das Suffix "Impl" gefunden und in MovieRepository eingebunden.
+ */
+public interface MovieGenreRepository {
+
+    // Unbekanntes Genre -> leere Liste (wie eine abgeleitete Query ohne Treffer).
+    List<Movie> findByGenre(String genre);
+}
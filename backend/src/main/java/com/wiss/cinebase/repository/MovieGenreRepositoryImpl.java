@@ -0,0 +1,45 @@
+package com.wiss.cinebase.repository;
+
+import com.wiss.cinebase.entity.Movie;
+import com.wiss.cinebase.service.GenreDictionary;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Suche nach Genre-Namen über die Spalte movies.genre_id.
+ * ! Der GenreConverter lehnt unbekannte Namen ab (IllegalArgumentException, damit kein Film mit einem
+ * nicht angelegten Genre gespeichert wird). Als Abfrage-Parameter wäre das eine InvalidDataAccessApiUsageException:
+ * Daher wird der Name vorher im GenreDictionary aufgelöst, ein unbekanntes Genre hat einfach keine Filme.
+ */
+class MovieGenreRepositoryImpl implements MovieGenreRepository {
+
+    // Generiert: SELECT * FROM movies WHERE genre_id = ? (GenreConverter übersetzt den Namen in die ID)
+    private static final String FIND_BY_GENRE_JPQL = "SELECT m FROM Movie m WHERE m.genre = :genre";
+
+    // Geteilter, transaktionsgebundener EntityManager (wird von Spring Data bereitgestellt).
+    private final EntityManager entityManager;
+    private final GenreDictionary genreDictionary;
+
+    public MovieGenreRepositoryImpl(EntityManager entityManager, GenreDictionary genreDictionary) {
+        this.entityManager = entityManager;
+        this.genreDictionary = genreDictionary;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Movie> findByGenre(String genre) {
+        if (genre == null || genreDictionary.idOf(genre) == null) {
+            return List.of();
+        }
+        // Query-Cache wie bei findAll / findByCreatedBy_Id (Region movie-catalog-queries)
+        return entityManager.createQuery(FIND_BY_GENRE_JPQL, Movie.class)
+                .setParameter("genre", genre)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, MovieRepository.CATALOG_QUERY_REGION)
+                .getResultList();
+    }
+}
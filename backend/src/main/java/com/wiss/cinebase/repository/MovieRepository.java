@@ -1,9 +1,15 @@
 package com.wiss.cinebase.repository;
 
 import com.wiss.cinebase.entity.Movie;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,19 +17,66 @@ import java.util.List;
  * Quelle: Block 04A & 05A
  */
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, MovieGenreRepository {
 
-    // Generiert: SELECT * FROM movies WHERE genre = ?
-    List<Movie> findByGenre(String genre);
+    // ! Query-Cache (Region "movie-catalog-queries"): Speichert nur die IDs der Treffer, die Filme selbst
+    // kommen aus dem Entity-Cache. Hibernate verwirft das Ergebnis, sobald die Tabelle movies geändert wurde.
+    String CATALOG_QUERY_REGION = "movie-catalog-queries";
+
+    // Katalog (GET /api/movies, MovieService.getAllMovies): SELECT * FROM movies über den Query-Cache
+    @Override
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = CATALOG_QUERY_REGION)
+    })
+    List<Movie> findAll();
 
     // ! Property Expression: Spring erkennt 'CreatedBy' als Feld in Movie und '_Id' als Feld im User.
     // Generiert einen automatischen JOIN:
     // SELECT m.* FROM movies m JOIN app_users u ON m.created_by_user_id = u.id WHERE u.id = ?
     // Wichtig für das Admin-Dashboard ("Meine erstellten Filme").
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = CATALOG_QUERY_REGION)
+    })
     List<Movie> findByCreatedBy_Id(Long id);
 
     // Generiert eine Suche mit Wildcards (LIKE %title%).
     // Ignoriert Groß-/Kleinschreibung (Lower/Upper Case).
     // Quelle: Block 05A - Advanced Query Methods
     List<Movie> findByTitleContainingIgnoreCase(String title);
-}
\ No newline at end of file
+
+    // ! Set-basiertes Löschen ohne vorheriges Laden (Reviews vorher mit ReviewRepository.bulkDeleteByMovieIds entfernen).
+    // Hibernate leert bei JPQL-DML automatisch die Cache-Region "movies" und markiert die Tabelle
+    // im Query-Cache als geändert -> keine gelöschten Filme mehr aus dem Cache.
+    // clearAutomatically: Bereits geladene Movie-Objekte im Persistence Context werden verworfen.
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Movie m WHERE m.id IN :ids")
+    int bulkDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    // ! Bedingtes Teil-Update in EINEM Statement (kein vorheriges findById):
+    // UPDATE movies SET ..., version = version + 1 WHERE id = ? AND version = ?
+    // Nicht gesendete Felder (null) behalten per COALESCE ihren aktuellen Wert.
+    // Die Beschreibung darf leer werden: descriptionSent unterscheidet "nicht gesendet" von "null gesendet".
+    // Liefert 0, wenn der Film fehlt ODER die Version nicht mehr stimmt (Lost Update verhindert).
+    // Wie bei bulkDeleteByIds leert Hibernate danach die Cache-Region "movies" (Admin-Änderungen sind selten).
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Movie m SET " +
+            "m.title = COALESCE(:title, m.title), " +
+            "m.description = CASE WHEN :descriptionSent = true THEN :description ELSE m.description END, " +
+            "m.genre = COALESCE(:genre, m.genre), " +
+            "m.releaseYear = COALESCE(:releaseYear, m.releaseYear), " +
+            "m.director = COALESCE(:director, m.director), " +
+            "m.rating = COALESCE(:rating, m.rating), " +
+            "m.version = m.version + 1 " +
+            "WHERE m.id = :id AND m.version = :version")
+    int patchIfVersionMatches(@Param("id") Long id,
+                              @Param("version") long version,
+                              @Param("title") String title,
+                              @Param("description") String description,
+                              @Param("descriptionSent") boolean descriptionSent,
+                              @Param("genre") String genre,
+                              @Param("releaseYear") Integer releaseYear,
+                              @Param("director") String director,
+                              @Param("rating") Double rating);
+}
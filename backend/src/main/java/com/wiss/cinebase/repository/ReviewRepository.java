@@ -2,9 +2,13 @@ package com.wiss.cinebase.repository;
 
 import com.wiss.cinebase.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +23,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // 1. Alle Reviews zu einem bestimmten Film finden (z.B. für die Detailansicht).
     List<Review> findByMovieId(Long movieId);
 
+    // 1b. Reviews eines Films in einem Zeitraum (z.B. ein Festival-Jahrgang).
+    // ! Die Bedingung auf created_at ermöglicht Partition Pruning (V8): PostgreSQL liest nur die Partition des Jahrgangs.
+    @Query("SELECT r FROM Review r WHERE r.movie.id = :movieId AND r.createdAt >= :from AND r.createdAt < :to")
+    List<Review> findByMovieIdInPeriod(@Param("movieId") Long movieId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
     // 2. Alle Reviews eines bestimmten Users finden (für "Meine Rezensionen" Dashboard).
     List<Review> findByUserId(Long userId);
 
@@ -29,7 +40,25 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.movie.id = :movieId")
     Double getAverageRatingForMovie(Long movieId);
 
+    // Durchschnitt aller Filme mit Reviews in EINER Abfrage (GROUP BY), für die Filmliste.
+    // ! Statt getAverageRatingForMovie pro Film: Bei 1000 Filmen 1 statt 1000 Statements (N+1).
+    @Query("SELECT r.movie.id AS movieId, AVG(r.rating) AS average FROM Review r GROUP BY r.movie.id")
+    List<MovieAverageRating> getAverageRatings();
+
+    // Projektion für getAverageRatings (Spring Data erzeugt die Implementierung).
+    interface MovieAverageRating {
+        Long getMovieId();
+        Double getAverage();
+    }
+
     // Prüft, ob eine Kombination aus User und Film bereits existiert.
     // Verhindert doppelte Bewertungen (Business-Regel).
     boolean existsByUserIdAndMovieId(Long userId, Long movieId);
-}
\ No newline at end of file
+
+    // ! Set-basiertes Löschen: EIN Statement (DELETE FROM reviews WHERE movie_id IN (...)),
+    // statt jedes Review zu laden und einzeln zu löschen (Cascade über Movie.reviews).
+    // Nutzt den Index idx_reviews_movie_rating (movie_id an erster Stelle).
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.movie.id IN :movieIds")
+    int bulkDeleteByMovieIds(@Param("movieIds") Collection<Long> movieIds);
+}
@@ -0,0 +1,140 @@
+package com.wiss.cinebase.security;
+
+// Importiert die Konfiguration des Limiters.
+import com.wiss.cinebase.config.ConcurrencyLimitProperties;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptiver Concurrency Limiter (Gradient-Verfahren).
+ * Lernt die Anzahl gleichzeitiger Requests, bei der die Latenz noch nicht ansteigt:
+ * - longRtt: langfristiger Durchschnitt der Latenz (Basis ohne Warteschlange, ca. 100 Requests).
+ * - shortRtt: Durchschnitt der letzten ca. 10 Requests.
+ * - gradient = longRtt / shortRtt: < 1 bedeutet, Requests stauen sich -> Limit sinkt.
+ * - Zusätzlich eine kleine Warteschlangen-Reserve (sqrt(limit)), damit das Limit wachsen kann.
+ * ! Verglichen werden Durchschnitte, nicht einzelne Requests: Die Endpunkte sind unterschiedlich teuer
+ *   (Filmliste ~10x langsamer als Details). Ein einzelner langsamer Request ist kein Stau.
+ * Priorisierung: Lesezugriffe dürfen das ganze Limit nutzen, Schreibzugriffe und Exporte nur einen Anteil.
+ * ! Überlast wird sofort abgewiesen (503), statt Requests in Tomcat warten zu lassen.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Priorität eines Requests (bestimmt, welcher Anteil des Limits genutzt werden darf).
+     */
+    public enum Priority {
+        READ, WRITE, EXPORT
+    }
+
+    private final ConcurrencyLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // ReentrantLock statt synchronized: blockiert keine Carrier-Threads bei Virtual Threads.
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private volatile double limit;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder[] rejected = new LongAdder[Priority.values().length];
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.initialLimit();
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Versucht, einen Platz für einen Request zu reservieren.
+     * @return true, wenn der Request ausgeführt werden darf (dann MUSS onComplete() folgen).
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = (int) Math.max(1, limit * share(priority));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected[priority.ordinal()].increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Meldet das Ende eines Requests und passt das Limit an.
+     * @param rttNanos Gemessene Latenz des Requests.
+     * @param failed true bei Exception/Timeout (wird als Überlastsignal gewertet).
+     */
+    public void onComplete(long rttNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        // Ist gerade ein anderer Thread beim Anpassen, wird diese Messung übersprungen (Sampling).
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            updateLimit(rttNanos, current, failed);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    private void updateLimit(long rttNanos, int inFlightAtCompletion, boolean failed) {
+        double currentLimit = limit;
+        double newLimit;
+        if (failed) {
+            newLimit = currentLimit * 0.9;
+        } else {
+            // Basis- und aktuelle Latenz als exponentielle Durchschnitte.
+            longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos * 0.99 + rttNanos * 0.01;
+            shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos * 0.9 + rttNanos * 0.1;
+            // Basis driftet nach oben (z.B. nach einer Lastspitze) -> schneller zurückführen.
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+            // Limit nur anpassen, wenn es tatsächlich ausgeschöpft wird.
+            if (inFlightAtCompletion < currentLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, properties.rttTolerance() * longRttNanos / shortRttNanos));
+            newLimit = currentLimit * gradient + Math.sqrt(currentLimit);
+        }
+        newLimit = currentLimit * (1 - properties.smoothing()) + newLimit * properties.smoothing();
+        limit = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), newLimit));
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case READ -> 1.0;
+            case WRITE -> properties.writeShare();
+            case EXPORT -> properties.exportShare();
+        };
+    }
+
+    // --- Kennzahlen (für Monitoring) ---
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected(Priority priority) {
+        return rejected[priority.ordinal()].sum();
+    }
+}
@@ -0,0 +1,95 @@
+package com.wiss.cinebase.security;
+
+// Importiert Jackson, die Konfiguration und das Fehler-DTO für die 503-Antwort.
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.cinebase.config.ConcurrencyLimitProperties;
+import com.wiss.cinebase.dto.ErrorResponseDTO;
+
+// Importiert Servlet-Klassen für die Request-Filterung.
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Load Shedding Filter für die Film- und Review-Endpunkte.
+ * Läuft VOR der Spring Security Filter Chain: Überlast wird abgewiesen, bevor Token geprüft
+ * oder User aus der Datenbank geladen werden.
+ * Funktion:
+ * 1. Bestimmt die Priorität (GET = READ, Export/Archiv = EXPORT, sonst WRITE).
+ * 2. Fragt beim AdaptiveConcurrencyLimiter einen Platz an; ohne Platz sofort 503 + Retry-After.
+ * 3. Misst die Latenz und meldet sie dem Limiter zurück (Lernen des Limits).
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10) // ! Vor Spring Security (DEFAULT_FILTER_ORDER = -100)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                  ConcurrencyLimitProperties properties,
+                                  ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !properties.enabled() || !(path.startsWith("/api/movies") || path.startsWith("/api/reviews"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        AdaptiveConcurrencyLimiter.Priority priority = classify(request);
+        if (!limiter.tryAcquire(priority)) {
+            response.setHeader("Retry-After", "1");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDTO(
+                    "OVERLOADED",
+                    "Der Server ist ausgelastet. Bitte in Kürze erneut versuchen.",
+                    HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    request.getRequestURI()
+            ));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            // 5xx-Antworten gelten als Überlastsignal, 4xx (z.B. Validierung) nicht.
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.onComplete(System.nanoTime() - start, failed);
+        }
+    }
+
+    static AdaptiveConcurrencyLimiter.Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.contains("/export") || path.contains("/archive")) {
+            return AdaptiveConcurrencyLimiter.Priority.EXPORT;
+        }
+        return "GET".equals(request.getMethod())
+                ? AdaptiveConcurrencyLimiter.Priority.READ
+                : AdaptiveConcurrencyLimiter.Priority.WRITE;
+    }
+}
@@ -0,0 +1,118 @@
+package com.wiss.cinebase.security;
+
+import com.wiss.cinebase.exception.PasswordHashingBusyException;
+
+// Importiert den Standard-BCrypt-Encoder von Spring Security.
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt-Encoder mit Kosten-Policy ("Hash-Upgrade").
+ * Funktion:
+ * - Neue Passwörter werden mit der konfigurierten Stärke (security.bcrypt.strength) gehasht.
+ * - upgradeEncoding() meldet jeden Hash, dessen Kostenfaktor von der Konfiguration abweicht
+ *   (höher ODER tiefer). Der Standard-Encoder erkennt nur schwächere Hashes.
+ * ! So kann der Kostenfaktor für Latenz getuned werden, ohne Passwort-Resets zu erzwingen:
+ * Beim nächsten erfolgreichen Login wird der Hash transparent neu berechnet.
+ * Nebenläufigkeit: Höchstens maxConcurrent Hashes gleichzeitig (faire Semaphore), weitere Logins warten
+ * höchstens acquireTimeout und brechen dann mit PasswordHashingBusyException ab (HTTP 503 + Retry-After).
+ * ! BCrypt ist reine CPU-Arbeit. Virtual Threads geben ihren Carrier-Thread dabei nicht ab: Ohne Grenze belegt
+ * ein Login-Sturm alle Carrier-Threads und kein anderer Request (auch /actuator/health) kommt mehr dran.
+ * Wartende Threads in der Semaphore belegen dagegen keinen Carrier.
+ * ! Ohne Timeout wüchse die Warteschlange bei einem anhaltenden Sturm unbegrenzt, die Clients liefen in ihre eigenen
+ * Timeouts und die bereits abgebrochenen Logins würden trotzdem noch gehasht.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+    private final Semaphore hashing;
+    private final long acquireTimeoutNanos;
+
+    /**
+     * @param maxConcurrent Gleichzeitige Hash-Berechnungen, 0 = Anzahl CPU-Kerne - 1 (mindestens 1).
+     * @param acquireTimeout Maximale Wartezeit auf einen freien Hash-Platz.
+     */
+    public CostAwareBCryptPasswordEncoder(int strength, int maxConcurrent, Duration acquireTimeout) {
+        super(strength);
+        this.strength = strength;
+        this.hashing = new Semaphore(permits(maxConcurrent), true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public CostAwareBCryptPasswordEncoder(int strength) {
+        this(strength, 0, Duration.ofSeconds(5));
+    }
+
+    /**
+     * Effektive Anzahl Hash-Plätze für security.bcrypt.max-concurrent (0 = CPU-Kerne - 1, mindestens 1).
+     */
+    public static int permits(int maxConcurrent) {
+        return maxConcurrent > 0 ? maxConcurrent : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        acquire();
+        try {
+            return super.encode(rawPassword);
+        } finally {
+            hashing.release();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        acquire();
+        try {
+            return super.matches(rawPassword, encodedPassword);
+        } finally {
+            hashing.release();
+        }
+    }
+
+    /**
+     * Prüft, ob ein gespeicherter Hash neu berechnet werden soll.
+     * @param encodedPassword Der Hash aus der Datenbank (Format: $2a$12$...).
+     * @return true, wenn der Kostenfaktor nicht der konfigurierten Stärke entspricht.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        int cost = extractCost(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    // Hilfsmethode: Wartet höchstens acquireTimeout auf einen Hash-Platz (Virtual Threads geben dabei ihren Carrier frei).
+    private void acquire() {
+        try {
+            if (!hashing.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new PasswordHashingBusyException("Kein Platz für BCrypt frei nach "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms ("
+                        + hashing.getQueueLength() + " Wartende)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Warten auf BCrypt unterbrochen");
+        }
+    }
+
+    // Hilfsmethode: Liest die zwei Ziffern des Kostenfaktors aus "$2a$12$..." ohne String-Allokation.
+    private static int extractCost(String encodedPassword) {
+        int separator = encodedPassword.indexOf('$', 1);
+        if (separator < 0 || separator + 3 > encodedPassword.length()) {
+            return -1;
+        }
+        int tens = Character.digit(encodedPassword.charAt(separator + 1), 10);
+        int ones = Character.digit(encodedPassword.charAt(separator + 2), 10);
+        return (tens < 0 || ones < 0) ? -1 : tens * 10 + ones;
+    }
+}
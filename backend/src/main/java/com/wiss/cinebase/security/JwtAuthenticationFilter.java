@@ -2,6 +2,9 @@ package com.wiss.cinebase.security;
 
 // Importiert den JWT-Service zur Token-Validierung.
 import com.wiss.cinebase.service.JwtService;
+// JFR-Event für die Token-Prüfung (siehe FlightRecorderService)
+import com.wiss.cinebase.config.JwtVerificationEvent;
+import com.wiss.cinebase.entity.AppUser;
 
 // Importiert Servlet-Klassen für die Request-Filterung.
 import jakarta.servlet.FilterChain;
@@ -53,7 +56,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 1. Authorization Header aus dem Request holen
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         // 2. Prüfen: Ist der Header vorhanden und fängt er mit "Bearer " an?
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -66,14 +68,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 3. Token extrahieren (alles nach "Bearer " abschneiden)
         jwt = authHeader.substring(7);
 
+        // JFR-Event: misst die Schritte 4-7 (ohne laufende Aufzeichnung praktisch kostenlos)
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            authenticate(request, jwt, event);
+        } finally {
+            event.end();
+            event.commit(); // schreibt nur, wenn aufgezeichnet wird
+        }
+
+        // Request an den nächsten Filter (oder schließlich den Controller) weitergeben
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Schritte 4-7: Token prüfen und den User im SecurityContext setzen.
+     * User-ID und Ergebnis werden im JFR-Event vermerkt (bei einer Exception bleibt ERROR stehen).
+     */
+    private void authenticate(HttpServletRequest request, String jwt, JwtVerificationEvent event) {
         // 4. Username aus dem Token lesen (nutzt JwtService)
-        username = jwtService.extractUsername(jwt);
+        final String username = jwtService.extractUsername(jwt);
+        event.outcome = username == null ? JwtVerificationEvent.INVALID : JwtVerificationEvent.SKIPPED;
 
         // 5. Falls Username existiert und der User im aktuellen Request noch NICHT authentifiziert ist:
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
             // User-Details aus der Datenbank laden
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (userDetails instanceof AppUser user) {
+                event.userId = user.getId();
+            }
+            event.outcome = JwtVerificationEvent.INVALID;
 
             // 6. Token validieren (Prüfung auf Signatur und Ablaufdatum)
             if (jwtService.validateToken(jwt, username)) {
@@ -93,10 +119,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // 7. ! Spring Security informieren: "Dieser User ist jetzt sicher eingeloggt!"
                 // Ab hier gilt der User für den Rest des Requests als authentifiziert.
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                event.outcome = JwtVerificationEvent.AUTHENTICATED;
             }
         }
-
-        // Request an den nächsten Filter (oder schließlich den Controller) weitergeben
-        filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
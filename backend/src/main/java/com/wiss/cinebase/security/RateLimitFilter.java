@@ -0,0 +1,205 @@
+package com.wiss.cinebase.security;
+
+// Importiert Jackson und das Fehler-DTO für die 429-Antwort.
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.cinebase.config.RateLimitProperties;
+import com.wiss.cinebase.dto.ErrorResponseDTO;
+import com.wiss.cinebase.entity.Role;
+
+// Importiert Servlet-Klassen für die Request-Filterung.
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Importiert Spring Security Klassen für den Zugriff auf den eingeloggten User.
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate Limiting Filter - begrenzt die Anzahl Requests pro Benutzer und Endpunkt-Gruppe.
+ * Position: direkt NACH dem JwtAuthenticationFilter (der Principal ist dann bekannt).
+ * Funktion:
+ * 1. Ordnet den Request einer Gruppe zu (auth, catalogRead, reviewWrite). Andere Requests sind nicht limitiert.
+ * 2. Schlüssel ist der Username (eingeloggt) bzw. die IP-Adresse (anonym).
+ * 3. Pro Gruppe und Schlüssel existiert ein lock-freier TokenBucket. Das Limit hängt von der Rolle ab
+ *    (ratelimit.roles.*), anonyme Requests und Rollen ohne Eintrag erhalten das Standardlimit der Gruppe.
+ * 4. Antwortet mit 429 Too Many Requests und den Standard-Headern RateLimit-Limit/-Remaining/-Reset.
+ * ! Performance: Pro Request nur ein Map-Lookup und ein compareAndSet. Die Limits pro Rolle und Gruppe
+ * sind beim Start vorberechnet, ein neuer Bucket (und das Lambda dafür) entsteht nur beim ersten Request.
+ * Idle Buckets werden periodisch direkt im Request-Thread entfernt (kein zusätzlicher Scheduler nötig).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpunkt-Gruppen mit eigenem Limit.
+     */
+    enum EndpointGroup {
+        AUTH, CATALOG_READ, REVIEW_WRITE
+    }
+
+    /**
+     * Vorberechnetes Limit einer Rolle für eine Gruppe.
+     */
+    record ResolvedLimit(int capacity, long refillIntervalNanos) {
+    }
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // Role.values() kopiert bei jedem Aufruf das Array
+    private static final Role[] ROLES = Role.values();
+    private static final EndpointGroup[] GROUPS = EndpointGroup.values();
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final long idleNanos;
+    // [Rolle.ordinal() + 1][Gruppe.ordinal()], Zeile 0 = anonym
+    private final ResolvedLimit[][] limits;
+
+    // Pro Gruppe eine eigene Map -> der Schlüssel ist direkt der Username/IP (keine Key-Objekte pro Request).
+    private final Map<EndpointGroup, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(EndpointGroup.class);
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(properties.idleEvictionSeconds());
+        this.limits = new ResolvedLimit[ROLES.length + 1][GROUPS.length];
+        for (EndpointGroup group : GROUPS) {
+            buckets.put(group, new ConcurrentHashMap<>());
+            limits[0][group.ordinal()] = resolve(limitFor(group, null));
+            for (Role role : ROLES) {
+                limits[role.ordinal() + 1][group.ordinal()] = resolve(limitFor(group, properties.roles().get(role)));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // 1. Gruppe bestimmen. Nicht limitierte Requests (z.B. Swagger, Admin-Filmverwaltung) direkt weiterleiten.
+        EndpointGroup group = properties.enabled() ? classify(request) : null;
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 2. Schlüssel und Limit bestimmen (User oder IP, Limit nach Rolle)
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated();
+        String key = authenticated ? authentication.getName() : request.getRemoteAddr();
+        ResolvedLimit limit = limits[authenticated ? roleRow(authentication) : 0][group.ordinal()];
+
+        // 3. Token entnehmen (get zuerst: computeIfAbsent würde pro Request ein Lambda allozieren)
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, TokenBucket> groupBuckets = buckets.get(group);
+        TokenBucket bucket = groupBuckets.get(key);
+        if (bucket == null) {
+            bucket = groupBuckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.refillIntervalNanos(), now));
+        }
+        long result = bucket.tryConsume(now);
+        evictIdleBuckets(now);
+
+        response.setHeader("RateLimit-Limit", Integer.toString(bucket.getCapacity()));
+        if (result >= 0) {
+            response.setHeader("RateLimit-Remaining", Long.toString(result));
+            response.setHeader("RateLimit-Reset", Long.toString(toSeconds(bucket.nanosUntilFull(now))));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 4. Limit überschritten -> 429 mit Retry-After
+        long retryAfter = toSeconds(-result - 1);
+        response.setHeader("RateLimit-Remaining", "0");
+        response.setHeader("RateLimit-Reset", Long.toString(retryAfter));
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDTO(
+                "RATE_LIMITED",
+                "Zu viele Anfragen. Bitte in " + retryAfter + " Sekunden erneut versuchen.",
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                request.getRequestURI()
+        ));
+    }
+
+    // --- Hilfsmethoden ---
+
+    static EndpointGroup classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/")) {
+            return EndpointGroup.AUTH;
+        }
+        boolean movies = path.startsWith("/api/movies");
+        boolean reviews = path.startsWith("/api/reviews");
+        if (!movies && !reviews) {
+            return null;
+        }
+        if ("GET".equals(request.getMethod())) {
+            return EndpointGroup.CATALOG_READ;
+        }
+        // Filmverwaltung (POST/PUT/DELETE auf /api/movies) ist ADMIN-only und wird nicht limitiert.
+        return reviews ? EndpointGroup.REVIEW_WRITE : null;
+    }
+
+    // Zeile in limits: erste Rolle, deren Authority der User hat (ADMIN vor USER), sonst wie anonym
+    private static int roleRow(Authentication authentication) {
+        for (Role role : ROLES) {
+            if (authentication.getAuthorities().contains(role.getAuthorities().get(0))) {
+                return role.ordinal() + 1;
+            }
+        }
+        return 0;
+    }
+
+    // Limit der Rolle, sonst Standardlimit der Gruppe
+    private RateLimitProperties.Limit limitFor(EndpointGroup group, RateLimitProperties.GroupLimits roleLimits) {
+        RateLimitProperties.Limit roleLimit = roleLimits == null ? null : switch (group) {
+            case AUTH -> roleLimits.auth();
+            case CATALOG_READ -> roleLimits.catalogRead();
+            case REVIEW_WRITE -> roleLimits.reviewWrite();
+        };
+        if (roleLimit != null) {
+            return roleLimit;
+        }
+        return switch (group) {
+            case AUTH -> properties.auth();
+            case CATALOG_READ -> properties.catalogRead();
+            case REVIEW_WRITE -> properties.reviewWrite();
+        };
+    }
+
+    private static ResolvedLimit resolve(RateLimitProperties.Limit limit) {
+        return new ResolvedLimit(limit.capacity(), (long) (TimeUnit.SECONDS.toNanos(1) / limit.refillPerSecond()));
+    }
+
+    // Entfernt Buckets, die seit idleEvictionSeconds voll sind. Läuft höchstens alle 30 Sekunden in EINEM Thread.
+    private void evictIdleBuckets(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        for (ConcurrentHashMap<String, TokenBucket> groupBuckets : buckets.values()) {
+            groupBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,139 @@
+package com.wiss.cinebase.security;
+
+import com.wiss.cinebase.config.SqlStatistics;
+import com.wiss.cinebase.config.SqlStatisticsProperties;
+
+// Importiert Servlet-Klassen für die Request-Filterung.
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Zählt SQL-Statements, gelesene Zeilen und Datenbankzeit pro HTTP-Request (SqlStatisticsDataSource).
+ * - Loggt Requests über den Schwellwerten und N+1-Verdachtsfälle (dasselbe Statement x-mal pro Request).
+ * - Optional (Entwicklung): X-SQL-Statements, X-SQL-Rows und X-SQL-Time-Ms als Response-Header.
+ * Läuft als erster Filter: Auch die Abfragen von Security (User laden) und Load Shedding zählen mit.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 20) // ! Vor ConcurrencyLimitFilter und Spring Security
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    private static final int LOGGED_SQL_CHARS = 200;
+
+    private final SqlStatisticsProperties properties;
+
+    public SqlStatisticsFilter(SqlStatisticsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        try (SqlStatistics statistics = SqlStatistics.start()) {
+            HttpServletResponse target = properties.responseHeaders() ? new HeaderWriter(response, statistics) : response;
+            try {
+                filterChain.doFilter(request, target);
+            } finally {
+                if (target instanceof HeaderWriter headerWriter) {
+                    headerWriter.writeHeaders(); // Antworten ohne Body (z.B. 204)
+                }
+                log(request, statistics);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, SqlStatistics statistics) {
+        Map<String, Integer> repeated = statistics.repeatedStatements(properties.repeatedThreshold());
+        if (statistics.statements() <= properties.logStatements() && statistics.dbMillis() <= properties.logDbMillis()
+                && repeated.isEmpty()) {
+            return;
+        }
+        System.out.println("SQL-Statistik " + request.getMethod() + " " + request.getRequestURI() + ": "
+                + statistics.statements() + " Statements, " + statistics.rowsFetched() + " Zeilen, "
+                + statistics.dbMillis() + " ms Datenbank");
+        repeated.forEach((sql, count) -> System.out.println("  N+1-Verdacht (" + count + "x): "
+                + (sql.length() > LOGGED_SQL_CHARS ? sql.substring(0, LOGGED_SQL_CHARS) + " ..." : sql)));
+    }
+
+    /**
+     * Setzt die Header, bevor der Body geschrieben wird (danach ist die Antwort committed).
+     * ! Statements nach diesem Zeitpunkt (z.B. Lazy Loading beim Serialisieren) fehlen in den Headern, nicht im Log.
+     */
+    private static final class HeaderWriter extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean written;
+
+        HeaderWriter(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-SQL-Statements", Integer.toString(statistics.statements()));
+            setHeader("X-SQL-Rows", Long.toString(statistics.rowsFetched()));
+            setHeader("X-SQL-Time-Ms", Long.toString(statistics.dbMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
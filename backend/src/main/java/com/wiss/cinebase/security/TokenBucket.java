@@ -0,0 +1,69 @@
+package com.wiss.cinebase.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-freier Token Bucket für das Rate Limiting.
+ * Umsetzung als GCRA ("Generic Cell Rate Algorithm"): Statt Token-Anzahl UND Zeitstempel
+ * wird nur die "theoretische Ankunftszeit" (TAT) in einem einzigen AtomicLong gespeichert.
+ * Dadurch reicht ein einzelnes compareAndSet pro Request - keine Locks, keine Allokation.
+ * Verhalten wie ein klassischer Token Bucket:
+ * - capacity: maximale Burst-Größe.
+ * - refillIntervalNanos: Zeit, bis ein verbrauchtes Token wieder verfügbar ist.
+ */
+public final class TokenBucket {
+
+    private final int capacity;
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+
+    // Theoretische Ankunftszeit (System.nanoTime-Basis). <= now bedeutet: Bucket ist voll.
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long refillIntervalNanos, long now) {
+        this.capacity = capacity;
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.burstNanos = capacity * refillIntervalNanos;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Versucht, ein Token zu entnehmen.
+     * @param now Aktuelle Zeit (System.nanoTime)
+     * @return Anzahl verbleibender Tokens (>= 0) bei Erfolg,
+     *         sonst -(Wartezeit in Nanosekunden) - 1 (< 0).
+     */
+    public long tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + refillIntervalNanos;
+            long backlog = next - now;
+            if (backlog > burstNanos) {
+                // Abgelehnt: Wartezeit bis das nächste Token frei wird.
+                return -(backlog - burstNanos) - 1;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return (burstNanos - backlog) / refillIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Nanosekunden, bis der Bucket wieder vollständig gefüllt ist.
+     */
+    public long nanosUntilFull(long now) {
+        return Math.max(0, theoreticalArrival.get() - now);
+    }
+
+    /**
+     * Ein Bucket ist "idle", wenn er seit mindestens idleNanos vollständig gefüllt ist.
+     * Solche Buckets können entfernt werden, da ein neuer Bucket denselben Zustand hätte.
+     */
+    public boolean isIdle(long now, long idleNanos) {
+        return now - theoreticalArrival.get() > idleNanos;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -1,12 +1,16 @@
 package com.wiss.cinebase.service;
 
-// Importiert das Repository für den Datenbankzugriff auf Benutzerdaten.
+// Importiert die User-Entity und das Repository für den Datenbankzugriff auf Benutzerdaten.
+import com.wiss.cinebase.entity.AppUser;
 import com.wiss.cinebase.repository.AppUserRepository;
 
 // Importiert das zentrale Interface für Benutzerinformationen in Spring Security.
 // Quelle: Block 01B - AppUser als Spring Security User
 import org.springframework.security.core.userdetails.UserDetails;
 
+// Importiert das Interface für das automatische Hash-Upgrade durch den DaoAuthenticationProvider.
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
 // Importiert das Interface, das implementiert werden muss, um User für die Authentifizierung zu laden.
 import org.springframework.security.core.userdetails.UserDetailsService;
 
@@ -15,6 +19,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 // Importiert die Annotation, um diese Klasse als Spring-Service-Bean zu registrieren.
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Lädt Benutzerdaten für Spring Security aus der Datenbank.
@@ -23,7 +28,7 @@ import org.springframework.stereotype.Service;
  * Quelle: Block 02B - Spring Security & Filter
  */
 @Service // ! WICHTIG: Das erzeugt die Bean, die für die Dependency Injection im SecurityConfig benötigt wird.
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AppUserRepository appUserRepository;
 
@@ -45,4 +50,20 @@ public class AppUserDetailsService implements UserDetailsService {
         return appUserRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User nicht gefunden: " + username));
     }
-}
\ No newline at end of file
+
+    /**
+     * Speichert einen neu berechneten Passwort-Hash (Hash-Upgrade).
+     * Wird vom DaoAuthenticationProvider aufgerufen, wenn PasswordEncoder.upgradeEncoding() true liefert.
+     * @param user Der soeben authentifizierte User.
+     * @param newPassword Der neue Hash mit der aktuell konfigurierten Stärke.
+     * @return Der aktualisierte User.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AppUser appUser = appUserRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User nicht gefunden: " + user.getUsername()));
+        appUser.setPassword(newPassword);
+        return appUserRepository.save(appUser);
+    }
+}
@@ -5,12 +5,17 @@ import com.wiss.cinebase.entity.AppUser;
 import com.wiss.cinebase.entity.Role;
 // Quelle: Block 04A - Repositories
 import com.wiss.cinebase.repository.AppUserRepository;
+// Service-Timer (Micrometer, siehe MetricsConfig)
+import com.wiss.cinebase.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 // Quelle: Block 02B - Security (BCrypt)
 import org.springframework.security.crypto.password.PasswordEncoder;
 // Quelle: Spring Core
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,6 +28,7 @@ import java.util.Optional;
  * Quelle: Block 01B - Service Layer & Password Hashing
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER) // Laufzeit jeder öffentlichen Methode (Tags class + method), siehe MetricsConfig
 @Transactional // ! Stellt sicher, dass Datenbankoperationen atomar ausgeführt werden (ACID).
 public class AppUserService {
 
@@ -70,28 +76,45 @@ public class AppUserService {
      * @param usernameOrEmail Username oder Email
      * @param rawPassword Das eingegebene Passwort
      * @return Optional mit User wenn erfolgreich, sonst leer
+     * ! Ohne umschliessende Transaktion: BCrypt dauert je nach Kostenfaktor hunderte Millisekunden (und wartet
+     * evtl. auf einen freien Hash-Platz). In einer Transaktion bliebe so lange eine Datenbankverbindung belegt
+     * und ein Login-Sturm würde den Pool für alle anderen Requests leeren. Die Abfragen laufen einzeln
+     * in den Transaktionen des Repositories.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<AppUser> authenticateUser(String usernameOrEmail, String rawPassword) {
-        // User suchen (kann Username ODER Email sein)
-        Optional<AppUser> userOpt = userRepository.findByUsername(usernameOrEmail);
+        // User suchen (Username ODER Email in einer einzigen Abfrage)
+        List<AppUser> candidates = userRepository.findByUsernameOrEmail(usernameOrEmail);
 
-        if (userOpt.isEmpty()) {
-            // Falls nicht per Username gefunden, per Email versuchen
-            userOpt = userRepository.findByEmail(usernameOrEmail);
-        }
-
-        if (userOpt.isPresent()) {
-            AppUser user = userOpt.get();
+        if (!candidates.isEmpty()) {
+            AppUser user = candidates.get(0);
 
             // Passwort prüfen (BCrypt vergleicht Raw-Passwort mit Hash)
             if (passwordEncoder.matches(rawPassword, user.getPassword())) {
-                return userOpt;  // Login erfolgreich
+                upgradePasswordIfNeeded(user, rawPassword);
+                return Optional.of(user);  // Login erfolgreich
             }
         }
 
         return Optional.empty();  // Login fehlgeschlagen
     }
 
+    /**
+     * Hash-Upgrade nach erfolgreichem Login.
+     * Weicht der Kostenfaktor des gespeicherten Hashes von der konfigurierten Stärke ab,
+     * wird das (jetzt bekannte) Klartext-Passwort neu gehasht.
+     * ! Gezieltes UPDATE statt save(): authenticateUser läuft ohne Transaktion, die Entity ist losgelöst.
+     * save() würde sie per merge() erst neu laden (zusätzliches SELECT), das UPDATE braucht nur ein Statement.
+     */
+    private void upgradePasswordIfNeeded(AppUser user, String rawPassword) {
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            String upgraded = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), upgraded) == 1) {
+                user.setPassword(upgraded);
+            }
+        }
+    }
+
     /**
      * Findet User anhand des Usernames (Hilfsmethode).
      */
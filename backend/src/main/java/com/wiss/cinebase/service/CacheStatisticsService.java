@@ -0,0 +1,53 @@
+package com.wiss.cinebase.service;
+
+// Importiert das DTO für die Region-Kennzahlen.
+import com.wiss.cinebase.dto.CacheRegionStatsDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Liest die Trefferquoten der Second-Level-Cache-Regionen aus den Hibernate-Statistiken.
+ * ! Voraussetzung: spring.jpa.properties.hibernate.generate_statistics=true (sonst bleiben alle Zähler 0).
+ */
+@Service
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Kennzahlen aller Regionen (Entities, Natural IDs und Query-Ergebnisse), sortiert nach Name.
+     */
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::getRegionStats)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Kennzahlen einer einzelnen Region (null, falls die Region nicht existiert).
+     */
+    public CacheRegionStatsDTO getRegionStats(String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return null;
+        }
+        return new CacheRegionStatsDTO(region,
+                regionStatistics.getHitCount(),
+                regionStatistics.getMissCount(),
+                regionStatistics.getPutCount());
+    }
+}
@@ -0,0 +1,860 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.CatalogImportProperties;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Offline-Import grosser TSV-Kataloge (z.B. IMDb title.basics.tsv) direkt in die Tabelle movies (ohne JPA).
+ * ! Performance:
+ * - Die Datei wird in Chunks zerlegt (Grenzen immer an Zeilenenden), jeder Chunk wird per mmap eingelesen.
+ * - Geparst wird direkt auf den Bytes: Felder sind nur Offsets, Zahlen werden ohne String geparst.
+ *   Mit COPY werden Titel und Regie als Bytes in den Stream kopiert (keine String-Objekte pro Feld).
+ * - Chunks laufen parallel (1 Thread + 1 DB-Verbindung pro Chunk).
+ * - PostgreSQL: COPY ... FROM STDIN (Textformat), andere Datenbanken (z.B. H2): JDBC-Batches.
+ * ! Wiederaufsetzbar: Jeder Chunk wird in EINER Transaktion zusammen mit seinem Checkpoint geladen
+ * (V7__catalog_import_checkpoints). Ein erneuter Start mit derselben Datei lädt nur die fehlenden Chunks.
+ * "Dieselbe Datei": Name, Grösse, Änderungszeit und SHA-256 des ersten Chunks stimmen überein.
+ * Die IDs kommen aus movies_seq (pooled-lo), es gibt keine Kollisionen mit den IDs laufender Instanzen.
+ * Deren Caches erfahren vom Import aber nichts: Die neuen Filme erscheinen dort erst nach Ablauf des
+ * Query-Caches (movie-catalog-queries) und der Filmliste (catalog-cache-ttl). Im eigenen Prozess werden
+ * beide nach dem Import geleert.
+ */
+@Service
+public class CatalogImportService {
+
+    // ! Muss zu allocationSize in Movie bzw. INCREMENT BY in V4__id_sequences passen (pooled-lo).
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final int COPY_FLUSH_BYTES = 1 << 20;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    // VARCHAR(255) für title und director (V1__baseline_schema)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final DataSource dataSource;
+    private final GenreService genreService;
+    private final GenreDictionary genreDictionary;
+
+    public CatalogImportService(DataSource dataSource,
+                                GenreService genreService,
+                                GenreDictionary genreDictionary) {
+        this.dataSource = dataSource;
+        this.genreService = genreService;
+        this.genreDictionary = genreDictionary;
+    }
+
+    /**
+     * Ergebnis eines Imports.
+     * @param chunks Anzahl Chunks der Datei
+     * @param resumedChunks Davon bereits in einem früheren Lauf geladen (übersprungen)
+     * @param rows In diesem Lauf geladene Filme
+     * @param invalidRows Ungültige Zeilen (fehlender Titel oder Jahr, Text zu lang, zu wenige Spalten)
+     */
+    public record ImportReport(int chunks, int resumedChunks, long rows, long invalidRows,
+                               int threads, long durationMs, boolean copy) {
+    }
+
+    private record Chunk(int index, long start, long end) {
+        long length() {
+            return end - start;
+        }
+    }
+
+    private record ChunkResult(int rows, int invalidRows) {
+    }
+
+    /**
+     * Importiert die konfigurierte Datei (bzw. deren noch fehlende Chunks).
+     */
+    public ImportReport load(CatalogImportProperties properties) throws Exception {
+        long started = System.nanoTime();
+        long chunkSize = properties.chunkSize().toBytes();
+        if (chunkSize < 1 || chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("catalog-import.chunk-size muss zwischen 1 Byte und 2 GB liegen");
+        }
+
+        try (FileChannel channel = FileChannel.open(properties.file(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextLineStart(channel, 0, size);
+            Layout layout = layout(readHeader(channel, dataStart), properties);
+
+            List<Chunk> chunks = new ArrayList<>();
+            for (long chunkStart = dataStart; chunkStart < size; ) {
+                long chunkEnd = chunkStart + chunkSize >= size ? size : nextLineStart(channel, chunkStart + chunkSize - 1, size);
+                chunks.add(new Chunk(chunks.size(), chunkStart, chunkEnd));
+                chunkStart = chunkEnd;
+            }
+
+            // Checkpoints gelten nur für exakt dieselbe Datei und dieselben Chunk-Grenzen.
+            String source = checkpointSource(properties, channel, size, chunkSize, chunks.isEmpty() ? dataStart : chunks.get(0).end());
+            boolean copy;
+            Set<Long> loaded;
+            try (Connection connection = dataSource.getConnection()) {
+                copy = connection.isWrapperFor(PGConnection.class);
+                loaded = loadedChunks(connection, source);
+            }
+
+            Progress progress = new Progress(chunks.size(), size - dataStart, started);
+            List<Chunk> pending = new ArrayList<>();
+            for (Chunk chunk : chunks) {
+                if (loaded.contains(chunk.start())) {
+                    progress.resumed(chunk);
+                } else {
+                    pending.add(chunk);
+                }
+            }
+            int threads = threads(properties.threads(), pending.size());
+            System.out.println("Katalogimport " + properties.file() + ": " + chunks.size() + " Chunks, davon "
+                    + (chunks.size() - pending.size()) + " bereits geladen (" + threads + " Threads, "
+                    + (copy ? "COPY" : "JDBC-Batch") + ")");
+
+            long rows = 0;
+            long invalidRows = 0;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<ChunkResult>> results = new ArrayList<>();
+                for (Chunk chunk : pending) {
+                    results.add(executor.submit(() -> loadChunk(channel, chunk, source, layout, copy, properties.batchSize(), progress)));
+                }
+                for (Future<ChunkResult> result : results) {
+                    ChunkResult chunkResult = await(result);
+                    rows += chunkResult.rows();
+                    invalidRows += chunkResult.invalidRows();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            if (copy && rows > 0) {
+                try (Connection connection = dataSource.getConnection();
+                     Statement statement = connection.createStatement()) {
+                    // Aktuelle Statistiken, damit der Planer die Indizes (V2) auch nach Millionen neuen Zeilen nutzt.
+                    statement.execute("ANALYZE movies");
+                }
+            }
+            if (rows > 0) {
+                // Die Filme kamen per JDBC: Query-Cache und Filmliste dieses Prozesses kennen sie noch nicht
+                genreService.evictMovieCaches();
+            }
+            return new ImportReport(chunks.size(), chunks.size() - pending.size(), rows, invalidRows,
+                    threads, (System.nanoTime() - started) / 1_000_000, copy);
+        }
+    }
+
+    private ChunkResult loadChunk(FileChannel channel, Chunk chunk, String source, Layout layout,
+                                  boolean copy, int batchSize, Progress progress) throws Exception {
+        ChunkParser parser = new ChunkParser(channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.length()), layout);
+
+        // Phase 1 ohne DB-Verbindung: Zeilen prüfen und Genres auflösen (neue Genres legt der GenreService an).
+        // ! Würde ein Thread dabei seine Verbindung halten, könnten alle Threads auf den Pool warten.
+        RowIndex rows = parser.scan();
+
+        // Phase 2: IDs reservieren, laden und Checkpoint schreiben - alles oder nichts.
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long[] idBlocks = reserveIdBlocks(connection, copy, rows.size());
+                try (RowWriter writer = copy
+                        ? new CopyWriter(CopyWriter.copyIn(connection.unwrap(PGConnection.class)), layout.defaultDirector())
+                        : new BatchWriter(connection, Math.max(1, batchSize), layout.defaultDirector())) {
+                    parser.write(rows, idBlocks, writer);
+                }
+                insertCheckpoint(connection, source, chunk, rows.size());
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        progress.loaded(chunk, rows.size());
+        return new ChunkResult(rows.size(), parser.invalidRows());
+    }
+
+    // Eine Verbindung pro Thread + eine Reserve für neue Genres (GenreService), sonst warten die Threads auf den Pool.
+    private int threads(int configured, int pendingChunks) throws SQLException {
+        int threads = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            threads = Math.min(threads, dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() - 1);
+        }
+        return Math.max(1, Math.min(threads, pendingChunks));
+    }
+
+    private static ChunkResult await(Future<ChunkResult> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Name:Grösse:Änderungszeit:Chunk-Grösse:SHA-256 von Kopfzeile und erstem Chunk (max. 500 Zeichen, V7).
+    // Eine gleich grosse, aber geänderte Datei (z.B. neuer IMDb-Export) bekommt so neue Checkpoints.
+    private static String checkpointSource(CatalogImportProperties properties, FileChannel channel, long size,
+                                           long chunkSize, long firstChunkEnd) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        if (firstChunkEnd > 0) {
+            digest.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, firstChunkEnd));
+        }
+        String fileName = properties.file().getFileName().toString();
+        return (fileName.length() > 300 ? fileName.substring(0, 300) : fileName) + ":" + size + ":"
+                + Files.getLastModifiedTime(properties.file()).toMillis() + ":" + chunkSize + ":"
+                + HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Set<Long> loadedChunks(Connection connection, String source) throws SQLException {
+        Set<Long> loaded = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT chunk_start FROM catalog_import_chunks WHERE source = ?")) {
+            statement.setString(1, source);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    loaded.add(rs.getLong(1));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static void insertCheckpoint(Connection connection, String source, Chunk chunk, int rows) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO catalog_import_chunks (source, chunk_start, chunk_end, rows_loaded, loaded_at) VALUES (?, ?, ?, ?, ?)")) {
+            statement.setString(1, source);
+            statement.setLong(2, chunk.start());
+            statement.setLong(3, chunk.end());
+            statement.setInt(4, rows);
+            statement.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+            statement.executeUpdate();
+        }
+    }
+
+    // pooled-lo wie Hibernate: Ein Sequenzwert reserviert ID_BLOCK_SIZE IDs ab diesem Wert.
+    private static long[] reserveIdBlocks(Connection connection, boolean postgres, int rows) throws SQLException {
+        long[] blocks = new long[(rows + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE];
+        if (blocks.length == 0) {
+            return blocks;
+        }
+        // PostgreSQL: alle Blöcke in 1 Round Trip
+        String sql = postgres
+                ? "SELECT nextval('movies_seq') FROM generate_series(1, " + blocks.length + ")"
+                : "SELECT NEXT VALUE FOR movies_seq";
+        try (Statement statement = connection.createStatement()) {
+            int filled = 0;
+            while (filled < blocks.length) {
+                try (ResultSet rs = statement.executeQuery(sql)) {
+                    while (filled < blocks.length && rs.next()) {
+                        blocks[filled++] = rs.getLong(1);
+                    }
+                }
+            }
+        }
+        return blocks;
+    }
+
+    // Position nach dem nächsten '\n' ab from (bzw. Dateiende).
+    private static long nextLineStart(FileChannel channel, long from, long size) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static String[] readHeader(FileChannel channel, long headerEnd) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate((int) headerEnd);
+        channel.read(buffer, 0);
+        String header = new String(buffer.array(), StandardCharsets.UTF_8).strip();
+        if (header.isEmpty()) {
+            throw new IllegalArgumentException("TSV-Datei ohne Kopfzeile");
+        }
+        return header.split("\t");
+    }
+
+    private Layout layout(String[] header, CatalogImportProperties properties) {
+        CatalogImportProperties.Columns columns = properties.columns();
+        List<String> names = Arrays.asList(header);
+        String typeFilter = properties.typeFilter();
+        return new Layout(
+                header.length,
+                typeFilter == null || typeFilter.isBlank() ? -1 : column(names, "type", columns.type(), true),
+                typeFilter == null || typeFilter.isBlank() ? null : typeFilter.getBytes(StandardCharsets.UTF_8),
+                column(names, "title", columns.title(), true),
+                column(names, "year", columns.year(), true),
+                column(names, "genres", columns.genres(), false),
+                column(names, "director", columns.director(), false),
+                column(names, "rating", columns.rating(), false),
+                new GenreLookup(properties.defaultGenre()),
+                properties.defaultDirector());
+    }
+
+    private static int column(List<String> header, String property, String name, boolean required) {
+        if (name == null || name.isBlank()) {
+            if (required) {
+                throw new IllegalArgumentException("catalog-import.columns." + property + " ist nicht konfiguriert");
+            }
+            return -1;
+        }
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Spalte '" + name + "' fehlt in der Kopfzeile " + header);
+        }
+        return index;
+    }
+
+    /**
+     * Spaltenpositionen und Standardwerte (für alle Threads gleich).
+     */
+    private record Layout(int columnCount, int type, byte[] typeFilter, int title, int year, int genres,
+                          int director, int rating, GenreLookup genreLookup, String defaultDirector) {
+    }
+
+    /**
+     * Genre-Name (als Bytes) -> ID. Liest ohne Lock, neue Genres werden über den GenreService angelegt.
+     * Die Liste bleibt klein (IMDb: ~30 Genres), ein linearer Vergleich der Bytes ist schneller als ein Hash.
+     * ! ReentrantLock statt synchronized: Beim Anlegen wartet der Thread auf die Datenbank (kein Pinning
+     * von Virtual Threads). Threads mit bekannten Genres lesen weiter ohne Lock.
+     */
+    private final class GenreLookup {
+
+        private record Entry(byte[] name, short id) {
+        }
+
+        private final ReentrantLock createLock = new ReentrantLock();
+        private final short defaultId;
+        private volatile Entry[] entries = new Entry[0];
+
+        GenreLookup(String defaultGenre) {
+            this.defaultId = idOf(defaultGenre);
+        }
+
+        short idOf(ByteBuffer buffer, int start, int end) {
+            if (start >= end) {
+                return defaultId;
+            }
+            for (Entry entry : entries) {
+                if (matches(buffer, start, end, entry.name())) {
+                    return entry.id();
+                }
+            }
+            byte[] name = new byte[end - start];
+            buffer.get(start, name);
+            return idOf(new String(name, StandardCharsets.UTF_8));
+        }
+
+        short idOf(String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            createLock.lock();
+            try {
+                // Erneut prüfen: Ein anderer Thread kann das Genre inzwischen angelegt haben
+                for (Entry entry : entries) {
+                    if (Arrays.equals(entry.name(), bytes)) {
+                        return entry.id();
+                    }
+                }
+                short id = genreDictionary.idOf(genreService.resolveOrCreate(name));
+                Entry[] grown = Arrays.copyOf(entries, entries.length + 1);
+                grown[entries.length] = new Entry(bytes, id);
+                entries = grown;
+                return id;
+            } finally {
+                createLock.unlock();
+            }
+        }
+    }
+
+    private static boolean matches(ByteBuffer buffer, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gültige Zeilen eines Chunks: Zeilenanfang + aufgelöstes Genre (wachsende Arrays statt Objekte pro Zeile).
+     */
+    private static final class RowIndex {
+
+        private int[] lineStarts = new int[1024];
+        private short[] genreIds = new short[1024];
+        private int size;
+
+        void add(int lineStart, short genreId) {
+            if (size == lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, size * 2);
+                genreIds = Arrays.copyOf(genreIds, size * 2);
+            }
+            lineStarts[size] = lineStart;
+            genreIds[size++] = genreId;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Parser eines gemappten Chunks. Nicht thread-safe: 1 Instanz pro Chunk.
+     */
+    private static final class ChunkParser {
+
+        private final MappedByteBuffer buffer;
+        private final Layout layout;
+        private final int[] fieldStart;
+        private final int[] fieldEnd;
+        private int columns;
+        private int invalidRows;
+
+        ChunkParser(MappedByteBuffer buffer, Layout layout) {
+            this.buffer = buffer;
+            this.layout = layout;
+            this.fieldStart = new int[layout.columnCount()];
+            this.fieldEnd = new int[layout.columnCount()];
+        }
+
+        int invalidRows() {
+            return invalidRows;
+        }
+
+        RowIndex scan() {
+            RowIndex rows = new RowIndex();
+            int position = 0;
+            while (position < buffer.limit()) {
+                int lineStart = position;
+                position = split(lineStart);
+                if (columns == 1 && fieldStart[0] == fieldEnd[0]) {
+                    continue; // Leerzeile
+                }
+                if (columns < layout.columnCount()) {
+                    invalidRows++;
+                    continue;
+                }
+                if (layout.type() >= 0 && !matches(buffer, fieldStart[layout.type()], fieldEnd[layout.type()], layout.typeFilter())) {
+                    continue; // z.B. Serien-Episoden in title.basics.tsv
+                }
+                if (!valid()) {
+                    invalidRows++;
+                    continue;
+                }
+                rows.add(lineStart, genreId());
+            }
+            return rows;
+        }
+
+        void write(RowIndex rows, long[] idBlocks, RowWriter writer) throws SQLException {
+            for (int row = 0; row < rows.size(); row++) {
+                split(rows.lineStarts[row]);
+                long id = idBlocks[row / ID_BLOCK_SIZE] + row % ID_BLOCK_SIZE;
+                int director = layout.director();
+                boolean hasDirector = director >= 0 && !isNull(director);
+                writer.row(id, buffer, fieldStart[layout.title()], fieldEnd[layout.title()],
+                        hasDirector ? fieldStart[director] : -1, hasDirector ? fieldEnd[director] : -1,
+                        rows.genreIds[row], parseInt(layout.year()), ratingTenths());
+            }
+        }
+
+        // Zerlegt die Zeile ab lineStart in Felder (nur Offsets). Rückgabe: Anfang der nächsten Zeile.
+        private int split(int lineStart) {
+            int limit = buffer.limit();
+            int column = 0;
+            fieldStart[0] = lineStart;
+            int position = lineStart;
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b == '\n') {
+                    break;
+                }
+                if (b == '\t') {
+                    if (column < fieldEnd.length) {
+                        fieldEnd[column] = position;
+                    }
+                    column++;
+                    if (column < fieldStart.length) {
+                        fieldStart[column] = position + 1;
+                    }
+                }
+                position++;
+            }
+            int lineEnd = position > lineStart && buffer.get(position - 1) == '\r' ? position - 1 : position;
+            if (column < fieldEnd.length) {
+                fieldEnd[column] = lineEnd;
+            }
+            columns = column + 1;
+            return position < limit ? position + 1 : limit;
+        }
+
+        private boolean valid() {
+            int title = layout.title();
+            if (isNull(title) || fieldStart[title] == fieldEnd[title] || textLength(title) > MAX_TEXT_LENGTH) {
+                return false;
+            }
+            if (parseInt(layout.year()) < 0) {
+                return false;
+            }
+            int director = layout.director();
+            if (director >= 0 && !isNull(director) && textLength(director) > MAX_TEXT_LENGTH) {
+                return false;
+            }
+            return ratingTenths() >= 0;
+        }
+
+        // Erstes Genre der Liste ("Drama,Romance" -> "Drama"), fehlt es: catalog-import.default-genre
+        private short genreId() {
+            int genres = layout.genres();
+            if (genres < 0 || isNull(genres)) {
+                return layout.genreLookup().idOf(buffer, 0, 0);
+            }
+            int end = fieldStart[genres];
+            while (end < fieldEnd[genres] && buffer.get(end) != ',') {
+                end++;
+            }
+            return layout.genreLookup().idOf(buffer, fieldStart[genres], end);
+        }
+
+        private boolean isNull(int column) {
+            return fieldEnd[column] - fieldStart[column] == 2
+                    && buffer.get(fieldStart[column]) == '\\' && buffer.get(fieldStart[column] + 1) == 'N';
+        }
+
+        // Anzahl Zeichen (UTF-8: Folgebytes 10xxxxxx nicht mitzählen)
+        private int textLength(int column) {
+            int length = 0;
+            for (int i = fieldStart[column]; i < fieldEnd[column]; i++) {
+                if ((buffer.get(i) & 0xC0) != 0x80) {
+                    length++;
+                }
+            }
+            return length;
+        }
+
+        // Nicht-negative Ganzzahl, sonst -1
+        private int parseInt(int column) {
+            int start = fieldStart[column];
+            int end = fieldEnd[column];
+            if (start == end || end - start > 9) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        // Rating in Zehnteln ("7.5" -> 75), fehlt es: 0, ungültig: -1
+        private int ratingTenths() {
+            int rating = layout.rating();
+            if (rating < 0 || isNull(rating)) {
+                return 0;
+            }
+            int value = 0;
+            int decimals = -1;
+            for (int i = fieldStart[rating]; i < fieldEnd[rating]; i++) {
+                byte b = buffer.get(i);
+                if (b == '.' && decimals < 0) {
+                    decimals = 0;
+                } else if (b >= '0' && b <= '9' && value <= 100) {
+                    if (decimals < 1) {
+                        value = value * 10 + (b - '0');
+                    }
+                    if (decimals >= 0) {
+                        decimals++;
+                    }
+                } else {
+                    return -1;
+                }
+            }
+            int tenths = decimals > 0 ? value : value * 10;
+            return fieldStart[rating] == fieldEnd[rating] || tenths > 100 ? -1 : tenths;
+        }
+    }
+
+    /**
+     * Ziel der Filmzeilen: COPY-Stream oder JDBC-Batch.
+     * directorStart = -1: catalog-import.default-director verwenden.
+     */
+    interface RowWriter extends AutoCloseable {
+
+        void row(long id, ByteBuffer buffer, int titleStart, int titleEnd, int directorStart, int directorEnd,
+                 short genreId, int releaseYear, int ratingTenths) throws SQLException;
+
+        @Override
+        void close() throws SQLException;
+    }
+
+    /**
+     * COPY im Textformat: Felder durch Tab getrennt, '\N' = NULL.
+     * Backslash, Tab, CR und LF im Text werden escaped (ein rohes CR beendet in COPY sonst die Zeile).
+     * Titel und Regie werden Byte für Byte aus dem gemappten Chunk kopiert.
+     */
+    static final class CopyWriter implements RowWriter {
+
+        private static final byte[] NULL = {'\\', 'N'};
+
+        private final CopyIn copyIn;
+        private final byte[] defaultDirector;
+        private byte[] out = new byte[COPY_FLUSH_BYTES + 4096];
+        private int length;
+
+        CopyWriter(CopyIn copyIn, String defaultDirector) {
+            this.copyIn = copyIn;
+            byte[] director = defaultDirector.getBytes(StandardCharsets.UTF_8);
+            appendText(ByteBuffer.wrap(director), 0, director.length);
+            this.defaultDirector = Arrays.copyOf(out, length);
+            length = 0;
+        }
+
+        static CopyIn copyIn(PGConnection connection) throws SQLException {
+            return connection.getCopyAPI().copyIn("COPY movies (id, version, title, description, genre_id, "
+                    + "release_year, director, rating, created_by_user_id) FROM STDIN");
+        }
+
+        @Override
+        public void row(long id, ByteBuffer buffer, int titleStart, int titleEnd, int directorStart, int directorEnd,
+                        short genreId, int releaseYear, int ratingTenths) throws SQLException {
+            // Obergrenze der Zeile: Text ggf. doppelt (Backslashes) + Zahlen und Trennzeichen
+            int directorLength = directorStart < 0 ? defaultDirector.length : 2 * (directorEnd - directorStart);
+            ensureCapacity(2 * (titleEnd - titleStart) + directorLength + 128);
+
+            appendNumber(id);
+            out[length++] = '\t';
+            out[length++] = '0'; // version
+            out[length++] = '\t';
+            appendText(buffer, titleStart, titleEnd);
+            out[length++] = '\t';
+            append(NULL); // description
+            out[length++] = '\t';
+            appendNumber(genreId);
+            out[length++] = '\t';
+            appendNumber(releaseYear);
+            out[length++] = '\t';
+            if (directorStart < 0) {
+                append(defaultDirector);
+            } else {
+                appendText(buffer, directorStart, directorEnd);
+            }
+            out[length++] = '\t';
+            appendNumber(ratingTenths / 10);
+            out[length++] = '.';
+            out[length++] = (byte) ('0' + ratingTenths % 10);
+            out[length++] = '\t';
+            append(NULL); // created_by_user_id
+            out[length++] = '\n';
+
+            if (length >= COPY_FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        private void ensureCapacity(int bytes) throws SQLException {
+            if (length + bytes > out.length) {
+                flush();
+                if (bytes > out.length) {
+                    out = new byte[bytes];
+                }
+            }
+        }
+
+        private void appendText(ByteBuffer buffer, int start, int end) {
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                switch (b) {
+                    case '\\' -> escape((byte) '\\');
+                    case '\t' -> escape((byte) 't');
+                    case '\r' -> escape((byte) 'r');
+                    case '\n' -> escape((byte) 'n');
+                    default -> out[length++] = b;
+                }
+            }
+        }
+
+        private void escape(byte b) {
+            out[length++] = '\\';
+            out[length++] = b;
+        }
+
+        private void append(byte[] bytes) {
+            System.arraycopy(bytes, 0, out, length, bytes.length);
+            length += bytes.length;
+        }
+
+        // Ziffern ohne Long.toString (kein String pro Zahl)
+        private void appendNumber(long value) {
+            int digits = 1;
+            for (long rest = value / 10; rest > 0; rest /= 10) {
+                digits++;
+            }
+            for (int i = length + digits - 1; i >= length; i--) {
+                out[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+        }
+
+        private void flush() throws SQLException {
+            if (length > 0) {
+                copyIn.writeToCopy(out, 0, length);
+                length = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copyIn.isActive()) {
+                return;
+            }
+            try {
+                flush();
+                copyIn.endCopy();
+            } catch (SQLException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * JDBC-Batches (Fallback ohne PostgreSQL): Hier braucht es Strings für die Textfelder.
+     * Kein Commit pro Batch, die Transaktion umfasst den ganzen Chunk (Checkpoint).
+     */
+    private static final class BatchWriter implements RowWriter {
+
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private final String defaultDirector;
+        private byte[] text = new byte[4 * MAX_TEXT_LENGTH];
+        private int pending;
+
+        BatchWriter(Connection connection, int batchSize, String defaultDirector) throws SQLException {
+            this.batchSize = batchSize;
+            this.defaultDirector = defaultDirector;
+            this.statement = connection.prepareStatement("INSERT INTO movies (id, version, title, description, genre_id, "
+                    + "release_year, director, rating, created_by_user_id) VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        @Override
+        public void row(long id, ByteBuffer buffer, int titleStart, int titleEnd, int directorStart, int directorEnd,
+                        short genreId, int releaseYear, int ratingTenths) throws SQLException {
+            statement.setLong(1, id);
+            statement.setString(2, string(buffer, titleStart, titleEnd));
+            statement.setNull(3, Types.VARCHAR);
+            statement.setShort(4, genreId);
+            statement.setInt(5, releaseYear);
+            statement.setString(6, directorStart < 0 ? defaultDirector : string(buffer, directorStart, directorEnd));
+            statement.setDouble(7, ratingTenths / 10.0);
+            statement.setNull(8, Types.BIGINT);
+            statement.addBatch();
+            if (++pending == batchSize) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        private String string(ByteBuffer buffer, int start, int end) {
+            if (end - start > text.length) {
+                text = new byte[end - start];
+            }
+            buffer.get(start, text, 0, end - start);
+            return new String(text, 0, end - start, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * Fortschritt über alle Threads (eine Zeile pro geladenem Chunk).
+     */
+    private static final class Progress {
+
+        private final int chunks;
+        private final long bytes;
+        private final long startedNanos;
+        private int doneChunks;
+        private long doneBytes;
+        private long runBytes;
+        private long rows;
+
+        Progress(int chunks, long bytes, long startedNanos) {
+            this.chunks = chunks;
+            this.bytes = bytes;
+            this.startedNanos = startedNanos;
+        }
+
+        synchronized void resumed(Chunk chunk) {
+            doneChunks++;
+            doneBytes += chunk.length();
+        }
+
+        synchronized void loaded(Chunk chunk, int chunkRows) {
+            doneChunks++;
+            doneBytes += chunk.length();
+            runBytes += chunk.length();
+            rows += chunkRows;
+            double seconds = Math.max(1, System.nanoTime() - startedNanos) / 1e9;
+            System.out.printf("  Chunk %d/%d geladen (%.1f %%): %d Filme in diesem Lauf, %.1f MB/s%n",
+                    doneChunks, chunks, bytes == 0 ? 100.0 : doneBytes * 100.0 / bytes, rows, runBytes / 1e6 / seconds);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.CompressionProperties;
+import com.wiss.cinebase.dto.MovieDTO;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fertig serialisierte und vorkomprimierte Filmliste (GET /api/movies).
+ * Die Liste ist für alle User gleich und mit 1000 Filmen mehrere hundert KB gross (Beschreibungen).
+ * Statt sie bei jedem Request neu zu laden, zu serialisieren und zu komprimieren, wird sie einmal pro Stand
+ * als JSON, gzip und Brotli abgelegt. Der Controller wählt die Variante anhand von Accept-Encoding.
+ * Gültigkeit:
+ * - Änderungen an Filmen und Genres verwerfen den Eintrag nach dem Commit (invalidateAfterCommit).
+ * - Sonst gilt er höchstens cinebase.compression.catalog-cache-ttl (neue Reviews, Importe per JDBC).
+ * Nach dem Verwerfen baut nur ein Request die Liste neu, gleichzeitige Requests warten auf dessen Ergebnis.
+ */
+@Service
+public class CatalogResponseCache {
+
+    // Name von "unkomprimiert" in Accept-Encoding (als Content-Encoding wird nichts gesendet)
+    private static final String IDENTITY_TOKEN = "identity";
+    private static final double IDENTITY_DEFAULT_QUALITY = 0.001;
+
+    /**
+     * Content-Encoding einer Variante (null = unkomprimiert).
+     */
+    public enum Encoding {
+        BROTLI("br"), GZIP("gzip"), IDENTITY(null);
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        public String token() {
+            return token;
+        }
+    }
+
+    /**
+     * Ein Stand der Filmliste in allen Varianten (null = Variante nicht erzeugt, z.B. unter min-response-size).
+     */
+    public record Body(byte[] json, byte[] gzip, byte[] brotli, long createdNanos) {
+
+        /**
+         * Wählt die Variante mit dem höchsten q-Wert in Accept-Encoding, bei Gleichstand die kleinste
+         * (Brotli vor gzip vor unkomprimiert). Ein explizit genanntes Encoding gilt vor "*".
+         * Unkomprimiert ist immer akzeptiert, ausser per "identity;q=0" oder "*;q=0" ohne eigenen identity-Eintrag.
+         * @param acceptEncoding Header Accept-Encoding, z.B. "gzip, deflate, br" (null = nur unkomprimiert)
+         * @return null, wenn keine erzeugte Variante akzeptiert wird (Controller: 406 Not Acceptable)
+         */
+        public Encoding negotiate(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return Encoding.IDENTITY;
+            }
+            double[] qualities = qualities(acceptEncoding);
+            Encoding best = null;
+            for (Encoding encoding : Encoding.values()) {
+                if (bytes(encoding) != null && qualities[encoding.ordinal()] > (best == null ? 0 : qualities[best.ordinal()])) {
+                    best = encoding;
+                }
+            }
+            return best;
+        }
+
+        public byte[] bytes(Encoding encoding) {
+            return switch (encoding) {
+                case BROTLI -> brotli;
+                case GZIP -> gzip;
+                case IDENTITY -> json;
+            };
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final CompressionProperties properties;
+    private final boolean brotliAvailable;
+
+    // Nur ein Request baut die Liste neu (ReentrantLock: kein Pinning bei Virtual Threads)
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Zählt Invalidierungen: Ein Body, während dessen Aufbau invalidiert wurde, wird nicht gecacht
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Body current;
+
+    public CatalogResponseCache(ObjectMapper objectMapper, CompressionProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.brotliAvailable = properties.brotliEnabled() && loadBrotli();
+    }
+
+    /**
+     * Liefert den aktuellen Stand, bei Bedarf neu aufgebaut.
+     * @param catalog Lädt die Filmliste (MovieService.getAllMovies)
+     */
+    public Body get(Supplier<List<MovieDTO>> catalog) {
+        if (!properties.catalogCacheEnabled()) {
+            // Ohne Cache: nur JSON, komprimiert wird dann von Tomcat (server.compression)
+            return new Body(serialize(catalog.get()), null, null, System.nanoTime());
+        }
+        Body body = current;
+        if (isFresh(body)) {
+            return body;
+        }
+        rebuildLock.lock();
+        try {
+            body = current;
+            if (isFresh(body)) {
+                return body;
+            }
+            long startGeneration = generation.get();
+            Body rebuilt = build(catalog.get());
+            if (generation.get() == startGeneration) {
+                current = rebuilt;
+            }
+            return rebuilt;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Verwirft den Eintrag nach dem Commit der laufenden Transaktion (ohne Transaktion sofort).
+     * Vor dem Commit würde ein gleichzeitiger Request noch den alten Stand lesen und erneut cachen.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    public boolean isBrotliAvailable() {
+        return brotliAvailable;
+    }
+
+    private boolean isFresh(Body body) {
+        return body != null && System.nanoTime() - body.createdNanos() < properties.catalogCacheTtl().toNanos();
+    }
+
+    private Body build(List<MovieDTO> movies) {
+        long created = System.nanoTime();
+        byte[] json = serialize(movies);
+        if (json.length < properties.minResponseSize().toBytes()) {
+            return new Body(json, null, null, created);
+        }
+        return new Body(json, gzip(json), brotliAvailable ? brotli(json) : null, created);
+    }
+
+    private byte[] serialize(List<MovieDTO> movies) {
+        try {
+            return objectMapper.writeValueAsBytes(movies);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, properties.gzipLevel())));
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] brotli(byte[] json) {
+        try {
+            return Encoder.compress(json, new Encoder.Parameters()
+                    .setQuality(Math.max(0, Math.min(11, properties.brotliQuality())))
+                    .setMode(Encoder.Mode.TEXT));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Native Bibliothek fehlt (z.B. anderes Betriebssystem als beim Build): nur gzip
+    private static boolean loadBrotli() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            System.out.println("Brotli nicht verfuegbar, Filmliste nur mit gzip: " + e);
+            return false;
+        }
+    }
+
+    // q-Wert pro Encoding (Index = ordinal): explizit genannt vor "*", sonst 0.
+    // Unkomprimiert ohne Eintrag: knapp über 0, d.h. akzeptiert, aber jede genannte Komprimierung geht vor.
+    private static double[] qualities(String acceptEncoding) {
+        double[] explicit = new double[Encoding.values().length];
+        Arrays.fill(explicit, -1);
+        double wildcard = -1;
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] nameAndParams = part.trim().split(";");
+            String name = nameAndParams[0].trim();
+            if (name.equals("*")) {
+                wildcard = quality(nameAndParams);
+            }
+            for (Encoding encoding : Encoding.values()) {
+                if (name.equals(encoding.token != null ? encoding.token : IDENTITY_TOKEN)) {
+                    explicit[encoding.ordinal()] = quality(nameAndParams);
+                }
+            }
+        }
+        double[] qualities = new double[explicit.length];
+        for (Encoding encoding : Encoding.values()) {
+            int i = encoding.ordinal();
+            qualities[i] = explicit[i] >= 0 ? explicit[i]
+                    : wildcard >= 0 ? wildcard
+                    : encoding == Encoding.IDENTITY ? IDENTITY_DEFAULT_QUALITY : 0;
+        }
+        return qualities;
+    }
+
+    // q-Parameter eines Eintrags (0 bis 1), ohne bzw. ungültig = 1
+    private static double quality(String[] nameAndParams) {
+        for (int i = 1; i < nameAndParams.length; i++) {
+            String param = nameAndParams[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Math.max(0, Math.min(1, Double.parseDouble(param.substring(2).trim())));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,190 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.CacheLookupEvent;
+import com.wiss.cinebase.config.FlightRecorderProperties;
+import com.wiss.cinebase.config.JwtVerificationEvent;
+import com.wiss.cinebase.config.MapperConversionEvent;
+import com.wiss.cinebase.config.ServiceCallEvent;
+import com.wiss.cinebase.dto.FlightRecordingDTO;
+import com.wiss.cinebase.exception.FlightRecordingNotFoundException;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Steuert die JFR-Aufzeichnung der Anwendung (JDK Flight Recorder, ohne JVM-Optionen).
+ * - Aufgezeichnet werden die JVM-Events der gewählten Konfiguration plus die eigenen Events cinebase.*
+ *   (JWT-Prüfung, Service-Aufrufe, Mapper, Cache-Lookups).
+ * - Im Dauerbetrieb läuft die Aufzeichnung als Ringpuffer (max-age / max-size), ein Dump liefert die letzten Minuten.
+ * - Auswertung offline: FlightRecordingSummarizer.
+ * Es gibt höchstens eine Aufzeichnung gleichzeitig (alle Methoden unter einem Lock).
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final String RECORDING_NAME = "cinebase";
+    private static final List<Class<? extends Event>> EVENT_TYPES = List.of(
+            JwtVerificationEvent.class, ServiceCallEvent.class, MapperConversionEvent.class, CacheLookupEvent.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final FlightRecorderProperties properties;
+
+    // ReentrantLock statt synchronized: stop() und dump() schreiben Dateien, bei Virtual Threads kein Pinning.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecorderService(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Startet die Daueraufzeichnung (cinebase.jfr.start-on-startup).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() throws IOException, ParseException {
+        if (properties.startOnStartup()) {
+            FlightRecordingDTO started = start(null);
+            System.out.println("JFR-Aufzeichnung gestartet (" + started.getSettings() + ", max. "
+                    + properties.maxAge().toMinutes() + " min / " + properties.maxSize().toMegabytes() + " MB)");
+        }
+    }
+
+    /**
+     * Startet eine Aufzeichnung. Läuft bereits eine, wird diese unverändert zurückgegeben.
+     * @param settings JFR-Konfiguration ("default" oder "profile"), null = cinebase.jfr.settings
+     */
+    public FlightRecordingDTO start(String settings) throws IOException, ParseException {
+        lock.lock();
+        try {
+            if (isRunning()) {
+                return toDTO(null);
+            }
+            String name = settings != null && !settings.isBlank() ? settings : properties.settings();
+            Recording started = new Recording(Configuration.getConfiguration(name));
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(properties.maxAge());
+            started.setMaxSize(properties.maxSize().toBytes());
+            // Eigene Events immer vollständig (unabhängig davon, ob die Konfiguration sie kennt)
+            for (Class<? extends Event> type : EVENT_TYPES) {
+                started.enable(type).withThreshold(Duration.ZERO);
+            }
+            started.start();
+            this.recording = started;
+            this.settings = name;
+            return toDTO(null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Beendet die Aufzeichnung und schreibt sie in eine Datei im Dump-Verzeichnis.
+     */
+    public FlightRecordingDTO stop() throws IOException {
+        lock.lock();
+        try {
+            requireRunning();
+            Path file = dumpFile("");
+            try {
+                recording.stop();
+                recording.dump(file);
+                return toDTO(file);
+            } finally {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Schreibt den bisherigen Inhalt der laufenden Aufzeichnung in eine Datei (die Aufzeichnung läuft weiter).
+     * @return Die geschriebene .jfr-Datei
+     */
+    public Path dump() throws IOException {
+        lock.lock();
+        try {
+            requireRunning();
+            Path file = dumpFile("-snapshot");
+            recording.dump(file);
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Zustand der laufenden Aufzeichnung.
+     */
+    public FlightRecordingDTO status() {
+        lock.lock();
+        try {
+            requireRunning();
+            return toDTO(null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (recording != null) {
+                recording.close();
+                recording = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void requireRunning() {
+        if (!isRunning()) {
+            throw new FlightRecordingNotFoundException();
+        }
+    }
+
+    private Path dumpFile(String suffix) throws IOException {
+        Files.createDirectories(properties.dumpDir());
+        return properties.dumpDir().resolve(
+                RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + suffix + ".jfr");
+    }
+
+    private FlightRecordingDTO toDTO(Path file) {
+        return new FlightRecordingDTO(
+                recording.getId(),
+                recording.getState().name(),
+                settings,
+                recording.getStartTime() != null
+                        ? LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()) : null,
+                recording.getSize(),
+                file != null ? file.toString() : null
+        );
+    }
+}
@@ -0,0 +1,229 @@
+package com.wiss.cinebase.service;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline-Auswertung einer JFR-Aufzeichnung (Dump von /api/admin/jfr/stop bzw. /api/admin/jfr/dump).
+ * Gibt die heissesten Pfade aus:
+ * 1. Eigene Events cinebase.* gruppiert nach Pfad (z.B. ServiceCall MovieService.getAllMovies), sortiert nach Gesamtzeit.
+ * 2. CPU-Samples (jdk.ExecutionSample) gruppiert nach den obersten Cinebase-Frames (Aufrufkette im eigenen Code).
+ * 3. Blockierte Virtual Threads (jdk.VirtualThreadPinned, nur Profil "vthreads"): Wo wurde der Carrier-Thread
+ *    festgehalten (blockierender Aufruf in synchronized oder nativem Code)?
+ * ! Braucht nur das JDK, keine Spring-Abhängigkeiten. Aufruf ohne Start der Anwendung:
+ *   java -cp target/cinebase-backend-0.0.1-SNAPSHOT.jar com.wiss.cinebase.service.FlightRecordingSummarizer datei.jfr [anzahl]
+ */
+public final class FlightRecordingSummarizer {
+
+    private static final String EVENT_PREFIX = "cinebase.";
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String VIRTUAL_THREAD_PINNED = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.wiss.cinebase.";
+    // So viele Cinebase-Frames bilden einen Pfad (tiefere Aufrufer werden abgeschnitten)
+    private static final int PATH_DEPTH = 3;
+    private static final int DEFAULT_TOP = 15;
+
+    private FlightRecordingSummarizer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || !Files.isRegularFile(Path.of(args[0]))) {
+            System.err.println("Aufruf: FlightRecordingSummarizer <datei.jfr> [anzahl, Standard " + DEFAULT_TOP + "]");
+            System.exit(2);
+        }
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TOP;
+        System.out.print(summarize(Path.of(args[0]), top));
+    }
+
+    /**
+     * Liest die Aufzeichnung einmal sequenziell (auch grosse Dateien) und liefert die Auswertung als Text.
+     * @param top Anzahl Zeilen pro Tabelle
+     */
+    public static String summarize(Path file, int top) throws IOException {
+        Map<String, Stats> eventPaths = new HashMap<>();
+        Map<String, Long> samplePaths = new HashMap<>();
+        Map<String, Stats> pinnedPaths = new HashMap<>();
+        long events = 0;
+        long samples = 0;
+        long pinned = 0;
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                if (type.startsWith(EVENT_PREFIX)) {
+                    events++;
+                    eventPaths.computeIfAbsent(pathOf(event), path -> new Stats())
+                            .add(event.getDuration().toNanos());
+                } else if (type.equals(EXECUTION_SAMPLE)) {
+                    samples++;
+                    samplePaths.merge(applicationPath(event.getStackTrace()), 1L, Long::sum);
+                } else if (type.equals(VIRTUAL_THREAD_PINNED)) {
+                    pinned++;
+                    pinnedPaths.computeIfAbsent(pinnedPath(event.getStackTrace()), path -> new Stats())
+                            .add(event.getDuration().toNanos());
+                }
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("JFR-Auswertung: ").append(file.getFileName()).append('\n');
+
+        out.append("\nHeisseste Pfade (eigene Events, ").append(events).append(" Events, nach Gesamtzeit)\n");
+        out.append(String.format("%-60s %9s %11s %9s %9s %9s%n", "Pfad", "Anzahl", "Summe ms", "Mittel ms", "p99 ms", "Max ms"));
+        for (Map.Entry<String, Stats> entry : sorted(eventPaths, Comparator.comparingLong(Stats::totalNanos), top)) {
+            Stats stats = entry.getValue();
+            out.append(String.format("%-60s %9d %11.1f %9.3f %9.3f %9.3f%n", shorten(entry.getKey(), 60), stats.count(),
+                    millis(stats.totalNanos()), millis(stats.totalNanos() / stats.count()),
+                    millis(stats.percentile(0.99)), millis(stats.percentile(1.0))));
+        }
+        if (events == 0) {
+            out.append("(keine cinebase.*-Events - lief die Aufzeichnung über FlightRecorderService?)\n");
+        }
+
+        out.append("\nHeisseste Cinebase-Aufrufketten (CPU-Samples, ").append(samples).append(" Samples)\n");
+        out.append(String.format("%-100s %9s %7s%n", "Aufrufkette (innerste zuerst)", "Samples", "Anteil"));
+        for (Map.Entry<String, Long> entry : sorted(samplePaths, Comparator.naturalOrder(), top)) {
+            out.append(String.format("%-100s %9d %6.1f%%%n", shorten(entry.getKey(), 100), entry.getValue(),
+                    100.0 * entry.getValue() / samples));
+        }
+        if (samples == 0) {
+            out.append("(keine CPU-Samples - mit cinebase.jfr.settings=profile aufzeichnen)\n");
+        }
+
+        out.append("\nBlockierte Carrier-Threads (Virtual Threads, ").append(pinned).append(" Events ab 20 ms)\n");
+        out.append(String.format("%-100s %9s %11s %9s%n", "Ort (Auslöser <- eigener Code)", "Anzahl", "Summe ms", "Max ms"));
+        for (Map.Entry<String, Stats> entry : sorted(pinnedPaths, Comparator.comparingLong(Stats::totalNanos), top)) {
+            Stats stats = entry.getValue();
+            out.append(String.format("%-100s %9d %11.1f %9.3f%n", shorten(entry.getKey(), 100), stats.count(),
+                    millis(stats.totalNanos()), millis(stats.percentile(1.0))));
+        }
+        if (pinned == 0) {
+            out.append("(kein Pinning aufgezeichnet - oder Anwendung lief ohne Profil vthreads)\n");
+        }
+        return out.toString();
+    }
+
+    // Pfad eines eigenen Events, z.B. "ServiceCall MovieService.getAllMovies" oder "CacheLookup app-users-by-username (Treffer)"
+    private static String pathOf(RecordedEvent event) {
+        String type = event.getEventType().getName().substring(EVENT_PREFIX.length());
+        return switch (type) {
+            case "ServiceCall" -> type + " " + event.getString("service") + "." + event.getString("method")
+                    + (event.getBoolean("failed") ? " (Fehler)" : "");
+            case "MapperConversion" -> type + " " + event.getString("mapper") + "." + event.getString("conversion");
+            case "CacheLookup" -> type + " " + event.getString("region")
+                    + (event.getBoolean("hit") ? " (Treffer)" : " (Fehlzugriff)");
+            case "JwtVerification" -> type + " " + event.getString("outcome");
+            default -> type;
+        };
+    }
+
+    // Die obersten Frames im eigenen Code (PATH_DEPTH), z.B. "MovieMapper.convert <- MovieService.getAllMovies"
+    private static String applicationPath(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(ohne Stacktrace)";
+        }
+        List<String> frames = new ArrayList<>();
+        String topFrame = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            String method = simpleName(type) + "." + frame.getMethod().getName();
+            if (topFrame == null) {
+                topFrame = method;
+            }
+            // Generierte Proxies (CGLIB, $$SpringCGLIB$$) sind keine eigenen Aufrufe
+            if (type.startsWith(APPLICATION_PACKAGE) && !type.contains("$$")
+                    && (frames.isEmpty() || !frames.get(frames.size() - 1).equals(method))) {
+                frames.add(method);
+                if (frames.size() == PATH_DEPTH) {
+                    break;
+                }
+            }
+        }
+        if (frames.isEmpty()) {
+            // Kein eigener Code beteiligt (z.B. GC-Hilfe, Tomcat, Hibernate im Hintergrund)
+            return "[JVM/Framework] " + topFrame;
+        }
+        return String.join(" <- ", frames);
+    }
+
+    // Erster Frame ausserhalb des JDK (z.B. org.h2.engine.SessionLocal.lock), danach die eigene Aufrufkette
+    private static String pinnedPath(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(ohne Stacktrace)";
+        }
+        String trigger = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (frame.isJavaFrame() && !type.startsWith("java.") && !type.startsWith("jdk.")) {
+                trigger = simpleName(type) + "." + frame.getMethod().getName();
+                break;
+            }
+        }
+        String application = applicationPath(stackTrace);
+        return trigger == null || application.startsWith(trigger) ? application : trigger + " <- " + application;
+    }
+
+    private static <T> List<Map.Entry<String, T>> sorted(Map<String, T> paths, Comparator<T> order, int top) {
+        return paths.entrySet().stream()
+                .sorted(Map.Entry.<String, T>comparingByValue(order).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    private static String simpleName(String type) {
+        return type.substring(type.lastIndexOf('.') + 1);
+    }
+
+    private static String shorten(String text, int width) {
+        return text.length() <= width ? text : text.substring(0, width - 3) + "...";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // Anzahl und Dauern eines Pfads (Dauern werden für das Perzentil gesammelt)
+    private static final class Stats {
+        private long[] durations = new long[16];
+        private int count;
+        private long totalNanos;
+
+        void add(long nanos) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = nanos;
+            totalNanos += nanos;
+        }
+
+        long count() {
+            return count;
+        }
+
+        long totalNanos() {
+            return totalNanos;
+        }
+
+        long percentile(double quantile) {
+            long[] values = Arrays.copyOf(durations, count);
+            Arrays.sort(values);
+            return values[Math.max(0, (int) Math.ceil(quantile * count) - 1)];
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.wiss.cinebase.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-Memory-Wörterbuch der Genres (id <-> Name), geladen aus der Tabelle genres.
+ * ! Interner: Jeder Genre-Name existiert genau EINMAL im Speicher. Alle geladenen Filme
+ * verweisen auf dieselbe String-Instanz (siehe GenreConverter), statt pro Zeile eine Kopie zu halten.
+ * Thread-Safety: Lesezugriffe ohne Lock auf einem unveränderlichen Snapshot (volatile),
+ * nur das Neuladen ist gesperrt.
+ * ! Bewusst JdbcTemplate statt JPA: Der Converter wird von Hibernate selbst aufgerufen (u.a. beim Flush).
+ * Unbekannte Namen (evtl. von einer anderen Instanz angelegt) lösen höchstens einmal pro Sekunde ein Neuladen aus.
+ * Unbekannte IDs stammen aus der Datenbank (Fremdschlüssel) und existieren sicher -> immer neu laden.
+ * In einer laufenden Transaktion angelegte Genres sind bis zum Commit nur in dieser Transaktion sichtbar (registerPending).
+ */
+@Component
+public class GenreDictionary {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final long MISS_RELOAD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // ReentrantLock statt synchronized: reload() wartet auf JDBC, ein synchronized-Block würde
+    // bei Virtual Threads den Carrier-Thread blockieren (Pinning).
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // null = noch nicht geladen (erst beim ersten Zugriff, wenn Flyway sicher gelaufen ist)
+    private volatile Snapshot snapshot;
+
+    public GenreDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Liefert die ID zu einem Genre-Namen (exakter Vergleich) oder null, falls unbekannt.
+     */
+    public Short idOf(String name) {
+        Snapshot current = snapshot();
+        Short id = current.idsByName().get(name);
+        if (id == null) {
+            Pending pending = pending();
+            id = pending != null ? pending.idsByName().get(name) : null;
+        }
+        if (id == null) {
+            id = reloadAfterMiss(current, MISS_RELOAD_INTERVAL_NANOS).idsByName().get(name);
+        }
+        return id;
+    }
+
+    /**
+     * Liefert den (internierten) Namen zu einer Genre-ID oder null, falls unbekannt.
+     */
+    public String nameOf(short id) {
+        Snapshot current = snapshot();
+        String name = current.nameAt(id);
+        if (name == null) {
+            Pending pending = pending();
+            name = pending != null ? pending.namesById().get(id) : null;
+        }
+        if (name == null) {
+            name = reloadAfterMiss(current, 0).nameAt(id);
+        }
+        return name;
+    }
+
+    /**
+     * Macht ein in der laufenden Transaktion angelegtes Genre bekannt.
+     * Bis zum Commit sieht es nur diese Transaktion (z.B. der GenreConverter beim Flush),
+     * nach einem Rollback wird es verworfen. Ohne Transaktion ist das Genre bereits committet.
+     */
+    public void registerPending(short id, String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(Map.of(id, name));
+            return;
+        }
+        Pending pending = pending();
+        if (pending == null) {
+            Pending created = new Pending(new HashMap<>(), new HashMap<>());
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(GenreDictionary.this);
+                    if (status == STATUS_COMMITTED) {
+                        publish(created.namesById());
+                    }
+                }
+            });
+            pending = created;
+        }
+        pending.idsByName().put(name, id);
+        pending.namesById().put(id, name);
+    }
+    /**
+     * Alle Genres, sortiert nach ID.
+     */
+    public List<Map.Entry<Short, String>> all() {
+        String[] names = snapshot().namesById();
+        List<Map.Entry<Short, String>> genres = new ArrayList<>();
+        for (int id = 0; id < names.length; id++) {
+            if (names[id] != null) {
+                genres.add(Map.entry((short) id, names[id]));
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * Lädt das Wörterbuch neu (nach Umbenennen oder Zusammenführen von Genres).
+     */
+    public Snapshot reload() {
+        reloadLock.lock();
+        try {
+            return load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Nur neu laden, wenn seit dem Lesen niemand neu geladen hat und der letzte Stand älter als minAgeNanos ist.
+    // Sonst würde jeder unbekannte Name (z.B. ein Tippfehler im Import) eine Abfrage auslösen.
+    private Snapshot reloadAfterMiss(Snapshot seen, long minAgeNanos) {
+        reloadLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != seen || System.nanoTime() - current.loadedAt() < minAgeNanos) {
+                return current;
+            }
+            return load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Committete Genres ohne Datenbankabfrage in einen neuen Snapshot übernehmen
+    private void publish(Map<Short, String> genres) {
+        reloadLock.lock();
+        try {
+            Snapshot current = snapshot();
+            int maxId = genres.keySet().stream().mapToInt(Short::intValue).max().orElse(-1);
+            String[] namesById = Arrays.copyOf(current.namesById(), Math.max(current.namesById().length, maxId + 1));
+            Map<String, Short> idsByName = new HashMap<>(current.idsByName());
+            genres.forEach((id, name) -> {
+                if (!name.equals(namesById[id])) {
+                    namesById[id] = name;
+                    idsByName.put(name, id);
+                }
+            });
+            snapshot = new Snapshot(namesById, idsByName, current.loadedAt());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Aufrufer hält reloadLock
+    private Snapshot load() {
+        List<Map.Entry<Short, String>> rows = jdbcTemplate.query("SELECT id, name FROM genres",
+                (rs, rowNum) -> Map.entry(rs.getShort("id"), rs.getString("name")));
+
+        int maxId = rows.stream().mapToInt(Map.Entry::getKey).max().orElse(-1);
+        String[] namesById = new String[maxId + 1];
+        Map<String, Short> idsByName = new HashMap<>(rows.size() * 2);
+        for (Map.Entry<Short, String> row : rows) {
+            // Bereits bekannte Instanz wiederverwenden (Filme im Cache halten noch die alte Referenz)
+            String name = row.getValue();
+            Snapshot current = snapshot;
+            if (current != null && name.equals(current.nameAt(row.getKey()))) {
+                name = current.nameAt(row.getKey());
+            }
+            namesById[row.getKey()] = name;
+            idsByName.put(name, row.getKey());
+        }
+        Snapshot loaded = new Snapshot(namesById, idsByName, System.nanoTime());
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private Pending pending() {
+        return (Pending) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Unveränderlicher Stand des Wörterbuchs.
+     * ! Array statt Map für id -> Name: Die IDs sind klein und dicht (SMALLINT), der Zugriff ist ein Indexzugriff.
+     */
+    record Snapshot(String[] namesById, Map<String, Short> idsByName, long loadedAt) {
+
+        String nameAt(short id) {
+            return id >= 0 && id < namesById.length ? namesById[id] : null;
+        }
+    }
+
+    /**
+     * Genres, die in der laufenden Transaktion angelegt, aber noch nicht committet sind.
+     */
+    private record Pending(Map<Short, String> namesById, Map<String, Short> idsByName) {
+    }
+}
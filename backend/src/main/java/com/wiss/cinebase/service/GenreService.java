@@ -0,0 +1,119 @@
+package com.wiss.cinebase.service;
+
+// Importiert DTOs, Entities und Exceptions.
+import com.wiss.cinebase.dto.GenreDTO;
+import com.wiss.cinebase.entity.Movie;
+import com.wiss.cinebase.exception.GenreNotFoundException;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Service für die Genre-Nachschlagetabelle.
+ * Verantwortlichkeiten:
+ * - Genres beim Speichern von Filmen bei Bedarf anlegen (resolveOrCreate).
+ * - Umbenennen (1 Zeile in genres) und Zusammenführen (Filme auf das Ziel-Genre umhängen).
+ * - GenreDictionary und Caches nach Änderungen aktualisieren.
+ */
+@Service
+public class GenreService {
+
+    private final GenreDictionary genreDictionary;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogResponseCache catalogResponseCache;
+
+    public GenreService(GenreDictionary genreDictionary,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        EntityManagerFactory entityManagerFactory,
+                        CatalogResponseCache catalogResponseCache) {
+        this.genreDictionary = genreDictionary;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogResponseCache = catalogResponseCache;
+        // Eigene Transaktion für renameGenre: Wörterbuch und Caches werden erst nach dem Commit aktualisiert.
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Liefert alle Genres, sortiert nach ID (z.B. für eine Auswahlliste im Frontend).
+     */
+    public List<GenreDTO> getAllGenres() {
+        return genreDictionary.all().stream()
+                .map(entry -> new GenreDTO(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Liefert den kanonischen Genre-Namen und legt das Genre an, falls es noch nicht existiert.
+     * Muss vor dem Speichern eines Films aufgerufen werden (der GenreConverter kennt nur vorhandene Genres).
+     * ! Läuft in der Transaktion des Aufrufers: Ein neues Genre wird mit dem Film committet oder zurückgerollt.
+     * Eine eigene Transaktion (REQUIRES_NEW) bräuchte eine zweite Verbindung, während die erste belegt bleibt.
+     * Unter dem ConnectionGuard konnten sich so alle Requests gegenseitig blockieren.
+     * @param name Genre-Name aus der Anfrage (wird getrimmt)
+     * @return Die internierte Instanz des Namens aus dem GenreDictionary
+     */
+    public String resolveOrCreate(String name) {
+        String trimmed = name.trim();
+        Short id = genreDictionary.idOf(trimmed);
+        if (id == null) {
+            // Legt ein anderer Request dasselbe Genre gleichzeitig an, wartet das INSERT auf dessen Commit
+            // und fügt nichts ein. Das SELECT liefert danach in beiden Fällen die ID.
+            jdbcTemplate.update("INSERT INTO genres (name) VALUES (?) ON CONFLICT DO NOTHING", trimmed);
+            id = jdbcTemplate.queryForObject("SELECT id FROM genres WHERE name = ?", Short.class, trimmed);
+            genreDictionary.registerPending(id, trimmed);
+        }
+        return genreDictionary.nameOf(id);
+    }
+
+    /**
+     * Benennt ein Genre um. Existiert der neue Name bereits, werden beide Genres zusammengeführt.
+     * ! Performance: Umbenennen ist EIN Update auf genres (die Filme speichern nur die ID).
+     * Beim Zusammenführen werden nur die Filme des Quell-Genres umgehängt (inkl. neuer Version/ETag).
+     * @param id ID des umzubenennenden Genres
+     * @param newName Neuer Name (bzw. Name des Ziel-Genres)
+     * @return Das resultierende Genre (beim Zusammenführen das Ziel-Genre)
+     */
+    public GenreDTO renameGenre(Short id, String newName) {
+        String name = newName.trim();
+        if (genreDictionary.nameOf(id) == null) {
+            throw new GenreNotFoundException(id);
+        }
+
+        Short existingId = genreDictionary.idOf(name);
+        short resultId = existingId != null ? existingId : id;
+        newTransaction.executeWithoutResult(status -> {
+            if (resultId == id) {
+                jdbcTemplate.update("UPDATE genres SET name = ? WHERE id = ?", name, id);
+            } else {
+                jdbcTemplate.update("UPDATE movies SET genre_id = ?, version = version + 1 WHERE genre_id = ?", resultId, id);
+                jdbcTemplate.update("DELETE FROM genres WHERE id = ?", id);
+            }
+        });
+
+        genreDictionary.reload();
+        evictMovieCaches();
+        return new GenreDTO(resultId, genreDictionary.nameOf(resultId));
+    }
+
+    /**
+     * Verwirft gecachte Filme, Katalog-Abfragen und die Filmliste nach Änderungen an Hibernate vorbei (JDBC),
+     * z.B. Umbenennen von Genres oder Katalogimport.
+     * ! Nur nach dem Commit aufrufen (invalidate() statt invalidateAfterCommit()).
+     */
+    public void evictMovieCaches() {
+        entityManagerFactory.getCache().evict(Movie.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        catalogResponseCache.invalidate();
+    }
+}
@@ -5,6 +5,9 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+// Service-Timer (Micrometer, siehe MetricsConfig)
+import com.wiss.cinebase.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
 // Importiert Spring Value Annotation zum Lesen aus application.properties.
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -23,6 +26,7 @@ import java.util.function.Function;
  * - Validieren und Auslesen von Tokens bei Requests.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER) // Laufzeit jeder öffentlichen Methode (Tags class + method), siehe MetricsConfig
 public class JwtService {
 
     @Value("${jwt.secret}")
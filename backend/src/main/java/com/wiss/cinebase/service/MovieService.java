@@ -1,12 +1,15 @@
 package com.wiss.cinebase.service;
 
 // Importiert DTOs für den Datentransfer zwischen Controller und Service.
+import com.wiss.cinebase.dto.MovieBulkDeleteResultDTO;
 import com.wiss.cinebase.dto.MovieDTO;
+import com.wiss.cinebase.dto.MoviePatchDTO;
 // Importiert Entities für die Datenbankinteraktion.
 import com.wiss.cinebase.entity.AppUser;
 import com.wiss.cinebase.entity.Movie;
 // Importiert Exceptions für Fehlerbehandlung.
 import com.wiss.cinebase.exception.MovieNotFoundException;
+import com.wiss.cinebase.exception.MovieVersionMismatchException;
 // Importiert Mapper zur Umwandlung von Entity <-> DTO.
 import com.wiss.cinebase.mapper.MovieMapper;
 // Importiert Repositories für Datenzugriff.
@@ -14,6 +17,10 @@ import com.wiss.cinebase.repository.AppUserRepository;
 import com.wiss.cinebase.repository.MovieRepository;
 import com.wiss.cinebase.repository.ReviewRepository;
 
+// Service-Timer (Micrometer, siehe MetricsConfig)
+import com.wiss.cinebase.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 // Importiert Security-Klassen für den Zugriff auf den eingeloggten User.
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -21,7 +28,11 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -33,19 +44,26 @@ import java.util.stream.Collectors;
  * - Integration von Durchschnittsbewertungen aus dem ReviewRepository.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER) // Laufzeit jeder öffentlichen Methode (Tags class + method), siehe MetricsConfig
 @Transactional // ! Jede Methode läuft in einer Transaktion (ACID-Prinzip: Alles oder nichts).
 public class MovieService {
 
     private final MovieRepository movieRepository;
     private final AppUserRepository appUserRepository;
     private final ReviewRepository reviewRepository;
+    private final GenreService genreService;
+    private final CatalogResponseCache catalogResponseCache;
 
     public MovieService(MovieRepository movieRepository,
                         AppUserRepository appUserRepository,
-                        ReviewRepository reviewRepository) {
+                        ReviewRepository reviewRepository,
+                        GenreService genreService,
+                        CatalogResponseCache catalogResponseCache) {
         this.movieRepository = movieRepository;
         this.appUserRepository = appUserRepository;
         this.reviewRepository = reviewRepository;
+        this.genreService = genreService;
+        this.catalogResponseCache = catalogResponseCache;
     }
 
     /**
@@ -68,9 +86,13 @@ public class MovieService {
 
         // 3. Beziehung setzen (Film gehört zu diesem Admin)
         movie.setCreatedBy(currentUser);
+        // Genre in der Nachschlagetabelle auflösen (neue Genres werden angelegt)
+        movie.setGenre(genreService.resolveOrCreate(movieDTO.getGenre()));
 
         // 4. Speichern
         Movie savedMovie = movieRepository.save(movie);
+        // Vorkomprimierte Filmliste nach dem Commit verwerfen (siehe CatalogResponseCache)
+        catalogResponseCache.invalidateAfterCommit();
 
         return MovieMapper.toDTO(savedMovie);
     }
@@ -78,18 +100,22 @@ public class MovieService {
     /**
      * Ruft eine Liste aller verfügbaren Filme ab.
      * ! Performance: readOnly=true optimiert die Datenbankabfrage (kein Dirty Checking).
-     * ! Logik: Für jeden Film wird live der Durchschnittswert aus der Review-Tabelle berechnet.
+     * ! Logik: Die Durchschnittswerte aller Filme kommen live aus der Review-Tabelle,
+     * in einer einzigen Abfrage (GROUP BY) statt einer Abfrage pro Film (N+1).
      */
     @Transactional(readOnly = true)
     public List<MovieDTO> getAllMovies() {
+        Map<Long, Double> averages = new HashMap<>();
+        for (ReviewRepository.MovieAverageRating average : reviewRepository.getAverageRatings()) {
+            averages.put(average.getMovieId(), average.getAverage());
+        }
         return movieRepository.findAll().stream()
                 .map(movie -> {
                     // Entity zu DTO
                     MovieDTO dto = MovieMapper.toDTO(movie);
 
-                    // Durchschnittsbewertung laden (Quelle: Block 05B Custom Queries)
-                    Double avg = reviewRepository.getAverageRatingForMovie(movie.getId());
-                    dto.setAverageRating(avg != null ? avg : 0.0);
+                    // Durchschnittsbewertung (Quelle: Block 05B Custom Queries), 0.0 ohne Reviews
+                    dto.setAverageRating(averages.getOrDefault(movie.getId(), 0.0));
 
                     return dto;
                 })
@@ -114,33 +140,87 @@ public class MovieService {
     }
 
     /**
-     * Aktualisiert einen bestehenden Film.
+     * Aktualisiert einen bestehenden Film, sofern die Version noch stimmt (wie patchMovie).
+     * @param expectedVersion Die Version aus dem If-Match-Header
      */
-    public MovieDTO updateMovie(Long id, MovieDTO movieDTO) {
+    public MovieDTO updateMovie(Long id, long expectedVersion, MovieDTO movieDTO) {
         Movie existingMovie = movieRepository.findById(id)
                 .orElseThrow(() -> new MovieNotFoundException(id));
+        if (existingMovie.getVersion() == null || existingMovie.getVersion() != expectedVersion) {
+            throw new MovieVersionMismatchException(id);
+        }
 
         // Felder aktualisieren
         existingMovie.setTitle(movieDTO.getTitle());
         existingMovie.setDescription(movieDTO.getDescription());
-        existingMovie.setGenre(movieDTO.getGenre());
+        existingMovie.setGenre(genreService.resolveOrCreate(movieDTO.getGenre()));
         existingMovie.setReleaseYear(movieDTO.getReleaseYear());
         existingMovie.setDirector(movieDTO.getDirector());
         existingMovie.setRating(movieDTO.getRating()); // Basis-Rating der Jury
 
         // Speichern (explizit, obwohl @Transactional Dirty Checking macht)
-        Movie updatedMovie = movieRepository.save(existingMovie);
+        // ! saveAndFlush: Die Version wird erst beim Flush erhöht, die Antwort (ETag) soll aber die neue enthalten.
+        // Ändert ein anderer Admin den Film zwischen Laden und Flush, schlägt das UPDATE ... AND version = ? fehl
+        Movie updatedMovie;
+        try {
+            updatedMovie = movieRepository.saveAndFlush(existingMovie);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new MovieVersionMismatchException(id);
+        }
+        catalogResponseCache.invalidateAfterCommit();
         return MovieMapper.toDTO(updatedMovie);
     }
 
+    /**
+     * Ändert nur die gesendeten Felder eines Films, sofern die Version noch stimmt.
+     * ! Performance & Konsistenz: Ein einziges UPDATE ... WHERE id = ? AND version = ?, kein vorheriges Laden.
+     * Nur wenn nichts aktualisiert wurde, prüft eine zweite Abfrage, ob der Film überhaupt existiert (404 vs. 412).
+     * @param id Die ID des Films
+     * @param expectedVersion Die Version aus dem If-Match-Header
+     * @param patch Die zu ändernden Felder (nicht gesendet = unverändert, Beschreibung null = entfernen)
+     * @return Die neue Version (für den ETag der Antwort)
+     */
+    public long patchMovie(Long id, long expectedVersion, MoviePatchDTO patch) {
+        int updated = movieRepository.patchIfVersionMatches(id, expectedVersion,
+                patch.getTitle(), patch.getDescription(), patch.isDescriptionSent(),
+                patch.getGenre() != null ? genreService.resolveOrCreate(patch.getGenre()) : null,
+                patch.getReleaseYear(), patch.getDirector(), patch.getRating());
+
+        if (updated == 0) {
+            if (!movieRepository.existsById(id)) {
+                throw new MovieNotFoundException(id);
+            }
+            throw new MovieVersionMismatchException(id);
+        }
+        catalogResponseCache.invalidateAfterCommit();
+        return expectedVersion + 1;
+    }
+
     /**
      * Löscht einen Film unwiderruflich.
      */
     public void deleteMovie(Long id) {
-        if (!movieRepository.existsById(id)) {
+        // ! Performance: Zwei set-basierte DELETEs statt Cascade über Movie.reviews
+        // (das würde jedes Review in den Speicher laden und einzeln löschen).
+        if (deleteMovies(List.of(id)).getDeletedMovies() == 0) {
             throw new MovieNotFoundException(id);
         }
-        // ! Dank CascadeType.ALL in der Entity werden auch alle Reviews gelöscht.
-        movieRepository.deleteById(id);
+    }
+
+    /**
+     * Löscht mehrere Filme inkl. ihrer Reviews in einer Transaktion.
+     * Unbekannte IDs werden ignoriert (siehe deletedMovies im Ergebnis).
+     * Caches bleiben konsistent: Hibernate leert die Region "movies" und invalidiert den Query-Cache.
+     * Durchschnittsbewertungen werden ohnehin live per AVG berechnet, die vorkomprimierte Filmliste wird verworfen.
+     * @param ids Die IDs der zu löschenden Filme
+     * @return Anzahl angefragter, gelöschter Filme und mitgelöschter Reviews
+     */
+    public MovieBulkDeleteResultDTO deleteMovies(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        // Reviews zuerst (Foreign Key fk_reviews_movie), danach die Filme.
+        int deletedReviews = reviewRepository.bulkDeleteByMovieIds(uniqueIds);
+        int deletedMovies = movieRepository.bulkDeleteByIds(uniqueIds);
+        catalogResponseCache.invalidateAfterCommit();
+        return new MovieBulkDeleteResultDTO(uniqueIds.size(), deletedMovies, deletedReviews);
     }
 }
\ No newline at end of file
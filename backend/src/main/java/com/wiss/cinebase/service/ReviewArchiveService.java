@@ -0,0 +1,336 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.ReviewPartitionProperties;
+import com.wiss.cinebase.dto.ReviewArchiveDTO;
+import com.wiss.cinebase.dto.ReviewDTO;
+import com.wiss.cinebase.exception.ReviewArchiveNotFoundException;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Dateiablage der archivierten Review-Jahrgänge.
+ * Format: gzip-komprimiertes NDJSON (1 ReviewDTO pro Zeile), sortiert nach movie_id.
+ * - Die Reviews jedes Films bilden ein eigenes gzip-Member. Die Datei bleibt normales gzip (zcat liest alle Member),
+ *   ein einzelner Film lässt sich aber ohne den Rest entpacken.
+ * - Daneben liegt ein Index (.idx): movie_id -> Position und Länge des Members. Eine Abfrage liest nur dieses Member.
+ * Dateiname: reviews_y{Jahrgang}-{Tabellen-OID}.ndjson.gz (+ .idx)
+ * - Die OID der detachten Partition macht den Export wiederholbar (Abbruch vor dem DROP -> gleiche Datei).
+ * - Wird ein archivierter Jahrgang erneut befüllt (z.B. Testdaten), entsteht eine weitere Datei.
+ */
+@Service
+public class ReviewArchiveService {
+
+    private static final Pattern FILE_NAME = Pattern.compile(
+            ReviewPartitionService.PARTITION_PREFIX + "(\\d{4})-(\\d+)\\.ndjson\\.gz");
+    private static final String DATA_SUFFIX = ".ndjson.gz";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path archiveDir;
+    private final ObjectMapper objectMapper;
+    // Archive ändern sich nach dem Schreiben nicht mehr: Index einmal laden (pro Film ca. 20 Byte)
+    private final Map<Path, ArchiveIndex> indexes = new ConcurrentHashMap<>();
+
+    public ReviewArchiveService(ReviewPartitionProperties properties, ObjectMapper objectMapper) {
+        this.archiveDir = properties.archiveDir();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Nimmt die Reviews eines Jahrgangs entgegen, sortiert nach movie_id.
+     */
+    @FunctionalInterface
+    public interface ArchiveWriter {
+        void write(ReviewDTO review) throws IOException;
+    }
+
+    /**
+     * Callback, der die Reviews eines Jahrgangs in den Writer schreibt (z.B. aus einem JDBC-ResultSet).
+     */
+    @FunctionalInterface
+    public interface ArchiveContent {
+        long writeTo(ArchiveWriter writer) throws Exception;
+    }
+
+    /**
+     * Schreibt ein Archiv atomar: erst in temporäre Dateien, nach Erfolg umbenennen (Index vor den Daten).
+     * @return Anzahl geschriebener Reviews
+     */
+    public long write(int edition, long partitionOid, ArchiveContent content) throws Exception {
+        Files.createDirectories(archiveDir);
+        Path target = archiveDir.resolve(ReviewPartitionService.PARTITION_PREFIX + edition + "-" + partitionOid + DATA_SUFFIX);
+        Path index = indexPath(target);
+        Path temp = archiveDir.resolve(target.getFileName() + ".tmp");
+        Path tempIndex = archiveDir.resolve(index.getFileName() + ".tmp");
+        long written;
+        try (MemberWriter writer = new MemberWriter(Files.newOutputStream(temp), objectMapper.writerFor(ReviewDTO.class))) {
+            written = content.writeTo(writer);
+            writer.finish();
+            writer.index().writeTo(tempIndex);
+        } catch (Exception e) {
+            Files.deleteIfExists(temp);
+            Files.deleteIfExists(tempIndex);
+            throw e;
+        }
+        // Ohne Index (Abbruch zwischen den beiden move) liest getArchivedReviewsByMovie die ganze Datei
+        Files.move(tempIndex, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexes.remove(target);
+        return written;
+    }
+
+    /**
+     * Listet alle archivierten Jahrgänge (aufsteigend).
+     */
+    public List<ReviewArchiveDTO> listArchives() {
+        Map<Integer, List<Path>> files = filesByEdition();
+        List<ReviewArchiveDTO> archives = new ArrayList<>();
+        files.forEach((edition, paths) -> archives.add(new ReviewArchiveDTO(edition, paths.size(), size(paths))));
+        return archives;
+    }
+
+    /**
+     * Liest die archivierten Reviews eines Films aus einem Jahrgang.
+     * ! Über den Index wird nur das gzip-Member des Films gelesen und entpackt, nicht die ganze Datei.
+     */
+    public List<ReviewDTO> getArchivedReviewsByMovie(int edition, Long movieId) {
+        List<Path> paths = filesByEdition().get(edition);
+        if (paths == null) {
+            throw new ReviewArchiveNotFoundException(edition);
+        }
+        List<ReviewDTO> reviews = new ArrayList<>();
+        for (Path path : paths) {
+            try {
+                ArchiveIndex index = index(path);
+                if (index == null) {
+                    scan(path, movieId, reviews);
+                    continue;
+                }
+                int entry = index.find(movieId);
+                if (entry >= 0) {
+                    read(path, index.offsets[entry], index.lengths[entry], reviews);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Review-Archiv nicht lesbar: " + path.getFileName(), e);
+            }
+        }
+        return reviews;
+    }
+
+    private ArchiveIndex index(Path path) throws IOException {
+        ArchiveIndex index = indexes.get(path);
+        if (index == null) {
+            try {
+                index = ArchiveIndex.readFrom(indexPath(path));
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+            indexes.put(path, index);
+        }
+        return index;
+    }
+
+    // Liest genau ein gzip-Member (die Reviews eines Films)
+    private void read(Path path, long offset, int length, List<ReviewDTO> reviews) throws IOException {
+        ByteBuffer member = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(path)) {
+            while (member.hasRemaining()) {
+                if (channel.read(member, offset + member.position()) < 0) {
+                    throw new IOException("Archiv kürzer als im Index angegeben");
+                }
+            }
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(member.array()));
+             MappingIterator<ReviewDTO> iterator = objectMapper.readerFor(ReviewDTO.class).readValues(in)) {
+            while (iterator.hasNext()) {
+                reviews.add(iterator.next());
+            }
+        }
+    }
+
+    // Ohne Index: Datei streamen, nach dem letzten Review des Films abbrechen (sortiert nach movie_id)
+    private void scan(Path path, Long movieId, List<ReviewDTO> reviews) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path), BUFFER_BYTES);
+             MappingIterator<ReviewDTO> iterator = objectMapper.readerFor(ReviewDTO.class).readValues(in)) {
+            while (iterator.hasNext()) {
+                ReviewDTO review = iterator.next();
+                int order = review.getMovieId().compareTo(movieId);
+                if (order == 0) {
+                    reviews.add(review);
+                } else if (order > 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private static Path indexPath(Path data) {
+        String name = data.getFileName().toString();
+        return data.resolveSibling(name.substring(0, name.length() - DATA_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private Map<Integer, List<Path>> filesByEdition() {
+        Map<Integer, List<Path>> files = new TreeMap<>();
+        if (!Files.isDirectory(archiveDir)) {
+            return files;
+        }
+        try (Stream<Path> paths = Files.list(archiveDir)) {
+            paths.sorted().forEach(path -> {
+                Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.computeIfAbsent(Integer.parseInt(matcher.group(1)), edition -> new ArrayList<>()).add(path);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archivverzeichnis nicht lesbar: " + archiveDir, e);
+        }
+        return files;
+    }
+
+    private static long size(List<Path> paths) {
+        long size = 0;
+        for (Path path : paths) {
+            try {
+                size += Files.size(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Schreibt die Reviews jedes Films als eigenes gzip-Member und merkt sich dessen Position für den Index.
+     */
+    private static final class MemberWriter implements ArchiveWriter, AutoCloseable {
+
+        private final OutputStream out;
+        private final ObjectWriter jsonWriter;
+        private final ByteArrayOutputStream member = new ByteArrayOutputStream(BUFFER_BYTES);
+        private final List<long[]> entries = new ArrayList<>(); // movie_id, Position, Länge
+        private GZIPOutputStream gzip;
+        private Long movieId;
+        private long position;
+
+        MemberWriter(OutputStream out, ObjectWriter jsonWriter) {
+            this.out = new BufferedOutputStream(out, BUFFER_BYTES);
+            this.jsonWriter = jsonWriter;
+        }
+
+        @Override
+        public void write(ReviewDTO review) throws IOException {
+            if (movieId == null || !movieId.equals(review.getMovieId())) {
+                if (movieId != null && review.getMovieId() < movieId) {
+                    throw new IllegalStateException("Reviews nicht nach movie_id sortiert: " + review.getMovieId()
+                            + " nach " + movieId);
+                }
+                finishMember();
+                movieId = review.getMovieId();
+                gzip = new GZIPOutputStream(member);
+            }
+            gzip.write(jsonWriter.writeValueAsBytes(review));
+            gzip.write('\n');
+        }
+
+        void finish() throws IOException {
+            finishMember();
+            out.flush();
+        }
+
+        ArchiveIndex index() {
+            ArchiveIndex index = new ArchiveIndex(new long[entries.size()], new long[entries.size()], new int[entries.size()]);
+            for (int i = 0; i < entries.size(); i++) {
+                index.movieIds[i] = entries.get(i)[0];
+                index.offsets[i] = entries.get(i)[1];
+                index.lengths[i] = (int) entries.get(i)[2];
+            }
+            return index;
+        }
+
+        private void finishMember() throws IOException {
+            if (gzip == null) {
+                return;
+            }
+            gzip.close(); // Schliesst nur das Member, der ByteArrayOutputStream bleibt nutzbar
+            gzip = null;
+            member.writeTo(out);
+            entries.add(new long[]{movieId, position, member.size()});
+            position += member.size();
+            member.reset();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (gzip != null) {
+                gzip.close();
+            }
+            out.close();
+        }
+    }
+
+    /**
+     * Index eines Archivs: movie_id (aufsteigend) -> Position und Länge des gzip-Members.
+     * Dateiformat: Anzahl Einträge, danach je movie_id (long), Position (long), Länge (int).
+     */
+    private record ArchiveIndex(long[] movieIds, long[] offsets, int[] lengths) {
+
+        int find(long movieId) {
+            return Arrays.binarySearch(movieIds, movieId);
+        }
+
+        void writeTo(Path path) throws IOException {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+                out.writeInt(movieIds.length);
+                for (int i = 0; i < movieIds.length; i++) {
+                    out.writeLong(movieIds[i]);
+                    out.writeLong(offsets[i]);
+                    out.writeInt(lengths[i]);
+                }
+            }
+        }
+
+        static ArchiveIndex readFrom(Path path) throws IOException {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                int entries = in.readInt();
+                ArchiveIndex index = new ArchiveIndex(new long[entries], new long[entries], new int[entries]);
+                for (int i = 0; i < entries; i++) {
+                    index.movieIds[i] = in.readLong();
+                    index.offsets[i] = in.readLong();
+                    index.lengths[i] = in.readInt();
+                }
+                return index;
+            }
+        }
+    }
+}
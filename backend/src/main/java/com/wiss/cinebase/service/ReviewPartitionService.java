@@ -0,0 +1,225 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.ReviewPartitionProperties;
+import com.wiss.cinebase.dto.ReviewArchiveDTO;
+import com.wiss.cinebase.dto.ReviewDTO;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Verwaltet die Jahrgangs-Partitionen der Tabelle reviews (V8__reviews_partitioning, nur PostgreSQL).
+ * - Legt die Partitionen des aktuellen und der nächsten Jahrgänge an (beim Start und täglich).
+ * - Archiviert Jahrgänge ausserhalb der Aufbewahrung: DETACH -> Export (ReviewArchiveService) -> DROP.
+ *   ! DETACH + DROP statt DELETE: Kein Aufblähen der Tabelle, kein VACUUM, der aktuelle Jahrgang bleibt unberührt.
+ * Ohne Partitionierung (z.B. H2 in den Tests) sind alle Methoden wirkungslos.
+ */
+@Service
+public class ReviewPartitionService {
+
+    // Namensschema der Partitionen (wie in V8): reviews_y2025 enthält created_at im Jahr 2025.
+    static final String PARTITION_PREFIX = "reviews_y";
+    // Schlüssel des Advisory Locks: Bei mehreren Instanzen archiviert nur eine.
+    private static final long MAINTENANCE_LOCK = 0x7265766965777331L;
+    private static final int EXPORT_FETCH_SIZE = 10_000;
+
+    private final DataSource dataSource;
+    private final ReviewArchiveService archiveService;
+    private final ReviewPartitionProperties properties;
+
+    public ReviewPartitionService(DataSource dataSource,
+                                  ReviewArchiveService archiveService,
+                                  ReviewPartitionProperties properties) {
+        this.dataSource = dataSource;
+        this.archiveService = archiveService;
+        this.properties = properties;
+    }
+
+    /**
+     * Stellt beim Start sicher, dass Reviews des aktuellen Jahrgangs eine Partition haben.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureCurrentEditions() throws SQLException {
+        int current = Year.now().getValue();
+        ensureEditions(current, current + properties.createAhead());
+    }
+
+    /**
+     * Tägliche Wartung (Cron: cinebase.reviews.partitioning.cron).
+     */
+    @Scheduled(cron = "${cinebase.reviews.partitioning.cron}")
+    public void maintain() throws Exception {
+        ensureCurrentEditions();
+        archiveExpiredEditions();
+    }
+
+    /**
+     * Legt fehlende Partitionen für die Jahrgänge from..to an (inkl. Index auf user_id, movie_id wie in V8).
+     * Jahrgangsübergreifend eindeutig sind (user_id, movie_id) über review_keys (V9), auch nach der Archivierung.
+     * Wird auch vom SyntheticDataLoader aufgerufen, dessen Reviews in beliebigen Jahren liegen können.
+     */
+    public void ensureEditions(int from, int to) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!isPartitioned(connection)) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (int edition = from; edition <= to; edition++) {
+                    String partition = PARTITION_PREFIX + edition;
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF reviews FOR VALUES FROM ('"
+                            + LocalDate.of(edition, 1, 1) + "') TO ('" + LocalDate.of(edition + 1, 1, 1) + "')");
+                    statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_" + partition + "_user_movie ON "
+                            + partition + " (user_id, movie_id)");
+                }
+            }
+        }
+    }
+
+    /**
+     * Archiviert alle Jahrgänge vor den letzten retainedEditions Jahrgängen.
+     * Auch Partitionen, die ein abgebrochener Lauf bereits detacht hat, werden hier fertig archiviert.
+     * @return Die in diesem Lauf archivierten Jahrgänge
+     */
+    public List<ReviewArchiveDTO> archiveExpiredEditions() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!isPartitioned(connection) || !tryLock(connection)) {
+                return List.of();
+            }
+            try {
+                int oldestRetained = Year.now().getValue() - Math.max(1, properties.retainedEditions()) + 1;
+                try (Statement statement = connection.createStatement()) {
+                    for (int edition : partitions(connection, true).keySet()) {
+                        if (edition < oldestRetained) {
+                            // Ab hier sieht die Anwendung den Jahrgang nicht mehr, Schreibzugriffe sind ausgeschlossen.
+                            statement.execute("ALTER TABLE reviews DETACH PARTITION " + PARTITION_PREFIX + edition);
+                            System.out.println("Review-Partition " + PARTITION_PREFIX + edition + " detacht");
+                        }
+                    }
+                }
+
+                List<ReviewArchiveDTO> archived = new ArrayList<>();
+                for (Map.Entry<Integer, Long> partition : partitions(connection, false).entrySet()) {
+                    archived.add(archive(connection, partition.getKey(), partition.getValue()));
+                }
+                return archived;
+            } finally {
+                unlock(connection);
+            }
+        }
+    }
+
+    private ReviewArchiveDTO archive(Connection connection, int edition, long oid) throws Exception {
+        String partition = PARTITION_PREFIX + edition;
+        long started = System.nanoTime();
+        connection.setAutoCommit(false); // PostgreSQL streamt (fetchSize) nur innerhalb einer Transaktion
+        try {
+            long expected;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + partition)) {
+                rs.next();
+                expected = rs.getLong(1);
+            }
+
+            // Sortiert nach Film: Das Archiv-Endpoint kann nach dem letzten Review eines Films abbrechen.
+            // Username statt user_id: Das Archiv bleibt lesbar, auch wenn der User später gelöscht wird.
+            long written = archiveService.write(edition, oid, writer -> {
+                long rows = 0;
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT r.id, u.username, r.movie_id, r.rating, r.comment, r.created_at FROM " + partition
+                                + " r LEFT JOIN app_users u ON u.id = r.user_id ORDER BY r.movie_id, r.id")) {
+                    statement.setFetchSize(EXPORT_FETCH_SIZE);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            Timestamp createdAt = rs.getTimestamp(6);
+                            writer.write(new ReviewDTO(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getInt(4),
+                                    rs.getString(5), createdAt.toLocalDateTime()));
+                            rows++;
+                        }
+                    }
+                }
+                return rows;
+            });
+            if (written != expected) {
+                throw new IllegalStateException("Archiv von " + partition + " unvollständig: " + written + " von " + expected);
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE " + partition);
+            }
+            connection.commit();
+            System.out.println("Review-Jahrgang " + edition + " archiviert: " + written + " Reviews in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms");
+        } catch (Exception e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return archiveService.listArchives().stream()
+                .filter(archive -> archive.getEdition() == edition)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    // Jahrgang -> OID der Partitionen: attached = an reviews angehängt, sonst = detacht (aber noch nicht gelöscht)
+    private static Map<Integer, Long> partitions(Connection connection, boolean attached) throws SQLException {
+        String sql = attached
+                ? "SELECT c.relname, c.oid FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'reviews'::regclass ORDER BY c.relname"
+                : "SELECT c.relname, c.oid FROM pg_class c WHERE c.relkind = 'r' AND NOT c.relispartition "
+                        + "AND c.relnamespace = current_schema()::regnamespace AND c.relname ~ '^" + PARTITION_PREFIX
+                        + "[0-9]{4}$' ORDER BY c.relname";
+        Map<Integer, Long> partitions = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                String name = rs.getString(1);
+                if (name.matches(PARTITION_PREFIX + "\\d{4}")) {
+                    partitions.put(Integer.parseInt(name.substring(PARTITION_PREFIX.length())), rs.getLong(2));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static boolean isPartitioned(Connection connection) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres")) {
+            return false;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('reviews'))")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_try_advisory_lock(" + MAINTENANCE_LOCK + ")")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_unlock(" + MAINTENANCE_LOCK + ")");
+        }
+    }
+}
@@ -21,6 +21,13 @@ import com.wiss.cinebase.repository.AppUserRepository;
 import com.wiss.cinebase.repository.MovieRepository;
 import com.wiss.cinebase.repository.ReviewRepository;
 
+// Service-Timer (Micrometer, siehe MetricsConfig)
+import com.wiss.cinebase.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+
+// Verletzter UNIQUE-Constraint (doppeltes Review, siehe V9__review_keys)
+import org.springframework.dao.DataIntegrityViolationException;
+
 // Importiert den SecurityContext, um den aktuell eingeloggten Benutzer zu ermitteln.
 // Quelle: Block 02B - Security Context
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -45,9 +52,12 @@ import java.util.List;
  * - SecurityContext (Block 02B): Ermittlung des aktuellen Users ohne Frontend-Parameter.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER) // Laufzeit jeder öffentlichen Methode (Tags class + method), siehe MetricsConfig
 @Transactional // ! Jede Methode läuft in einer Transaktion. Bei Fehlern erfolgt ein automatischer Rollback.
 public class ReviewService {
 
+    private static final String ALREADY_REVIEWED = "Sie haben diesen Film bereits bewertet!";
+
     private final ReviewRepository reviewRepository;
     private final MovieRepository movieRepository;
     private final AppUserRepository appUserRepository;
@@ -81,7 +91,7 @@ public class ReviewService {
 
         // 3. Validierung: Doppelte Bewertung verhindern (Block 05B Logik)
         if (reviewRepository.existsByUserIdAndMovieId(currentUser.getId(), movie.getId())) {
-            throw new IllegalArgumentException("Sie haben diesen Film bereits bewertet!");
+            throw new IllegalArgumentException(ALREADY_REVIEWED);
         }
 
         // 4. Mapping und Verknüpfung
@@ -91,7 +101,15 @@ public class ReviewService {
         review.setCreatedAt(LocalDateTime.now()); // ! Wichtig: Zeitstempel serverseitig setzen.
 
         // 5. Speichern
-        Review savedReview = reviewRepository.save(review);
+        // ! Die Prüfung oben sieht weder archivierte Jahrgänge noch gleichzeitige Requests desselben Users.
+        // Verbindlich ist der Constraint der Datenbank (uk_reviews_user_movie bzw. pk_review_keys, V9),
+        // flush sofort, damit die Verletzung hier ankommt und nicht erst beim Commit.
+        Review savedReview;
+        try {
+            savedReview = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException(ALREADY_REVIEWED, e);
+        }
 
         return ReviewMapper.toDTO(savedReview);
     }
@@ -108,6 +126,20 @@ public class ReviewService {
         return ReviewMapper.toDTOList(reviews);
     }
 
+    /**
+     * Lädt die Bewertungen eines Films aus einem Festival-Jahrgang (Kalenderjahr von createdAt).
+     * ! Liest dank Partition Pruning nur die Partition dieses Jahrgangs (V8__reviews_partitioning).
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewDTO> getReviewsByMovie(Long movieId, int edition) {
+        if (!movieRepository.existsById(movieId)) {
+            throw new MovieNotFoundException(movieId);
+        }
+        LocalDateTime from = LocalDateTime.of(edition, 1, 1, 0, 0);
+        List<Review> reviews = reviewRepository.findByMovieIdInPeriod(movieId, from, from.plusYears(1));
+        return ReviewMapper.toDTOList(reviews);
+    }
+
     /**
      * Berechnet die Durchschnittsbewertung für einen Film.
      */
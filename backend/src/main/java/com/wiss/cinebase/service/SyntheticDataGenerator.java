@@ -0,0 +1,345 @@
+package com.wiss.cinebase.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministischer Generator für synthetische Benchmark-Daten (User, Filme, Reviews).
+ * ! Gleicher Seed + gleiche Einstellungen = exakt dieselben Daten (reproduzierbare Benchmarks).
+ * Realistische Verteilung statt Gleichverteilung:
+ * - Popularität der Filme und Aktivität der User folgen einem Zipf-Gesetz (wenige Blockbuster / Power-User, lange Tail).
+ * - Zeitstempel kommen in Schüben: Die meisten Reviews entstehen kurz nach dem (fiktiven) Kinostart eines Films.
+ * - Die Bewertung hängt von einer versteckten "Qualität" des Films ab (Filme haben einen erkennbaren Durchschnitt).
+ * Bewusst ohne Spring und ohne DB: Wird vom SyntheticDataLoader genutzt und kann von Benchmarks direkt instanziert werden.
+ */
+public class SyntheticDataGenerator {
+
+    private static final List<String> GENRES = List.of(
+            "Drama", "Comedy", "Thriller", "Action", "Science Fiction", "Horror", "Romance", "Documentary",
+            "Animation", "Crime", "Adventure", "Fantasy", "Mystery", "Family", "War", "Western",
+            "Musical", "History", "Biography", "Sport");
+    private static final String[] TITLE_ADJECTIVES = {
+            "Silent", "Last", "Broken", "Hidden", "Golden", "Dark", "Endless", "Frozen", "Burning", "Lost",
+            "Final", "Secret", "Distant", "Crimson", "Hollow", "Wild", "Quiet", "Electric", "Fallen", "Bright"};
+    private static final String[] TITLE_NOUNS = {
+            "Horizon", "River", "Empire", "Signal", "Garden", "Harbor", "Machine", "Kingdom", "Shadow", "Voyage",
+            "Frontier", "Promise", "Station", "Winter", "Planet", "Witness", "Island", "Legacy", "Storm", "Mirror"};
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Luca", "Mia", "Noah", "Lea", "Elias", "Sara", "David", "Nina", "Jonas",
+            "Eva", "Milan", "Julia", "Tim", "Laura", "Leon", "Sofia", "Ben", "Clara", "Finn"};
+    private static final String[] LAST_NAMES = {
+            "Keller", "Meier", "Huber", "Brunner", "Frei", "Moser", "Graf", "Weber", "Baumann", "Fischer",
+            "Roth", "Zimmermann", "Bucher", "Steiner", "Gerber", "Wyss", "Kunz", "Suter", "Marti", "Frey"};
+    private static final String[] COMMENTS_LOW = {"Enttäuschend.", "Zu lang und zu vorhersehbar.", "Leider nichts für mich."};
+    private static final String[] COMMENTS_MID = {"Solide Unterhaltung.", "Gute Ideen, schwache Umsetzung.", "Kann man schauen."};
+    private static final String[] COMMENTS_HIGH = {"Grossartig!", "Ein Meisterwerk.", "Starke Bilder, starke Musik."};
+
+    // Anteil der Reviews, die im Schub nach dem Kinostart entstehen (Rest verteilt sich bis zum Ende).
+    private static final double BURST_SHARE = 0.7;
+    private static final long BURST_MEAN_SECONDS = 3L * 24 * 3600;
+
+    private final Settings settings;
+    private final IdBase idBase;
+    private final String[] genreNames;
+
+    // Pro Film vorberechnet (Index = Film-Nr. 0..movies-1), damit Reviews unabhängig von den Filmzeilen erzeugt werden können.
+    private final int[] movieByPopularityRank;
+    private final float[] movieQuality;
+    private final long[] movieReleaseEpoch;
+    private final Zipf moviePopularity;
+
+    // User-Aktivität (Index = Aktivitätsrang).
+    private final int[] userByActivityRank;
+    private final Zipf userActivity;
+    private final int admins;
+
+    private final long startEpoch;
+    private final long endEpoch;
+
+    /**
+     * Einstellungen des Generators.
+     * @param seed Startwert aller Zufallszahlen
+     * @param users Anzahl User (davon adminShare als ADMIN)
+     * @param movies Anzahl Filme
+     * @param reviews Angestrebte Anzahl Reviews (max. 1 pro User und Film, siehe generatedReviews)
+     * @param genres Anzahl verschiedener Genres
+     * @param popularitySkew Zipf-Exponent der Film-Popularität (0 = gleichverteilt, ~1 = realistisch)
+     * @param activitySkew Zipf-Exponent der User-Aktivität
+     * @param adminShare Anteil ADMIN-Konten (erstellen die Filme)
+     * @param end Zeitpunkt der jüngsten Review
+     * @param days Zeitspanne der Kinostarts und Reviews in Tagen (bis end)
+     */
+    public record Settings(long seed, int users, int movies, long reviews, int genres,
+                           double popularitySkew, double activitySkew, double adminShare,
+                           LocalDateTime end, int days) {
+    }
+
+    /**
+     * Höchste bereits vergebene IDs: Die generierten IDs beginnen jeweils bei base + 1.
+     */
+    public record IdBase(long users, long movies, long reviews) {
+        // Leere Datenbank: IDs ab 1 (z.B. für Benchmarks ohne DB)
+        public static final IdBase EMPTY = new IdBase(0, 0, 0);
+    }
+
+    public record UserRow(long id, String username, String email, String role, int activityRank) {
+    }
+
+    public record MovieRow(long id, String title, String description, String genre, int releaseYear,
+                           String director, double rating, long createdByUserId, int popularityRank) {
+    }
+
+    public record ReviewRow(long id, long userId, long movieId, int rating, String comment, LocalDateTime createdAt) {
+    }
+
+    @FunctionalInterface
+    public interface RowConsumer<T> {
+        void accept(T row) throws Exception;
+    }
+
+    public SyntheticDataGenerator(Settings settings, IdBase idBase) {
+        if (settings.users() < 1 || settings.movies() < 1) {
+            throw new IllegalArgumentException("Mindestens 1 User und 1 Film erforderlich");
+        }
+        this.settings = settings;
+        this.idBase = idBase;
+        this.endEpoch = settings.end().toEpochSecond(ZoneOffset.UTC);
+        this.startEpoch = endEpoch - settings.days() * 24L * 3600;
+        this.admins = Math.max(1, (int) Math.round(settings.users() * settings.adminShare()));
+
+        this.genreNames = genreNames(settings.genres()).toArray(String[]::new);
+
+        SplittableRandom random = new SplittableRandom(mix(settings.seed(), 1));
+        this.movieByPopularityRank = permutation(settings.movies(), random);
+        this.userByActivityRank = permutation(settings.users(), random);
+        this.moviePopularity = new Zipf(settings.movies(), settings.popularitySkew());
+        this.userActivity = new Zipf(settings.users(), settings.activitySkew());
+
+        this.movieQuality = new float[settings.movies()];
+        this.movieReleaseEpoch = new long[settings.movies()];
+        for (int i = 0; i < settings.movies(); i++) {
+            movieQuality[i] = (float) clamp(6.5 + random.nextDouble(-1, 1) * 2.5 + gaussian(random), 1, 10);
+            movieReleaseEpoch[i] = random.nextLong(startEpoch, endEpoch);
+        }
+    }
+
+    /**
+     * Namen der Genres (werden vor dem Laden in der Nachschlagetabelle angelegt).
+     * Zuerst echte Genres, darüber hinaus nummeriert ("Genre 21", ...).
+     */
+    public static List<String> genreNames(int count) {
+        String[] names = new String[Math.max(1, count)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = i < GENRES.size() ? GENRES.get(i) : "Genre " + (i + 1);
+        }
+        return List.of(names);
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    /**
+     * Erzeugt alle User. Die ersten adminShare * users IDs sind ADMIN-Konten.
+     */
+    public void forEachUser(RowConsumer<UserRow> consumer) throws Exception {
+        int[] activityRankByUser = inverse(userByActivityRank);
+        for (int i = 0; i < settings.users(); i++) {
+            long id = idBase.users() + 1 + i;
+            consumer.accept(new UserRow(id, "user" + id, "user" + id + "@bench.cinebase.ch",
+                    i < admins ? "ADMIN" : "USER", activityRankByUser[i]));
+        }
+    }
+
+    /**
+     * Erzeugt alle Filme (Genre ebenfalls Zipf-verteilt: wenige Genres dominieren den Katalog).
+     */
+    public void forEachMovie(RowConsumer<MovieRow> consumer) throws Exception {
+        int[] popularityRankByMovie = inverse(movieByPopularityRank);
+        Zipf genreDistribution = new Zipf(genreNames.length, 1.0);
+        int directors = Math.max(1, settings.movies() / 8);
+        for (int i = 0; i < settings.movies(); i++) {
+            SplittableRandom random = new SplittableRandom(mix(settings.seed(), 2, i));
+            String title = "The " + pick(TITLE_ADJECTIVES, random) + " " + pick(TITLE_NOUNS, random)
+                    + (random.nextInt(5) == 0 ? " " + (2 + random.nextInt(4)) : "");
+            int director = random.nextInt(directors);
+            long releaseEpoch = movieReleaseEpoch[i];
+            consumer.accept(new MovieRow(
+                    idBase.movies() + 1 + i,
+                    title,
+                    "Synthetischer Film Nr. " + (i + 1) + ".",
+                    genreNames[genreDistribution.sample(random)],
+                    LocalDateTime.ofEpochSecond(releaseEpoch, 0, ZoneOffset.UTC).getYear(),
+                    FIRST_NAMES[director % FIRST_NAMES.length] + " " + LAST_NAMES[(director / FIRST_NAMES.length) % LAST_NAMES.length]
+                            + (director >= FIRST_NAMES.length * LAST_NAMES.length ? " " + director : ""),
+                    Math.round(movieQuality[i] * 10) / 10.0,
+                    idBase.users() + 1 + random.nextInt(admins),
+                    popularityRankByMovie[i]));
+        }
+    }
+
+    /**
+     * Erzeugt die Reviews, User für User (nach Aktivität absteigend).
+     * ! Pro User wird jeder Film höchstens einmal bewertet (Unique Constraint uk_reviews_user_movie).
+     * Die Anzahl pro User ergibt sich aus der Zipf-Verteilung, begrenzt auf die Hälfte des Katalogs;
+     * was ein Power-User nicht "schaffen" kann, wird an die nächsten User weitergegeben.
+     * @return Tatsächlich erzeugte Anzahl Reviews (kleiner als gewünscht, wenn der Katalog zu klein ist)
+     */
+    public long forEachReview(RowConsumer<ReviewRow> consumer) throws Exception {
+        long target = settings.reviews();
+        int maxPerUser = Math.max(1, settings.movies() / 2);
+        long nextId = idBase.reviews() + 1;
+        long assigned = 0;
+        long carry = 0;
+
+        for (int rank = 0; rank < settings.users(); rank++) {
+            long cumulative = Math.round(target * userActivity.cumulative(rank));
+            long count = cumulative - assigned + carry;
+            assigned = cumulative;
+            int reviews = (int) Math.min(count, maxPerUser);
+            carry = count - reviews;
+            if (reviews == 0) {
+                continue;
+            }
+
+            int user = userByActivityRank[rank];
+            SplittableRandom random = new SplittableRandom(mix(settings.seed(), 3, rank));
+            for (int movie : distinctMovies(reviews, random)) {
+                int rating = (int) clamp(Math.round(movieQuality[movie] + gaussian(random) * 1.5), 1, 10);
+                consumer.accept(new ReviewRow(nextId++, idBase.users() + 1 + user, idBase.movies() + 1 + movie,
+                        rating, comment(rating, random), reviewTime(movie, random)));
+            }
+        }
+        return nextId - idBase.reviews() - 1;
+    }
+
+    // Zieht 'count' verschiedene Filme gemäss Popularität (Zurückweisen von Duplikaten).
+    private int[] distinctMovies(int count, SplittableRandom random) {
+        Set<Integer> seen = new HashSet<>(count * 2);
+        int[] movies = new int[count];
+        int found = 0;
+        int attempts = 0;
+        while (found < count && attempts < count * 20) {
+            int movie = movieByPopularityRank[moviePopularity.sample(random)];
+            if (seen.add(movie)) {
+                movies[found++] = movie;
+            }
+            attempts++;
+        }
+        // Sehr aktive User: Rest mit den nächstbeliebten noch nicht bewerteten Filmen auffüllen.
+        for (int rank = 0; found < count; rank++) {
+            int movie = movieByPopularityRank[rank];
+            if (seen.add(movie)) {
+                movies[found++] = movie;
+            }
+        }
+        return movies;
+    }
+
+    // Schub nach dem Kinostart (exponentiell abklingend) oder gleichverteilt bis zum Ende.
+    private LocalDateTime reviewTime(int movie, SplittableRandom random) {
+        long release = movieReleaseEpoch[movie];
+        long epoch;
+        if (random.nextDouble() < BURST_SHARE) {
+            epoch = release + (long) (-Math.log(1 - random.nextDouble()) * BURST_MEAN_SECONDS);
+        } else {
+            epoch = release + (long) (random.nextDouble() * (endEpoch - release));
+        }
+        return LocalDateTime.ofEpochSecond(Math.min(epoch, endEpoch), 0, ZoneOffset.UTC);
+    }
+
+    // 40% der Reviews haben einen Kommentar, passend zur Bewertung.
+    private static String comment(int rating, SplittableRandom random) {
+        if (random.nextInt(10) >= 4) {
+            return null;
+        }
+        String[] pool = rating <= 4 ? COMMENTS_LOW : rating <= 7 ? COMMENTS_MID : COMMENTS_HIGH;
+        return pick(pool, random);
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller (SplittableRandom hat kein nextGaussian)
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int[] permutation(int size, SplittableRandom random) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+        return values;
+    }
+
+    private static int[] inverse(int[] permutation) {
+        int[] inverse = new int[permutation.length];
+        for (int i = 0; i < permutation.length; i++) {
+            inverse[permutation[i]] = i;
+        }
+        return inverse;
+    }
+
+    // Unabhängiger Seed pro Teilstrom (SplitMix64-Finalizer): Zeile i hängt nicht von der Reihenfolge ab.
+    private static long mix(long seed, long... parts) {
+        long h = seed;
+        for (long part : parts) {
+            h += 0x9E3779B97F4A7C15L + part;
+            h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    /**
+     * Zipf-Verteilung über die Ränge 0..n-1: P(rang) ~ 1 / (rang + 1)^exponent.
+     * Ziehen per Binärsuche in der kumulierten Verteilung (O(log n), keine Allokation).
+     */
+    public static final class Zipf {
+
+        private final double[] cdf;
+
+        public Zipf(int n, double exponent) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1.0 / Math.pow(rank + 1, exponent);
+                cdf[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cdf[rank] /= sum;
+            }
+            cdf[n - 1] = 1.0;
+        }
+
+        public int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return index >= 0 ? index : Math.min(-index - 1, cdf.length - 1);
+        }
+
+        /**
+         * Wahrscheinlichkeit, einen Rang kleiner oder gleich 'rank' zu ziehen.
+         */
+        public double cumulative(int rank) {
+            return cdf[rank];
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.service.SyntheticDataGenerator.IdBase;
+import com.wiss.cinebase.service.SyntheticDataGenerator.Settings;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lädt die Daten des SyntheticDataGenerator per JDBC direkt in die Tabellen (ohne JPA).
+ * ! Performance:
+ * - PostgreSQL: COPY ... FROM STDIN (CSV-Stream, mehrere Millionen Zeilen pro Minute).
+ * - Andere Datenbanken (z.B. H2): JDBC-Batches mit Commit pro Batch.
+ * - Alle User teilen sich EINEN BCrypt-Hash (Millionen Hashes würden Stunden dauern).
+ * Bestehende Daten bleiben erhalten: Die IDs beginnen nach der höchsten vorhandenen ID,
+ * danach werden die Sequenzen (V4__id_sequences) hinter die neuen IDs gesetzt.
+ * ! Nur offline verwenden (Profil "datagen"): Laufende Instanzen halten noch reservierte ID-Blöcke.
+ */
+@Service
+public class SyntheticDataLoader {
+
+    private static final long PROGRESS_EVERY = 1_000_000;
+    private static final int COPY_BUFFER_CHARS = 1 << 20;
+    private static final String DATASET_FILE = "dataset.properties";
+
+    private final DataSource dataSource;
+    private final GenreService genreService;
+    private final GenreDictionary genreDictionary;
+    private final PasswordEncoder passwordEncoder;
+    private final ReviewPartitionService reviewPartitionService;
+
+    public SyntheticDataLoader(DataSource dataSource,
+                               GenreService genreService,
+                               GenreDictionary genreDictionary,
+                               PasswordEncoder passwordEncoder,
+                               ReviewPartitionService reviewPartitionService) {
+        this.dataSource = dataSource;
+        this.genreService = genreService;
+        this.genreDictionary = genreDictionary;
+        this.passwordEncoder = passwordEncoder;
+        this.reviewPartitionService = reviewPartitionService;
+    }
+
+    /**
+     * Ergebnis eines Ladevorgangs.
+     */
+    public record LoadReport(long users, long movies, long reviews, long durationMs, boolean copy) {
+    }
+
+    /**
+     * Erzeugt und lädt den kompletten Datensatz.
+     * @param settings Einstellungen des Generators
+     * @param password Klartext-Passwort aller generierten User
+     * @param batchSize Zeilen pro JDBC-Batch (nur ohne COPY)
+     * @param exportDir Zielverzeichnis der Datensatz-Beschreibung für Benchmarks (null = kein Export)
+     */
+    public LoadReport load(Settings settings, String password, int batchSize, Path exportDir) throws Exception {
+        long start = System.nanoTime();
+        if (exportDir != null) {
+            // dataset.properties markiert einen vollständigen Export (wird zuletzt geschrieben, siehe export)
+            Files.deleteIfExists(exportDir.resolve(DATASET_FILE));
+        }
+
+        Map<String, Short> genreIds = new HashMap<>();
+        for (String genre : SyntheticDataGenerator.genreNames(settings.genres())) {
+            genreIds.put(genre, genreDictionary.idOf(genreService.resolveOrCreate(genre)));
+        }
+        String passwordHash = passwordEncoder.encode(password);
+        // Reviews liegen zwischen (end - days) und end: Partitionen dieser Jahrgänge anlegen (V8, nur PostgreSQL).
+        reviewPartitionService.ensureEditions(settings.end().minusDays(settings.days()).getYear(), settings.end().getYear());
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            boolean copy = connection.isWrapperFor(PGConnection.class);
+
+            IdBase idBase = new IdBase(maxId(connection, "app_users"), maxId(connection, "movies"), maxId(connection, "reviews"));
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(settings, idBase);
+
+            long users;
+            try (RowSink sink = openSink(connection, copy, batchSize, "app_users",
+                    "id", "version", "username", "email", "password", "role")) {
+                generator.forEachUser(user -> sink.row(user.id(), 0, user.username(), user.email(), passwordHash, user.role()));
+                users = sink.count();
+            }
+            connection.commit();
+
+            long movies;
+            try (RowSink sink = openSink(connection, copy, batchSize, "movies",
+                    "id", "version", "title", "description", "genre_id", "release_year", "director", "rating", "created_by_user_id")) {
+                generator.forEachMovie(movie -> sink.row(movie.id(), 0, movie.title(), movie.description(),
+                        genreIds.get(movie.genre()), movie.releaseYear(), movie.director(), movie.rating(), movie.createdByUserId()));
+                movies = sink.count();
+            }
+            connection.commit();
+
+            long reviews;
+            try (RowSink sink = openSink(connection, copy, batchSize, "reviews",
+                    "id", "user_id", "movie_id", "rating", "comment", "created_at")) {
+                generator.forEachReview(review -> sink.row(review.id(), review.userId(), review.movieId(),
+                        review.rating(), review.comment(), review.createdAt()));
+                reviews = sink.count();
+            }
+            connection.commit();
+
+            try (Statement statement = connection.createStatement()) {
+                restartSequence(statement, "app_users", idBase.users() + users);
+                restartSequence(statement, "movies", idBase.movies() + movies);
+                restartSequence(statement, "reviews", idBase.reviews() + reviews);
+                if (copy) {
+                    // Aktuelle Statistiken, damit der Planer die Indizes (V2) auch bei Millionen Zeilen nutzt.
+                    statement.execute("ANALYZE app_users");
+                    statement.execute("ANALYZE movies");
+                    statement.execute("ANALYZE reviews");
+                }
+            }
+            connection.commit();
+
+            if (exportDir != null) {
+                export(generator, idBase, password, exportDir);
+            }
+            return new LoadReport(users, movies, reviews, (System.nanoTime() - start) / 1_000_000, copy);
+        }
+    }
+
+    // Schlüssellisten + Beschreibung des Datensatzes für die Benchmarks (../loadtest).
+    // ! Die Beschreibung kommt zuletzt: Der Lastgenerator wartet auf dataset.properties.
+    private void export(SyntheticDataGenerator generator, IdBase idBase, String password, Path exportDir) throws Exception {
+        Files.createDirectories(exportDir);
+        try (BufferedWriter writer = Files.newBufferedWriter(exportDir.resolve("users.csv"), StandardCharsets.UTF_8)) {
+            writer.write("id,username,role,activity_rank\n");
+            generator.forEachUser(user -> writer.write(user.id() + "," + user.username() + "," + user.role() + "," + user.activityRank() + "\n"));
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(exportDir.resolve("movies.csv"), StandardCharsets.UTF_8)) {
+            writer.write("id,genre,popularity_rank\n");
+            generator.forEachMovie(movie -> writer.write(movie.id() + "," + csv(movie.genre()) + "," + movie.popularityRank() + "\n"));
+        }
+
+        Settings settings = generator.settings();
+        Files.writeString(exportDir.resolve(DATASET_FILE), String.join("\n",
+                "# Synthetischer Datensatz (SyntheticDataGenerator)",
+                "seed=" + settings.seed(),
+                "users=" + settings.users(),
+                "movies=" + settings.movies(),
+                "reviews=" + settings.reviews(),
+                "genres=" + settings.genres(),
+                "popularity-skew=" + settings.popularitySkew(),
+                "activity-skew=" + settings.activitySkew(),
+                "admin-share=" + settings.adminShare(),
+                "end=" + settings.end(),
+                "days=" + settings.days(),
+                "password=" + password,
+                "first-user-id=" + (idBase.users() + 1),
+                "first-movie-id=" + (idBase.movies() + 1),
+                "first-review-id=" + (idBase.reviews() + 1),
+                ""), StandardCharsets.UTF_8);
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // pooled-lo: Der nächste Sequenzwert ist die untere Grenze des nächsten ID-Blocks.
+    private static void restartSequence(Statement statement, String table, long maxId) throws SQLException {
+        statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (maxId + 1));
+    }
+
+    private static RowSink openSink(Connection connection, boolean copy, int batchSize,
+                                    String table, String... columns) throws SQLException {
+        return copy
+                ? new CopySink(connection.unwrap(PGConnection.class), table, columns)
+                : new BatchSink(connection, Math.max(1, batchSize), table, columns);
+    }
+
+    // CSV-Feld für COPY: NULL = leeres Feld, Text nur bei Bedarf in Anführungszeichen.
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    /**
+     * Ziel einer Tabelle: COPY-Stream oder JDBC-Batch.
+     */
+    private abstract static class RowSink implements AutoCloseable {
+
+        private final String table;
+        private long count;
+
+        RowSink(String table) {
+            this.table = table;
+        }
+
+        final void row(Object... values) throws SQLException {
+            write(values);
+            if (++count % PROGRESS_EVERY == 0) {
+                System.out.println("  " + table + ": " + count + " Zeilen");
+            }
+        }
+
+        final long count() {
+            return count;
+        }
+
+        abstract void write(Object[] values) throws SQLException;
+
+        @Override
+        public abstract void close() throws SQLException;
+    }
+
+    private static final class CopySink extends RowSink {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        CopySink(PGConnection connection, String table, String[] columns) throws SQLException {
+            super(table);
+            this.copyIn = connection.getCopyAPI().copyIn(
+                    "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                buffer.append(csv(values[i]));
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!copyIn.isActive()) {
+                return;
+            }
+            try {
+                flush();
+                copyIn.endCopy();
+            } catch (SQLException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class BatchSink extends RowSink {
+
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+
+        BatchSink(Connection connection, int batchSize, String table, String[] columns) throws SQLException {
+            super(table);
+            this.connection = connection;
+            this.batchSize = batchSize;
+            this.statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + "?, ".repeat(columns.length - 1) + "?)");
+        }
+
+        @Override
+        void write(Object[] values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                executeBatch();
+            }
+        }
+
+        private void executeBatch() throws SQLException {
+            statement.executeBatch();
+            connection.commit();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,380 @@
+package com.wiss.cinebase.service;
+
+// Importiert Jackson für das Einlesen von NDJSON-Zeilen.
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Importiert die DTOs für Eingabezeilen und den Ergebnisbericht.
+import com.wiss.cinebase.dto.ProvisioningResultDTO;
+import com.wiss.cinebase.dto.ProvisioningRowDTO;
+import com.wiss.cinebase.dto.ProvisioningRowResultDTO;
+
+// Importiert Entity und Repository für die Eindeutigkeitsprüfung.
+import com.wiss.cinebase.entity.AppUser;
+import com.wiss.cinebase.entity.Role;
+import com.wiss.cinebase.repository.AppUserRepository;
+import com.wiss.cinebase.security.CostAwareBCryptPasswordEncoder;
+
+// Importiert Bean Validation, um dieselben Regeln wie bei /register anzuwenden.
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Importiert Spring-Klassen für JDBC-Batching und Transaktionen.
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Service für die Bulk-Provisionierung von Benutzerkonten (z.B. Akkreditierung vor dem Festival).
+ * Ablauf pro Batch:
+ * 1. Validierung jeder Zeile (gleiche Regeln wie bei der Einzel-Registrierung).
+ * 2. Eindeutigkeitsprüfung für ALLE Zeilen in einer einzigen Abfrage (statt existsBy... pro User).
+ * 3. BCrypt-Hashing parallel, mit höchstens der Hälfte der Hash-Plätze (security.bcrypt.max-concurrent).
+ *    Die übrigen Plätze bleiben für Logins frei, eine Provisionierung löst also keine 503 AUTH_BUSY aus.
+ *    Scheitert ein Hash (z.B. Timeout beim Warten auf einen Platz), wird nur diese Zeile FAILED.
+ * 4. Einfügen per JDBC-Batch (provisioning.batch-size Zeilen pro Round Trip), IDs blockweise aus app_users_seq.
+ * ! Jeder Batch committet separat. Schlägt ein Batch fehl (z.B. paralleler Insert desselben Usernamens),
+ * werden seine Zeilen einzeln wiederholt, damit der Bericht pro Zeile korrekt bleibt.
+ */
+@Service
+public class UserProvisioningService {
+
+    // Status-Werte im Bericht
+    public static final String STATUS_CREATED = "CREATED";
+    public static final String STATUS_DUPLICATE = "DUPLICATE";
+    public static final String STATUS_INVALID = "INVALID";
+    public static final String STATUS_FAILED = "FAILED";
+
+    // ! version = 0: Startwert für das Optimistic-Locking-Feld der AppUser-Entity.
+    private static final String INSERT_SQL =
+            "INSERT INTO app_users (id, version, username, email, password, role) VALUES (?, 0, ?, ?, ?, ?)";
+
+    // IDs stammen aus derselben Sequenz wie bei Hibernate (pooled-lo: ein nextval reserviert 50 IDs ab dem Wert).
+    private static final String NEXT_ID_BLOCK_SQL = "SELECT nextval('app_users_seq')";
+    private static final int ID_BLOCK_SIZE = 50;
+
+    /**
+     * Unterstützte Eingabeformate.
+     */
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * Ermittelt das Format aus einem Content-Type oder Dateinamen.
+         * @throws IllegalArgumentException wenn das Format nicht unterstützt wird
+         */
+        public static Format detect(String contentTypeOrFileName) {
+            String value = contentTypeOrFileName == null ? "" : contentTypeOrFileName.toLowerCase(Locale.ROOT);
+            if (value.contains("csv")) {
+                return CSV;
+            }
+            if (value.contains("ndjson") || value.contains("jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Nicht unterstütztes Format: " + contentTypeOrFileName + " (erwartet CSV oder NDJSON)");
+        }
+    }
+
+    private final AppUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    // Eigener Thread-Pool für BCrypt, damit die Request-Threads von Tomcat nicht blockiert werden.
+    private final ExecutorService hashingPool;
+
+    public UserProvisioningService(AppUserRepository userRepository,
+                                   PasswordEncoder passwordEncoder,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   @Value("${provisioning.batch-size:200}") int batchSize,
+                                   @Value("${security.bcrypt.max-concurrent:0}") int bcryptMaxConcurrent) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.hashingPool = Executors.newFixedThreadPool(
+                Math.max(1, CostAwareBCryptPasswordEncoder.permits(bcryptMaxConcurrent) / 2),
+                Thread.ofPlatform().name("provisioning-bcrypt-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Liest die Eingabe (CSV mit Header oder NDJSON) in Zeilen-DTOs ein.
+     * @throws IllegalArgumentException bei syntaktisch ungültiger Eingabe (mit Zeilennummer)
+     */
+    public List<ProvisioningRowDTO> parse(String body, Format format) {
+        List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+        return format == Format.CSV ? parseCsv(lines) : parseNdjson(lines);
+    }
+
+    /**
+     * Provisioniert alle Zeilen und liefert einen Bericht pro Zeile.
+     * @param rows Die eingelesenen Zeilen (Reihenfolge = Zeilennummer)
+     * @return Gesamtbericht inkl. Ergebnis pro Zeile
+     */
+    public ProvisioningResultDTO provision(List<ProvisioningRowDTO> rows) {
+        long start = System.nanoTime();
+        ProvisioningRowResultDTO[] results = new ProvisioningRowResultDTO[rows.size()];
+        Role[] roles = new Role[rows.size()];
+
+        // 1. Validierung + Duplikate innerhalb des Batches
+        List<Integer> candidates = new ArrayList<>();
+        Set<String> batchUsernames = new HashSet<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProvisioningRowDTO row = rows.get(i);
+            String error = validate(row);
+            if (error == null) {
+                roles[i] = parseRole(row.getRole());
+                if (roles[i] == null) {
+                    error = "Unbekannte Rolle: " + row.getRole();
+                }
+            }
+            if (error != null) {
+                results[i] = result(i, row, STATUS_INVALID, error);
+            } else if (!batchUsernames.add(row.getUsername()) || !batchEmails.add(row.getEmail())) {
+                results[i] = result(i, row, STATUS_DUPLICATE, "Username oder Email mehrfach in der Eingabe");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // 2. Eindeutigkeit gegen die Datenbank: EINE Abfrage für den ganzen Batch
+        if (!candidates.isEmpty()) {
+            Set<String> takenUsernames = new HashSet<>();
+            Set<String> takenEmails = new HashSet<>();
+            for (AppUser existing : userRepository.findByUsernameInOrEmailIn(batchUsernames, batchEmails)) {
+                takenUsernames.add(existing.getUsername());
+                takenEmails.add(existing.getEmail());
+            }
+            candidates.removeIf(i -> {
+                ProvisioningRowDTO row = rows.get(i);
+                if (takenUsernames.contains(row.getUsername())) {
+                    results[i] = result(i, row, STATUS_DUPLICATE, "Username '" + row.getUsername() + "' ist bereits vergeben");
+                    return true;
+                }
+                if (takenEmails.contains(row.getEmail())) {
+                    results[i] = result(i, row, STATUS_DUPLICATE, "Email '" + row.getEmail() + "' ist bereits vergeben");
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        // 3. Paralleles Hashing (BCrypt ist CPU-gebunden -> ein Task pro Zeile, ein Thread pro freigegebenem Hash-Platz)
+        List<CompletableFuture<String>> hashes = candidates.stream()
+                .map(i -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rows.get(i).getPassword()), hashingPool))
+                .toList();
+        String[] encoded = new String[rows.size()];
+        List<Integer> hashed = new ArrayList<>(candidates.size());
+        for (int k = 0; k < candidates.size(); k++) {
+            int i = candidates.get(k);
+            try {
+                encoded[i] = hashes.get(k).join();
+                hashed.add(i);
+            } catch (CompletionException e) {
+                // ! Nur diese Zeile scheitert, die übrigen werden trotzdem eingefügt
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results[i] = result(i, rows.get(i), STATUS_FAILED, "Passwort-Hashing fehlgeschlagen: " + cause.getMessage());
+            }
+        }
+        candidates = hashed;
+
+        // 4. IDs blockweise reservieren und JDBC-Batch-Inserts ausführen
+        long[] ids = reserveIds(rows.size(), candidates);
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            List<Integer> chunk = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+            insertChunk(chunk, rows, roles, encoded, ids, results);
+        }
+
+        List<ProvisioningRowResultDTO> report = List.of(results);
+        int created = (int) report.stream().filter(r -> STATUS_CREATED.equals(r.getStatus())).count();
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        return new ProvisioningResultDTO(rows.size(), created, rows.size() - created, durationMs, report);
+    }
+
+    // --- Hilfsmethoden ---
+
+    private long[] reserveIds(int size, List<Integer> candidates) {
+        long[] ids = new long[size];
+        long next = 0;
+        int remainingInBlock = 0;
+        for (int i : candidates) {
+            if (remainingInBlock == 0) {
+                next = jdbcTemplate.queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+                remainingInBlock = ID_BLOCK_SIZE;
+            }
+            ids[i] = next++;
+            remainingInBlock--;
+        }
+        return ids;
+    }
+
+    private void insertChunk(List<Integer> chunk, List<ProvisioningRowDTO> rows, Role[] roles,
+                             String[] encoded, long[] ids, ProvisioningRowResultDTO[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (ps, i) -> {
+                        ProvisioningRowDTO row = rows.get(i);
+                        ps.setLong(1, ids[i]);
+                        ps.setString(2, row.getUsername());
+                        ps.setString(3, row.getEmail());
+                        ps.setString(4, encoded[i]);
+                        ps.setString(5, roles[i].name());
+                    }));
+            for (int i : chunk) {
+                results[i] = result(i, rows.get(i), STATUS_CREATED, null);
+            }
+        } catch (DataAccessException batchError) {
+            // Fallback: Zeilen einzeln einfügen, um die fehlerhafte(n) Zeile(n) zu identifizieren.
+            for (int i : chunk) {
+                ProvisioningRowDTO row = rows.get(i);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ids[i], row.getUsername(), row.getEmail(), encoded[i], roles[i].name());
+                    results[i] = result(i, row, STATUS_CREATED, null);
+                } catch (DataAccessException rowError) {
+                    results[i] = result(i, row, STATUS_FAILED, rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private String validate(ProvisioningRowDTO row) {
+        Set<ConstraintViolation<ProvisioningRowDTO>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Leere Rolle = USER (Journalist), analog zur Einzel-Registrierung.
+    private static Role parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return Role.USER;
+        }
+        try {
+            return Role.valueOf(role.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static ProvisioningRowResultDTO result(int index, ProvisioningRowDTO row, String status, String message) {
+        return new ProvisioningRowResultDTO(index + 1, row.getUsername(), status, message);
+    }
+
+    private List<ProvisioningRowDTO> parseNdjson(List<String> lines) {
+        List<ProvisioningRowDTO> rows = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            try {
+                rows.add(objectMapper.readValue(lines.get(i), ProvisioningRowDTO.class));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Zeile " + (i + 1) + ": ungültiges JSON");
+            }
+        }
+        return rows;
+    }
+
+    private static List<ProvisioningRowDTO> parseCsv(List<String> lines) {
+        if (lines.isEmpty()) {
+            return List.of();
+        }
+        // Header bestimmt die Spaltenreihenfolge (username,email,password[,role]).
+        List<String> header = splitCsvLine(lines.get(0), 0).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int usernameCol = requireColumn(header, "username");
+        int emailCol = requireColumn(header, "email");
+        int passwordCol = requireColumn(header, "password");
+        int roleCol = header.indexOf("role");
+
+        List<ProvisioningRowDTO> rows = new ArrayList<>(lines.size() - 1);
+        for (int i = 1; i < lines.size(); i++) {
+            List<String> fields = splitCsvLine(lines.get(i), i);
+            // Die Rolle ist optional und darf nur fehlen, wenn sie hinter den Pflichtspalten steht
+            if (fields.size() <= Math.max(usernameCol, Math.max(emailCol, passwordCol))) {
+                throw new IllegalArgumentException("Zeile " + i + ": erwartet " + header.size() + " Spalten");
+            }
+            rows.add(new ProvisioningRowDTO(
+                    fields.get(usernameCol).trim(),
+                    fields.get(emailCol).trim(),
+                    fields.get(passwordCol),
+                    roleCol >= 0 && roleCol < fields.size() ? fields.get(roleCol).trim() : null));
+        }
+        return rows;
+    }
+
+    private static int requireColumn(List<String> header, String name) {
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("CSV-Header ohne Spalte '" + name + "'");
+        }
+        return index;
+    }
+
+    // Minimaler RFC-4180-Parser: Kommas innerhalb von "..." sind erlaubt, "" ist ein escaptes Anführungszeichen.
+    // Zeilenumbrüche innerhalb von "..." werden nicht unterstützt (nicht geschlossenes Anführungszeichen = Fehler).
+    // lineNumber wie im Bericht (0 = Header).
+    private static List<String> splitCsvLine(String line, int lineNumber) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Zeile " + lineNumber + ": Anführungszeichen nicht geschlossen");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
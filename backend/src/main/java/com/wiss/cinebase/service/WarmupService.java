@@ -0,0 +1,152 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.WarmupProperties;
+import com.wiss.cinebase.dto.MovieDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * JIT-Warm-up: Ruft die heissen Pfade über die echten Beans auf, damit der JIT-Compiler sie übersetzt,
+ * bevor der erste echte Request kommt (sonst laufen die ersten tausend Requests im Interpreter bzw. mit C1).
+ * Pfade: Filmliste (Aufbau und Cache-Treffer wie im MovieController), Filmdetails, JWT-Prüfung, JSON-Serialisierung.
+ * ! Keine Änderungen an den Daten: Jeder Datenbankaufruf läuft in einer readOnly-Transaktion, die zurückgerollt wird.
+ *   Mitgezählt werden die Aufrufe allerdings in den Service-Timern (cinebase.service) und im Second-Level-Cache.
+ */
+@Service
+public class WarmupService {
+
+    // Subject des Warm-up-Tokens (wird nur geprüft, nie zur Anmeldung verwendet)
+    private static final String WARMUP_SUBJECT = "warmup";
+    // Typische Accept-Encoding-Header (Browser, curl mit --compressed, ohne Komprimierung)
+    private static final String[] ACCEPT_ENCODINGS = {"gzip, deflate, br, zstd", "deflate, gzip", null};
+
+    private final MovieService movieService;
+    private final CatalogResponseCache catalogResponseCache;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Ergebnis eines Schritts: ausgeführte (bei Abbruch evtl. weniger als konfigurierte) Iterationen und Dauer.
+     */
+    public record Step(String name, int iterations, long durationMs) {
+    }
+
+    /**
+     * Ergebnis des ganzen Warm-ups.
+     * @param aborted true, wenn cinebase.warmup.max-duration erreicht wurde, bevor alle Iterationen gelaufen sind
+     */
+    public record WarmupReport(List<Step> steps, long durationMs, boolean aborted) {
+    }
+
+    public WarmupService(MovieService movieService,
+                         CatalogResponseCache catalogResponseCache,
+                         JwtService jwtService,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.movieService = movieService;
+        this.catalogResponseCache = catalogResponseCache;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Führt alle Schritte nacheinander aus (im aufrufenden Thread).
+     */
+    public WarmupReport warmUp(WarmupProperties properties) throws IOException {
+        long start = System.nanoTime();
+        long deadline = start + properties.maxDuration().toNanos();
+        List<Step> steps = new ArrayList<>();
+        boolean aborted;
+
+        // 1. Filmliste neu aufbauen wie nach einer Invalidierung (Repository, Mapper, JSON, gzip, Brotli).
+        // Der letzte Stand bleibt im Cache: Der erste echte Request trifft einen gefüllten Cache.
+        List<MovieDTO> catalog = List.of();
+        long stepStart = System.nanoTime();
+        int done = 0;
+        while (done < properties.catalogIterations() && System.nanoTime() < deadline) {
+            List<MovieDTO> loaded = inRolledBackTransaction(movieService::getAllMovies);
+            catalogResponseCache.invalidate();
+            catalogResponseCache.get(() -> loaded);
+            catalog = loaded;
+            done++;
+        }
+        steps.add(step("Filmliste-Aufbau", done, stepStart));
+        aborted = done < properties.catalogIterations();
+
+        // 2. GET /api/movies wie im MovieController: Cache-Treffer, Accept-Encoding aushandeln, Variante wählen
+        stepStart = System.nanoTime();
+        done = 0;
+        while (done < properties.catalogCacheIterations() && System.nanoTime() < deadline) {
+            CatalogResponseCache.Body body = catalogResponseCache.get(() -> inRolledBackTransaction(movieService::getAllMovies));
+            if (body.bytes(body.negotiate(ACCEPT_ENCODINGS[done % ACCEPT_ENCODINGS.length])) == null) {
+                throw new IllegalStateException("Filmliste ohne ausgehandelte Variante");
+            }
+            done++;
+        }
+        steps.add(step("Filmliste-Cache", done, stepStart));
+        aborted |= done < properties.catalogCacheIterations();
+
+        // 3. Filmdetails, reihum über die Filme der Liste (Entity-Cache wird dabei gefüllt). Ohne Filme entfällt der Schritt.
+        List<Long> ids = catalog.stream().map(MovieDTO::getId).toList();
+        int detailIterations = ids.isEmpty() ? 0 : properties.detailIterations();
+        MovieDTO detail = null;
+        stepStart = System.nanoTime();
+        done = 0;
+        while (done < detailIterations && System.nanoTime() < deadline) {
+            Long id = ids.get(done % ids.size());
+            detail = inRolledBackTransaction(() -> movieService.getMovieById(id));
+            done++;
+        }
+        steps.add(step("Filmdetails", done, stepStart));
+        aborted |= done < detailIterations;
+
+        // 4. JWT-Prüfung wie im JwtAuthenticationFilter (ohne Datenbank)
+        String token = jwtService.generateToken(WARMUP_SUBJECT, "USER");
+        stepStart = System.nanoTime();
+        done = 0;
+        while (done < properties.jwtIterations() && System.nanoTime() < deadline) {
+            if (!jwtService.validateToken(token, jwtService.extractUsername(token))) {
+                throw new IllegalStateException("Warm-up-Token ungültig");
+            }
+            done++;
+        }
+        steps.add(step("JWT-Pruefung", done, stepStart));
+        aborted |= done < properties.jwtIterations();
+
+        // 5. JSON wie bei Filmdetails und Reviews (ObjectMapper von Spring MVC), in einen verwerfenden Stream
+        stepStart = System.nanoTime();
+        done = 0;
+        while (done < properties.serializationIterations() && System.nanoTime() < deadline) {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), detail != null && done % 2 == 1 ? detail : catalog);
+            done++;
+        }
+        steps.add(step("JSON-Serialisierung", done, stepStart));
+        aborted |= done < properties.serializationIterations();
+
+        return new WarmupReport(steps, (System.nanoTime() - start) / 1_000_000, aborted);
+    }
+
+    // readOnly + Rollback: Selbst ein versehentlich schreibender Aufruf würde nichts speichern
+    private <T> T inRolledBackTransaction(Supplier<T> call) {
+        return readOnlyTransaction.execute(status -> {
+            status.setRollbackOnly();
+            return call.get();
+        });
+    }
+
+    private static Step step(String name, int iterations, long startNanos) {
+        return new Step(name, iterations, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
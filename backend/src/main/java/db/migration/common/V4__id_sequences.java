@@ -0,0 +1,44 @@
+package db.migration.common;
+
+// Quelle: Flyway - Java-basierte Migrationen
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * V4: Umstellung der ID-Generierung von IDENTITY auf Sequenzen (pooled-lo, Schrittweite 50).
+ * ! Grund: Bei IDENTITY muss Hibernate jeden INSERT einzeln ausführen, um die ID zu erfahren
+ * -> JDBC-Batching ist deaktiviert. Mit Sequenzen reserviert Hibernate 50 IDs pro Abfrage und bündelt die INSERTs.
+ * Als Java-Migration umgesetzt, weil der Startwert (MAX(id) + 1) aus den bestehenden Daten berechnet werden muss.
+ */
+public class V4__id_sequences extends BaseJavaMigration {
+
+    // Schrittweite muss mit allocationSize der @SequenceGenerator-Annotationen übereinstimmen.
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String[] TABLES = {"app_users", "movies", "reviews"};
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres");
+
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long start;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    rs.next();
+                    start = rs.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + start + " INCREMENT BY " + ALLOCATION_SIZE);
+                // IDENTITY entfernen: IDs kommen ab jetzt ausschließlich aus der Sequenz
+                // (auch bei JDBC-Inserts, z.B. Bulk-Provisionierung), sonst drohen Kollisionen.
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY" + (postgres ? " IF EXISTS" : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+-- ==============================================================
+-- V1: Basisschema (entspricht dem bisher von Hibernate via ddl-auto=update erzeugten Schema)
+-- ! Bestehende Datenbanken werden per spring.flyway.baseline-on-migrate auf V1 gesetzt;
+-- ! dieses Skript läuft dort NICHT, nur auf leeren Datenbanken.
+-- ==============================================================
+
+CREATE TABLE app_users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    version  BIGINT,
+    username VARCHAR(50)  NOT NULL,
+    email    VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_app_users_username UNIQUE (username),
+    CONSTRAINT uk_app_users_email UNIQUE (email),
+    CONSTRAINT ck_app_users_role CHECK (role IN ('ADMIN', 'USER'))
+);
+
+CREATE TABLE movies (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title              VARCHAR(255)  NOT NULL,
+    description        VARCHAR(1000),
+    genre              VARCHAR(255)  NOT NULL,
+    release_year       INTEGER       NOT NULL,
+    director           VARCHAR(255)  NOT NULL,
+    rating             FLOAT(53)     NOT NULL,
+    created_by_user_id BIGINT,
+    CONSTRAINT fk_movies_created_by FOREIGN KEY (created_by_user_id) REFERENCES app_users (id)
+);
+
+CREATE TABLE reviews (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    movie_id   BIGINT       NOT NULL,
+    rating     INTEGER      NOT NULL,
+    comment    VARCHAR(2000),
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES app_users (id),
+    CONSTRAINT fk_reviews_movie FOREIGN KEY (movie_id) REFERENCES movies (id)
+);
@@ -0,0 +1,18 @@
+-- ==============================================================
+-- V2: Indizes, abgeleitet aus den Abfragen der Repositories
+-- (app_users.username / app_users.email sind bereits per UNIQUE indexiert)
+-- ==============================================================
+
+-- MovieRepository.findByGenre
+CREATE INDEX idx_movies_genre ON movies (genre);
+
+-- MovieRepository.findByCreatedBy_Id (+ FK-Prüfung beim Löschen eines Users)
+CREATE INDEX idx_movies_created_by ON movies (created_by_user_id);
+
+-- ReviewRepository.existsByUserIdAndMovieId + findByUserId (führende Spalte user_id)
+-- ! Erzwingt zusätzlich die Business-Regel "ein Review pro User und Film" auf DB-Ebene.
+-- ! Enthält eine bestehende Datenbank bereits Duplikate, müssen diese vor der Migration bereinigt werden.
+CREATE UNIQUE INDEX uk_reviews_user_movie ON reviews (user_id, movie_id);
+
+-- ReviewRepository.findByMovieId + getAverageRatingForMovie (AVG als Index-Only-Scan über rating)
+CREATE INDEX idx_reviews_movie_rating ON reviews (movie_id, rating);
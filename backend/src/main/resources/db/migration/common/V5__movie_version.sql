@@ -0,0 +1,7 @@
+-- ==============================================================
+-- V5: Versionsspalte fuer Optimistic Locking auf movies (@Version in Movie)
+-- Die Version wird als ETag ausgeliefert (PATCH /api/movies/{id} mit If-Match).
+-- ==============================================================
+
+-- Bestehende Filme starten mit Version 0, jede Aenderung erhoeht die Version um 1.
+ALTER TABLE movies ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,28 @@
+-- ==============================================================
+-- V6: Genres als Nachschlagetabelle statt Freitext in jeder Filmzeile
+-- movies.genre (VARCHAR) -> movies.genre_id (SMALLINT, FK auf genres)
+-- Umbenennen eines Genres = 1 Zeile in genres statt alle Filme neu schreiben.
+-- ==============================================================
+
+CREATE TABLE genres (
+    id   SMALLINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_genres PRIMARY KEY (id),
+    CONSTRAINT uk_genres_name UNIQUE (name)
+);
+
+-- Bestehende Genres uebernehmen (alphabetisch nummeriert)
+INSERT INTO genres (name)
+SELECT DISTINCT genre FROM movies ORDER BY genre;
+
+ALTER TABLE movies ADD COLUMN genre_id SMALLINT;
+
+UPDATE movies SET genre_id = (SELECT g.id FROM genres g WHERE g.name = movies.genre);
+
+ALTER TABLE movies ALTER COLUMN genre_id SET NOT NULL;
+ALTER TABLE movies ADD CONSTRAINT fk_movies_genre FOREIGN KEY (genre_id) REFERENCES genres (id);
+
+-- Der Index fuer findByGenre wandert auf die (2 Byte statt Text) kompakte Spalte
+DROP INDEX idx_movies_genre;
+ALTER TABLE movies DROP COLUMN genre;
+CREATE INDEX idx_movies_genre ON movies (genre_id);
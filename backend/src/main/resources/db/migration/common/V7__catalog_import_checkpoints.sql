@@ -0,0 +1,14 @@
+-- ==============================================================
+-- V7: Checkpoints des TSV-Katalogimports (CatalogImportService)
+-- Jeder erfolgreich geladene Chunk wird in DERSELBEN Transaktion wie seine Filme eingetragen.
+-- ! Nach einem Abbruch werden nur die fehlenden Chunks neu geladen (keine Duplikate).
+-- ==============================================================
+
+CREATE TABLE catalog_import_chunks (
+    source      VARCHAR(500) NOT NULL,
+    chunk_start BIGINT       NOT NULL,
+    chunk_end   BIGINT       NOT NULL,
+    rows_loaded INTEGER      NOT NULL,
+    loaded_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_catalog_import_chunks PRIMARY KEY (source, chunk_start)
+);
@@ -0,0 +1,9 @@
+-- ==============================================================
+-- V3 (nur PostgreSQL): Index für MovieRepository.findByTitleContainingIgnoreCase
+-- Hibernate erzeugt: upper(title) LIKE upper('%...%') -> ein B-Tree hilft bei führendem Wildcard nicht,
+-- ein Trigramm-Index (pg_trgm) schon.
+-- ==============================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_movies_title_trgm ON movies USING gin (upper(title) gin_trgm_ops);
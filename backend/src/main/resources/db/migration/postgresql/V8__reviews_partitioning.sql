@@ -0,0 +1,49 @@
+-- ==============================================================
+-- V8 (nur PostgreSQL): reviews nach created_at partitionieren (1 Partition pro Festival-Jahrgang)
+-- Fast alle Abfragen betreffen den aktuellen Jahrgang: Mit einer Bedingung auf created_at liest
+-- PostgreSQL nur dessen Partition (Partition Pruning), alte Jahrgänge werden per DETACH archiviert
+-- statt mit DELETE gelöscht (siehe ReviewPartitionService).
+-- Neue Jahrgänge legt der ReviewPartitionService beim Start und täglich im Voraus an.
+-- ==============================================================
+
+-- ! Der Partitionsschlüssel muss Teil jedes UNIQUE-Constraints sein: PK = (id, created_at).
+-- Die IDs bleiben trotzdem eindeutig, sie kommen aus reviews_seq (V4).
+CREATE TABLE reviews_partitioned (
+    id         BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    movie_id   BIGINT       NOT NULL,
+    rating     INTEGER      NOT NULL,
+    comment    VARCHAR(2000),
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_reviews PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Partitionen vom aeltesten vorhandenen Jahrgang (mind. Vorjahr) bis zum naechsten Jahr.
+-- ! "Ein Review pro User und Film" (uk_reviews_user_movie aus V2) gilt auf DB-Ebene nun pro Jahrgang
+-- (UNIQUE-Index pro Partition), jahrgangsuebergreifend prueft ReviewService.addReview.
+DO $$
+DECLARE
+    first_edition INT := LEAST(EXTRACT(YEAR FROM (SELECT MIN(created_at) FROM reviews))::INT,
+                               EXTRACT(YEAR FROM now())::INT - 1);
+    last_edition  INT := GREATEST(EXTRACT(YEAR FROM (SELECT MAX(created_at) FROM reviews))::INT,
+                                  EXTRACT(YEAR FROM now())::INT) + 1;
+BEGIN
+    FOR edition IN first_edition..last_edition LOOP
+        EXECUTE format('CREATE TABLE reviews_y%s PARTITION OF reviews_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       edition, make_date(edition, 1, 1), make_date(edition + 1, 1, 1));
+        EXECUTE format('CREATE UNIQUE INDEX uk_reviews_y%s_user_movie ON reviews_y%s (user_id, movie_id)',
+                       edition, edition);
+    END LOOP;
+END $$;
+
+INSERT INTO reviews_partitioned (id, user_id, movie_id, rating, comment, created_at)
+SELECT id, user_id, movie_id, rating, comment, created_at FROM reviews;
+
+DROP TABLE reviews;
+ALTER TABLE reviews_partitioned RENAME TO reviews;
+
+ALTER TABLE reviews ADD CONSTRAINT fk_reviews_user FOREIGN KEY (user_id) REFERENCES app_users (id);
+ALTER TABLE reviews ADD CONSTRAINT fk_reviews_movie FOREIGN KEY (movie_id) REFERENCES movies (id);
+
+-- ReviewRepository.findByMovieId + getAverageRatingForMovie (wird auf jeder Partition angelegt)
+CREATE INDEX idx_reviews_movie_rating ON reviews (movie_id, rating);
@@ -0,0 +1,38 @@
+-- ==============================================================
+-- V9 (nur PostgreSQL): "Ein Review pro User und Film" wieder ueber alle Jahrgaenge
+-- Seit V8 ist reviews partitioniert, ein UNIQUE-Index kann (user_id, movie_id) nur pro Partition erzwingen.
+-- review_keys ist nicht partitioniert und haelt jede Kombination genau einmal (Primaerschluessel).
+-- Ein Trigger auf reviews traegt die Kombination beim INSERT ein: Ein zweites Review desselben Users zum
+-- selben Film scheitert an pk_review_keys, auch jahrgangsuebergreifend und bei gleichzeitigen Requests.
+-- ! Archivierte Jahrgaenge (DETACH + DROP, siehe ReviewPartitionService) behalten ihre Eintraege:
+-- DROP TABLE loest keinen DELETE-Trigger aus, ein User kann einen archivierten Film nicht erneut bewerten.
+-- ==============================================================
+
+CREATE TABLE review_keys (
+    user_id  BIGINT NOT NULL,
+    movie_id BIGINT NOT NULL,
+    CONSTRAINT pk_review_keys PRIMARY KEY (user_id, movie_id),
+    -- Wird ein Film oder User geloescht, verschwinden auch seine Eintraege (die Reviews sind dann bereits geloescht)
+    CONSTRAINT fk_review_keys_user FOREIGN KEY (user_id) REFERENCES app_users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_review_keys_movie FOREIGN KEY (movie_id) REFERENCES movies (id) ON DELETE CASCADE
+);
+
+-- Bestehende Reviews uebernehmen (Duplikate ueber Jahrgaenge, die seit V8 moeglich waren, einmal)
+INSERT INTO review_keys (user_id, movie_id)
+SELECT DISTINCT user_id, movie_id FROM reviews;
+
+CREATE FUNCTION reviews_sync_keys() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        DELETE FROM review_keys WHERE user_id = OLD.user_id AND movie_id = OLD.movie_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO review_keys (user_id, movie_id) VALUES (NEW.user_id, NEW.movie_id);
+    END IF;
+    RETURN NULL;
+END $$;
+
+-- Trigger auf der partitionierten Tabelle gelten fuer alle (auch spaeter angelegten) Partitionen
+CREATE TRIGGER trg_reviews_sync_keys
+    AFTER INSERT OR DELETE OR UPDATE OF user_id, movie_id ON reviews
+    FOR EACH ROW EXECUTE FUNCTION reviews_sync_keys();
@@ -0,0 +1,22 @@
+package com.wiss.cinebase.config;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Obergrenze für SQL-Statements eines Tests (inkl. der Requests, die er per MockMvc auslöst).
+ * Nur wirksam in Tests mit Spring-Kontext (instrumentierte DataSource, siehe SqlStatisticsConfig).
+ * Die Instrumentierung ist in den Tests über surefire aktiv (cinebase.sql-statistics.enabled in pom.xml).
+ * Beispiel: @MaxSqlStatements(3) an einer Testmethode oder Testklasse.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementLimitExtension.class)
+public @interface MaxSqlStatements {
+
+    int value();
+}
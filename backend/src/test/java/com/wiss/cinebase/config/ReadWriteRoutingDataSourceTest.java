@@ -0,0 +1,144 @@
+package com.wiss.cinebase.config;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+// Importiert Spring JDBC / Transaktionen für den Test ohne Application Context.
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests für das Read/Write-Routing mit zwei eingebetteten H2-Datenbanken.
+ * Jede Datenbank enthält eine Tabelle 'node' mit ihrem Namen -> so ist sichtbar, welche DB geantwortet hat.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primary, List.of(replica), 30, new ReadYourWritesTracker(5));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Sollte readOnly-Transaktionen auf die Replika und Schreibzugriffe auf den Primary leiten")
+    void testRoutesByReadOnlyFlag() {
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+    }
+
+    @Test
+    @DisplayName("Sollte nach einem Schreibzugriff desselben Users vom Primary lesen (Read-your-writes)")
+    void testReadYourWrites() {
+        login("kritiker_hans");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+
+        // Andere User lesen weiterhin von der Replika
+        login("scifi_sarah");
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    @DisplayName("Sollte ohne Schreibzugriff, nach Rollback und für anonyme Requests weiter von der Replika lesen")
+    void testReadYourWritesOnlyAfterCommittedWrite() {
+        login("kritiker_hans");
+        // Transaktion ohne readOnly-Flag, aber nur mit SELECT (PreparedStatement wie bei JPA)
+        readWrite.executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT name FROM node WHERE ? = 1", String.class, 1));
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    @DisplayName("Sollte Verbindungen mit Benutzername und Passwort ebenfalls routen")
+    void testRoutesConnectionsWithCredentials() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primary, List.of(replica), 30, new ReadYourWritesTracker(5));
+        try (Connection connection = routing.getConnection("sa", "");
+             ResultSet resultSet = connection.createStatement().executeQuery("SELECT name FROM node")) {
+            resultSet.next();
+            assertEquals("primary", resultSet.getString(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Sollte bei ausgefallener Replika auf den Primary ausweichen")
+    void testFallsBackToPrimaryWhenReplicaIsDown() {
+        DataSource broken = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primary, List.of(broken), 30, new ReadYourWritesTracker(0));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+
+        assertEquals("primary", template.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT name FROM node", String.class)));
+    }
+
+    // --- Hilfsmethoden ---
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource embeddedDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
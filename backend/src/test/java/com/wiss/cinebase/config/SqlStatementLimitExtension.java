@@ -0,0 +1,47 @@
+package com.wiss.cinebase.config;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * JUnit-Extension zu MaxSqlStatements: Misst jeden Test mit SqlStatistics und prüft die Obergrenze.
+ * Bei Überschreitung enthält die Meldung alle Statements mit Anzahl (N+1 ist so direkt sichtbar).
+ */
+class SqlStatementLimitExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SqlStatementLimitExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), SqlStatistics.start());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlStatistics statistics = context.getStore(NAMESPACE).remove(context.getUniqueId(), SqlStatistics.class);
+        statistics.close();
+        if (context.getExecutionException().isPresent()) {
+            return; // Der eigentliche Fehler ist aussagekräftiger
+        }
+        int limit = limit(context);
+        if (statistics.statements() > limit) {
+            StringBuilder message = new StringBuilder()
+                    .append(statistics.statements()).append(" SQL-Statements, erlaubt sind ").append(limit).append(':');
+            statistics.executions().forEach((sql, count) -> message.append("\n  ").append(count).append("x ").append(sql));
+            fail(message.toString());
+        }
+    }
+
+    // Annotation an der Methode vor der an der Klasse
+    private static int limit(ExtensionContext context) {
+        MaxSqlStatements annotation = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestMethod(), MaxSqlStatements.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestClass(), MaxSqlStatements.class);
+        }
+        return annotation.value();
+    }
+}
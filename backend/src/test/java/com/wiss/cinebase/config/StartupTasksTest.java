@@ -0,0 +1,71 @@
+package com.wiss.cinebase.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit-Tests für die Startaufgaben im Hintergrund: Reihenfolge, Fehler und Readiness.
+ */
+class StartupTasksTest {
+
+    @Test
+    @DisplayName("Sollte OUT_OF_SERVICE melden, solange eine Aufgabe läuft, danach UP")
+    void testOutOfServiceWhileRunning() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskExecutor executor = task -> Thread.ofVirtual().start(task);
+        StartupTasks startupTasks = new StartupTasks(executor);
+        assertEquals(Status.UP, startupTasks.health().getStatus());
+
+        startupTasks.submit("Basisdaten", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        List<String> order = new ArrayList<>();
+        var warmup = startupTasks.submit("Warm-up", () -> order.add("Warm-up"));
+
+        assertTrue(startupTasks.isPending());
+        assertEquals(Status.OUT_OF_SERVICE, startupTasks.health().getStatus());
+        assertEquals(List.of(), order, "Das Warm-up wartet auf die Basisdaten");
+
+        release.countDown();
+        warmup.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("Warm-up"), order);
+        assertEquals(Status.UP, startupTasks.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Sollte nach einem Fehler DOWN melden und die folgenden Aufgaben auslassen")
+    void testDownAfterFailure() {
+        StartupTasks startupTasks = new StartupTasks(new SyncTaskExecutor());
+        List<String> order = new ArrayList<>();
+
+        startupTasks.submit("Basisdaten", () -> {
+            throw new IllegalStateException("Datenbank nicht erreichbar");
+        });
+        var warmup = startupTasks.submit("Warm-up", () -> order.add("Warm-up"));
+
+        assertThrows(ExecutionException.class, warmup::get);
+        assertEquals(List.of(), order);
+        assertFalse(startupTasks.isPending());
+        assertEquals(Status.DOWN, startupTasks.health().getStatus());
+        assertEquals("java.lang.IllegalStateException: Datenbank nicht erreichbar",
+                startupTasks.health().getDetails().get("error"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.wiss.cinebase.config;
+
+// Importiert das OpenTelemetry SDK (Tracer ohne Spring).
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests für das Tail-Sampling: Entscheidung pro Trace, erst wenn der Wurzel-Span endet.
+ */
+class TailSamplingSpanProcessorTest {
+
+    // Exporter, der die exportierten Traces im Speicher sammelt (wartet, solange exportBlocked nicht freigegeben ist)
+    private final List<List<SpanData>> exported = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch exportBlocked = new CountDownLatch(0);
+    private final SpanExporter exporter = new SpanExporter() {
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            try {
+                exportBlocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exported.add(List.copyOf(spans));
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    };
+
+    @Test
+    @DisplayName("Sollte langsame und fehlerhafte Traces vollständig behalten und schnelle verwerfen")
+    void testKeepsSlowAndFailedTraces() {
+        TailSamplingSpanProcessor processor = new TailSamplingSpanProcessor(exporter, new TracingProperties(
+                true, Path.of("unused"), DataSize.ofMegabytes(1), Duration.ofMillis(50), 0.0, true,
+                100, 100, Duration.ofSeconds(60)));
+        SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        Tracer tracer = provider.get("test");
+
+        trace(tracer, "fast", 0, false);
+        trace(tracer, "slow", 60, false);
+        trace(tracer, "failed", 0, true);
+        provider.shutdown().join(10, TimeUnit.SECONDS);
+
+        assertEquals(2, exported.size());
+        // Pro Trace: Kind-Span + Wurzel-Span
+        assertEquals(List.of("query", "slow"), exported.get(0).stream().map(SpanData::getName).toList());
+        assertEquals(List.of("query", "failed"), exported.get(1).stream().map(SpanData::getName).toList());
+        assertEquals(2, processor.getKept());
+        assertEquals(1, processor.getDropped());
+        assertEquals(0, processor.getRejected());
+    }
+
+    @Test
+    @DisplayName("Sollte Traces bei voller Export-Warteschlange als rejected zählen, nicht als dropped")
+    void testCountsRejectedExportsSeparately() {
+        TailSamplingSpanProcessor processor = new TailSamplingSpanProcessor(exporter, new TracingProperties(
+                true, Path.of("unused"), DataSize.ofMegabytes(1), Duration.ZERO, 0.0, true,
+                100, 100, Duration.ofSeconds(60)));
+        SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        Tracer tracer = provider.get("test");
+        exportBlocked = new CountDownLatch(1);
+
+        // Alle behalten (slow-threshold 0): 1 Trace im Export-Thread + 1000 in der Warteschlange, 2 zu viel
+        for (int i = 0; i < 1003; i++) {
+            trace(tracer, "slow", 1, false);
+        }
+
+        assertEquals(1001, processor.getKept());
+        assertEquals(2, processor.getRejected());
+        assertEquals(0, processor.getDropped());
+        exportBlocked.countDown();
+        provider.shutdown().join(10, TimeUnit.SECONDS);
+        assertEquals(1001, exported.size());
+    }
+
+    // Wurzel-Span mit fester Dauer (Zeitstempel statt sleep), darin ein Kind-Span
+    private static void trace(Tracer tracer, String name, long rootMillis, boolean failed) {
+        Instant start = Instant.now();
+        Span root = tracer.spanBuilder(name).setStartTimestamp(start).startSpan();
+        try (Scope scope = root.makeCurrent()) {
+            Span child = tracer.spanBuilder("query").startSpan();
+            if (failed) {
+                child.setStatus(StatusCode.ERROR);
+            }
+            child.end();
+        }
+        root.end(start.plusMillis(rootMillis));
+    }
+}
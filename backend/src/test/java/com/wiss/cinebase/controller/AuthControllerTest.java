@@ -4,6 +4,15 @@ package com.wiss.cinebase.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 // Importiert das DTO für den Login-Request.
 import com.wiss.cinebase.dto.LoginRequestDTO;
+// Obergrenze für SQL-Statements pro Test.
+import com.wiss.cinebase.config.MaxSqlStatements;
+import com.wiss.cinebase.config.SqlStatistics;
+// Für den Test-User mit veraltetem Kostenfaktor.
+import com.wiss.cinebase.entity.AppUser;
+import com.wiss.cinebase.entity.Role;
+import com.wiss.cinebase.repository.AppUserRepository;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 // Importiert JUnit-Annotationen.
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +23,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
 // Importiert statische Methoden für Request-Builder und Result-Matcher.
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -34,8 +46,17 @@ class AuthControllerTest {
     @Autowired
     private ObjectMapper objectMapper; // Wandelt Java-Objekte in JSON-Strings um.
 
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     @Test
     @DisplayName("Sollte JWT-Token zurückgeben, wenn Login-Daten korrekt sind")
+    // ! Ein SELECT auf app_users (Username ODER E-Mail), dazu ein UPDATE, falls der Hash ein Upgrade braucht
+    // (AppUserService.upgradePasswordIfNeeded, z.B. nach einer Änderung von security.bcrypt.strength)
+    @MaxSqlStatements(2)
     void testLoginSuccess() throws Exception {
         // 1. Arrange: Nutzung des Admin-Accounts, der durch den DataInitializer erstellt wurde.
         LoginRequestDTO loginRequest = new LoginRequestDTO("admin", "admin123");
@@ -65,4 +86,34 @@ class AuthControllerTest {
                 // Erwartung: HTTP Status 401 Unauthorized (gemäß GlobalExceptionHandler).
                 .andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Sollte einen Hash mit veraltetem Kostenfaktor beim Login mit einem einzigen UPDATE ersetzen")
+    void testLoginUpgradesHash() throws Exception {
+        // 1. Arrange: User mit Kostenfaktor 4 (z.B. vor einer Änderung von security.bcrypt.strength angelegt).
+        // Eindeutiger Username, da die Testdatenbank mit den anderen Tests geteilt wird.
+        String username = "upgrade" + System.nanoTime();
+        AppUser user = userRepository.save(new AppUser(username, username + "@cinebase.ch",
+                new BCryptPasswordEncoder(4).encode("admin123"), Role.USER));
+        LoginRequestDTO loginRequest = new LoginRequestDTO(username, "admin123");
+
+        try {
+            // 2. Act: Nur die Statements des Logins zählen (ohne das Anlegen oben).
+            try (SqlStatistics statistics = SqlStatistics.start()) {
+                mockMvc.perform(post("/api/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(loginRequest)))
+                        .andExpect(status().isOk());
+
+                // Erwartung: SELECT + UPDATE, kein merge() mit zusätzlichem SELECT.
+                assertEquals(2, statistics.statements(), statistics.executions().toString());
+            }
+
+            // 3. Assert: Der gespeicherte Hash hat jetzt den konfigurierten Kostenfaktor und wird nicht erneut ersetzt.
+            String upgraded = userRepository.findByUsernameOrEmail(username).get(0).getPassword();
+            assertFalse(passwordEncoder.upgradeEncoding(upgraded), upgraded);
+        } finally {
+            userRepository.deleteById(user.getId());
+        }
+    }
+}
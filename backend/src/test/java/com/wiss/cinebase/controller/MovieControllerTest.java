@@ -0,0 +1,181 @@
+package com.wiss.cinebase.controller;
+
+// Importiert Jackson für die JSON-Konvertierung.
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.cinebase.dto.MovieDTO;
+// Obergrenze für SQL-Statements pro Test.
+import com.wiss.cinebase.config.MaxSqlStatements;
+import com.wiss.cinebase.service.CatalogResponseCache;
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+// Importiert Spring Boot Test-Annotationen.
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+// Importiert statische Methoden für Request-Builder und Result-Matcher.
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integrationstests für die Filmliste (SQL-Budget) und bedingte Änderungen an Filmen (ETag / If-Match).
+ * Jeder Test legt einen eigenen Film an (Version 0, ETag "0") und ist so unabhängig von den Basisdaten.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = "ADMIN") // Admin aus dem DataInitializer (createMovie setzt createdBy)
+class MovieControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Test
+    @DisplayName("GET /api/movies: Feste Anzahl Statements, unabhängig von der Anzahl Filme (kein N+1)")
+    @MaxSqlStatements(2) // ! SELECT movies (bzw. Query-Cache) + ein SELECT für alle Durchschnittsbewertungen
+    void testCatalogStatementBudget() throws Exception {
+        catalogResponseCache.invalidate(); // Sonst liefert der Cache die Antwort ohne Datenbank
+
+        mockMvc.perform(get("/api/movies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", greaterThan(1)));
+    }
+
+    @Test
+    @DisplayName("GET /api/movies: Vorkomprimierte Variante je nach Accept-Encoding, immer mit Vary: Accept-Encoding")
+    void testCatalogContentEncoding() throws Exception {
+        // gzip (Brotli hängt von der nativen Bibliothek ab), auch wenn * ausgeschlossen ist
+        byte[] gzip = mockMvc.perform(get("/api/movies").header(HttpHeaders.ACCEPT_ENCODING, "*;q=0, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertEquals('[', in.read(), "Entpackt die JSON-Liste");
+        }
+
+        // Ohne Accept-Encoding unkomprimiert
+        mockMvc.perform(get("/api/movies"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(jsonPath("$.length()", greaterThan(1)));
+
+        // Keine erzeugte Variante akzeptiert (br nicht genannt, gzip und unkomprimiert ausgeschlossen): 406
+        mockMvc.perform(get("/api/movies").header(HttpHeaders.ACCEPT_ENCODING, "identity;q=0, gzip;q=0"))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    @DisplayName("PUT: Ohne If-Match 428, mit veraltetem ETag 412, mit aktuellem ETag 200 und neuem ETag")
+    void testPutRequiresCurrentETag() throws Exception {
+        long id = createMovie();
+        String body = objectMapper.writeValueAsString(movie("Neu geschnitten"));
+
+        mockMvc.perform(put("/api/movies/{id}", id).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_REQUIRED"));
+
+        mockMvc.perform(put("/api/movies/{id}", id).header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+        mockMvc.perform(put("/api/movies/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.title").value("Neu geschnitten"));
+
+        // Der ETag aus GET passt zur neuen Version, der alte ist jetzt veraltet
+        mockMvc.perform(get("/api/movies/{id}", id))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(put("/api/movies/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PATCH: Ohne If-Match 428, mit veraltetem ETag 412, sonst 204 mit neuem ETag")
+    void testPatchRequiresCurrentETag() throws Exception {
+        long id = createMovie();
+        String body = "{\"director\":\"Agnès Varda\"}";
+
+        mockMvc.perform(patch("/api/movies/{id}", id).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionRequired());
+        mockMvc.perform(patch("/api/movies/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/movies/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(get("/api/movies/{id}", id))
+                .andExpect(jsonPath("$.director").value("Agnès Varda"))
+                .andExpect(jsonPath("$.description").value("Vorpremiere"));
+    }
+
+    @Test
+    @DisplayName("PATCH: null entfernt die Beschreibung, Pflichtfelder auf null ergeben 400")
+    void testPatchNullClearsDescription() throws Exception {
+        long id = createMovie();
+
+        mockMvc.perform(patch("/api/movies/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType("application/merge-patch+json").content("{\"title\":null}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(patch("/api/movies/{id}", id).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType("application/merge-patch+json").content("{\"description\":null}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/movies/{id}", id))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.title").value("Cléo de 5 à 7"));
+    }
+
+    // --- Hilfsmethoden ---
+
+    private long createMovie() throws Exception {
+        String response = mockMvc.perform(post("/api/movies").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movie("Cléo de 5 à 7"))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, MovieDTO.class).getId();
+    }
+
+    private static MovieDTO movie(String title) {
+        MovieDTO movie = new MovieDTO();
+        movie.setTitle(title);
+        movie.setDescription("Vorpremiere");
+        movie.setGenre("Drama");
+        movie.setReleaseYear(1962);
+        movie.setDirector("Agnès Varda");
+        movie.setRating(7.9);
+        return movie;
+    }
+}
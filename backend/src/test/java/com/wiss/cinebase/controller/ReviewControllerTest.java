@@ -0,0 +1,42 @@
+package com.wiss.cinebase.controller;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+// Importiert Spring Boot Test-Annotationen.
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Importiert statische Methoden für Request-Builder und Result-Matcher.
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integrationstests für die Review-Endpunkte: Validierung des Jahrgangs-Filters.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = "admin", roles = "ADMIN")
+class ReviewControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("GET /api/reviews/movie/{id}?edition=...: Sollte einen ungültigen Jahrgang mit 400 statt 500 ablehnen")
+    void testRejectsOutOfRangeEdition() throws Exception {
+        mockMvc.perform(get("/api/reviews/movie/1").param("edition", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.message", containsString("edition")));
+
+        mockMvc.perform(get("/api/reviews/movie/1").param("edition", "1000000000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.wiss.cinebase.entity;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+// Importiert Spring Security Klassen für die Rollen-Checks.
+import org.springframework.security.core.GrantedAuthority;
+
+// Importiert die JVM-Schnittstelle zur Messung der Allokationen pro Thread.
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit-Tests für die Authorities des AppUsers.
+ * Stellt sicher, dass getAuthorities() die vorberechnete Liste der Rolle liefert
+ * und pro Aufruf keinen Speicher alloziert (Allokationsprofil).
+ */
+class AppUserTest {
+
+    private static final int CALLS = 100_000;
+
+    @Test
+    @DisplayName("Sollte für jeden Aufruf dieselbe, unveränderliche Authority-Liste liefern")
+    void testAuthoritiesArePrecomputed() {
+        AppUser admin = new AppUser("admin", "admin@cinebase.ch", "hash", Role.ADMIN);
+
+        Collection<? extends GrantedAuthority> first = admin.getAuthorities();
+
+        assertSame(first, admin.getAuthorities());
+        assertSame(Role.ADMIN.getAuthorities(), first);
+        assertEquals(1, first.size());
+        assertEquals("ROLE_ADMIN", first.iterator().next().getAuthority());
+        // Interniert: Vergleich per Referenz möglich
+        assertSame("ROLE_ADMIN", Role.ADMIN.getAuthority());
+    }
+
+    @Test
+    @DisplayName("Sollte bei Rollen-Checks (hasRole/hasAnyRole-Muster) keinen Speicher allozieren")
+    void testAuthoritiesDoNotAllocate() {
+        AppUser user = new AppUser("kritiker_hans", "hans@presse.ch", "hash", Role.USER);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        // Aufwärmen (Klassenladen, JIT), danach messen.
+        int matches = simulateRoleChecks(user, CALLS);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        matches += simulateRoleChecks(user, CALLS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(2 * CALLS, matches);
+        // ! Toleranz für die Messung selbst; eine Allokation pro Aufruf wären > 1 MB.
+        assertTrue(allocated < 1024, "Allokiert: " + allocated + " Bytes für " + CALLS + " Aufrufe");
+    }
+
+    // Entspricht dem Authority-Abgleich von hasAnyRole('ADMIN', 'USER') pro Request.
+    private static int simulateRoleChecks(AppUser user, int calls) {
+        GrantedAuthority admin = Role.ADMIN.getAuthorities().get(0);
+        GrantedAuthority journalist = Role.USER.getAuthorities().get(0);
+        int matches = 0;
+        for (int i = 0; i < calls; i++) {
+            Collection<? extends GrantedAuthority> authorities = user.getAuthorities();
+            if (authorities.contains(admin) || authorities.contains(journalist)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,45 @@
+package com.wiss.cinebase.repository;
+
+import com.wiss.cinebase.entity.Movie;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integrationstest für die Suche nach Genre-Namen (MovieGenreRepositoryImpl) gegen die Basisdaten.
+ */
+@SpringBootTest
+class MovieGenreRepositoryTest {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Test
+    @DisplayName("Sollte für ein unbekanntes Genre eine leere Liste statt einer Exception liefern")
+    void testUnknownGenreReturnsEmptyList() {
+        assertTrue(movieRepository.findByGenre("Unbekannt").isEmpty());
+        assertTrue(movieRepository.findByGenre(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Sollte für ein bekanntes Genre genau dessen Filme liefern")
+    void testKnownGenreReturnsItsMovies() {
+        List<Movie> all = movieRepository.findAll();
+        assertFalse(all.isEmpty(), "Basisdaten erwartet");
+        String genre = all.get(0).getGenre();
+
+        List<Movie> found = movieRepository.findByGenre(genre);
+
+        assertEquals(all.stream().filter(movie -> genre.equals(movie.getGenre())).count(), found.size());
+        assertTrue(found.stream().allMatch(movie -> genre.equals(movie.getGenre())));
+    }
+}
@@ -0,0 +1,258 @@
+package com.wiss.cinebase.repository;
+
+// Zählt die Statements eines Aufrufs und liefert das SQL, wie Hibernate es an die Datenbank schickt.
+import com.wiss.cinebase.config.SqlStatistics;
+import com.wiss.cinebase.service.GenreDictionary;
+
+// Importiert JUnit-Annotationen und dynamische Tests (ein Test pro Repository-Abfrage).
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prüft per EXPLAIN, dass jede Repository-Abfrage einen Index nutzt (kein Seq Scan).
+ * Ablauf:
+ * 1. Die Anwendung startet gegen ein eigenes Schema, Flyway spielt dort alle Migrationen ein (keine Berührung der App-Daten).
+ * 2. Das Schema wird mit realistischen Mengen befüllt (generate_series) und ANALYZE ausgeführt,
+ *    da der Planner bei wenigen Zeilen zu Recht einen Seq Scan wählt.
+ * 3. Jede Repository-Methode wird aufgerufen. SqlStatistics zeichnet das SQL auf, das Hibernate tatsächlich sendet.
+ * 4. Jedes aufgezeichnete Statement wird mit PREPARE / EXPLAIN EXECUTE als generischer Plan geprüft
+ *    (den verwenden Prepared Statements nach einigen Ausführungen, unabhängig von den Parametern).
+ * 5. Abfragen auf einen Jahrgang dürfen nur dessen Partition von reviews lesen (V8).
+ * ! Benötigt die PostgreSQL-Datenbank aus docker-compose.yml (Port 5435). Ohne Datenbank wird der Test übersprungen.
+ * Verbindung überschreibbar per -Dexplain.jdbc.url / -Dexplain.jdbc.user / -Dexplain.jdbc.password.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${explain.jdbc.url:" + QueryIndexUsageTest.DEFAULT_URL + "}",
+        "spring.datasource.username=${explain.jdbc.user:cinebase_user}",
+        "spring.datasource.password=${explain.jdbc.password:cinebase_password}",
+        "spring.datasource.hikari.schema=" + QueryIndexUsageTest.SCHEMA,
+        "spring.flyway.schemas=" + QueryIndexUsageTest.SCHEMA,
+        "spring.jpa.show-sql=false",
+        "cinebase.sql-statistics.enabled=true",
+        "cinebase.seed.mode=off",
+        "cinebase.warmup.enabled=false"
+})
+@EnabledIf("isPostgresReachable")
+@DirtiesContext // Das Schema wird nach den Tests gelöscht, der Kontext darf nicht wiederverwendet werden
+class QueryIndexUsageTest {
+
+    static final String SCHEMA = "cinebase_explain_test";
+    static final String DEFAULT_URL = "jdbc:postgresql://localhost:5435/cinebase_multiuser_app";
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Autowired
+    private AppUserRepository userRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static boolean isPostgresReachable() {
+        try (Connection ignored = DriverManager.getConnection(
+                System.getProperty("explain.jdbc.url", DEFAULT_URL),
+                System.getProperty("explain.jdbc.user", "cinebase_user"),
+                System.getProperty("explain.jdbc.password", "cinebase_password"))) {
+            return true;
+        } catch (SQLException e) {
+            System.out.println("QueryIndexUsageTest übersprungen, PostgreSQL nicht erreichbar: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate, @Autowired GenreDictionary genreDictionary) {
+        // Reste eines abgebrochenen Laufs entfernen (Flyway hat das Schema beim Start angelegt bzw. übernommen)
+        jdbcTemplate.execute("TRUNCATE reviews, movies, genres, app_users CASCADE");
+        // 5'000 User, 20'000 Filme in 50 Genres (200 Admins), 100'000 Reviews (5 pro Film)
+        // IDs explizit: Seit V4 kommen sie aus Sequenzen (kein Spalten-Default mehr)
+        jdbcTemplate.execute("INSERT INTO app_users (id, version, username, email, password, role) " +
+                "SELECT i, 0, 'user' || i, 'user' || i || '@presse.ch', 'hash', " +
+                "CASE WHEN i <= 200 THEN 'ADMIN' ELSE 'USER' END FROM generate_series(1, 5000) i");
+        jdbcTemplate.execute("INSERT INTO genres (id, name) SELECT i, 'Genre ' || i FROM generate_series(1, 50) i");
+        jdbcTemplate.execute("INSERT INTO movies (id, title, description, genre_id, release_year, director, rating, created_by_user_id) " +
+                "SELECT i, 'Film ' || md5(i::text), 'Beschreibung', 1 + (i % 50), 1900 + (i % 120), " +
+                "'Regie ' || (i % 900), (i % 100) / 10.0, 1 + (i % 200) FROM generate_series(1, 20000) i");
+        jdbcTemplate.execute("INSERT INTO reviews (id, user_id, movie_id, rating, comment, created_at) " +
+                "SELECT i + 1, 1 + (i % 5000), 1 + (i / 5), 1 + (i % 10), 'Kommentar', now() - (i || ' minutes')::interval " +
+                "FROM generate_series(0, 99999) i");
+        jdbcTemplate.execute("ANALYZE app_users");
+        jdbcTemplate.execute("ANALYZE movies");
+        jdbcTemplate.execute("ANALYZE reviews");
+        genreDictionary.reload();
+    }
+
+    @AfterAll
+    static void dropSchema(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @TestFactory
+    @DisplayName("Sollte für jede Repository-Abfrage einen Index nutzen")
+    Stream<DynamicTest> testQueriesUseIndex() {
+        return Stream.of(
+                query("AppUserRepository.findByUsername", () -> userRepository.findByUsername("user42")),
+                query("AppUserRepository.findByEmail", () -> userRepository.findByEmail("user42@presse.ch")),
+                query("AppUserRepository.findByUsernameOrEmail", () -> userRepository.findByUsernameOrEmail("user42")),
+                query("AppUserRepository.existsByUsername", () -> userRepository.existsByUsername("user42")),
+                query("AppUserRepository.findByUsernameInOrEmailIn", () -> userRepository.findByUsernameInOrEmailIn(
+                        List.of("user1", "user2"), List.of("a@x.ch", "b@x.ch"))),
+                query("MovieRepository.findByGenre", () -> movieRepository.findByGenre("Genre 7")),
+                query("MovieRepository.findByCreatedBy_Id", () -> movieRepository.findByCreatedBy_Id(17L)),
+                query("MovieRepository.findByTitleContainingIgnoreCase", () -> movieRepository.findByTitleContainingIgnoreCase("a1b2c")),
+                query("ReviewRepository.findByMovieId", () -> reviewRepository.findByMovieId(4711L)),
+                query("ReviewRepository.findByUserId", () -> reviewRepository.findByUserId(4711L)),
+                query("ReviewRepository.getAverageRatingForMovie", () -> reviewRepository.getAverageRatingForMovie(4711L)),
+                query("ReviewRepository.existsByUserIdAndMovieId", () -> reviewRepository.existsByUserIdAndMovieId(42L, 4711L))
+        );
+    }
+
+    @Test
+    @DisplayName("Sollte bei Abfragen auf einen Jahrgang nur dessen Partition lesen (Partition Pruning)")
+    void testEditionQueryPrunesPartitions() {
+        int edition = jdbcTemplate.queryForObject("SELECT EXTRACT(YEAR FROM now())::int", Integer.class);
+        LocalDate from = LocalDate.of(edition, 1, 1);
+        // ReviewRepository.findByMovieIdInPeriod (ReviewService.getReviewsByMovie mit Jahrgang)
+        String sql = recordSingleStatement(() -> reviewRepository.findByMovieIdInPeriod(
+                4711L, from.atStartOfDay(), from.plusYears(1).atStartOfDay()));
+
+        // Parameter in der Reihenfolge der JPQL-Abfrage (movieId, from, to), Plan mit den konkreten Werten
+        String plan = explain(sql, "force_custom_plan", List.of("4711", "'" + from + "'", "'" + from.plusYears(1) + "'"));
+        assertTrue(plan.contains("reviews_y" + edition), "Partition des Jahrgangs fehlt im Plan:\n" + plan);
+        assertFalse(plan.contains("reviews_y" + (edition - 1)), "Vorjahr nicht ausgeschlossen:\n" + plan);
+        assertFalse(plan.contains("reviews_y" + (edition + 1)), "Folgejahr nicht ausgeschlossen:\n" + plan);
+        assertFalse(hasSeqScanOnData(plan), "Kein Index auf der Partition:\n" + plan);
+    }
+
+    // Ruft die Repository-Methode auf und prüft den Plan jedes Statements, das Hibernate dafür sendet
+    private DynamicTest query(String repositoryMethod, Runnable call) {
+        return DynamicTest.dynamicTest(repositoryMethod, () -> {
+            Set<String> statements = record(call);
+            assertFalse(statements.isEmpty(), repositoryMethod + " hat kein SQL ausgeführt (Cache?)");
+            for (String sql : statements) {
+                String plan = explain(sql, "force_generic_plan", List.of());
+                assertFalse(hasSeqScanOnData(plan), repositoryMethod + " nutzt keinen Index:\n" + sql + "\n" + plan);
+            }
+        });
+    }
+
+    private static Set<String> record(Runnable call) {
+        try (SqlStatistics statistics = SqlStatistics.start()) {
+            call.run();
+            return statistics.executions().keySet();
+        }
+    }
+
+    private static String recordSingleStatement(Runnable call) {
+        Set<String> statements = record(call);
+        assertEquals(1, statements.size(), "Erwartet genau ein Statement: " + statements);
+        return statements.iterator().next();
+    }
+
+    /**
+     * EXPLAIN für ein Statement mit JDBC-Platzhaltern (?).
+     * Die Platzhalter werden zu $1..$n, PostgreSQL leitet die Typen beim PREPARE aus dem Kontext ab.
+     * @param planCacheMode force_generic_plan (Werte egal, fehlende Werte = NULL) oder force_custom_plan
+     * @param values SQL-Literale für $1..$n
+     */
+    private String explain(String sql, String planCacheMode, List<String> values) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                int parameters = countPlaceholders(sql);
+                List<String> arguments = new ArrayList<>(values);
+                while (arguments.size() < parameters) {
+                    arguments.add("NULL");
+                }
+                statement.execute("SET plan_cache_mode = " + planCacheMode);
+                statement.execute("PREPARE explain_query AS " + numberPlaceholders(sql));
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE explain_query"
+                        + (parameters == 0 ? "" : arguments.stream().collect(Collectors.joining(", ", "(", ")"))))) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("DEALLOCATE explain_query");
+                    statement.execute("RESET plan_cache_mode");
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    // ? -> $1, $2, ... (ausserhalb von String-Literalen)
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static int countPlaceholders(String sql) {
+        String numbered = numberPlaceholders(sql);
+        int count = 0;
+        while (numbered.contains("$" + (count + 1))) {
+            count++;
+        }
+        return count;
+    }
+
+    // Seq Scans auf leeren Partitionen (z.B. dem im Voraus angelegten Folgejahr) sind kein Problem.
+    private boolean hasSeqScanOnData(String plan) {
+        Matcher matcher = SEQ_SCAN.matcher(plan);
+        while (matcher.find()) {
+            String table = matcher.group(1);
+            if (!table.startsWith("reviews_y") || !isEmpty(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEmpty(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class));
+    }
+}
@@ -0,0 +1,153 @@
+package com.wiss.cinebase.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.cinebase.config.ConcurrencyLimitProperties;
+import com.wiss.cinebase.security.AdaptiveConcurrencyLimiter.Priority;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit-Tests für das adaptive Concurrency Limit: Anpassung des Limits und Abweisen mit 503.
+ * Die Latenzen werden direkt gemeldet, die Tests laufen ohne Wartezeiten.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(300);
+
+    private final ConcurrencyLimitProperties properties =
+            new ConcurrencyLimitProperties(true, 20, 4, 100, 0.2, 1.5, 0.8, 0.5);
+
+    @Test
+    @DisplayName("Sollte das Limit bei gleichbleibender Latenz bis max-limit erhöhen")
+    void testLimitGrowsWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 500; i++) {
+            completeSaturated(limiter, FAST);
+        }
+
+        assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Sollte das Limit senken, wenn alle Requests langsamer werden, aber nicht unter min-limit")
+    void testLimitShrinksWhenRequestsQueue() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        for (int i = 0; i < 100; i++) {
+            completeSaturated(limiter, FAST);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 30; i++) {
+            completeSaturated(limiter, 4 * FAST);
+        }
+        assertTrue(limiter.getLimit() < before, "Limit " + limiter.getLimit() + " nach Stau, vorher " + before);
+
+        for (int i = 0; i < 500; i++) {
+            completeSaturated(limiter, 20 * FAST);
+        }
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    @DisplayName("Sollte das Limit bei gemischt teuren Endpunkten (jeder 3. Request 30x langsamer) nicht senken")
+    void testMixedLatencyIsNotQueueing() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        for (int i = 0; i < 300; i++) {
+            completeSaturated(limiter, i % 3 == 0 ? SLOW : FAST);
+        }
+
+        // Ein einzelner langsamer Request (z.B. die Filmliste) ist kein Stau
+        int lowest = Integer.MAX_VALUE;
+        for (int i = 0; i < 600; i++) {
+            completeSaturated(limiter, i % 3 == 0 ? SLOW : FAST);
+            lowest = Math.min(lowest, limiter.getLimit());
+        }
+        assertTrue(lowest >= 90, "Limit fiel auf " + lowest);
+    }
+
+    @Test
+    @DisplayName("Sollte das Limit bei fehlgeschlagenen Requests (5xx) senken")
+    void testFailuresShrinkLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(Priority.READ));
+            limiter.onComplete(FAST, true);
+        }
+
+        assertTrue(limiter.getLimit() < 20);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Sollte Exporte und Schreibzugriffe vor Lesezugriffen abweisen")
+    void testSheddingByPriority() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(Priority.READ));
+        }
+        // Limit 20: Exporte dürfen 50% belegen, Schreibzugriffe 80%, Lesezugriffe alles
+        assertFalse(limiter.tryAcquire(Priority.EXPORT));
+        for (int i = 0; i < 6; i++) {
+            assertTrue(limiter.tryAcquire(Priority.WRITE));
+        }
+        assertFalse(limiter.tryAcquire(Priority.WRITE));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(Priority.READ));
+        }
+        assertFalse(limiter.tryAcquire(Priority.READ));
+
+        assertEquals(20, limiter.getInFlight());
+        assertEquals(20, limiter.getAccepted());
+        assertEquals(1, limiter.getRejected(Priority.READ));
+        assertEquals(1, limiter.getRejected(Priority.WRITE));
+        assertEquals(1, limiter.getRejected(Priority.EXPORT));
+    }
+
+    @Test
+    @DisplayName("Filter: Ohne freien Platz 503 mit Retry-After, der Request erreicht den Controller nicht")
+    void testFilterRejectsWith503() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, properties, new ObjectMapper().findAndRegisterModules());
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(Priority.READ);
+        }
+
+        MockFilterChain rejectedChain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/movies/export"), rejected, rejectedChain);
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"errorCode\":\"OVERLOADED\""));
+        assertNull(rejectedChain.getRequest());
+
+        // Lesezugriffe passen noch, der Platz wird nach dem Request wieder frei
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/movies/1"), accepted, new MockFilterChain());
+        assertEquals(200, accepted.getStatus());
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    // Belegt alle freien Plätze und beendet dann einen Request (das Limit ist damit ausgeschöpft)
+    private static void completeSaturated(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        while (limiter.tryAcquire(Priority.READ)) {
+            // belegen
+        }
+        limiter.onComplete(rttNanos, false);
+    }
+}
@@ -0,0 +1,141 @@
+package com.wiss.cinebase.security;
+
+import com.wiss.cinebase.controller.AuthController;
+import com.wiss.cinebase.entity.AppUser;
+import com.wiss.cinebase.entity.Role;
+import com.wiss.cinebase.exception.GlobalExceptionHandler;
+import com.wiss.cinebase.exception.PasswordHashingBusyException;
+import com.wiss.cinebase.repository.AppUserRepository;
+import com.wiss.cinebase.service.AppUserService;
+import com.wiss.cinebase.service.JwtService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit-Tests für den BCrypt-Encoder: Hash-Upgrade und Begrenzung der gleichzeitigen Berechnungen.
+ */
+class CostAwareBCryptPasswordEncoderTest {
+
+    // Kleinster Kostenfaktor, damit die Tests schnell bleiben
+    private final CostAwareBCryptPasswordEncoder encoder =
+            new CostAwareBCryptPasswordEncoder(4, 1, Duration.ofMillis(50));
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseBlockedHash() {
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Sollte Hashes mit höherem oder tieferem Kostenfaktor für ein Upgrade melden")
+    void testUpgradeEncoding() {
+        assertFalse(encoder.upgradeEncoding(encoder.encode("admin123")));
+        assertTrue(encoder.upgradeEncoding(new CostAwareBCryptPasswordEncoder(5).encode("admin123")));
+        assertFalse(encoder.upgradeEncoding("{noop}admin123"));
+    }
+
+    @Test
+    @DisplayName("Sollte nach acquire-timeout abbrechen statt unbegrenzt auf einen Hash-Platz zu warten")
+    void testTimesOutWhenAllPermitsAreBusy() throws Exception {
+        blockOnlyPermit();
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("admin123", encoder.encode("x")));
+
+        // Nach der Freigabe ist der Platz wieder verfügbar
+        release.countDown();
+        String hash = awaitPermit();
+        assertTrue(encoder.matches("admin123", hash));
+    }
+
+    @Test
+    @DisplayName("Login: Sollte mit 503 und Retry-After antworten, wenn kein Hash-Platz frei wird")
+    void testLoginRespondsWith503() throws Exception {
+        AppUserRepository userRepository = mock(AppUserRepository.class);
+        when(userRepository.findByUsernameOrEmail(anyString())).thenReturn(
+                List.of(new AppUser("admin", "admin@cinebase.ch", "$2a$04$abcdefghijklmnopqrstuuS1v2dFmA3MW8XyZl7bP4uHfLmZk1Ei", Role.ADMIN)));
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new AuthController(new AppUserService(userRepository, encoder), mock(JwtService.class)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        blockOnlyPermit();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernameOrEmail\":\"admin\",\"password\":\"admin123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.errorCode").value("AUTH_BUSY"));
+    }
+
+    // --- Hilfsmethoden ---
+
+    // Belegt den einzigen Hash-Platz: encode() liest das Passwort erst nach acquire(), toString() blockiert dort
+    private void blockOnlyPermit() throws InterruptedException {
+        Thread.ofVirtual().start(() -> encoder.encode(new BlockingPassword()));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+    }
+
+    // Wartet, bis der blockierte Hash fertig ist, und rechnet dann selbst
+    private String awaitPermit() throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try {
+                return encoder.encode("admin123");
+            } catch (PasswordHashingBusyException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new AssertionError("Hash-Platz wurde nicht freigegeben");
+    }
+
+    private final class BlockingPassword implements CharSequence {
+
+        @Override
+        public String toString() {
+            hashing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "blockiert";
+        }
+
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.wiss.cinebase.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.cinebase.config.RateLimitProperties;
+import com.wiss.cinebase.entity.Role;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit-Tests für das Rate Limiting: Limits pro Rolle, 429-Antwort und Token Bucket.
+ */
+class RateLimitFilterTest {
+
+    private static final RateLimitProperties.Limit TWO_PER_SECOND = new RateLimitProperties.Limit(2, 1);
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties(true,
+            TWO_PER_SECOND, TWO_PER_SECOND, TWO_PER_SECOND,
+            Map.of(Role.ADMIN, new RateLimitProperties.GroupLimits(null, new RateLimitProperties.Limit(5, 1), null)),
+            300), new ObjectMapper().findAndRegisterModules());
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Sollte nach dem Burst mit 429, RateLimit-Headern und Retry-After antworten")
+    void testRejectsWith429() throws Exception {
+        assertEquals(200, get("/api/movies").getStatus());
+        MockHttpServletResponse second = get("/api/movies");
+        assertEquals("2", second.getHeader("RateLimit-Limit"));
+        assertEquals("0", second.getHeader("RateLimit-Remaining"));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/movies"), rejected, chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertNull(chain.getRequest(), "Abgelehnte Requests dürfen den Controller nicht erreichen");
+        assertEquals("0", rejected.getHeader("RateLimit-Remaining"));
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("\"errorCode\":\"RATE_LIMITED\""));
+    }
+
+    @Test
+    @DisplayName("Sollte Limits pro Rolle anwenden, nicht gesetzte Gruppen erben das Standardlimit")
+    void testLimitsPerRole() throws Exception {
+        login("festival-admin", Role.ADMIN);
+        assertEquals("5", get("/api/movies").getHeader("RateLimit-Limit"));
+        assertEquals("2", post("/api/reviews").getHeader("RateLimit-Limit"));
+
+        login("journalist", Role.USER);
+        assertEquals("2", get("/api/movies").getHeader("RateLimit-Limit"));
+        assertEquals(200, get("/api/movies").getStatus());
+        assertEquals(429, get("/api/movies").getStatus());
+
+        // Eigener Bucket pro User: Der Admin ist vom Limit des Journalisten nicht betroffen
+        login("festival-admin", Role.ADMIN);
+        assertEquals(200, get("/api/movies").getStatus());
+    }
+
+    @Test
+    @DisplayName("Sollte nicht limitierte Pfade ohne Header durchlassen")
+    void testIgnoresOtherPaths() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = get("/swagger-ui/index.html");
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader("RateLimit-Limit"));
+        }
+    }
+
+    @Test
+    @DisplayName("Sollte Rollen-Limits aus Properties binden (ratelimit.roles.admin...)")
+    void testBindsRoleLimits() {
+        RateLimitProperties properties = new Binder(new MapConfigurationPropertySource(Map.of(
+                "ratelimit.enabled", "true",
+                "ratelimit.catalog-read.capacity", "100",
+                "ratelimit.catalog-read.refill-per-second", "20",
+                "ratelimit.roles.admin.catalog-read.capacity", "500",
+                "ratelimit.roles.admin.catalog-read.refill-per-second", "100")))
+                .bind("ratelimit", RateLimitProperties.class).get();
+
+        RateLimitProperties.GroupLimits admin = properties.roles().get(Role.ADMIN);
+        assertNotNull(admin);
+        assertEquals(500, admin.catalogRead().capacity());
+        assertNull(admin.reviewWrite());
+        assertNull(properties.roles().get(Role.USER));
+    }
+
+    @Test
+    @DisplayName("Token Bucket: Burst bis capacity, danach ein Token pro Intervall")
+    void testTokenBucketRefill() {
+        long interval = TimeUnit.MILLISECONDS.toNanos(100);
+        TokenBucket bucket = new TokenBucket(2, interval, 0);
+
+        assertEquals(1, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        long rejected = bucket.tryConsume(0);
+        assertTrue(rejected < 0);
+        assertEquals(interval, -rejected - 1, "Wartezeit bis zum nächsten Token");
+        assertEquals(0, bucket.tryConsume(interval));
+        assertTrue(bucket.isIdle(10 * interval, interval));
+    }
+
+    private void login(String username, Role role) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, role.getAuthorities()));
+    }
+
+    private MockHttpServletResponse get(String path) throws Exception {
+        return send(request("GET", path));
+    }
+
+    private MockHttpServletResponse post(String path) throws Exception {
+        return send(request("POST", path));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,185 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.CatalogImportProperties;
+
+// Importiert JUnit-Annotationen.
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Importiert Spring JDBC für den Test ohne Application Context.
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests für den TSV-Katalogimport: Parser, Checkpoints (Wiederaufsetzen) und COPY-Escaping.
+ * Eingebettete H2-Datenbank mit dem Schema aus den Flyway-Migrationen (JDBC-Batch statt COPY).
+ */
+class CatalogImportServiceTest {
+
+    // Format wie IMDb title.basics.tsv, ergänzt um Regie und Rating. 64 Byte pro Chunk -> mehrere Chunks.
+    private static final String TSV = String.join("\n",
+            "tconst\ttitleType\tprimaryTitle\tstartYear\tgenres\tdirector\trating",
+            "tt1\tmovie\tMetropolis\t1927\tDrama,Sci-Fi\tFritz Lang\t8.3",
+            "tt2\tshort\tLe voyage dans la lune\t1902\tFantasy\tGeorges Méliès\t8.1",
+            "tt3\tmovie\tOhne Jahr\t\\N\tDrama\t\\N\t\\N",
+            "tt4\tmovie\tNosferatu\t1922\t\\N\t\\N\t7.9",
+            "tt5\tmovie\tZu wenige Spalten",
+            "tt6\tmovie\tM\t1931\tCrime\tFritz Lang\t8\r",
+            "",
+            "tt7\tmovie\tDas Cabinet des Dr. Caligari\t1920\tHorror\tRobert Wiene\t8.0",
+            "tt8\tmovie\tDer letzte Mann\t1924\tDrama\tF. W. Murnau\t7.7\n");
+
+    @TempDir
+    private Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private CatalogResponseCache catalogResponseCache;
+    private CatalogImportService importService;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:catalog_import_" + System.nanoTime()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Caches des Prozesses: Der Import muss sie danach leeren
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(mock(org.hibernate.Cache.class));
+        catalogResponseCache = mock(CatalogResponseCache.class);
+
+        GenreDictionary genreDictionary = new GenreDictionary(jdbcTemplate);
+        GenreService genreService = new GenreService(genreDictionary, jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), entityManagerFactory, catalogResponseCache);
+        importService = new CatalogImportService(dataSource, genreService, genreDictionary);
+
+        file = directory.resolve("title.basics.tsv");
+        Files.writeString(file, TSV);
+    }
+
+    @Test
+    @DisplayName("Sollte gültige Zeilen laden und ungültige, gefilterte und leere Zeilen überspringen")
+    void testParsesRows() throws Exception {
+        CatalogImportService.ImportReport report = importService.load(properties());
+
+        assertEquals(5, report.rows());
+        assertEquals(2, report.invalidRows(), "Ohne Jahr und zu wenige Spalten");
+        assertEquals(Map.of("genre", "Drama", "director", "Fritz Lang", "rating", 8.3, "year", 1927),
+                movie("Metropolis"), "Erstes Genre der Liste");
+        assertEquals(Map.of("genre", "Unknown", "director", "Unbekannt", "rating", 7.9, "year", 1922),
+                movie("Nosferatu"), "Standardwerte für fehlendes Genre und fehlende Regie");
+        assertEquals(Map.of("genre", "Crime", "director", "Fritz Lang", "rating", 8.0, "year", 1931),
+                movie("M"), "CRLF am Zeilenende");
+        assertEquals(0, count("SELECT COUNT(*) FROM movies WHERE title = 'Le voyage dans la lune'"), "type-filter");
+        verify(catalogResponseCache).invalidate();
+    }
+
+    @Test
+    @DisplayName("Sollte nach einem Abbruch nur die fehlenden Chunks laden")
+    void testResumesMissingChunks() throws Exception {
+        CatalogImportService.ImportReport first = importService.load(properties());
+        int moviesAfterFirstRun = count("SELECT COUNT(*) FROM movies");
+
+        // Abbruch vor dem letzten Chunk nachstellen: Checkpoint und Filme des Chunks fehlen
+        // (1 Thread: der letzte Chunk hat die höchsten IDs)
+        long lastChunk = jdbcTemplate.queryForObject("SELECT MAX(chunk_start) FROM catalog_import_chunks", Long.class);
+        int lastRows = jdbcTemplate.queryForObject(
+                "SELECT rows_loaded FROM catalog_import_chunks WHERE chunk_start = ?", Integer.class, lastChunk);
+        jdbcTemplate.update("DELETE FROM catalog_import_chunks WHERE chunk_start = ?", lastChunk);
+        jdbcTemplate.update("DELETE FROM movies WHERE id IN (SELECT id FROM movies ORDER BY id DESC LIMIT ?)", lastRows);
+
+        CatalogImportService.ImportReport resumed = importService.load(properties());
+        assertEquals(first.chunks() - 1, resumed.resumedChunks());
+        assertEquals(lastRows, resumed.rows());
+        assertEquals(moviesAfterFirstRun, count("SELECT COUNT(*) FROM movies"));
+
+        // Vollständig geladen: Ein weiterer Lauf lädt nichts
+        assertEquals(0, importService.load(properties()).rows());
+        assertEquals(moviesAfterFirstRun, count("SELECT COUNT(*) FROM movies"));
+        verify(catalogResponseCache, times(2)).invalidate();
+    }
+
+    @Test
+    @DisplayName("Sollte eine geänderte Datei gleicher Grösse und Änderungszeit nicht als geladen betrachten")
+    void testChangedContentGetsNewCheckpoints() throws Exception {
+        importService.load(properties());
+        FileTime modified = Files.getLastModifiedTime(file);
+
+        Files.writeString(file, TSV.replace("Metropolis", "Metropolen"));
+        Files.setLastModifiedTime(file, modified);
+
+        CatalogImportService.ImportReport report = importService.load(properties());
+        assertEquals(0, report.resumedChunks());
+        assertEquals(5, report.rows());
+    }
+
+    @Test
+    @DisplayName("COPY: Backslash, Tab, CR und LF im Text escapen, fehlende Werte als \\N")
+    void testCopyEscaping() throws Exception {
+        ByteArrayOutputStream copied = new ByteArrayOutputStream();
+        CopyIn copyIn = (CopyIn) Proxy.newProxyInstance(CopyIn.class.getClassLoader(), new Class<?>[]{CopyIn.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "writeToCopy" -> {
+                        copied.write((byte[]) args[0], (int) args[1], (int) args[2]);
+                        yield null;
+                    }
+                    case "isActive" -> true;
+                    case "endCopy" -> 1L;
+                    default -> null;
+                });
+
+        byte[] title = "C:\\Filme\\Heimat\r".getBytes(StandardCharsets.UTF_8);
+        try (CatalogImportService.CopyWriter writer = new CatalogImportService.CopyWriter(copyIn, "Edgar\tReitz\n")) {
+            writer.row(4711, ByteBuffer.wrap(title), 0, title.length, -1, -1, (short) 3, 1984, 95);
+        }
+
+        assertEquals("4711\t0\tC:\\\\Filme\\\\Heimat\\r\t\\N\t3\t1984\tEdgar\\tReitz\\n\t9.5\t\\N\n",
+                copied.toString(StandardCharsets.UTF_8));
+    }
+
+    // --- Hilfsmethoden ---
+
+    private CatalogImportProperties properties() {
+        return new CatalogImportProperties(file, DataSize.ofBytes(64), 1, 2, "movie", "Unknown", "Unbekannt",
+                new CatalogImportProperties.Columns("titleType", "primaryTitle", "startYear", "genres", "director", "rating"));
+    }
+
+    private Map<String, Object> movie(String title) {
+        return jdbcTemplate.queryForObject("SELECT g.name, m.director, m.rating, m.release_year FROM movies m "
+                        + "JOIN genres g ON g.id = m.genre_id WHERE m.title = ?",
+                (rs, rowNum) -> Map.of("genre", rs.getString(1), "director", rs.getString(2),
+                        "rating", rs.getDouble(3), "year", rs.getInt(4)), title);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.CompressionProperties;
+import com.wiss.cinebase.dto.MovieDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.wiss.cinebase.service.CatalogResponseCache.Encoding.BROTLI;
+import static com.wiss.cinebase.service.CatalogResponseCache.Encoding.GZIP;
+import static com.wiss.cinebase.service.CatalogResponseCache.Encoding.IDENTITY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit-Tests für die vorkomprimierte Filmliste: Aushandeln von Accept-Encoding und Invalidierung während des Aufbaus.
+ */
+class CatalogResponseCacheTest {
+
+    private static final byte[] BYTES = {1};
+
+    private final CatalogResponseCache.Body all = new CatalogResponseCache.Body(BYTES, BYTES, BYTES, 0);
+    private final CatalogResponseCache.Body withoutBrotli = new CatalogResponseCache.Body(BYTES, BYTES, null, 0);
+    private final CatalogResponseCache.Body uncompressed = new CatalogResponseCache.Body(BYTES, null, null, 0);
+
+    @Test
+    @DisplayName("Sollte die kleinste akzeptierte Variante wählen, ohne Header nur unkomprimiert")
+    void testNegotiatesSmallestAcceptedVariant() {
+        assertSame(BROTLI, all.negotiate("gzip, deflate, br, zstd"));
+        assertSame(GZIP, withoutBrotli.negotiate("gzip, deflate, br"));
+        assertSame(IDENTITY, all.negotiate("deflate"));
+        assertSame(IDENTITY, all.negotiate(""));
+        assertSame(IDENTITY, all.negotiate(null));
+        assertSame(BROTLI, all.negotiate("*"));
+        assertSame(GZIP, all.negotiate("GZIP;Q=0.5"));
+    }
+
+    @Test
+    @DisplayName("Sollte explizite Einträge vor * werten und q-Werte beachten")
+    void testExplicitTokensBeatWildcard() {
+        assertSame(GZIP, all.negotiate("*;q=0, gzip"));
+        assertSame(GZIP, all.negotiate("gzip, *;q=0"));
+        assertSame(GZIP, all.negotiate("br;q=0, *"));
+        assertSame(GZIP, all.negotiate("gzip;q=1.0, br;q=0.5"));
+        assertSame(IDENTITY, all.negotiate("br;q=0, gzip;q=0"));
+        assertSame(IDENTITY, all.negotiate("*;q=0, identity"));
+    }
+
+    @Test
+    @DisplayName("Sollte identity;q=0 bzw. *;q=0 beachten und ohne akzeptierte Variante null liefern")
+    void testIdentityCanBeExcluded() {
+        assertSame(GZIP, withoutBrotli.negotiate("identity;q=0, gzip;q=0.1"));
+        assertNull(uncompressed.negotiate("identity;q=0"));
+        assertNull(uncompressed.negotiate("gzip, *;q=0"));
+        assertNull(withoutBrotli.negotiate("br, identity;q=0"));
+    }
+
+    @Test
+    @DisplayName("Sollte einen während des Aufbaus invalidierten Stand nicht cachen")
+    void testInvalidatedDuringRebuildIsNotCached() {
+        CatalogResponseCache cache = new CatalogResponseCache(new ObjectMapper(),
+                new CompressionProperties(true, Duration.ofMinutes(1), DataSize.ofBytes(0), 1, false, 0));
+        AtomicInteger loads = new AtomicInteger();
+
+        // Eine Filmänderung committet, während die Liste geladen wird: Der Request erhält den geladenen Stand ...
+        CatalogResponseCache.Body stale = cache.get(() -> {
+            loads.incrementAndGet();
+            cache.invalidate();
+            return List.of(movie(1L));
+        });
+        assertNotNull(stale.gzip());
+
+        // ... der nächste lädt aber neu, danach wird gecacht
+        cache.get(() -> {
+            loads.incrementAndGet();
+            return List.of(movie(1L), movie(2L));
+        });
+        cache.get(() -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertEquals(2, loads.get());
+    }
+
+    // --- Hilfsmethoden ---
+
+    private static MovieDTO movie(Long id) {
+        return new MovieDTO(id, "Film " + id, "Beschreibung", "Drama", 1980, "Regie", 7.5);
+    }
+}
@@ -0,0 +1,60 @@
+package com.wiss.cinebase.service;
+
+// Importiert die eigenen JFR-Events.
+import com.wiss.cinebase.config.CacheLookupEvent;
+import com.wiss.cinebase.config.ServiceCallEvent;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test für die Offline-Auswertung: Eine echte JFR-Aufzeichnung im Test-Prozess (ohne Application Context).
+ */
+class FlightRecordingSummarizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Sollte eigene Events nach Pfad gruppieren und nach Gesamtzeit sortieren")
+    void testSummarizesHotPaths() throws Exception {
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ServiceCallEvent.class);
+            recording.enable(CacheLookupEvent.class);
+            recording.start();
+
+            for (int i = 0; i < 3; i++) {
+                ServiceCallEvent event = new ServiceCallEvent();
+                event.begin();
+                Thread.sleep(5);
+                event.finish("MovieService", "getAllMovies", null, false);
+            }
+            ServiceCallEvent single = new ServiceCallEvent();
+            single.begin();
+            single.finish("ReviewService", "getReviewsByMovie", 7L, false);
+            CacheLookupEvent lookup = new CacheLookupEvent();
+            lookup.begin();
+            lookup.finish("app-users-by-username", 1L, () -> true);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        String summary = FlightRecordingSummarizer.summarize(file, 10);
+
+        assertTrue(summary.contains("5 Events"), summary);
+        assertTrue(summary.contains("CacheLookup app-users-by-username (Treffer)"), summary);
+        // Die teuerste Gruppe (3 x 5 ms) steht zuoberst
+        assertTrue(summary.indexOf("ServiceCall MovieService.getAllMovies")
+                < summary.indexOf("ServiceCall ReviewService.getReviewsByMovie"), summary);
+    }
+}
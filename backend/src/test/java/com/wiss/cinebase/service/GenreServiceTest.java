@@ -0,0 +1,104 @@
+package com.wiss.cinebase.service;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+// Importiert Spring JDBC / Transaktionen für den Test ohne Application Context.
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests für das Anlegen von Genres in der Transaktion des Aufrufers und das Neuladen des GenreDictionary.
+ * Eingebettete H2-Datenbank mit der Tabelle genres wie in V6, ohne Application Context.
+ */
+class GenreServiceTest {
+
+    private final AtomicInteger reloads = new AtomicInteger();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private GenreDictionary genreDictionary;
+    private GenreService genreService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:genres_" + System.nanoTime() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        // Zählt die Abfragen von GenreDictionary.reload (die einzige query mit RowMapper)
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+                reloads.incrementAndGet();
+                return super.query(sql, rowMapper);
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE genres (id SMALLINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(255) NOT NULL UNIQUE)");
+        jdbcTemplate.update("INSERT INTO genres (name) VALUES ('Drama')");
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        genreDictionary = new GenreDictionary(jdbcTemplate);
+        genreService = new GenreService(genreDictionary, jdbcTemplate, transactionManager, null, null);
+    }
+
+    @Test
+    @DisplayName("Sollte unbekannte Namen nicht bei jedem Zugriff neu laden")
+    void testUnknownNamesDoNotReloadEveryTime() {
+        assertNotNull(genreDictionary.idOf("Drama"));
+        int afterFirstLoad = reloads.get();
+
+        for (int i = 0; i < 100; i++) {
+            assertNull(genreDictionary.idOf("Dokumentarfilm " + i));
+        }
+
+        assertEquals(afterFirstLoad, reloads.get());
+    }
+
+    @Test
+    @DisplayName("Sollte ein neues Genre bis zum Commit nur in der eigenen Transaktion kennen")
+    void testNewGenreIsPublishedAfterCommit() {
+        String created = transactionTemplate.execute(status -> {
+            String name = genreService.resolveOrCreate("  Film noir ");
+            // Sichtbar für den GenreConverter derselben Transaktion
+            assertNotNull(genreDictionary.idOf(name));
+            return name;
+        });
+        assertEquals("Film noir", created);
+
+        int reloadsAfterCommit = reloads.get();
+        Short id = genreDictionary.idOf("Film noir");
+        assertNotNull(id);
+        assertSame(created, genreDictionary.nameOf(id));
+        assertEquals(reloadsAfterCommit, reloads.get(), "Nach dem Commit ohne erneutes Laden bekannt");
+    }
+
+    @Test
+    @DisplayName("Sollte ein zurückgerolltes Genre weder in der Datenbank noch im Wörterbuch behalten")
+    void testRolledBackGenreIsDiscarded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            genreService.resolveOrCreate("Giallo");
+            status.setRollbackOnly();
+        });
+
+        assertNull(genreDictionary.idOf("Giallo"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM genres WHERE name = 'Giallo'", Integer.class));
+
+        // Erneuter Versuch legt das Genre an, ein vorhandenes wird nur nachgeschlagen
+        String name = transactionTemplate.execute(status -> genreService.resolveOrCreate("Giallo"));
+        assertSame(name, transactionTemplate.execute(status -> genreService.resolveOrCreate("Giallo")));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM genres WHERE name = 'Giallo'", Integer.class));
+    }
+}
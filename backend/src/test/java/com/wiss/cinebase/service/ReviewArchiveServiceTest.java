@@ -0,0 +1,116 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.ReviewPartitionProperties;
+import com.wiss.cinebase.dto.ReviewArchiveDTO;
+import com.wiss.cinebase.dto.ReviewDTO;
+import com.wiss.cinebase.exception.ReviewArchiveNotFoundException;
+
+// Importiert Jackson mit Java-Time-Modul (LocalDateTime in ReviewDTO).
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests für die Archivdateien der Review-Jahrgänge: Schreiben, Lesen über den Index, Fallback ohne Index.
+ */
+class ReviewArchiveServiceTest {
+
+    private static final int EDITION = 2019;
+
+    @TempDir
+    private Path archiveDir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private ReviewArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        archiveService = new ReviewArchiveService(new ReviewPartitionProperties(3, 1, archiveDir), objectMapper);
+    }
+
+    @Test
+    @DisplayName("Sollte die Reviews eines Films über den Index lesen, ohne die anderen Filme zu entpacken")
+    void testReadsMovieThroughIndex() throws Exception {
+        assertEquals(6, write(4711, List.of(review(1, 10L), review(2, 10L), review(3, 20L), review(4, 20L),
+                review(5, 20L), review(6, 30L))));
+
+        Path data = archiveDir.resolve("reviews_y2019-4711.ndjson.gz");
+        assertTrue(Files.exists(archiveDir.resolve("reviews_y2019-4711.idx")));
+        // Normales gzip: Ein Leser ohne Index sieht alle Reviews (ein Member pro Film)
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(data))) {
+            assertEquals(6, new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().count());
+        }
+
+        assertEquals(List.of(3L, 4L, 5L), ids(archiveService.getArchivedReviewsByMovie(EDITION, 20L)));
+        assertEquals(List.of(6L), ids(archiveService.getArchivedReviewsByMovie(EDITION, 30L)));
+        assertEquals(List.of(), archiveService.getArchivedReviewsByMovie(EDITION, 15L));
+
+        // Member des ersten Films zerstören: Die anderen Filme bleiben lesbar, gelesen wird nur ihr Member
+        byte[] bytes = Files.readAllBytes(data);
+        bytes[20] ^= (byte) 0xFF;
+        Files.write(data, bytes);
+        assertEquals(List.of(6L), ids(archiveService.getArchivedReviewsByMovie(EDITION, 30L)));
+    }
+
+    @Test
+    @DisplayName("Sollte Archive ohne Index vollständig durchsuchen und mehrere Dateien eines Jahrgangs zusammenführen")
+    void testReadsWithoutIndex() throws Exception {
+        write(1, List.of(review(1, 10L), review(2, 20L)));
+        write(2, List.of(review(3, 20L), review(4, 40L)));
+        Files.delete(archiveDir.resolve("reviews_y2019-1.idx"));
+
+        assertEquals(List.of(2L, 3L), ids(archiveService.getArchivedReviewsByMovie(EDITION, 20L)));
+        List<ReviewArchiveDTO> archives = archiveService.listArchives();
+        assertEquals(1, archives.size());
+        assertEquals(EDITION, archives.get(0).getEdition());
+        assertEquals(2, archives.get(0).getFiles());
+    }
+
+    @Test
+    @DisplayName("Sollte unsortierte Reviews ablehnen und keine Dateien hinterlassen")
+    void testRejectsUnsortedReviews() throws Exception {
+        assertThrows(IllegalStateException.class, () -> write(1, List.of(review(1, 20L), review(2, 10L))));
+
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(ReviewArchiveNotFoundException.class, () -> archiveService.getArchivedReviewsByMovie(EDITION, 10L));
+    }
+
+    // --- Hilfsmethoden ---
+
+    private long write(long partitionOid, List<ReviewDTO> reviews) throws Exception {
+        return archiveService.write(EDITION, partitionOid, writer -> {
+            for (ReviewDTO review : reviews) {
+                writer.write(review);
+            }
+            return reviews.size();
+        });
+    }
+
+    private static ReviewDTO review(long id, Long movieId) {
+        return new ReviewDTO(id, "kritiker" + id, movieId, 7, "Kommentar " + id, LocalDateTime.of(EDITION, 5, 14, 20, 0));
+    }
+
+    private static List<Long> ids(List<ReviewDTO> reviews) {
+        return reviews.stream().map(ReviewDTO::getId).toList();
+    }
+}
@@ -0,0 +1,162 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.ReviewPartitionProperties;
+import com.wiss.cinebase.dto.ReviewArchiveDTO;
+import com.wiss.cinebase.dto.ReviewDTO;
+
+// Importiert Jackson mit Java-Time-Modul (LocalDateTime in ReviewDTO).
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.flywaydb.core.Flyway;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.io.TempDir;
+
+// Importiert Spring JDBC für den Test ohne Application Context.
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Year;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests für die Jahrgangs-Partitionen von reviews (V8, V9) und deren Archivierung.
+ * ! Die Partitionierung gibt es nur in PostgreSQL (Datenbank aus docker-compose.yml, Port 5435, eigenes Schema).
+ * Ohne Datenbank läuft nur der Test für H2. Verbindung überschreibbar wie im QueryIndexUsageTest
+ * (-Dexplain.jdbc.url / -Dexplain.jdbc.user / -Dexplain.jdbc.password).
+ */
+class ReviewPartitionServiceTest {
+
+    private static final String SCHEMA = "cinebase_partition_test";
+    private static final String URL = System.getProperty("explain.jdbc.url",
+            "jdbc:postgresql://localhost:5435/cinebase_multiuser_app");
+    private static final String USER = System.getProperty("explain.jdbc.user", "cinebase_user");
+    private static final String PASSWORD = System.getProperty("explain.jdbc.password", "cinebase_password");
+
+    private final int current = Year.now().getValue();
+
+    @TempDir
+    private Path archiveDir;
+
+    private JdbcTemplate jdbcTemplate;
+
+    static boolean isPostgresReachable() {
+        try (Connection ignored = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            return true;
+        } catch (SQLException e) {
+            System.out.println("ReviewPartitionServiceTest (PostgreSQL) übersprungen, nicht erreichbar: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @AfterEach
+    void dropSchema() {
+        if (jdbcTemplate != null && isPostgres()) {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+    }
+
+    @Test
+    @DisplayName("H2: Ohne Partitionierung legt die Wartung nichts an und archiviert nichts")
+    void testDoesNothingWithoutPartitioning() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:partitions_" + System.nanoTime()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        ReviewPartitionService partitionService = migrate(dataSource);
+
+        partitionService.ensureEditions(current - 1, current + 1);
+
+        assertEquals(List.of(), partitionService.archiveExpiredEditions());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name LIKE 'reviews_y%'", Integer.class));
+    }
+
+    @Test
+    @EnabledIf("isPostgresReachable")
+    @DisplayName("PostgreSQL: Abgelaufene Jahrgänge archivieren, ein User kann den Film danach nicht erneut bewerten")
+    void testArchivesExpiredEditions() throws Exception {
+        ReviewArchiveService archiveService = new ReviewArchiveService(
+                new ReviewPartitionProperties(3, 1, archiveDir), JsonMapper.builder().findAndAddModules().build());
+        ReviewPartitionService partitionService = migrate(
+                new DriverManagerDataSource(URL + (URL.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA, USER, PASSWORD),
+                archiveService);
+        int expired = current - 5;
+        partitionService.ensureEditions(expired, expired);
+
+        jdbcTemplate.update("INSERT INTO app_users (id, version, username, email, password, role) "
+                + "VALUES (1, 0, 'kritikerin', 'k@presse.ch', 'hash', 'USER'), (2, 0, 'kritiker', 'kr@presse.ch', 'hash', 'USER')");
+        jdbcTemplate.update("INSERT INTO genres (id, name) VALUES (1, 'Drama')");
+        jdbcTemplate.update("INSERT INTO movies (id, title, genre_id, release_year, director, rating, created_by_user_id) "
+                + "VALUES (10, 'Heimat', 1, 1984, 'Edgar Reitz', 9.0, 1), (20, 'Die zweite Heimat', 1, 1992, 'Edgar Reitz', 8.8, 1)");
+        jdbcTemplate.update("INSERT INTO reviews (id, user_id, movie_id, rating, comment, created_at) VALUES "
+                + "(1, 1, 10, 9, 'Gross', make_timestamp(" + expired + ", 3, 1, 12, 0, 0)), "
+                + "(2, 2, 10, 8, 'Lang', make_timestamp(" + expired + ", 3, 2, 12, 0, 0)), "
+                + "(3, 1, 20, 7, NULL, make_timestamp(" + current + ", 1, 2, 12, 0, 0))");
+
+        // Jahrgangsübergreifend eindeutig (review_keys, V9), nicht nur innerhalb der Partition
+        assertThrows(DataIntegrityViolationException.class, () -> insertReview(4, 1, 10));
+
+        // Abbruch nach dem DETACH nachstellen: Der nächste Lauf archiviert auch diese Partition
+        partitionService.ensureEditions(expired + 1, expired + 1);
+        jdbcTemplate.execute("ALTER TABLE reviews DETACH PARTITION reviews_y" + (expired + 1));
+
+        List<ReviewArchiveDTO> archived = partitionService.archiveExpiredEditions();
+
+        assertEquals(List.of(expired, expired + 1), archived.stream().map(ReviewArchiveDTO::getEdition).toList());
+        assertFalse(tableExists("reviews_y" + expired));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reviews", Integer.class));
+        assertEquals(List.of("kritikerin", "kritiker"), archiveService.getArchivedReviewsByMovie(expired, 10L).stream()
+                .map(ReviewDTO::getUsername).toList());
+
+        // Die Reviews liegen nur noch im Archiv, die Sperre gegen ein zweites Review bleibt
+        assertThrows(DataIntegrityViolationException.class, () -> insertReview(5, 2, 10));
+        insertReview(6, 2, 20);
+        // Ein zweiter Lauf findet nichts mehr
+        assertEquals(List.of(), partitionService.archiveExpiredEditions());
+    }
+
+    // --- Hilfsmethoden ---
+
+    private ReviewPartitionService migrate(DriverManagerDataSource dataSource) {
+        return migrate(dataSource, new ReviewArchiveService(new ReviewPartitionProperties(3, 1, archiveDir),
+                JsonMapper.builder().findAndAddModules().build()));
+    }
+
+    private ReviewPartitionService migrate(DriverManagerDataSource dataSource, ReviewArchiveService archiveService) {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        if (isPostgres()) {
+            // Eigenes Schema, die App-Daten bleiben unberührt
+            Flyway.configure().dataSource(dataSource).schemas(SCHEMA)
+                    .locations("classpath:db/migration/common", "classpath:db/migration/postgresql").load().migrate();
+        } else {
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/common").load().migrate();
+        }
+        return new ReviewPartitionService(dataSource, archiveService, new ReviewPartitionProperties(3, 1, archiveDir));
+    }
+
+    private boolean isPostgres() {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getURL().startsWith("jdbc:postgresql:"));
+    }
+
+    private void insertReview(long id, long userId, long movieId) {
+        jdbcTemplate.update("INSERT INTO reviews (id, user_id, movie_id, rating, created_at) VALUES (?, ?, ?, 5, now())",
+                id, userId, movieId);
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+}
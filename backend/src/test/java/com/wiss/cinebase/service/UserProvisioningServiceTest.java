@@ -0,0 +1,192 @@
+package com.wiss.cinebase.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wiss.cinebase.dto.ProvisioningResultDTO;
+import com.wiss.cinebase.dto.ProvisioningRowDTO;
+import com.wiss.cinebase.dto.ProvisioningRowResultDTO;
+import com.wiss.cinebase.entity.AppUser;
+import com.wiss.cinebase.entity.Role;
+import com.wiss.cinebase.exception.PasswordHashingBusyException;
+import com.wiss.cinebase.repository.AppUserRepository;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit-Tests für Parser und Bericht der Bulk-Provisionierung (ohne Datenbank, JDBC und Repository gemockt).
+ */
+class UserProvisioningServiceTest {
+
+    private final AppUserRepository userRepository = mock(AppUserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private UserProvisioningService service;
+
+    @BeforeEach
+    void setUp() {
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1000L);
+        service = new UserProvisioningService(userRepository, passwordEncoder, jdbcTemplate,
+                mock(PlatformTransactionManager.class), validatorFactory.getValidator(), new ObjectMapper(), 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("CSV: Spaltenreihenfolge aus dem Header, Kommas und \"\" in Anführungszeichen, Rolle optional")
+    void testParseCsvQuoting() {
+        String csv = "email,username,password,role\n"
+                + "\"anna@press.ch\",anna,\"geheim,mit \"\"Komma\"\"\",admin\n"
+                + "\n"
+                + "bert@press.ch,bert,passwort123\n";
+
+        List<ProvisioningRowDTO> rows = service.parse(csv, UserProvisioningService.Format.CSV);
+
+        assertEquals(2, rows.size());
+        assertEquals("anna", rows.get(0).getUsername());
+        assertEquals("anna@press.ch", rows.get(0).getEmail());
+        assertEquals("geheim,mit \"Komma\"", rows.get(0).getPassword());
+        assertEquals("admin", rows.get(0).getRole());
+        assertEquals("bert", rows.get(1).getUsername());
+        assertNull(rows.get(1).getRole());
+    }
+
+    @Test
+    @DisplayName("CSV: Rolle als erste Spalte")
+    void testParseCsvRoleFirst() {
+        List<ProvisioningRowDTO> rows = service.parse("role,username,email,password\n"
+                + "admin,anna,anna@press.ch,geheim1\n"
+                + ",bert,bert@press.ch,geheim2\n", UserProvisioningService.Format.CSV);
+
+        assertEquals(2, rows.size());
+        assertEquals("admin", rows.get(0).getRole());
+        assertEquals("anna", rows.get(0).getUsername());
+        assertEquals("geheim1", rows.get(0).getPassword());
+        assertEquals("", rows.get(1).getRole());
+        assertEquals("bert@press.ch", rows.get(1).getEmail());
+    }
+
+    @Test
+    @DisplayName("CSV/NDJSON: Syntaxfehler nennen die Zeile")
+    void testParseRejectsBadLines() {
+        var csv = UserProvisioningService.Format.CSV;
+        assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> service.parse("username,email\nanna,anna@press.ch", csv)).getMessage().contains("password"));
+        assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> service.parse("username,email,password\nanna,anna@press.ch,geheim1\nbert", csv))
+                .getMessage().startsWith("Zeile 2"));
+        // Rolle vor den Pflichtspalten: Eine Zeile ohne Passwort ist unvollständig, nicht ein Index-Fehler
+        assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> service.parse("role,username,email,password\nadmin,anna,anna@press.ch", csv))
+                .getMessage().startsWith("Zeile 1"));
+        assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> service.parse("username,email,password\n\"anna,anna@press.ch,geheim1", csv))
+                .getMessage().startsWith("Zeile 1"));
+
+        String ndjson = "{\"username\":\"anna\",\"email\":\"anna@press.ch\",\"password\":\"geheim1\"}\n{kaputt";
+        assertTrue(assertThrows(IllegalArgumentException.class,
+                () -> service.parse(ndjson, UserProvisioningService.Format.NDJSON)).getMessage().startsWith("Zeile 2"));
+    }
+
+    @Test
+    @DisplayName("Bericht: Zähler und Status pro Zeile für gültige, ungültige und doppelte Zeilen")
+    void testProvisionReportsEveryRow() {
+        when(userRepository.findByUsernameInOrEmailIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new AppUser("vergeben", "alt@press.ch", "hash", Role.USER)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), anySetter()))
+                .thenAnswer(invocation -> new int[][]{new int[invocation.<Collection<?>>getArgument(1).size()]});
+
+        ProvisioningResultDTO result = service.provision(List.of(
+                new ProvisioningRowDTO("anna", "anna@press.ch", "geheim1", null),
+                new ProvisioningRowDTO("bert", "bert@press.ch", "geheim2", "ADMIN"),
+                new ProvisioningRowDTO("anna", "anna2@press.ch", "geheim3", null),   // doppelt in der Eingabe
+                new ProvisioningRowDTO("vergeben", "neu@press.ch", "geheim4", null), // existiert in der DB
+                new ProvisioningRowDTO("cleo", "keine-email", "geheim5", null),      // ungültige E-Mail
+                new ProvisioningRowDTO("dora", "dora@press.ch", "geheim6", "GAST"),  // unbekannte Rolle
+                new ProvisioningRowDTO("emil", "emil@press.ch", "geheim7", "user")));
+
+        assertEquals(7, result.getTotal());
+        assertEquals(3, result.getCreated());
+        assertEquals(4, result.getRejected());
+        assertEquals(List.of("CREATED", "CREATED", "DUPLICATE", "DUPLICATE", "INVALID", "INVALID", "CREATED"),
+                result.getRows().stream().map(ProvisioningRowResultDTO::getStatus).toList());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7), result.getRows().stream().map(ProvisioningRowResultDTO::getLine).toList());
+        // Doppelte und ungültige Zeilen werden nicht gehasht
+        verify(passwordEncoder, never()).encode("geheim3");
+        verify(passwordEncoder, never()).encode("geheim4");
+    }
+
+    @Test
+    @DisplayName("Bericht: Schlägt ein Batch fehl, werden seine Zeilen einzeln wiederholt")
+    void testProvisionFallsBackToSingleInserts() {
+        when(userRepository.findByUsernameInOrEmailIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), anySetter()))
+                .thenThrow(new DuplicateKeyException("batch"));
+        when(jdbcTemplate.update(anyString(), any(), eq("bert"), any(), any(), any()))
+                .thenThrow(new DuplicateKeyException("parallel angelegt"));
+
+        ProvisioningResultDTO result = service.provision(List.of(
+                new ProvisioningRowDTO("anna", "anna@press.ch", "geheim1", null),
+                new ProvisioningRowDTO("bert", "bert@press.ch", "geheim2", null)));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of("CREATED", "FAILED"),
+                result.getRows().stream().map(ProvisioningRowResultDTO::getStatus).toList());
+    }
+
+    @Test
+    @DisplayName("Bericht: Scheitert das Hashing einer Zeile, wird nur diese FAILED")
+    void testProvisionMarksHashingFailureAsFailed() {
+        when(userRepository.findByUsernameInOrEmailIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(passwordEncoder.encode("geheim2")).thenThrow(new PasswordHashingBusyException("Zu viele Anmeldungen"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), anySetter()))
+                .thenAnswer(invocation -> new int[][]{new int[invocation.<Collection<?>>getArgument(1).size()]});
+
+        ProvisioningResultDTO result = service.provision(List.of(
+                new ProvisioningRowDTO("anna", "anna@press.ch", "geheim1", null),
+                new ProvisioningRowDTO("bert", "bert@press.ch", "geheim2", null),
+                new ProvisioningRowDTO("cleo", "cleo@press.ch", "geheim3", null)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of("CREATED", "FAILED", "CREATED"),
+                result.getRows().stream().map(ProvisioningRowResultDTO::getStatus).toList());
+        assertTrue(result.getRows().get(1).getMessage().contains("Zu viele Anmeldungen"));
+    }
+
+    // --- Hilfsmethoden ---
+
+    private static ParameterizedPreparedStatementSetter<Integer> anySetter() {
+        return any();
+    }
+}
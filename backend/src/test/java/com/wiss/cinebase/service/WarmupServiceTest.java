@@ -0,0 +1,125 @@
+package com.wiss.cinebase.service;
+
+import com.wiss.cinebase.config.CompressionProperties;
+import com.wiss.cinebase.config.WarmupProperties;
+import com.wiss.cinebase.dto.MovieDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Importiert JUnit-Annotationen.
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit-Tests für das JIT-Warm-up: Iterationen pro Schritt, gefüllter Katalog-Cache und Abbruch nach max-duration.
+ */
+class WarmupServiceTest {
+
+    private final MovieService movieService = mock(MovieService.class);
+    private final JwtService jwtService = mock(JwtService.class);
+    private final CatalogResponseCache catalogResponseCache = new CatalogResponseCache(new ObjectMapper(),
+            new CompressionProperties(true, Duration.ofMinutes(1), DataSize.ofBytes(0), 1, false, 0));
+    private WarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        warmupService = new WarmupService(movieService, catalogResponseCache, jwtService, new ObjectMapper(), transactionManager);
+
+        List<MovieDTO> movies = List.of(movie(1L), movie(2L), movie(3L));
+        when(movieService.getAllMovies()).thenReturn(movies);
+        when(movieService.getMovieById(anyLong())).thenAnswer(invocation -> movie(invocation.getArgument(0)));
+        when(jwtService.generateToken(anyString(), anyString())).thenReturn("token");
+        when(jwtService.extractUsername("token")).thenReturn("warmup");
+        when(jwtService.validateToken("token", "warmup")).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Sollte jeden Schritt mit den konfigurierten Iterationen ausführen und die Filmliste im Cache lassen")
+    void testRunsConfiguredIterations() throws Exception {
+        WarmupService.WarmupReport report = warmupService.warmUp(properties(4, 50, 7, 20, 10, Duration.ofMinutes(1)));
+
+        assertFalse(report.aborted());
+        assertEquals(Map.of("Filmliste-Aufbau", 4, "Filmliste-Cache", 50, "Filmdetails", 7,
+                "JWT-Pruefung", 20, "JSON-Serialisierung", 10), iterations(report));
+        // Jeder Aufbau lädt die Liste genau einmal, die Cache-Treffer laden nichts
+        verify(movieService, times(4)).getAllMovies();
+        // Reihum über die Filme der Liste: 1, 2, 3, 1, 2, 3, 1
+        verify(movieService, times(3)).getMovieById(1L);
+        verify(movieService, times(2)).getMovieById(3L);
+
+        CatalogResponseCache.Body cached = catalogResponseCache.get(() -> {
+            throw new AssertionError("Der Cache sollte nach dem Warm-up gefüllt sein");
+        });
+        assertSame(CatalogResponseCache.Encoding.GZIP, cached.negotiate("gzip"));
+    }
+
+    @Test
+    @DisplayName("Sollte Filmdetails ohne Filme auslassen, ohne das Warm-up als abgebrochen zu melden")
+    void testSkipsDetailsWithoutMovies() throws Exception {
+        when(movieService.getAllMovies()).thenReturn(List.of());
+
+        WarmupService.WarmupReport report = warmupService.warmUp(properties(2, 5, 100, 5, 5, Duration.ofMinutes(1)));
+
+        assertFalse(report.aborted());
+        assertEquals(0, iterations(report).get("Filmdetails"));
+    }
+
+    @Test
+    @DisplayName("Sollte nach max-duration abbrechen und die restlichen Schritte auslassen")
+    void testAbortsAfterMaxDuration() throws Exception {
+        when(movieService.getMovieById(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return movie(invocation.getArgument(0));
+        });
+
+        WarmupService.WarmupReport report = warmupService.warmUp(properties(2, 5, 1000, 100, 100, Duration.ofMillis(300)));
+
+        assertTrue(report.aborted());
+        Map<String, Integer> iterations = iterations(report);
+        assertEquals(2, iterations.get("Filmliste-Aufbau"));
+        assertEquals(5, iterations.get("Filmliste-Cache"));
+        int details = iterations.get("Filmdetails");
+        assertTrue(details > 0 && details < 1000, "Abbruch während der Filmdetails: " + details);
+        assertEquals(0, iterations.get("JWT-Pruefung"));
+        assertEquals(0, iterations.get("JSON-Serialisierung"));
+        assertEquals(5, report.steps().size(), "Ausgelassene Schritte erscheinen mit 0 Iterationen");
+    }
+
+    // --- Hilfsmethoden ---
+
+    private static WarmupProperties properties(int catalog, int catalogCache, int details, int jwt, int serialization,
+                                               Duration maxDuration) {
+        return new WarmupProperties(true, catalog, catalogCache, details, jwt, serialization, maxDuration);
+    }
+
+    private static Map<String, Integer> iterations(WarmupService.WarmupReport report) {
+        return report.steps().stream().collect(Collectors.toMap(WarmupService.Step::name, WarmupService.Step::iterations));
+    }
+
+    private static MovieDTO movie(Long id) {
+        return new MovieDTO(id, "Film " + id, "Beschreibung " + id, "Drama", 1980, "Regie", 7.5);
+    }
+}
@@ -0,0 +1,48 @@
+package com.wiss.cinebase.benchmarks;
+
+import com.wiss.cinebase.entity.AppUser;
+import com.wiss.cinebase.entity.Role;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppUser.getAuthorities(): Wird von Spring Security mehrmals pro Request aufgerufen.
+ * ! Erwartung: 0 B/op (vorberechnete Liste in Role).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthoritiesBenchmark {
+
+    @Param({"ADMIN", "USER"})
+    private Role role;
+
+    private AppUser user;
+
+    @Setup
+    public void setUp() {
+        user = new AppUser("kritiker_hans", "hans@cinebase.ch", "hash", role);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user.getAuthorities();
+    }
+}
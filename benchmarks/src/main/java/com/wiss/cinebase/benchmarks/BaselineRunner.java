@@ -0,0 +1,173 @@
+package com.wiss.cinebase.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Führt alle Benchmarks mit GC-Profiler aus und vergleicht sie mit baseline.txt.
+ * Aufruf (im Ordner benchmarks):
+ *   java -cp target/benchmarks.jar com.wiss.cinebase.benchmarks.BaselineRunner            -> Vergleich, Exit-Code 1 bei Regression
+ *   java -cp target/benchmarks.jar com.wiss.cinebase.benchmarks.BaselineRunner --update   -> baseline.txt neu schreiben
+ * Weitere Argumente werden wie bei JMH ausgewertet (z.B. "MapperBenchmark" als Filter, "-wi 1 -i 1" für einen Schnelllauf).
+ * ! baseline.txt ist sortiert und hat eine Zeile pro Benchmark + Parameter:
+ * Eine Änderung erscheint in "git diff" als genau die betroffenen Zeilen.
+ */
+public final class BaselineRunner {
+
+    private static final Path BASELINE = Path.of("baseline.txt");
+    // Laufzeit schwankt je nach Maschine stärker als die Allokation (B/op ist fast deterministisch).
+    private static final double TIME_TOLERANCE = 0.25;
+    private static final double ALLOC_TOLERANCE = 0.05;
+    private static final double ALLOC_SLACK_BYTES = 16;
+
+    private BaselineRunner() {
+    }
+
+    /**
+     * Messwert einer Zeile in baseline.txt.
+     */
+    record Entry(double score, String unit, double allocBytes) {
+
+        String format() {
+            return String.format(Locale.ROOT, "%s %s | %s B/op", significant(score), unit, significant(Math.round(allocBytes)));
+        }
+
+        static Entry parse(String text) {
+            String[] parts = text.split("\\|");
+            String[] time = parts[0].trim().split(" ");
+            String[] alloc = parts[1].trim().split(" ");
+            return new Entry(Double.parseDouble(time[0]), time[1], Double.parseDouble(alloc[0]));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean update = false;
+        List<String> jmhArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--update")) {
+                update = true;
+            } else {
+                jmhArgs.add(arg);
+            }
+        }
+        CommandLineOptions commandLine = new CommandLineOptions(jmhArgs.toArray(String[]::new));
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BaselineRunner.class.getPackageName() + "\\..*Benchmark\\..*");
+        }
+
+        Map<String, Entry> current = measure(new Runner(options.build()).run());
+        Map<String, Entry> baseline = read();
+
+        if (update) {
+            // Bei einem gefilterten Lauf bleiben die übrigen Zeilen erhalten.
+            baseline.putAll(current);
+            write(baseline);
+            System.out.println(BASELINE.toAbsolutePath() + " aktualisiert (" + current.size() + " Benchmarks)");
+            return;
+        }
+
+        List<String> regressions = new ArrayList<>();
+        System.out.println();
+        for (Map.Entry<String, Entry> measured : current.entrySet()) {
+            Entry before = baseline.get(measured.getKey());
+            Entry after = measured.getValue();
+            String status;
+            if (before == null) {
+                status = "NEU";
+            } else if (!before.unit().equals(after.unit())) {
+                status = "EINHEIT GEÄNDERT";
+                regressions.add(measured.getKey());
+            } else if (after.score() > before.score() * (1 + TIME_TOLERANCE)
+                    || after.allocBytes() > before.allocBytes() * (1 + ALLOC_TOLERANCE) + ALLOC_SLACK_BYTES) {
+                status = "REGRESSION";
+                regressions.add(measured.getKey());
+            } else {
+                status = "OK";
+            }
+            System.out.println(String.format(Locale.ROOT, "%-18s %-60s %s -> %s", status, measured.getKey(),
+                    before == null ? "-" : before.format(), after.format()));
+        }
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " Regression(en) gegenüber " + BASELINE
+                    + " (Zeit > +" + Math.round(TIME_TOLERANCE * 100) + "%, B/op > +" + Math.round(ALLOC_TOLERANCE * 100) + "%)");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Entry> measure(Collection<RunResult> results) {
+        Map<String, Entry> entries = new TreeMap<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            for (String param : result.getParams().getParamsKeys()) {
+                key.append(' ').append(param).append('=').append(result.getParams().getParam(param));
+            }
+            Result<?> primary = result.getPrimaryResult();
+            entries.put(key.toString(), new Entry(primary.getScore(), primary.getScoreUnit(), allocBytes(result)));
+        }
+        return entries;
+    }
+
+    // Name je nach JMH-Version "gc.alloc.rate.norm" oder "·gc.alloc.rate.norm"
+    private static double allocBytes(RunResult result) {
+        for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+            if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                return secondary.getValue().getScore();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static Map<String, Entry> read() throws Exception {
+        Map<String, Entry> entries = new TreeMap<>();
+        if (!Files.exists(BASELINE)) {
+            return entries;
+        }
+        for (String line : Files.readAllLines(BASELINE, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf(" : ");
+            entries.put(line.substring(0, separator), Entry.parse(line.substring(separator + 3)));
+        }
+        return entries;
+    }
+
+    private static void write(Map<String, Entry> entries) throws Exception {
+        StringBuilder text = new StringBuilder()
+                .append("# JMH-Baseline (BaselineRunner --update), Format: Benchmark Parameter : Zeit | Allokation pro Operation\n")
+                .append("# Erstellt mit Java ").append(System.getProperty("java.version")).append(", ")
+                .append(Runtime.getRuntime().availableProcessors()).append(" CPUs\n");
+        entries.forEach((key, entry) -> text.append(key).append(" : ").append(entry.format()).append('\n'));
+        Files.writeString(BASELINE, text, StandardCharsets.UTF_8);
+    }
+
+    // 3 signifikante Stellen (B/op ganzzahlig): Kleine Messschwankungen erzeugen keine Diff-Zeilen.
+    private static String significant(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (value == 0) {
+            return "0";
+        }
+        return new BigDecimal(value).round(new MathContext(3)).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.wiss.cinebase.benchmarks;
+
+import com.wiss.cinebase.entity.AppUser;
+import com.wiss.cinebase.entity.Movie;
+import com.wiss.cinebase.entity.Review;
+import com.wiss.cinebase.entity.Role;
+import com.wiss.cinebase.service.SyntheticDataGenerator;
+import com.wiss.cinebase.service.SyntheticDataGenerator.IdBase;
+import com.wiss.cinebase.service.SyntheticDataGenerator.Settings;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Testdaten der Benchmarks aus dem SyntheticDataGenerator (gleicher Seed wie application-datagen.properties).
+ * ! Gleiche Verteilungen wie in den Lasttests und der Datenbank: Titel, Genres und Kommentare
+ * haben realistische Längen, die Ergebnisse (v.a. B/op) sind damit reproduzierbar.
+ */
+final class BenchmarkData {
+
+    private static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Filme als Entities (mit ID und Version, wie aus der Datenbank geladen).
+     */
+    static List<Movie> movies(int count) {
+        return movies(generator(10, count, 0));
+    }
+
+    /**
+     * Reviews als Entities (User und Film verknüpft, wie nach einem Fetch Join).
+     */
+    static List<Review> reviews(int count) {
+        SyntheticDataGenerator generator = generator(Math.max(10, count / 5), Math.max(10, count / 5), count);
+        Map<Long, AppUser> users = new HashMap<>();
+        run(() -> generator.forEachUser(row -> {
+            AppUser user = new AppUser(row.username(), row.email(), "hash", Role.valueOf(row.role()));
+            user.setId(row.id());
+            users.put(row.id(), user);
+        }));
+        Map<Long, Movie> movies = new HashMap<>();
+        for (Movie movie : movies(generator)) {
+            movies.put(movie.getId(), movie);
+        }
+        List<Review> reviews = new ArrayList<>(count);
+        run(() -> generator.forEachReview(row -> {
+            if (reviews.size() < count) {
+                Review review = new Review(users.get(row.userId()), movies.get(row.movieId()), row.rating(), row.comment());
+                review.setId(row.id());
+                review.setCreatedAt(row.createdAt());
+                reviews.add(review);
+            }
+        }));
+        return reviews;
+    }
+
+    private static List<Movie> movies(SyntheticDataGenerator generator) {
+        AppUser admin = new AppUser("admin", "admin@cinebase.ch", "hash", Role.ADMIN);
+        List<Movie> movies = new ArrayList<>(generator.settings().movies());
+        run(() -> generator.forEachMovie(row -> {
+            Movie movie = new Movie(row.title(), row.description(), row.genre(), row.releaseYear(),
+                    row.director(), row.rating(), admin);
+            movie.setId(row.id());
+            movie.setVersion(0L);
+            movies.add(movie);
+        }));
+        return movies;
+    }
+
+    private static SyntheticDataGenerator generator(int users, int movies, long reviews) {
+        return new SyntheticDataGenerator(new Settings(SEED, users, movies, reviews, 20, 1.0, 0.8, 0.01,
+                LocalDateTime.of(2025, 12, 31, 23, 59, 59), 365), IdBase.EMPTY);
+    }
+
+    @FunctionalInterface
+    private interface Generation {
+        void run() throws Exception;
+    }
+
+    private static void run(Generation generation) {
+        try {
+            generation.run();
+        } catch (Exception e) {
+            throw new IllegalStateException("Testdaten konnten nicht erzeugt werden", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.wiss.cinebase.benchmarks;
+
+import com.wiss.cinebase.service.JwtService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService: Token erstellen (Login) und Username auslesen (JwtAuthenticationFilter, jeder Request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    // Gleiche Werte wie jwt.secret / jwt.expiration in application.properties
+    private static final String SECRET = "MeinSuperGeheimesSecretDasSehrLangIstUndMindestens256BitHat123456789";
+    private static final long EXPIRATION_MS = 86_400_000;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        // Die Felder werden sonst von Spring per @Value gesetzt.
+        set("secretKey", SECRET);
+        set("expirationTime", EXPIRATION_MS);
+        token = jwtService.generateToken("kritiker_hans", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("kritiker_hans", "USER");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtService, value);
+    }
+}
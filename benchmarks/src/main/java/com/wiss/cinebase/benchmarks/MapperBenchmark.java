@@ -0,0 +1,77 @@
+package com.wiss.cinebase.benchmarks;
+
+import com.wiss.cinebase.dto.MovieDTO;
+import com.wiss.cinebase.dto.ReviewDTO;
+import com.wiss.cinebase.entity.Movie;
+import com.wiss.cinebase.entity.Review;
+import com.wiss.cinebase.mapper.MovieMapper;
+import com.wiss.cinebase.mapper.ReviewMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity <-> DTO Mapping (MovieMapper, ReviewMapper), z.B. GET /api/movies und GET /api/reviews/movie/{id}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Lists {
+
+        @Param({"1", "100", "1000"})
+        private int size;
+
+        private List<Movie> movies;
+        private List<Review> reviews;
+
+        @Setup
+        public void setUp() {
+            movies = BenchmarkData.movies(size);
+            reviews = BenchmarkData.reviews(size);
+        }
+    }
+
+    // PUT/POST mappen immer genau einen Film
+    @State(Scope.Benchmark)
+    public static class Single {
+
+        private MovieDTO movie;
+
+        @Setup
+        public void setUp() {
+            movie = MovieMapper.toDTO(BenchmarkData.movies(1).get(0));
+        }
+    }
+
+    @Benchmark
+    public List<MovieDTO> movieToDTOList(Lists data) {
+        return MovieMapper.toDTOList(data.movies);
+    }
+
+    @Benchmark
+    public List<ReviewDTO> reviewToDTOList(Lists data) {
+        return ReviewMapper.toDTOList(data.reviews);
+    }
+
+    @Benchmark
+    public Movie movieToEntity(Single data) {
+        return MovieMapper.toEntity(data.movie);
+    }
+}
@@ -0,0 +1,129 @@
+package com.wiss.cinebase.benchmarks;
+
+import com.wiss.cinebase.CinebaseApplication;
+import com.wiss.cinebase.entity.AppUser;
+import com.wiss.cinebase.entity.Movie;
+import com.wiss.cinebase.repository.AppUserRepository;
+import com.wiss.cinebase.repository.MovieRepository;
+import com.wiss.cinebase.service.GenreService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MovieRepository.saveAll mit 10'000 neuen Filmen (Katalog-Import über JPA, DataInitializer).
+ * Vergleicht JDBC-Batching (hibernate.jdbc.batch_size=50, Standard seit V4) mit einem INSERT pro Film (batch_size=0).
+ * - idGeneration=SEQUENCE: IDs aus der Sequenz (pooled-lo, 50 IDs pro nextval), Stand seit V4.
+ * - idGeneration=IDENTITY: Stand vor V4 (movies.id als IDENTITY, per V4_1__movies_identity.sql und identity-ids.orm.xml
+ *   nur im Benchmark). Hibernate muss jeden INSERT einzeln ausführen, um die ID zu erfahren: batch_size=50 wirkt nicht.
+ * ! Eingebettete H2 wie im Profil perf, ohne Netzwerk-Round-Trips: Die Laufzeit ist in allen Varianten ähnlich (0.75 - 0.9 s).
+ * Gegenüber IDENTITY spart SEQUENCE mit Batching hier vor allem Allokation (ca. 35%), bei IDENTITY ändert batch_size nichts.
+ * Gegen PostgreSQL entfallen zusätzlich 49 von 50 Round-Trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MovieBatchInsertBenchmark {
+
+    private static final int MOVIES = 10_000;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    @Param({"SEQUENCE", "IDENTITY"})
+    private String idGeneration;
+
+    private ConfigurableApplicationContext context;
+    private MovieRepository movieRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Movie> templates;
+    private AppUser admin;
+    private long lastSeededId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:cinebase_benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--cinebase.warmup.enabled=false",
+                "--cinebase.jfr.start-on-startup=false",
+                "--cinebase.tracing.enabled=false",
+                "--cinebase.sql-statistics.enabled=false",
+                "--logging.level.root=WARN"));
+        if ("IDENTITY".equals(idGeneration)) {
+            // Schema und Mapping wie vor V4 (nur für movies, die übrigen Tabellen bleiben bei Sequenzen)
+            args.add("--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor},classpath:db/benchmark/identity");
+            args.add("--spring.jpa.mapping-resources=META-INF/identity-ids.orm.xml");
+        }
+        context = new SpringApplicationBuilder(CinebaseApplication.class)
+                .web(WebApplicationType.NONE)
+                // Als Argumente: Default-Properties des Builders würden von application.properties überschrieben
+                .run(args.toArray(String[]::new));
+        movieRepository = context.getBean(MovieRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        admin = context.getBean(AppUserRepository.class).findByUsername("admin").orElseThrow();
+        lastSeededId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM movies", Long.class);
+
+        // Genres vorab anlegen, gemessen wird nur das Speichern der Filme
+        GenreService genreService = context.getBean(GenreService.class);
+        Map<String, String> genres = new HashMap<>();
+        templates = BenchmarkData.movies(MOVIES);
+        transactionTemplate.executeWithoutResult(status -> templates.forEach(movie ->
+                genres.computeIfAbsent(movie.getGenre(), genreService::resolveOrCreate)));
+        templates.forEach(movie -> movie.setGenre(genres.get(movie.getGenre())));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    // Jede Iteration speichert neue Filme, danach werden sie wieder entfernt
+    @TearDown(Level.Iteration)
+    public void deleteMovies() {
+        jdbcTemplate.update("DELETE FROM movies WHERE id > ?", lastSeededId);
+    }
+
+    @Benchmark
+    public List<Movie> saveAll() {
+        List<Movie> movies = new ArrayList<>(MOVIES);
+        for (Movie template : templates) {
+            movies.add(new Movie(template.getTitle(), template.getDescription(), template.getGenre(),
+                    template.getReleaseYear(), template.getDirector(), template.getRating(), admin));
+        }
+        return transactionTemplate.execute(status -> movieRepository.saveAll(movies));
+    }
+}
@@ -0,0 +1,6 @@
+-- ==============================================================
+-- Nur MovieBatchInsertBenchmark (idGeneration=IDENTITY): movies.id wieder als IDENTITY wie vor V4
+-- ! Gehoert nicht zur Anwendung, wird nur ueber spring.flyway.locations des Benchmarks eingebunden.
+-- ==============================================================
+
+ALTER TABLE movies ALTER COLUMN id BIGINT GENERATED BY DEFAULT AS IDENTITY;
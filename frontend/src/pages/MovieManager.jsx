@@ -43,7 +43,7 @@ const MovieManager = () => {
         try {
             if (editingMovie) {
                 // --- UPDATE FALL ---
-                const updated = await updateMovie(editingMovie.id, movieData);
+                const updated = await updateMovie(editingMovie.id, movieData, editingMovie.version);
                 // Optimistisches Update der Liste:
                 setMovies(movies.map(m => m.id === editingMovie.id ? updated : m));
                 setEditingMovie(null);
@@ -46,10 +46,13 @@ export const createMovie = async (movieData) => {
  * Aktualisiert einen bestehenden Film (nur für ADMIN).
  * @param {number} id - Die ID des Films.
  * @param {Object} movieData - Die aktualisierten Daten.
+ * @param {number} version - Die geladene Version des Films (If-Match, sonst 428 bzw. 412 bei fremder Änderung).
  */
-export const updateMovie = async (id, movieData) => {
+export const updateMovie = async (id, movieData, version) => {
     try {
-        const response = await apiClient.put(`/movies/${id}`, movieData);
+        const response = await apiClient.put(`/movies/${id}`, movieData, {
+            headers: { "If-Match": `"${version}"` },
+        });
         return response.data;
     } catch (error) {
         console.error(`Fehler beim Aktualisieren von Film ${id}:`, error);
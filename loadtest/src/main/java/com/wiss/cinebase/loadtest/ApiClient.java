@@ -0,0 +1,153 @@
+package com.wiss.cinebase.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Schlanker HTTP-Client für die REST-API (java.net.http, blockierend, gedacht für virtuelle Threads).
+ * HTTP-Version (http-version) und Accept-Encoding (accept-encoding) sind einstellbar.
+ * Bodies werden nicht entpackt: Gezählt werden die übertragenen Bytes (receivedBytes).
+ */
+final class ApiClient {
+
+    /**
+     * Antwort: Status + Body (Bytes, wie übertragen, damit nur bei Bedarf entpackt und geparst wird).
+     * @param encoding Content-Encoding der Antwort (null = unkomprimiert)
+     */
+    record Response(int status, byte[] body, String encoding) {
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final String acceptEncoding;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder responses = new LongAdder();
+
+    /**
+     * @param version HTTP_1_1 oder HTTP_2 (ohne TLS: h2c per Upgrade beim ersten Request, danach eine Verbindung)
+     * @param acceptEncoding Wird bei jedem Request gesendet, z.B. "gzip" oder "br, gzip" (null = unkomprimiert)
+     */
+    ApiClient(URI baseUri, Duration timeout, HttpClient.Version version, String acceptEncoding) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.acceptEncoding = acceptEncoding;
+        this.http = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    static ApiClient fromConfig(LoadTestConfig config) {
+        return new ApiClient(URI.create(config.string("base-url")), config.seconds("request-timeout-seconds"),
+                HttpClient.Version.valueOf(config.string("http-version")),
+                config.optionalString("accept-encoding").orElse(null));
+    }
+
+    Response get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET());
+    }
+
+    Response post(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))));
+    }
+
+    Response login(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/login", null, Map.of("usernameOrEmail", username, "password", password));
+    }
+
+    /**
+     * Login, der bei Fehlern abbricht (Vorbereitung der Szenarien).
+     */
+    String token(String username, String password) throws IOException, InterruptedException {
+        Response response = login(username, password);
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Login von " + username + " fehlgeschlagen: HTTP " + response.status());
+        }
+        return json(response).get("token").asText();
+    }
+
+    /**
+     * Parallele Logins (Vorbereitung, nicht gemessen).
+     */
+    List<String> tokens(List<Dataset.User> users, String password) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (Dataset.User user : users) {
+                futures.add(executor.submit(() -> token(user.username(), password)));
+            }
+            List<String> tokens = new ArrayList<>();
+            for (Future<String> future : futures) {
+                tokens.add(future.get());
+            }
+            return tokens;
+        }
+    }
+
+    JsonNode json(Response response) throws IOException {
+        if (response.encoding() == null || response.encoding().equalsIgnoreCase("identity")) {
+            return objectMapper.readTree(response.body());
+        }
+        if (!response.encoding().equalsIgnoreCase("gzip")) {
+            throw new IOException("Content-Encoding " + response.encoding() + " kann nicht entpackt werden");
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    /**
+     * Summe der empfangenen Body-Bytes (komprimiert, wie übertragen) seit dem Start.
+     */
+    long receivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    long responses() {
+        return responses.sum();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (acceptEncoding != null) {
+            builder.header("Accept-Encoding", acceptEncoding);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        receivedBytes.add(response.body().length);
+        responses.increment();
+        return new Response(response.statusCode(), response.body(),
+                response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+}
@@ -0,0 +1,64 @@
+package com.wiss.cinebase.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Katalog-Browsing: Eingeloggte Journalisten öffnen Filme nach Popularität (Zipf) und lesen deren Reviews.
+ * Gewichte der Operationen: catalog-browsing.mix.* (Katalogliste, Detail, Reviews, Durchschnitt).
+ */
+final class CatalogBrowsingScenario implements Scenario {
+
+    private static final List<String> OPERATIONS = List.of("movie-list", "movie-detail", "movie-reviews", "movie-average");
+
+    private final ApiClient client;
+    private final Dataset dataset;
+    private final LoadTestConfig config;
+    private final double[] cumulativeMix = new double[OPERATIONS.size()];
+    private List<String> tokens;
+
+    CatalogBrowsingScenario(ApiClient client, Dataset dataset, LoadTestConfig config) {
+        this.client = client;
+        this.dataset = dataset;
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return "catalog-browsing";
+    }
+
+    @Override
+    public void prepare() throws Exception {
+        double sum = 0;
+        for (int i = 0; i < OPERATIONS.size(); i++) {
+            sum += config.decimal(name() + ".mix." + OPERATIONS.get(i));
+            cumulativeMix[i] = sum;
+        }
+        int sessions = config.integer(name() + ".sessions");
+        tokens = client.tokens(dataset.distinctJournalists(sessions, new SplittableRandom(1)), dataset.password());
+    }
+
+    @Override
+    public Operation next(SplittableRandom random) {
+        String token = tokens.get(random.nextInt(tokens.size()));
+        long movieId = dataset.randomMovie(random).id();
+        String operation = pick(random);
+        return switch (operation) {
+            case "movie-list" -> new Operation(operation, () -> client.get("/api/movies", token));
+            case "movie-detail" -> new Operation(operation, () -> client.get("/api/movies/" + movieId, token));
+            case "movie-reviews" -> new Operation(operation, () -> client.get("/api/reviews/movie/" + movieId, token));
+            default -> new Operation(operation, () -> client.get("/api/reviews/movie/" + movieId + "/average", token));
+        };
+    }
+
+    private String pick(SplittableRandom random) {
+        double target = random.nextDouble() * cumulativeMix[cumulativeMix.length - 1];
+        for (int i = 0; i < cumulativeMix.length; i++) {
+            if (target < cumulativeMix[i]) {
+                return OPERATIONS.get(i);
+            }
+        }
+        return OPERATIONS.get(OPERATIONS.size() - 1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.wiss.cinebase.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.ToIntFunction;
+
+/**
+ * Export des SyntheticDataGenerator (Backend, --datagen.export-dir=...):
+ * dataset.properties, users.csv (id,username,role,activity_rank) und movies.csv (id,genre,popularity_rank).
+ * Ziehungen folgen denselben Zipf-Verteilungen wie der Datensatz: Aktive User und populäre Filme kommen öfter vor.
+ */
+final class Dataset {
+
+    record User(long id, String username, String role, int activityRank) {
+    }
+
+    record Movie(long id, String genre, int popularityRank) {
+    }
+
+    private final String password;
+    private final List<User> users;
+    private final List<User> journalists;
+    private final List<Movie> movies;
+    private final ZipfSampler<User> userSampler;
+    private final ZipfSampler<User> journalistSampler;
+    private final ZipfSampler<Movie> movieSampler;
+
+    private Dataset(Properties description, List<User> users, List<Movie> movies) {
+        this.password = description.getProperty("password");
+        this.users = users;
+        this.journalists = users.stream().filter(user -> user.role().equals("USER")).toList();
+        this.movies = movies;
+        double activitySkew = Double.parseDouble(description.getProperty("activity-skew"));
+        double popularitySkew = Double.parseDouble(description.getProperty("popularity-skew"));
+        this.userSampler = new ZipfSampler<>(users, User::activityRank, activitySkew);
+        this.journalistSampler = new ZipfSampler<>(journalists, User::activityRank, activitySkew);
+        this.movieSampler = new ZipfSampler<>(movies, Movie::popularityRank, popularitySkew);
+    }
+
+    /**
+     * true, sobald der Export vollständig ist (dataset.properties wird zuletzt geschrieben).
+     */
+    static boolean isComplete(Path dir) {
+        return Files.isRegularFile(dir.resolve("dataset.properties"));
+    }
+
+    static Dataset load(Path dir) throws IOException {
+        Properties description = new Properties();
+        try (Reader reader = Files.newBufferedReader(dir.resolve("dataset.properties"), StandardCharsets.UTF_8)) {
+            description.load(reader);
+        }
+        List<User> users = new ArrayList<>();
+        for (String[] row : csv(dir.resolve("users.csv"))) {
+            users.add(new User(Long.parseLong(row[0]), row[1], row[2], Integer.parseInt(row[3])));
+        }
+        List<Movie> movies = new ArrayList<>();
+        for (String[] row : csv(dir.resolve("movies.csv"))) {
+            // Genre kann Kommas enthalten (CSV-Quoting): ID vorne, Rang hinten
+            String genre = String.join(",", Arrays.copyOfRange(row, 1, row.length - 1)).replace("\"", "");
+            movies.add(new Movie(Long.parseLong(row[0]), genre, Integer.parseInt(row[row.length - 1])));
+        }
+        if (users.isEmpty() || movies.isEmpty()) {
+            throw new IllegalStateException("Datensatz in " + dir + " ist leer");
+        }
+        return new Dataset(description, users, movies);
+    }
+
+    String password() {
+        return password;
+    }
+
+    int movieCount() {
+        return movies.size();
+    }
+
+    int userCount() {
+        return users.size();
+    }
+
+    User randomUser(SplittableRandom random) {
+        return userSampler.next(random);
+    }
+
+    Movie randomMovie(SplittableRandom random) {
+        return movieSampler.next(random);
+    }
+
+    /**
+     * Verschiedene Journalisten (Rolle USER), gezogen nach Aktivität.
+     */
+    List<User> distinctJournalists(int count, SplittableRandom random) {
+        if (count > journalists.size()) {
+            throw new IllegalArgumentException("Datensatz hat nur " + journalists.size() + " Journalisten, benötigt: " + count);
+        }
+        Set<User> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            picked.add(journalistSampler.next(random));
+        }
+        return List.copyOf(picked);
+    }
+
+    private static List<String[]> csv(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<String[]> rows = new ArrayList<>(lines.size());
+        for (String line : lines.subList(1, lines.size())) {
+            if (!line.isBlank()) {
+                rows.add(line.split(","));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Gewicht 1 / rang^skew, Ziehung per Binärsuche in der kumulierten Verteilung.
+     */
+    private static final class ZipfSampler<T> {
+
+        private final List<T> items;
+        private final double[] cumulative;
+
+        ZipfSampler(List<T> items, ToIntFunction<T> rank, double skew) {
+            this.items = items.stream().sorted(Comparator.comparingInt(rank)).toList();
+            this.cumulative = new double[this.items.size()];
+            double sum = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                sum += 1.0 / Math.pow(Math.max(1, rank.applyAsInt(this.items.get(i))), skew);
+                cumulative[i] = sum;
+            }
+        }
+
+        T next(SplittableRandom random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int index = Arrays.binarySearch(cumulative, target);
+            return items.get(Math.min(items.size() - 1, index >= 0 ? index : -index - 1));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.wiss.cinebase.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Lastgenerator für das Cinebase Backend.
+ * Ablauf:
+ *   1. Backend starten, z.B. (im Ordner backend): java -jar target/cinebase-backend-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=perf
+ *   2. (im Ordner loadtest) mvn package && java -jar target/loadtest.jar [--scenarios=login-storm] [--catalog-browsing.rate=300]
+ * Der Lastgenerator wartet, bis der Datensatz exportiert ist, die Readiness UP meldet (nach dem JIT-Warm-up) und ein Login klappt.
+ * Exit-Code: 0 = alle SLOs eingehalten, 1 = SLO verletzt, 2 = Abbruch (z.B. Backend nicht erreichbar).
+ */
+public final class LoadTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(2);
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            exitCode = run(args);
+        } catch (Exception e) {
+            System.err.println("Lasttest abgebrochen: " + e);
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+
+    static int run(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        ApiClient client = ApiClient.fromConfig(config);
+        System.out.println("HTTP: " + config.string("http-version")
+                + ", Accept-Encoding: " + config.optionalString("accept-encoding").orElse("(keins)"));
+        Dataset dataset = awaitBackend(client, config.path("dataset"), config.seconds("startup-timeout-seconds"));
+        System.out.println("Datensatz: " + dataset.userCount() + " User, " + dataset.movieCount() + " Filme");
+
+        OpenLoadRunner runner = new OpenLoadRunner(config.integer("max-in-flight"));
+        LoadTestReport report = new LoadTestReport(config, config.path("report-dir"));
+        long seed = 0;
+        for (String name : config.list("scenarios")) {
+            Scenario scenario = create(name, client, dataset, config);
+            System.out.println("\nVorbereitung " + name + " ...");
+            scenario.prepare();
+            System.out.println("Last " + name + " ...");
+            long bytesBefore = client.receivedBytes();
+            long responsesBefore = client.responses();
+            report.add(runner.run(scenario, config.decimal(name + ".rate"), config.seconds(name + ".warmup-seconds"),
+                    config.seconds(name + ".duration-seconds"), ++seed));
+            printTransferred(client.receivedBytes() - bytesBefore, client.responses() - responsesBefore);
+        }
+        List<String> violations = report.finish();
+        System.out.println("Bericht: " + config.path("report-dir").toAbsolutePath());
+        return violations.isEmpty() ? 0 : 1;
+    }
+
+    // Übertragene Body-Bytes inkl. Warm-up (Vergleich der Kompression, siehe accept-encoding)
+    private static void printTransferred(long bytes, long responses) {
+        System.out.printf("Empfangen: %.1f MB in %d Antworten (%.0f Bytes pro Antwort)%n",
+                bytes / 1_000_000.0, responses, responses == 0 ? 0.0 : (double) bytes / responses);
+    }
+
+    private static Scenario create(String name, ApiClient client, Dataset dataset, LoadTestConfig config) {
+        return switch (name) {
+            case "login-storm" -> new LoginStormScenario(client, dataset);
+            case "catalog-browsing" -> new CatalogBrowsingScenario(client, dataset, config);
+            case "premiere-burst" -> new PremiereBurstScenario(client, dataset, config);
+            default -> throw new IllegalArgumentException("Unbekanntes Szenario: " + name);
+        };
+    }
+
+    // Das Backend exportiert den Datensatz erst nach dem Laden (Profil "perf"), danach folgt das JIT-Warm-up.
+    // Bereit ist es wie für einen Load Balancer erst, wenn /actuator/health/readiness UP meldet.
+    private static Dataset awaitBackend(ApiClient client, Path datasetDir, Duration timeout) throws Exception {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        System.out.println("Warte auf Datensatz (" + datasetDir.toAbsolutePath() + ") und Backend ...");
+        while (true) {
+            try {
+                if (Dataset.isComplete(datasetDir) && client.get(READINESS_PATH, null).isSuccess()) {
+                    Dataset dataset = Dataset.load(datasetDir);
+                    Dataset.User user = dataset.randomUser(new SplittableRandom(0));
+                    if (client.login(user.username(), dataset.password()).isSuccess()) {
+                        return dataset;
+                    }
+                }
+            } catch (ConnectException e) {
+                // Backend startet noch
+            } catch (IOException e) {
+                // Export wird gerade geschrieben
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Backend oder Datensatz nach " + timeout.toSeconds() + " s nicht bereit");
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.wiss.cinebase.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Properties;
+
+/**
+ * Einstellungen des Lasttests.
+ * Reihenfolge (später gewinnt): loadtest.properties im Jar -> --config=datei.properties -> --schluessel=wert.
+ */
+final class LoadTestConfig {
+
+    private final Properties properties;
+
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestConfig fromArgs(String[] args) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            properties.load(defaults);
+        }
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unbekanntes Argument (erwartet --schluessel=wert): " + arg);
+            }
+            int separator = arg.indexOf('=');
+            overrides.setProperty(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if (overrides.containsKey("config")) {
+            try (Reader reader = Files.newBufferedReader(Path.of(overrides.getProperty("config")), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        properties.putAll(overrides);
+        return new LoadTestConfig(properties);
+    }
+
+    String string(String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Einstellung fehlt: " + key);
+        }
+        return value.trim();
+    }
+
+    int integer(String key) {
+        return Integer.parseInt(string(key));
+    }
+
+    double decimal(String key) {
+        return Double.parseDouble(string(key));
+    }
+
+    Duration seconds(String key) {
+        return Duration.ofMillis(Math.round(decimal(key) * 1000));
+    }
+
+    Path path(String key) {
+        return Path.of(string(key));
+    }
+
+    List<String> list(String key) {
+        return Arrays.stream(string(key).split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    Optional<String> optionalString(String key) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? Optional.empty() : Optional.of(value.trim());
+    }
+
+    /**
+     * SLO-Grenzwert des ganzen Szenarios: slo.<szenario>.<metrik>.
+     */
+    OptionalDouble slo(String scenario, String metric) {
+        return optional("slo." + scenario + "." + metric);
+    }
+
+    /**
+     * SLO-Grenzwert: zuerst slo.<szenario>.<operation>.<metrik>, sonst slo.<szenario>.<metrik>.
+     */
+    OptionalDouble slo(String scenario, String operation, String metric) {
+        OptionalDouble value = optional("slo." + scenario + "." + operation + "." + metric);
+        return value.isPresent() ? value : slo(scenario, metric);
+    }
+
+    private OptionalDouble optional(String key) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? OptionalDouble.empty() : OptionalDouble.of(Double.parseDouble(value.trim()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.wiss.cinebase.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalDouble;
+
+/**
+ * Bericht pro Szenario: Tabelle (Konsole + summary.txt), ein *.hgrm pro Operation und die SLO-Prüfung.
+ * Die *.hgrm-Dateien (Werte in ms) lassen sich z.B. mit dem HdrHistogram-Plotter übereinanderlegen.
+ */
+final class LoadTestReport {
+
+    private static final double MICROS_PER_MS = 1000.0;
+    private static final String ROW = "  %-18s %9s %8s %11s %9s %9s %9s %9s%n";
+
+    private final LoadTestConfig config;
+    private final Path reportDir;
+    private final StringBuilder summary = new StringBuilder();
+    private final List<String> violations = new ArrayList<>();
+
+    LoadTestReport(LoadTestConfig config, Path reportDir) throws IOException {
+        this.config = config;
+        this.reportDir = reportDir;
+        Files.createDirectories(reportDir);
+    }
+
+    void add(ScenarioResult result) throws IOException {
+        String scenario = result.scenario();
+        double seconds = result.duration().toMillis() / 1000.0;
+        print(String.format(Locale.ROOT, "%n%s (geplant %.1f Requests/s, gemessen %.0f s)%n", scenario, result.targetRate(), seconds));
+        print(String.format(Locale.ROOT, ROW, "Operation", "Requests", "Fehler", "Durchsatz/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+        long successes = 0;
+        for (String operation : result.operations()) {
+            Histogram latencies = result.latencies(operation);
+            long requests = result.requests(operation);
+            long errors = result.errors(operation);
+            successes += requests - errors;
+            print(row(operation, requests, errors, (requests - errors) / seconds, latencies));
+            writeHistogram(scenario + "-" + operation, latencies);
+
+            checkMax(scenario, operation, "p50-ms", ms(latencies, 50));
+            checkMax(scenario, operation, "p99-ms", ms(latencies, 99));
+            checkMax(scenario, operation, "p999-ms", ms(latencies, 99.9));
+            checkMax(scenario, operation, "max-error-rate", requests == 0 ? 0 : (double) errors / requests);
+        }
+        Histogram total = result.totalLatencies();
+        long requests = result.operations().stream().mapToLong(result::requests).sum();
+        print(row("(gesamt)", requests, requests - successes, successes / seconds, total));
+        writeHistogram(scenario, total);
+        result.failures().forEach((failure, count) -> print("  Fehler: " + failure + " x " + count + "\n"));
+
+        OptionalDouble minShare = config.slo(scenario, "min-throughput-share");
+        double share = successes / seconds / result.targetRate();
+        if (minShare.isPresent() && share < minShare.getAsDouble()) {
+            violate(String.format(Locale.ROOT, "%s: Durchsatz %.1f%% der geplanten Rate < %.1f%%",
+                    scenario, share * 100, minShare.getAsDouble() * 100));
+        }
+    }
+
+    /**
+     * Schreibt summary.txt und gibt die verletzten SLOs zurück.
+     */
+    List<String> finish() throws IOException {
+        print(violations.isEmpty() ? "\nAlle SLOs eingehalten.\n" : "\nSLO-Verletzungen:\n");
+        for (String violation : violations) {
+            print("  - " + violation + "\n");
+        }
+        Files.writeString(reportDir.resolve("summary.txt"), summary, StandardCharsets.UTF_8);
+        return List.copyOf(violations);
+    }
+
+    private void checkMax(String scenario, String operation, String metric, double actual) {
+        OptionalDouble limit = config.slo(scenario, operation, metric);
+        if (limit.isPresent() && actual > limit.getAsDouble()) {
+            violate(String.format(Locale.ROOT, "%s/%s: %s = %.3f > %.3f", scenario, operation, metric, actual, limit.getAsDouble()));
+        }
+    }
+
+    private void violate(String violation) {
+        violations.add(violation);
+    }
+
+    private void writeHistogram(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(name + ".hgrm")), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MS);
+        }
+    }
+
+    private void print(String text) {
+        System.out.print(text);
+        summary.append(text);
+    }
+
+    private static String row(String operation, long requests, long errors, double throughput, Histogram latencies) {
+        return String.format(Locale.ROOT, ROW, operation, requests, errors, String.format(Locale.ROOT, "%.1f", throughput),
+                format(ms(latencies, 50)), format(ms(latencies, 99)), format(ms(latencies, 99.9)),
+                format(latencies.getMaxValue() / MICROS_PER_MS));
+    }
+
+    private static double ms(Histogram latencies, double percentile) {
+        return latencies.getTotalCount() == 0 ? 0 : latencies.getValueAtPercentile(percentile) / MICROS_PER_MS;
+    }
+
+    private static String format(double ms) {
+        return String.format(Locale.ROOT, "%.1f", ms);
+    }
+}
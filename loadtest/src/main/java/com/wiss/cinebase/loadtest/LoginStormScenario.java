@@ -0,0 +1,34 @@
+package com.wiss.cinebase.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Login-Sturm: Anmeldungen nach User-Aktivität (auch ADMIN-Konten), z.B. zum Start der Akkreditierung.
+ * Misst v.a. die BCrypt-Kosten (security.bcrypt.strength) und den Lookup per Username.
+ */
+final class LoginStormScenario implements Scenario {
+
+    private final ApiClient client;
+    private final Dataset dataset;
+
+    LoginStormScenario(ApiClient client, Dataset dataset) {
+        this.client = client;
+        this.dataset = dataset;
+    }
+
+    @Override
+    public String name() {
+        return "login-storm";
+    }
+
+    @Override
+    public void prepare() {
+        // Keine Vorbereitung: Jeder Request ist ein vollständiger Login.
+    }
+
+    @Override
+    public Operation next(SplittableRandom random) {
+        Dataset.User user = dataset.randomUser(random);
+        return new Operation("login", () -> client.login(user.username(), dataset.password()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.wiss.cinebase.loadtest;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Offenes Lastmodell: Requests starten in festem Takt (rate pro Sekunde), unabhängig davon, wie schnell das Backend antwortet.
+ * ! Latenz = Antwortzeitpunkt - GEPLANTER Startzeitpunkt. Staut sich das Backend (oder der Takt-Thread),
+ * zählt die Wartezeit mit, statt dass einfach weniger Requests gesendet werden (Coordinated Omission).
+ * Jeder Request läuft in einem eigenen virtuellen Thread, maximal maxInFlight gleichzeitig.
+ */
+final class OpenLoadRunner {
+
+    private final int maxInFlight;
+
+    OpenLoadRunner(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Führt ein Szenario aus: erst warmup (nicht gemessen), danach duration (gemessen).
+     */
+    ScenarioResult run(Scenario scenario, double rate, Duration warmup, Duration duration, long seed) {
+        ScenarioResult result = new ScenarioResult(scenario.name(), rate, duration);
+        SplittableRandom random = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rate));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean measured = intended >= measureFrom;
+                Scenario.Operation operation = scenario.next(random);
+                if (!inFlight.tryAcquire()) {
+                    // Lastgenerator am Limit: als Fehler zählen statt die Rate heimlich zu senken
+                    if (measured) {
+                        result.drop(operation.name());
+                    }
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        String failure;
+                        try {
+                            ApiClient.Response response = operation.call().execute();
+                            failure = response.isSuccess() ? null : "HTTP " + response.status();
+                        } catch (Exception e) {
+                            failure = e.getClass().getSimpleName();
+                        }
+                        if (measured) {
+                            result.record(operation.name(), System.nanoTime() - intended, failure);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } // close() wartet auf alle laufenden Requests
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package com.wiss.cinebase.loadtest;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Review-Welle nach einer Premiere: Die Festivalleitung legt einen neuen Film an,
+ * danach bewerten ihn viele Kritiker gleichzeitig, während alle anderen dessen Reviews und Durchschnitt abrufen.
+ * ! Jeder Kritiker bewertet genau einmal (UNIQUE user_id + movie_id). Sind alle durch, bleiben nur Lesezugriffe.
+ */
+final class PremiereBurstScenario implements Scenario {
+
+    // Konto aus dem DataInitializer des Backends
+    private static final String ADMIN_USERNAME = "admin";
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    private final ApiClient client;
+    private final Dataset dataset;
+    private final LoadTestConfig config;
+    private List<String> criticTokens;
+    private double reviewShare;
+    private long premiereId;
+    private int nextCritic;
+
+    PremiereBurstScenario(ApiClient client, Dataset dataset, LoadTestConfig config) {
+        this.client = client;
+        this.dataset = dataset;
+        this.config = config;
+    }
+
+    @Override
+    public String name() {
+        return "premiere-burst";
+    }
+
+    @Override
+    public void prepare() throws Exception {
+        reviewShare = config.decimal(name() + ".review-share");
+        String adminToken = client.token(ADMIN_USERNAME, ADMIN_PASSWORD);
+        String genre = dataset.randomMovie(new SplittableRandom(2)).genre();
+        ApiClient.Response created = client.post("/api/movies", adminToken, Map.of(
+                "title", "Premiere " + System.currentTimeMillis(),
+                "description", "Weltpremiere (Lasttest)",
+                "genre", genre,
+                "releaseYear", Year.now().getValue(),
+                "director", "Lasttest",
+                "rating", 0));
+        if (!created.isSuccess()) {
+            throw new IllegalStateException("Premierenfilm konnte nicht angelegt werden: HTTP " + created.status());
+        }
+        premiereId = client.json(created).get("id").asLong();
+        criticTokens = client.tokens(
+                dataset.distinctJournalists(config.integer(name() + ".critics"), new SplittableRandom(3)), dataset.password());
+        nextCritic = 0;
+    }
+
+    @Override
+    public Operation next(SplittableRandom random) {
+        if (nextCritic < criticTokens.size() && random.nextDouble() < reviewShare) {
+            String token = criticTokens.get(nextCritic++);
+            Map<String, Object> review = Map.of(
+                    "movieId", premiereId,
+                    "rating", 1 + random.nextInt(10),
+                    "comment", "Eindruck von der Premiere #" + nextCritic);
+            return new Operation("review-post", () -> client.post("/api/reviews", token, review));
+        }
+        String token = criticTokens.get(random.nextInt(criticTokens.size()));
+        return random.nextBoolean()
+                ? new Operation("premiere-reviews", () -> client.get("/api/reviews/movie/" + premiereId, token))
+                : new Operation("premiere-average", () -> client.get("/api/reviews/movie/" + premiereId + "/average", token));
+    }
+}
@@ -0,0 +1,31 @@
+package com.wiss.cinebase.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Ein Lastszenario: Vorbereitung (nicht gemessen) und die Auswahl der nächsten Operation.
+ * ! next() wird nur vom Takt-Thread des OpenLoadRunner aufgerufen (kein Synchronisieren nötig),
+ * die zurückgegebene Operation läuft dagegen parallel in einem virtuellen Thread.
+ */
+interface Scenario {
+
+    /**
+     * Name wie in loadtest.properties (Präfix der Einstellungen und SLOs).
+     */
+    String name();
+
+    void prepare() throws Exception;
+
+    Operation next(SplittableRandom random);
+
+    /**
+     * Ein einzelner Request: name = Histogramm, call = führt den Request aus.
+     */
+    record Operation(String name, Call call) {
+    }
+
+    @FunctionalInterface
+    interface Call {
+        ApiClient.Response execute() throws Exception;
+    }
+}
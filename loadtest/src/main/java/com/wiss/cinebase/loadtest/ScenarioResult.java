@@ -0,0 +1,126 @@
+package com.wiss.cinebase.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Messwerte eines Szenarios: ein HdrHistogram (Mikrosekunden) und ein Fehlerzähler pro Operation.
+ */
+final class ScenarioResult {
+
+    // Bis 5 Minuten bei 3 signifikanten Stellen (< 0.1% Messfehler)
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String scenario;
+    private final double targetRate;
+    private final Duration duration;
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> dropped = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    ScenarioResult(String scenario, double targetRate, Duration duration) {
+        this.scenario = scenario;
+        this.targetRate = targetRate;
+        this.duration = duration;
+    }
+
+    /**
+     * @param failure null = Erfolg, sonst Grund (z.B. "HTTP 503" oder Exception-Klasse)
+     */
+    void record(String operation, long latencyNanos, String failure) {
+        histogram(operation).recordValue(Math.min(HIGHEST_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos))));
+        if (failure != null) {
+            errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+            failures.computeIfAbsent(failure, key -> new LongAdder()).increment();
+        }
+    }
+
+    void drop(String operation) {
+        dropped.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        failures.computeIfAbsent("verworfen (max-in-flight)", key -> new LongAdder()).increment();
+    }
+
+    String scenario() {
+        return scenario;
+    }
+
+    double targetRate() {
+        return targetRate;
+    }
+
+    Duration duration() {
+        return duration;
+    }
+
+    /**
+     * Alle Operationen, alphabetisch (stabile Reihenfolge im Bericht).
+     */
+    SortedSet<String> operations() {
+        SortedSet<String> operations = new TreeSet<>(histograms.keySet());
+        operations.addAll(dropped.keySet());
+        return operations;
+    }
+
+    /**
+     * Latenzen einer Operation (verworfene Requests sind nicht enthalten).
+     */
+    Histogram latencies(String operation) {
+        return histogram(operation);
+    }
+
+    /**
+     * Alle Operationen zusammen.
+     */
+    Histogram totalLatencies() {
+        Histogram total = newHistogram();
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    /**
+     * Gesendete + verworfene Requests.
+     */
+    long requests(String operation) {
+        return histogram(operation).getTotalCount() + count(dropped, operation);
+    }
+
+    /**
+     * Fehlerhafte (kein 2xx, Exception) + verworfene Requests.
+     */
+    long errors(String operation) {
+        return count(errors, operation) + count(dropped, operation);
+    }
+
+    /**
+     * Fehlergründe über alle Operationen (Grund -> Anzahl).
+     */
+    Map<String, Long> failures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((failure, count) -> counts.put(failure, count.sum()));
+        return counts;
+    }
+
+    private Histogram histogram(String operation) {
+        return histograms.computeIfAbsent(operation, key -> newHistogram());
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static long count(Map<String, LongAdder> counters, String operation) {
+        LongAdder counter = counters.get(operation);
+        return counter == null ? 0 : counter.sum();
+    }
+}
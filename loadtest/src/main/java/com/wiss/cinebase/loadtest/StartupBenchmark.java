@@ -0,0 +1,141 @@
+package com.wiss.cinebase.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startzeit-Messung: Zeit vom Prozessstart bis zur ersten erfolgreichen Antwort (time-to-first-request).
+ * Der erste Request ist ein echter Katalogzugriff: Login (startup.username) und danach startup.probe-path mit dem Token.
+ * Jede Variante (startup.variants) wird startup.runs mal frisch gestartet, gemessen und wieder beendet.
+ * Aufruf (im Ordner loadtest, Backend mit "mvn package" bzw. "mvn package -Pfast-start" gebaut):
+ *   java -cp target/loadtest.jar com.wiss.cinebase.loadtest.StartupBenchmark [--startup.runs=5] [--startup.variants=baseline]
+ * Einstellungen: Abschnitt STARTZEIT in loadtest.properties.
+ * Exit-Code: 0 = alle Läufe erfolgreich, 2 = Abbruch (z.B. Backend startet nicht, siehe Log im report-dir).
+ */
+public final class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    // Ausgabe von Spring Boot: "Started CinebaseApplication in 7.123 seconds (process running for 7.9)"
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            exitCode = run(args);
+        } catch (Exception e) {
+            System.err.println("Startzeit-Messung abgebrochen: " + e);
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+
+    static int run(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        ApiClient client = ApiClient.fromConfig(config);
+        Probe probe = new Probe(client, config.string("startup.username"), config.string("startup.password"),
+                config.string("startup.probe-path"));
+        Path workingDir = config.path("startup.working-dir");
+        Path logDir = config.path("report-dir").resolve("startup");
+        Files.createDirectories(logDir);
+        int runs = config.integer("startup.runs");
+        Duration timeout = config.seconds("startup.timeout-seconds");
+        List<String> extraArgs = split(config.optionalString("startup.extra-args").orElse(""));
+
+        StringBuilder table = new StringBuilder(String.format("%n%-14s %6s %12s %12s %12s %14s%n",
+                "Variante", "Laeufe", "Median ms", "Min ms", "Max ms", "Spring-Start s"));
+        for (String variant : config.list("startup.variants")) {
+            List<String> command = new ArrayList<>(split(config.string("startup." + variant + ".command")));
+            command.addAll(extraArgs);
+            System.out.println("\n" + variant + ": " + String.join(" ", command));
+
+            long[] millis = new long[runs];
+            double[] springSeconds = new double[runs];
+            for (int i = 0; i < runs; i++) {
+                Path log = logDir.resolve(variant + "-" + (i + 1) + ".log");
+                millis[i] = measure(command, workingDir, log, probe, timeout);
+                springSeconds[i] = reportedStartup(log).orElse(Double.NaN);
+                System.out.printf("  Lauf %d: %d ms bis zur ersten Antwort (Spring: %.3f s)%n", i + 1, millis[i], springSeconds[i]);
+            }
+            Arrays.sort(millis);
+            Arrays.sort(springSeconds);
+            table.append(String.format("%-14s %6d %12d %12d %12d %14.3f%n", variant, runs,
+                    millis[runs / 2], millis[0], millis[runs - 1], springSeconds[runs / 2]));
+        }
+        System.out.print(table);
+        System.out.println("Logs: " + logDir.toAbsolutePath());
+        return 0;
+    }
+
+    // Startet das Backend, fragt probe ab bis zur ersten 2xx-Antwort und beendet den Prozess wieder
+    private static long measure(List<String> command, Path workingDir, Path log, Probe probe, Duration timeout)
+            throws Exception {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (true) {
+                try {
+                    if (probe.succeeds()) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Port noch nicht offen
+                }
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Backend beendet mit Exit-Code " + process.exitValue() + ", siehe " + log);
+                }
+                if (System.nanoTime() - start > timeout.toNanos()) {
+                    throw new IllegalStateException("Keine Antwort nach " + timeout.toSeconds() + " s, siehe " + log);
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+        } finally {
+            stop(process);
+        }
+    }
+
+    // SIGTERM (geordnetes Herunterfahren), danach erzwungen: Der Port muss für den nächsten Lauf frei sein
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static Optional<Double> reportedStartup(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log, StandardCharsets.UTF_8));
+        return matcher.find() ? Optional.of(Double.parseDouble(matcher.group(1))) : Optional.empty();
+    }
+
+    /**
+     * Erster Request: Login, danach der Katalog mit dem Token. Erfolgreich erst, wenn beides 2xx liefert.
+     */
+    private record Probe(ApiClient client, String username, String password, String path) {
+
+        boolean succeeds() throws IOException, InterruptedException {
+            ApiClient.Response login = client.login(username, password);
+            return login.isSuccess()
+                    && client.get(path, client.json(login).get("token").asText()).isSuccess();
+        }
+    }
+
+    private static List<String> split(String command) {
+        return Arrays.stream(command.trim().split("\\s+")).filter(part -> !part.isEmpty()).toList();
+    }
+}